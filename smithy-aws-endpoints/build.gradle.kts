@@ -4,6 +4,7 @@
  */
 plugins {
     id("smithy.module-conventions")
+    id("smithy.profiling-conventions")
 }
 
 description = "AWS specific components for managing endpoints in Smithy"
@@ -18,3 +19,10 @@ dependencies {
     api(project(":smithy-model"))
     api(project(":smithy-utils"))
 }
+
+jmh {
+    // Benchmarks load rule-sets from the test resources, and the GC profiler reports the
+    // memory allocated by each resolution strategy.
+    includeTests = true
+    profilers = listOf("gc")
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.aws.jmh;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.language.evaluation.CachingRuleEvaluator;
+import software.amazon.smithy.rulesengine.language.evaluation.CompiledEndpointResolver;
+import software.amazon.smithy.rulesengine.language.evaluation.EndpointDecisionDiagram;
+import software.amazon.smithy.rulesengine.language.evaluation.RuleEvaluator;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.traits.EndpointRuleSetTrait;
+import software.amazon.smithy.rulesengine.traits.EndpointTestCase;
+import software.amazon.smithy.rulesengine.traits.EndpointTestsTrait;
+
+/**
+ * Resolves every endpoint test case of AWS endpoint rule-sets.
+ *
+ * <p>The GC profiler is enabled for this suite to compare the memory allocated by each
+ * resolution strategy in steady state. Resolving an endpoint always allocates the values
+ * returned by library functions, rendered templates, and the resolved endpoint.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+public class EndpointResolution {
+
+    // Rule-sets that aren't found next to the benchmark are loaded from the test resources.
+    private static final String TEST_MODELS = "/software/amazon/smithy/rulesengine/aws/language/functions/"
+            + "errorfiles/valid/";
+
+    @State(Scope.Thread)
+    public static class RuleSetState {
+        @Param({"eventbridge.smithy", "parse-arn.smithy", "s3-virtual-hosting.smithy"})
+        public String model;
+
+        public EndpointRuleSet ruleSet;
+        public List<Map<Identifier, Value>> testParameters = new ArrayList<>();
+        public RuleEvaluator evaluator;
+        public EndpointDecisionDiagram diagram;
+        public CompiledEndpointResolver resolver;
+        public CachingRuleEvaluator cache;
+
+        @Setup
+        public void prepare() {
+            ServiceShape service = Model.assembler()
+                    .discoverModels()
+                    .addImport(findModel(model))
+                    .assemble()
+                    .unwrap()
+                    .getServiceShapesWithTrait(EndpointTestsTrait.class)
+                    .iterator()
+                    .next();
+            ruleSet = service.expectTrait(EndpointRuleSetTrait.class).getEndpointRuleSet();
+            for (EndpointTestCase testCase : service.expectTrait(EndpointTestsTrait.class).getTestCases()) {
+                Map<Identifier, Value> parameters = new LinkedHashMap<>();
+                for (Map.Entry<StringNode, Node> entry : testCase.getParams().getMembers().entrySet()) {
+                    parameters.put(Identifier.of(entry.getKey()), Value.fromNode(entry.getValue()));
+                }
+                testParameters.add(parameters);
+            }
+            evaluator = new RuleEvaluator();
+            diagram = EndpointDecisionDiagram.compile(ruleSet);
+            resolver = CompiledEndpointResolver.compile(ruleSet);
+            cache = new CachingRuleEvaluator(ruleSet, 1000);
+        }
+    }
+
+    private static URL findModel(String model) {
+        URL url = EndpointResolution.class.getResource(model);
+        return url != null ? url : EndpointResolution.class.getResource(TEST_MODELS + model);
+    }
+
+    @Benchmark
+    public void ruleEvaluator(RuleSetState state, Blackhole blackhole) {
+        for (Map<Identifier, Value> parameters : state.testParameters) {
+            blackhole.consume(RuleEvaluator.evaluate(state.ruleSet, parameters));
+        }
+    }
+
+    @Benchmark
+    public void reusedRuleEvaluator(RuleSetState state, Blackhole blackhole) {
+        for (Map<Identifier, Value> parameters : state.testParameters) {
+            blackhole.consume(state.evaluator.evaluateRuleSet(state.ruleSet, parameters));
+        }
+    }
+
+    @Benchmark
+    public void decisionDiagram(RuleSetState state, Blackhole blackhole) {
+        for (Map<Identifier, Value> parameters : state.testParameters) {
+            blackhole.consume(state.diagram.evaluate(parameters));
+        }
+    }
+
+    @Benchmark
+    public void compiledResolver(RuleSetState state, Blackhole blackhole) {
+        for (Map<Identifier, Value> parameters : state.testParameters) {
+            blackhole.consume(state.resolver.resolve(parameters));
+        }
+    }
+
+    @Benchmark
+    public void cachingRuleEvaluator(RuleSetState state, Blackhole blackhole) {
+        for (Map<Identifier, Value> parameters : state.testParameters) {
+            blackhole.consume(state.cache.evaluate(parameters));
+        }
+    }
+}
@@ -102,7 +102,15 @@ System.setProperty("SMITHY_BINARY", smithyBinary)
 
 runtime {
     addOptions("--compress", "2", "--strip-debug", "--no-header-files", "--no-man-pages")
-    addModules("java.logging", "java.xml", "java.naming", "jdk.crypto.ec")
+    // java.management and jdk.management let validator profiles measure CPU time and allocations.
+    addModules(
+        "java.logging",
+        "java.xml",
+        "java.naming",
+        "jdk.crypto.ec",
+        "java.management",
+        "jdk.management",
+    )
 
     launcher {
         // This script is a combination of the default startup script used by the badass runtime
@@ -9,8 +9,11 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.logging.Logger;
@@ -29,6 +32,7 @@ import software.amazon.smithy.model.loader.sourcecontext.SourceContextLoader;
 import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidatedResult;
 import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.model.validation.ValidatorProfile;
 import software.amazon.smithy.utils.SmithyBuilder;
 
 /**
@@ -163,6 +167,12 @@ final class ModelBuilder {
             AtomicInteger issueCount = new AtomicInteger();
             assembler.validationEventListener(createStatusUpdater(standardOptions, colors, stderr, issueCount));
 
+            // Collect validator profiles when requested.
+            Queue<ValidatorProfile> profiles = new ConcurrentLinkedQueue<>();
+            if (validatorOptions.profile()) {
+                assembler.validatorProfileListener(profiles::add);
+            }
+
             handleModelDiscovery(assembler, classLoader, config);
             handleUnknownTraitsOption(buildOptions, assembler);
 
@@ -175,6 +185,10 @@ final class ModelBuilder {
             models.forEach(assembler::addImport);
             validatedResult = assembler.assemble();
             clearStatusUpdateIfPresent(issueCount, stderr);
+
+            if (validatorOptions.profile()) {
+                printValidatorProfiles(colors, stderr, profiles);
+            }
         }
 
         // Sort events by file so that we can efficiently read files for context sequentially.
@@ -238,6 +252,45 @@ final class ModelBuilder {
         };
     }
 
+    // Prints a table of validator profiles sorted by wall time, slowest first.
+    static void printValidatorProfiles(
+            ColorFormatter colors,
+            CliPrinter printer,
+            Collection<ValidatorProfile> profiles
+    ) {
+        List<ValidatorProfile> sorted = new ArrayList<>(profiles);
+        sorted.sort(Comparator.comparingLong(ValidatorProfile::getWallTimeNanos).reversed());
+
+        long totalWall = 0;
+        long totalCpu = 0;
+        for (ValidatorProfile profile : sorted) {
+            totalWall += profile.getWallTimeNanos();
+            totalCpu += Math.max(0, profile.getCpuTimeNanos());
+        }
+
+        colors.println(printer,
+                String.format("%10s %10s %12s %8s  %s", "WALL (ms)", "CPU (ms)", "ALLOC (KB)", "EVENTS", "VALIDATOR"),
+                Style.BOLD);
+        for (ValidatorProfile profile : sorted) {
+            printer.println(String.format("%10s %10s %12s %8d  %s",
+                    formatNanos(profile.getWallTimeNanos()),
+                    formatNanos(profile.getCpuTimeNanos()),
+                    profile.getAllocatedBytes() < 0 ? "-" : String.valueOf(profile.getAllocatedBytes() / 1024),
+                    profile.getEventCount(),
+                    profile.getName()));
+        }
+        printer.println(String.format("%10s %10s  %d validators (times are summed across threads)",
+                formatNanos(totalWall),
+                formatNanos(totalCpu),
+                sorted.size()));
+        printer.println("");
+        printer.flush();
+    }
+
+    private static String formatNanos(long nanos) {
+        return nanos < 0 ? "-" : String.format("%.2f", nanos / 1_000_000.0);
+    }
+
     // If a status update was printed, then clear it out.
     static void clearStatusUpdateIfPresent(AtomicInteger issueCount, CliPrinter stderr) {
         if (issueCount.get() > 0) {
@@ -23,10 +23,12 @@ final class ValidatorOptions implements ArgumentReceiver {
     static final String SEVERITY = "--severity";
     static final String SHOW_VALIDATORS = "--show-validators";
     static final String HIDE_VALIDATORS = "--hide-validators";
+    static final String PROFILE = "--profile";
 
     private Severity severity;
     private List<String> showValidators = Collections.emptyList();
     private List<String> hideValidators = Collections.emptyList();
+    private boolean profile;
 
     @Override
     public void registerHelp(HelpPrinter printer) {
@@ -47,6 +49,19 @@ final class ValidatorOptions implements ArgumentReceiver {
                 "Comma-separated list of hierarchical validation event "
                         + "IDs to hide in the output of the command, "
                         + "showing the rest.");
+        printer.option(PROFILE,
+                null,
+                "Report the wall time, CPU time, allocated memory, and number of "
+                        + "events of each validator, slowest first.");
+    }
+
+    @Override
+    public boolean testOption(String name) {
+        if (PROFILE.equals(name)) {
+            profile = true;
+            return true;
+        }
+        return false;
     }
 
     @Override
@@ -160,6 +175,15 @@ final class ValidatorOptions implements ArgumentReceiver {
         this.hideValidators = validators;
     }
 
+    /**
+     * Check if validators should be profiled.
+     *
+     * @return Returns true if profiling is enabled.
+     */
+    boolean profile() {
+        return profile;
+    }
+
     /**
      * Check if the given validation event matches the show/hide settings.
      *
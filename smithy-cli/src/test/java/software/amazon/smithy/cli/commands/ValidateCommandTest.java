@@ -256,4 +256,14 @@ public class ValidateCommandTest {
         assertThat(result.code(), not(0));
         assertThat(result.stderr(), containsString("Unexpected --format: `HELLO`"));
     }
+
+    @Test
+    public void canProfileValidators() throws Exception {
+        String model = Paths.get(getClass().getResource("valid-model.smithy").toURI()).toString();
+        CliUtils.Result result = CliUtils.runSmithy("validate", "--profile", model);
+
+        assertThat(result.code(), equalTo(0));
+        assertThat(result.stderr(), containsString("WALL (ms)"));
+        assertThat(result.stderr(), containsString("TraitTarget"));
+    }
 }
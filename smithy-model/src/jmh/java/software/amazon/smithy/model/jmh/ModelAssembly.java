@@ -0,0 +1,110 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.jmh;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.loader.ModelAssembler;
+
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+public class ModelAssembly {
+
+    @State(Scope.Thread)
+    public static class ModelAssemblyState {
+
+        @Param({"10", "100", "1000"})
+        public int files;
+
+        public Map<String, String> models = new LinkedHashMap<>();
+
+        @Setup
+        public void prepare() {
+            for (int i = 0; i < files; i++) {
+                models.put("file" + i + ".smithy", createModelFile(i));
+            }
+        }
+
+        // Each file defines a small service with operations, structures, and traits, and refers to
+        // shapes defined in the previous file so that forward references cross file boundaries.
+        private static String createModelFile(int index) {
+            StringBuilder builder = new StringBuilder();
+            builder.append("$version: \"2\"\n")
+                    .append("namespace smithy.example").append(index).append("\n\n")
+                    .append("/// Service number ").append(index).append("\n")
+                    .append("service Service").append(index).append(" {\n")
+                    .append("    version: \"2024-01-01\"\n")
+                    .append("    operations: [");
+            for (int op = 0; op < 20; op++) {
+                builder.append(op == 0 ? "" : ", ").append("Operation").append(op);
+            }
+            builder.append("]\n}\n\n");
+
+            for (int op = 0; op < 20; op++) {
+                builder.append("@http(method: \"POST\", uri: \"/operation").append(op).append("/{id}\")\n")
+                        .append("operation Operation").append(op).append(" {\n")
+                        .append("    input := {\n")
+                        .append("        @required\n")
+                        .append("        @httpLabel\n")
+                        .append("        id: String\n")
+                        .append("        @length(min: 1, max: 100)\n")
+                        .append("        name: String\n")
+                        .append("        count: Integer\n")
+                        .append("    }\n")
+                        .append("    output := {\n")
+                        .append("        /// The resulting value.\n")
+                        .append("        value: Value").append(op).append("\n");
+                if (index > 0) {
+                    builder.append("        previous: smithy.example").append(index - 1)
+                            .append("#Record").append(index - 1).append("\n");
+                }
+                builder.append("    }\n}\n\n")
+                        .append("structure Value").append(op).append(" {\n")
+                        .append("    @documentation(\"A timestamp\")\n")
+                        .append("    time: Timestamp\n")
+                        .append("    tags: StringList\n")
+                        .append("}\n\n");
+            }
+
+            builder.append("structure Record").append(index).append(" {\n    id: String\n}\n\n")
+                    .append("list StringList {\n    member: String\n}\n");
+            return builder.toString();
+        }
+    }
+
+    @Benchmark
+    public Model assembleSerially(ModelAssemblyState state) {
+        return assemble(state, false);
+    }
+
+    @Benchmark
+    public Model assembleInParallel(ModelAssemblyState state) {
+        return assemble(state, true);
+    }
+
+    private static Model assemble(ModelAssemblyState state, boolean parallel) {
+        ModelAssembler assembler = Model.assembler()
+                .disableValidation()
+                .putProperty(ModelAssembler.PARALLEL_LOADING, parallel);
+        for (Map.Entry<String, String> entry : state.models.entrySet()) {
+            assembler.addUnparsedModel(entry.getKey(), entry.getValue());
+        }
+        return assembler.assemble().unwrap();
+    }
+}
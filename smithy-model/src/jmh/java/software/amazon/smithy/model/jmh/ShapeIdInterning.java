@@ -0,0 +1,92 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+/**
+ * Measures the throughput of {@link ShapeId#from} when called from multiple threads.
+ *
+ * <p>The {@code ids} parameter controls how many distinct IDs are created. Values larger
+ * than the size of the shape ID cache cause entries to be evicted while other threads
+ * read them.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+public class ShapeIdInterning {
+
+    @State(Scope.Benchmark)
+    public static class ShapeIdState {
+
+        @Param({"1000", "20000"})
+        public int ids;
+
+        public String[] values;
+
+        @Setup
+        public void prepare() {
+            values = new String[ids];
+            for (int i = 0; i < ids; i++) {
+                values[i] = "smithy.example" + (i % 10) + "#Shape" + i + (i % 3 == 0 ? "$member" : "");
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        // Each thread starts at a different position so that threads don't read the same IDs in lockstep.
+        public int position = (int) (Thread.currentThread().getId() * 7919);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void from1Thread(ShapeIdState state, ThreadState thread, Blackhole blackhole) {
+        from(state, thread, blackhole);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void from4Threads(ShapeIdState state, ThreadState thread, Blackhole blackhole) {
+        from(state, thread, blackhole);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void from8Threads(ShapeIdState state, ThreadState thread, Blackhole blackhole) {
+        from(state, thread, blackhole);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void from16Threads(ShapeIdState state, ThreadState thread, Blackhole blackhole) {
+        from(state, thread, blackhole);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void from32Threads(ShapeIdState state, ThreadState thread, Blackhole blackhole) {
+        from(state, thread, blackhole);
+    }
+
+    private static void from(ShapeIdState state, ThreadState thread, Blackhole blackhole) {
+        int index = Math.floorMod(thread.position++, state.values.length);
+        blackhole.consume(ShapeId.from(state.values[index]));
+    }
+}
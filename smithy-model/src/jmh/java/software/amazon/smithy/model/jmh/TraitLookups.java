@@ -18,12 +18,27 @@ import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.ModelAssembler;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.traits.ClientOptionalTrait;
+import software.amazon.smithy.model.traits.DocumentationTrait;
 import software.amazon.smithy.model.traits.ErrorTrait;
 import software.amazon.smithy.model.traits.HttpErrorTrait;
+import software.amazon.smithy.model.traits.HttpHeaderTrait;
 import software.amazon.smithy.model.traits.InputTrait;
+import software.amazon.smithy.model.traits.JsonNameTrait;
+import software.amazon.smithy.model.traits.MediaTypeTrait;
 import software.amazon.smithy.model.traits.OutputTrait;
+import software.amazon.smithy.model.traits.RequiredTrait;
+import software.amazon.smithy.model.traits.SensitiveTrait;
+import software.amazon.smithy.model.traits.SinceTrait;
+import software.amazon.smithy.model.traits.TimestampFormatTrait;
+import software.amazon.smithy.model.traits.Trait;
+import software.amazon.smithy.model.traits.XmlAttributeTrait;
+import software.amazon.smithy.model.traits.XmlFlattenedTrait;
+import software.amazon.smithy.model.traits.XmlNameTrait;
 import software.amazon.smithy.utils.ListUtils;
 
 @Warmup(iterations = 3)
@@ -34,6 +49,7 @@ public class TraitLookups {
     @State(Scope.Thread)
     public static class TraitLookupState {
         public List<ShapeId> shapeIds = new ArrayList<>();
+        public List<MemberShape> members = new ArrayList<>();
         public Model model;
 
         @Setup
@@ -60,11 +76,53 @@ public class TraitLookups {
                 }
             }
 
+            // Members typically have zero to three traits.
+            StructureShape.Builder container = StructureShape.builder().id("ns.foo#Members");
+            for (int i = 0; i < 400; i++) {
+                MemberShape.Builder member = MemberShape.builder()
+                        .id("ns.foo#Members$member" + i)
+                        .target("smithy.api#String");
+                switch (i % 4) {
+                    case 3:
+                        member.addTrait(new DocumentationTrait("Docs"));
+                    case 2:
+                        member.addTrait(new SensitiveTrait());
+                    case 1:
+                        member.addTrait(new RequiredTrait());
+                    default:
+                        break;
+                }
+                container.addMember(member.build());
+            }
+
+            // Some members, like ones bound to HTTP and XML messages, have many
+            // more traits than can be searched linearly.
+            for (int i = 0; i < 100; i++) {
+                container.addMember(MemberShape.builder()
+                        .id("ns.foo#Members$annotated" + i)
+                        .target("smithy.api#String")
+                        .addTrait(new DocumentationTrait("Docs"))
+                        .addTrait(new SensitiveTrait())
+                        .addTrait(new RequiredTrait())
+                        .addTrait(new ClientOptionalTrait())
+                        .addTrait(new HttpHeaderTrait("X-Header"))
+                        .addTrait(new JsonNameTrait("json"))
+                        .addTrait(new XmlNameTrait("xml"))
+                        .addTrait(new XmlAttributeTrait())
+                        .addTrait(new XmlFlattenedTrait())
+                        .addTrait(new TimestampFormatTrait("epoch-seconds"))
+                        .addTrait(new MediaTypeTrait("text/plain"))
+                        .addTrait(new SinceTrait("1.0"))
+                        .build());
+            }
+            assembler.addShape(container.build());
+
             model = assembler
                     .disableValidation()
                     .assemble()
                     .getResult()
                     .get();
+            members.addAll(model.expectShape(ShapeId.from("ns.foo#Members")).members());
         }
     }
 
@@ -107,4 +165,51 @@ public class TraitLookups {
             state.model.expectShape(shapeId).hasTrait(HttpErrorTrait.class);
         }
     }
+
+    @Benchmark
+    public int memberHasTraitByShapeId(TraitLookupState state) {
+        int found = 0;
+        for (MemberShape member : state.members) {
+            found += member.hasTrait(RequiredTrait.ID) ? 1 : 0;
+            found += member.hasTrait(SensitiveTrait.ID) ? 1 : 0;
+            found += member.hasTrait(DocumentationTrait.ID) ? 1 : 0;
+            found += member.hasTrait(ErrorTrait.ID) ? 1 : 0;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int memberGetTraitByClass(TraitLookupState state) {
+        // Small trait maps are searched linearly, and larger ones by the trait ID each class is registered for.
+        int found = 0;
+        for (MemberShape member : state.members) {
+            found += member.getTrait(RequiredTrait.class).isPresent() ? 1 : 0;
+            found += member.getTrait(SensitiveTrait.class).isPresent() ? 1 : 0;
+            found += member.getTrait(DocumentationTrait.class).isPresent() ? 1 : 0;
+            found += member.getTrait(ErrorTrait.class).isPresent() ? 1 : 0;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int memberGetTraitByClassScan(TraitLookupState state) {
+        // Finds traits by class by checking every trait, which is how getTrait used to find them.
+        int found = 0;
+        for (MemberShape member : state.members) {
+            found += scan(member, RequiredTrait.class) ? 1 : 0;
+            found += scan(member, SensitiveTrait.class) ? 1 : 0;
+            found += scan(member, DocumentationTrait.class) ? 1 : 0;
+            found += scan(member, ErrorTrait.class) ? 1 : 0;
+        }
+        return found;
+    }
+
+    private static boolean scan(Shape shape, Class<? extends Trait> traitClass) {
+        for (Trait trait : shape.getAllTraits().values()) {
+            if (traitClass.isInstance(trait)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -4,19 +4,29 @@
  */
 package software.amazon.smithy.model;
 
+import java.util.AbstractMap;
 import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import java.util.stream.Collector;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.knowledge.KnowledgeIndex;
 import software.amazon.smithy.model.loader.ModelAssembler;
@@ -50,6 +60,7 @@ import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.shapes.TimestampShape;
 import software.amazon.smithy.model.shapes.ToShapeId;
 import software.amazon.smithy.model.shapes.UnionShape;
+import software.amazon.smithy.model.traits.LazyTrait;
 import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.traits.TraitDefinition;
 import software.amazon.smithy.model.traits.TraitFactory;
@@ -71,7 +82,7 @@ public final class Model implements ToSmithyBuilder<Model> {
     private final Map<String, Node> metadata;
 
     /** A map of shape ID to shapes that backs the shape map. */
-    private final Map<ShapeId, Shape> shapeMap;
+    private final ShapeMap shapeMap;
 
     /** A cache of shapes of a specific type. */
     private final Map<Class<? extends Shape>, Set<? extends Shape>> cachedTypes = new ConcurrentHashMap<>();
@@ -79,15 +90,34 @@ public final class Model implements ToSmithyBuilder<Model> {
     /** Cache of computed {@link KnowledgeIndex} instances. */
     private final Map<String, KnowledgeIndex> blackboard = new ConcurrentSkipListMap<>();
 
+    /** Knowledge indexes that are being computed, keyed by type name. */
+    private final Map<String, PendingKnowledge> pendingKnowledge = new ConcurrentHashMap<>();
+
     /** Lazily computed trait mappings. */
     private volatile TraitCache traitCache;
 
+    /** Lazily assigned shape ordinals. */
+    private volatile ShapeOrdinals shapeOrdinals;
+
     /** Lazily computed hashcode. */
     private int hash;
 
     private Model(Builder builder) {
-        shapeMap = builder.shapeMap.copy();
+        shapeMap = builder.buildShapeMap();
         metadata = builder.metadata.copy();
+
+        // Caches derived only from shapes still apply when the shapes are unchanged.
+        Model source = builder.sourceModel;
+        if (source != null && source.shapeMap == shapeMap) {
+            traitCache = source.traitCache;
+            shapeOrdinals = source.shapeOrdinals;
+        } else if (source != null && source.traitCache != null) {
+            // Update the trait mappings of the source model rather than scanning every shape again.
+            int changes = builder.putShapes.size() + builder.removedShapes.size();
+            if (changes * TraitCache.DERIVE_DIVISOR <= shapeMap.size()) {
+                traitCache = source.traitCache.derive(source.shapeMap, builder.putShapes, builder.removedShapes);
+            }
+        }
     }
 
     /**
@@ -173,13 +203,54 @@ public final class Model implements ToSmithyBuilder<Model> {
             synchronized (this) {
                 cache = traitCache;
                 if (cache == null) {
-                    traitCache = cache = new TraitCache(this.shapeMap.values());
+                    traitCache = cache = TraitCache.of(this.shapeMap.values());
                 }
             }
         }
         return cache;
     }
 
+    /**
+     * Gets the ordinal of a shape in the model.
+     *
+     * <p>Each shape in the model is assigned a dense ordinal from 0 to the
+     * number of shapes in the model minus one the first time an ordinal is
+     * needed. Ordinals are only meaningful for the model that assigned them,
+     * and are used by collections like {@link software.amazon.smithy.model.shapes.ShapeBitSet} to refer to shapes
+     * by index.
+     *
+     * @param id Shape ID to get the ordinal of.
+     * @return Returns the ordinal, or -1 if the shape isn't in the model.
+     */
+    public int getShapeOrdinal(ShapeId id) {
+        return getShapeOrdinals().getOrdinal(id);
+    }
+
+    /**
+     * Gets a shape by its ordinal.
+     *
+     * @param ordinal Ordinal of the shape to get.
+     * @return Returns the shape.
+     * @throws IndexOutOfBoundsException if the ordinal isn't assigned to a shape.
+     * @see #getShapeOrdinal(ShapeId)
+     */
+    public Shape getShapeByOrdinal(int ordinal) {
+        return getShapeOrdinals().shapes[ordinal];
+    }
+
+    private ShapeOrdinals getShapeOrdinals() {
+        ShapeOrdinals ordinals = shapeOrdinals;
+        if (ordinals == null) {
+            synchronized (this) {
+                ordinals = shapeOrdinals;
+                if (ordinals == null) {
+                    shapeOrdinals = ordinals = new ShapeOrdinals(shapeMap.values());
+                }
+            }
+        }
+        return ordinals;
+    }
+
     /**
      * Gets the immutable set of {@code ShapeId} in the model.
      *
@@ -846,22 +917,24 @@ public final class Model implements ToSmithyBuilder<Model> {
      */
     @Deprecated
     public <T extends KnowledgeIndex> T getKnowledge(Class<T> type) {
-        return getKnowledge(type, m -> {
-            try {
-                return type.getConstructor(Model.class).newInstance(this);
-            } catch (NoSuchMethodException e) {
-                String message = String.format(
-                        "KnowledgeIndex for type `%s` does not expose a public constructor that accepts a Model",
-                        type);
-                throw new RuntimeException(message, e);
-            } catch (ReflectiveOperationException e) {
-                String message = String.format(
-                        "Unable to create a KnowledgeIndex for type `%s`: %s",
-                        type,
-                        e.getMessage());
-                throw new RuntimeException(message, e);
-            }
-        });
+        return getKnowledge(type, m -> createKnowledge(type));
+    }
+
+    private <T extends KnowledgeIndex> T createKnowledge(Class<T> type) {
+        try {
+            return type.getConstructor(Model.class).newInstance(this);
+        } catch (NoSuchMethodException e) {
+            String message = String.format(
+                    "KnowledgeIndex for type `%s` does not expose a public constructor that accepts a Model",
+                    type);
+            throw new RuntimeException(message, e);
+        } catch (ReflectiveOperationException e) {
+            String message = String.format(
+                    "Unable to create a KnowledgeIndex for type `%s`: %s",
+                    type,
+                    e.getMessage());
+            throw new RuntimeException(message, e);
+        }
     }
 
     /**
@@ -885,7 +958,142 @@ public final class Model implements ToSmithyBuilder<Model> {
      */
     @SuppressWarnings("unchecked")
     public <T extends KnowledgeIndex> T getKnowledge(Class<T> type, Function<Model, T> constructor) {
-        return (T) blackboard.computeIfAbsent(type.getName(), t -> constructor.apply(this));
+        String key = type.getName();
+        KnowledgeIndex result = blackboard.get(key);
+        if (result != null) {
+            return (T) result;
+        }
+
+        // Wait for an index that another thread is computing rather than computing it again. An index that
+        // reenters its own creation on the same thread is computed again instead of waiting on itself.
+        PendingKnowledge pending = new PendingKnowledge();
+        PendingKnowledge existing = pendingKnowledge.putIfAbsent(key, pending);
+        if (existing != null && existing.owner != Thread.currentThread()) {
+            return (T) existing.await();
+        }
+
+        try {
+            result = blackboard.computeIfAbsent(key, t -> constructor.apply(this));
+            if (existing == null) {
+                pending.future.complete(result);
+            }
+            return (T) result;
+        } catch (RuntimeException | Error e) {
+            if (existing == null) {
+                pending.future.completeExceptionally(e);
+            }
+            throw e;
+        } finally {
+            if (existing == null) {
+                pendingKnowledge.remove(key, pending);
+            }
+        }
+    }
+
+    /**
+     * Computes knowledge indexes concurrently using the
+     * {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param types Types of knowledge index to compute.
+     * @see #precomputeKnowledge(Collection, Executor)
+     */
+    public void precomputeKnowledge(Collection<Class<? extends KnowledgeIndex>> types) {
+        precomputeKnowledge(types, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes knowledge indexes concurrently and waits for them to complete.
+     *
+     * <p>Each index is created using its public constructor that accepts
+     * a {@code Model}, just like {@link #getKnowledge(Class)}, and is
+     * cached for subsequent retrieval through the {@code of} method of the
+     * index. Indexes that were already computed are skipped.
+     *
+     * <p>Indexes that depend on other indexes don't need to be declared in
+     * any particular order. When an index requests another index that is
+     * being computed by a different thread, it waits for that computation
+     * to finish rather than computing the index a second time.
+     *
+     * <p>The calling thread computes the indexes that the executor hasn't
+     * started rather than waiting for them, so a bounded executor can be
+     * used even if the caller runs on one of its threads.
+     *
+     * @param types Types of knowledge index to compute.
+     * @param executor Executor used to compute each index.
+     * @throws RuntimeException if an index could not be created.
+     */
+    public void precomputeKnowledge(Collection<Class<? extends KnowledgeIndex>> types, Executor executor) {
+        List<PrecomputeTask> tasks = new ArrayList<>(types.size());
+        for (Class<? extends KnowledgeIndex> type : types) {
+            if (!blackboard.containsKey(type.getName())) {
+                PrecomputeTask task = new PrecomputeTask(() -> precomputeKnowledge(type));
+                tasks.add(task);
+                try {
+                    executor.execute(task);
+                } catch (RejectedExecutionException e) {
+                    // The task is run by the calling thread below.
+                }
+            }
+        }
+
+        for (PrecomputeTask task : tasks) {
+            task.run();
+            try {
+                task.future.join();
+            } catch (CompletionException e) {
+                throw unwrapCompletion(e);
+            }
+        }
+    }
+
+    // Computes an index once, on whichever thread runs the task first.
+    private static final class PrecomputeTask implements Runnable {
+        private final Runnable computation;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        PrecomputeTask(Runnable computation) {
+            this.computation = computation;
+        }
+
+        @Override
+        public void run() {
+            if (claimed.compareAndSet(false, true)) {
+                try {
+                    computation.run();
+                    future.complete(null);
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private <T extends KnowledgeIndex> void precomputeKnowledge(Class<T> type) {
+        getKnowledge(type, m -> createKnowledge(type));
+    }
+
+    private static RuntimeException unwrapCompletion(CompletionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+            return (RuntimeException) e.getCause();
+        } else if (e.getCause() instanceof Error) {
+            throw (Error) e.getCause();
+        }
+        return e;
+    }
+
+    // A knowledge index being computed by a thread.
+    private static final class PendingKnowledge {
+        private final Thread owner = Thread.currentThread();
+        private final CompletableFuture<KnowledgeIndex> future = new CompletableFuture<>();
+
+        KnowledgeIndex await() {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                throw unwrapCompletion(e);
+            }
+        }
     }
 
     /**
@@ -893,7 +1101,14 @@ public final class Model implements ToSmithyBuilder<Model> {
      */
     public static final class Builder implements SmithyBuilder<Model> {
         private final BuilderRef<Map<String, Node>> metadata = BuilderRef.forUnorderedMap();
-        private final BuilderRef<Map<ShapeId, Shape>> shapeMap = BuilderRef.forUnorderedMap();
+
+        // Shapes are tracked as changes to the shapes of a model so that models derived from another model
+        // share its shapes rather than copying them. An ID is never in both putShapes and removedShapes.
+        private ShapeMap baseShapes = ShapeMap.EMPTY;
+        private final Map<ShapeId, Shape> putShapes = new HashMap<>();
+        private final Set<ShapeId> removedShapes = new HashSet<>();
+        private final Map<ShapeId, Shape> currentShapes = new CurrentShapes();
+        private Model sourceModel;
 
         private Builder() {}
 
@@ -933,10 +1148,10 @@ public final class Model implements ToSmithyBuilder<Model> {
         public Builder addShape(Shape shape) {
             // Members must be added by their containing shapes.
             if (!shape.isMemberShape()) {
-                shapeMap.get().put(shape.getId(), shape);
+                putShape(shape);
                 // Automatically add members of the shape.
                 for (MemberShape memberShape : shape.members()) {
-                    shapeMap.get().put(memberShape.getId(), memberShape);
+                    putShape(memberShape);
                 }
             }
 
@@ -950,7 +1165,15 @@ public final class Model implements ToSmithyBuilder<Model> {
          * @return Returns the builder.
          */
         public Builder addShapes(Model model) {
-            shapeMap.get().putAll(model.shapeMap);
+            if (baseShapes.isEmpty() && putShapes.isEmpty() && removedShapes.isEmpty()) {
+                // Share the shapes of the model rather than copying them.
+                baseShapes = model.shapeMap;
+                sourceModel = model;
+            } else {
+                for (Shape shape : model.shapeMap.values()) {
+                    putShape(shape);
+                }
+            }
             return this;
         }
 
@@ -991,19 +1214,43 @@ public final class Model implements ToSmithyBuilder<Model> {
          * @return Returns the builder.
          */
         public Builder removeShape(ShapeId shapeId) {
-            if (shapeMap.hasValue() && shapeMap.peek().containsKey(shapeId)) {
-                Shape previous = shapeMap.peek().get(shapeId);
-                shapeMap.get().remove(shapeId);
+            Shape previous = getCurrentShape(shapeId);
+            if (previous != null) {
+                removeShapeId(shapeId);
 
                 // Automatically remove any members contained in the shape.
                 for (MemberShape memberShape : previous.members()) {
-                    shapeMap.get().remove(memberShape.getId());
+                    removeShapeId(memberShape.getId());
                 }
             }
 
             return this;
         }
 
+        private Shape getCurrentShape(ShapeId shapeId) {
+            Shape shape = putShapes.get(shapeId);
+            if (shape != null || removedShapes.contains(shapeId)) {
+                return shape;
+            }
+            return baseShapes.get(shapeId);
+        }
+
+        private void putShape(Shape shape) {
+            removedShapes.remove(shape.getId());
+            putShapes.put(shape.getId(), shape);
+        }
+
+        private void removeShapeId(ShapeId shapeId) {
+            putShapes.remove(shapeId);
+            if (baseShapes.containsKey(shapeId)) {
+                removedShapes.add(shapeId);
+            }
+        }
+
+        private ShapeMap buildShapeMap() {
+            return baseShapes.with(putShapes, removedShapes);
+        }
+
         /**
          * Gets an immutable view of the current shapes in the builder.
          *
@@ -1012,7 +1259,31 @@ public final class Model implements ToSmithyBuilder<Model> {
          * @return Returns the current shapes in the builder.
          */
         public Map<ShapeId, Shape> getCurrentShapes() {
-            return shapeMap.peek();
+            return currentShapes;
+        }
+
+        // A live view of the builder's shapes. Lookups don't build a map, since the loader looks up shapes
+        // while adding them; only iterating the view does.
+        private final class CurrentShapes extends AbstractMap<ShapeId, Shape> {
+            @Override
+            public Shape get(Object key) {
+                return key instanceof ShapeId ? getCurrentShape((ShapeId) key) : null;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return get(key) != null;
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return putShapes.isEmpty() && baseShapes.size() == removedShapes.size();
+            }
+
+            @Override
+            public Set<Entry<ShapeId, Shape>> entrySet() {
+                return buildShapeMap().entrySet();
+            }
         }
 
         @Override
@@ -1021,16 +1292,177 @@ public final class Model implements ToSmithyBuilder<Model> {
         }
     }
 
+    // Maps shape IDs to ordinals using open addressing to avoid boxing each ordinal.
+    private static final class ShapeOrdinals {
+        private final Shape[] shapes;
+        private final ShapeId[] slots;
+        private final int[] slotOrdinals;
+        private final int mask;
+
+        ShapeOrdinals(Collection<Shape> values) {
+            shapes = values.toArray(new Shape[0]);
+
+            // Keep the table at most half full so that probe sequences stay short.
+            int capacity = 2;
+            while (capacity < shapes.length * 2) {
+                capacity <<= 1;
+            }
+            slots = new ShapeId[capacity];
+            slotOrdinals = new int[capacity];
+            mask = capacity - 1;
+
+            for (int ordinal = 0; ordinal < shapes.length; ordinal++) {
+                ShapeId id = shapes[ordinal].getId();
+                int slot = slot(id);
+                while (slots[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = id;
+                slotOrdinals[slot] = ordinal;
+            }
+        }
+
+        private int slot(ShapeId id) {
+            int hash = id.hashCode();
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+
+        int getOrdinal(ShapeId id) {
+            for (int slot = slot(id); slots[slot] != null; slot = (slot + 1) & mask) {
+                if (slots[slot].equals(id)) {
+                    return slotOrdinals[slot];
+                }
+            }
+            return -1;
+        }
+    }
+
     private static final class TraitCache {
-        private final Map<ShapeId, Set<Shape>> traitIdsToShapes = new HashMap<>();
-        private final Map<Class<? extends Trait>, Set<Shape>> traitsToShapes = new HashMap<>();
+        /** Builds the cache using a parallel stream when the model size exceeds this number. */
+        private static final int PARALLEL_THRESHOLD = 10000;
 
-        TraitCache(Collection<Shape> shapes) {
-            for (Shape shape : shapes) {
-                for (Trait trait : shape.getAllTraits().values()) {
-                    traitIdsToShapes.computeIfAbsent(trait.toShapeId(), id -> new HashSet<>()).add(shape);
-                    traitsToShapes.computeIfAbsent(trait.getClass(), id -> new HashSet<>()).add(shape);
+        /** Derives the cache from a source model only when the changes are less than this fraction of shapes. */
+        private static final int DERIVE_DIVISOR = 2;
+
+        private final Map<ShapeId, Set<Shape>> traitIdsToShapes;
+        private final Map<Class<? extends Trait>, Set<Shape>> traitsToShapes;
+
+        private TraitCache() {
+            this(new HashMap<>(), new HashMap<>());
+        }
+
+        private TraitCache(
+                Map<ShapeId, Set<Shape>> traitIdsToShapes,
+                Map<Class<? extends Trait>, Set<Shape>> traitsToShapes
+        ) {
+            this.traitIdsToShapes = traitIdsToShapes;
+            this.traitsToShapes = traitsToShapes;
+        }
+
+        static TraitCache of(Collection<Shape> shapes) {
+            if (shapes.size() < PARALLEL_THRESHOLD) {
+                TraitCache cache = new TraitCache();
+                for (Shape shape : shapes) {
+                    cache.add(shape);
                 }
+                return cache;
+            }
+
+            return shapes.parallelStream()
+                    .collect(Collector.of(TraitCache::new,
+                            TraitCache::add,
+                            TraitCache::merge,
+                            Collector.Characteristics.UNORDERED));
+        }
+
+        private void add(Shape shape) {
+            // Lazy traits are only created if their class isn't already known from another lazy trait.
+            for (Trait trait : LazyTrait.uncreated(shape.getAllTraits()).values()) {
+                traitIdsToShapes.computeIfAbsent(trait.toShapeId(), id -> new HashSet<>()).add(shape);
+                traitsToShapes.computeIfAbsent(LazyTrait.getTraitClass(trait), id -> new HashSet<>()).add(shape);
+            }
+        }
+
+        private TraitCache merge(TraitCache other) {
+            mergeMappings(traitIdsToShapes, other.traitIdsToShapes);
+            mergeMappings(traitsToShapes, other.traitsToShapes);
+            return this;
+        }
+
+        private static <K> void mergeMappings(Map<K, Set<Shape>> target, Map<K, Set<Shape>> source) {
+            for (Map.Entry<K, Set<Shape>> entry : source.entrySet()) {
+                target.merge(entry.getKey(), entry.getValue(), (left, right) -> {
+                    if (left.size() < right.size()) {
+                        right.addAll(left);
+                        return right;
+                    }
+                    left.addAll(right);
+                    return left;
+                });
+            }
+        }
+
+        // Creates a cache for shapes that differ from the shapes of this cache by the given changes. The
+        // mappings of this cache are shared with the created cache, and only the sets of shapes that change
+        // are copied.
+        TraitCache derive(Map<ShapeId, Shape> previousShapes, Map<ShapeId, Shape> puts, Set<ShapeId> removes) {
+            TraitCache result = new TraitCache(new HashMap<>(traitIdsToShapes), new HashMap<>(traitsToShapes));
+            Set<ShapeId> copiedIds = new HashSet<>();
+            Set<Class<? extends Trait>> copiedClasses = new HashSet<>();
+
+            for (ShapeId id : removes) {
+                Shape previous = previousShapes.get(id);
+                if (previous != null) {
+                    result.update(previous, false, copiedIds, copiedClasses);
+                }
+            }
+
+            for (Shape shape : puts.values()) {
+                Shape previous = previousShapes.get(shape.getId());
+                if (previous != shape) {
+                    if (previous != null) {
+                        result.update(previous, false, copiedIds, copiedClasses);
+                    }
+                    result.update(shape, true, copiedIds, copiedClasses);
+                }
+            }
+
+            // Traits that are no longer applied to any shape aren't part of the mappings.
+            result.traitIdsToShapes.values().removeIf(Set::isEmpty);
+            result.traitsToShapes.values().removeIf(Set::isEmpty);
+            return result;
+        }
+
+        private void update(
+                Shape shape,
+                boolean add,
+                Set<ShapeId> copiedIds,
+                Set<Class<? extends Trait>> copiedClasses
+        ) {
+            for (Trait trait : LazyTrait.uncreated(shape.getAllTraits()).values()) {
+                updateMapping(traitIdsToShapes, copiedIds, trait.toShapeId(), shape, add);
+                updateMapping(traitsToShapes, copiedClasses, LazyTrait.getTraitClass(trait), shape, add);
+            }
+        }
+
+        private static <K> void updateMapping(
+                Map<K, Set<Shape>> mappings,
+                Set<K> copied,
+                K key,
+                Shape shape,
+                boolean add
+        ) {
+            Set<Shape> shapes = mappings.get(key);
+            if (copied.add(key)) {
+                // Copy the set on first write since it's shared with the cache it was derived from.
+                shapes = shapes == null ? new HashSet<>() : new HashSet<>(shapes);
+                mappings.put(key, shapes);
+            }
+
+            if (add) {
+                shapes.add(shape);
+            } else {
+                shapes.remove(shape);
             }
         }
     }
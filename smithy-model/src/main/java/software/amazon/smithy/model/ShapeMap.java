@@ -0,0 +1,263 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+/**
+ * An immutable map of shapes that shares its contents with the map it was
+ * derived from.
+ *
+ * <p>A derived map stores the shapes that were added or replaced and the
+ * IDs that were removed on top of the base map of the map it was derived
+ * from, so deriving a map costs time proportional to the number of changes
+ * rather than the size of the model. Once the changes grow to a fraction of
+ * the base map, they're flattened into a new base map so that lookups stay
+ * cheap and removed shapes aren't retained.
+ *
+ * <p>Shapes are iterated in the order of the base map, with replaced shapes
+ * iterated in place of the shapes they replaced, followed by added shapes.
+ */
+final class ShapeMap extends AbstractMap<ShapeId, Shape> {
+
+    static final ShapeMap EMPTY = new ShapeMap(Collections.emptyMap(), Collections.emptyMap(), Collections.emptySet());
+
+    // Changes are flattened once they reach this fraction of the base map.
+    private static final int FLATTEN_DIVISOR = 4;
+
+    private final Map<ShapeId, Shape> base;
+    private final Map<ShapeId, Shape> overrides;
+    private final Set<ShapeId> removed;
+    private final int size;
+    private Set<Entry<ShapeId, Shape>> entrySet;
+    private Set<ShapeId> keySet;
+    private Collection<Shape> values;
+
+    // The base map must be unmodifiable since its iterators are exposed. It's wrapped once when it's
+    // flattened and then shared as-is by every map derived from it.
+    private ShapeMap(Map<ShapeId, Shape> base, Map<ShapeId, Shape> overrides, Set<ShapeId> removed) {
+        this.base = base;
+        this.overrides = overrides;
+        this.removed = removed;
+
+        int count = base.size() - removed.size();
+        for (ShapeId id : overrides.keySet()) {
+            if (!base.containsKey(id)) {
+                count++;
+            }
+        }
+        this.size = count;
+    }
+
+    /**
+     * Derives a map by applying changes to this map.
+     *
+     * @param puts Shapes to add or replace.
+     * @param removes IDs of shapes to remove. Must not overlap with {@code puts}.
+     * @return Returns the derived map, or this map if nothing changed.
+     */
+    ShapeMap with(Map<ShapeId, Shape> puts, Set<ShapeId> removes) {
+        if (puts.isEmpty() && removes.isEmpty()) {
+            return this;
+        }
+
+        Map<ShapeId, Shape> newOverrides = new HashMap<>(overrides);
+        Set<ShapeId> newRemoved = new HashSet<>(removed);
+        for (ShapeId id : removes) {
+            newOverrides.remove(id);
+            if (base.containsKey(id)) {
+                newRemoved.add(id);
+            }
+        }
+        for (Map.Entry<ShapeId, Shape> entry : puts.entrySet()) {
+            newRemoved.remove(entry.getKey());
+            if (base.get(entry.getKey()) == entry.getValue()) {
+                // Putting back the shape that's already in the base map undoes a previous change.
+                newOverrides.remove(entry.getKey());
+            } else {
+                newOverrides.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if ((long) (newOverrides.size() + newRemoved.size()) * FLATTEN_DIVISOR > base.size()) {
+            ShapeMap layered = new ShapeMap(base, newOverrides, newRemoved);
+            Map<ShapeId, Shape> flattened = new HashMap<>(layered.size);
+            for (Map.Entry<ShapeId, Shape> entry : layered.entrySet()) {
+                flattened.put(entry.getKey(), entry.getValue());
+            }
+            return new ShapeMap(Collections.unmodifiableMap(flattened), Collections.emptyMap(), Collections.emptySet());
+        }
+
+        return new ShapeMap(base, newOverrides, newRemoved);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Shape get(Object key) {
+        Shape shape = overrides.get(key);
+        if (shape != null) {
+            return shape;
+        }
+        return removed.contains(key) ? null : base.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<ShapeId, Shape>> entrySet() {
+        Set<Entry<ShapeId, Shape>> result = entrySet;
+        if (result == null) {
+            entrySet = result = new AbstractSet<Entry<ShapeId, Shape>>() {
+                @Override
+                public Iterator<Entry<ShapeId, Shape>> iterator() {
+                    return new ShapeIterator<Entry<ShapeId, Shape>>() {
+                        @Override
+                        Entry<ShapeId, Shape> value(ShapeId id, Shape shape) {
+                            return new SimpleImmutableEntry<>(id, shape);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return result;
+    }
+
+    @Override
+    public Set<ShapeId> keySet() {
+        Set<ShapeId> result = keySet;
+        if (result == null) {
+            keySet = result = new AbstractSet<ShapeId>() {
+                @Override
+                public Iterator<ShapeId> iterator() {
+                    return new ShapeIterator<ShapeId>() {
+                        @Override
+                        ShapeId value(ShapeId id, Shape shape) {
+                            return id;
+                        }
+                    };
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    return containsKey(o);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<Shape> values() {
+        Collection<Shape> result = values;
+        if (result == null) {
+            values = result = new AbstractCollection<Shape>() {
+                @Override
+                public Iterator<Shape> iterator() {
+                    if (overrides.isEmpty() && removed.isEmpty()) {
+                        return base.values().iterator();
+                    }
+                    return new ShapeIterator<Shape>() {
+                        @Override
+                        Shape value(ShapeId id, Shape shape) {
+                            return shape;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return result;
+    }
+
+    // Iterates over the base map, then over the shapes that were added rather than replaced.
+    private abstract class ShapeIterator<T> implements Iterator<T> {
+        private final Iterator<Entry<ShapeId, Shape>> baseIterator = base.entrySet().iterator();
+        private Iterator<Entry<ShapeId, Shape>> addedIterator;
+        private T next;
+
+        abstract T value(ShapeId id, Shape shape);
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+
+            while (baseIterator.hasNext()) {
+                Entry<ShapeId, Shape> entry = baseIterator.next();
+                ShapeId id = entry.getKey();
+                Shape override = overrides.get(id);
+                if (override != null) {
+                    next = value(id, override);
+                    return true;
+                } else if (!removed.contains(id)) {
+                    next = value(id, entry.getValue());
+                    return true;
+                }
+            }
+
+            if (addedIterator == null) {
+                addedIterator = overrides.entrySet().iterator();
+            }
+            while (addedIterator.hasNext()) {
+                Entry<ShapeId, Shape> entry = addedIterator.next();
+                if (!base.containsKey(entry.getKey())) {
+                    next = value(entry.getKey(), entry.getValue());
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T result = next;
+            next = null;
+            return result;
+        }
+    }
+}
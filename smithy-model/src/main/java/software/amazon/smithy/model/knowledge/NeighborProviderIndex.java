@@ -7,23 +7,29 @@ package software.amazon.smithy.model.knowledge;
 import java.lang.ref.WeakReference;
 import java.util.Objects;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.neighbor.CompactNeighborProvider;
 import software.amazon.smithy.model.neighbor.NeighborProvider;
 
 /**
  * Provides a cache of precomputed neighbors for models.
+ *
+ * <p>Each provider is a {@link CompactNeighborProvider} that stores the
+ * relationships of the model as arrays of shape ordinals and only creates
+ * {@link software.amazon.smithy.model.neighbor.Relationship} objects when
+ * they're requested.
  */
 public final class NeighborProviderIndex implements KnowledgeIndex {
 
-    private final NeighborProvider provider;
+    private final CompactNeighborProvider provider;
     private final WeakReference<Model> model;
 
     // These providers are lazily computed on first access.
-    private volatile NeighborProvider reversed;
-    private volatile NeighborProvider providerWithTraits;
-    private volatile NeighborProvider reversedWithTraits;
+    private volatile CompactNeighborProvider reversed;
+    private volatile CompactNeighborProvider providerWithTraits;
+    private volatile CompactNeighborProvider reversedWithTraits;
 
     public NeighborProviderIndex(Model model) {
-        provider = NeighborProvider.precomputed(model);
+        provider = CompactNeighborProvider.of(model, NeighborProvider.of(model));
 
         // Store a WeakReference to the model since the reversed provider that includes
         // traits is lazily computed.
@@ -43,20 +49,40 @@ public final class NeighborProviderIndex implements KnowledgeIndex {
         return provider;
     }
 
+    /**
+     * Gets the precomputed neighbor provider as a {@link CompactNeighborProvider}.
+     *
+     * @return Returns the provider.
+     */
+    public CompactNeighborProvider getCompactProvider() {
+        return provider;
+    }
+
     /**
      * Gets the neighbor provider that includes trait relationships.
      *
      * @return Returns the provider.
      */
     public NeighborProvider getProviderWithTraitRelationships() {
-        NeighborProvider result = providerWithTraits;
+        return getCompactProviderWithTraitRelationships();
+    }
+
+    /**
+     * Gets the neighbor provider that includes trait relationships as a
+     * {@link CompactNeighborProvider}.
+     *
+     * @return Returns the provider.
+     */
+    public CompactNeighborProvider getCompactProviderWithTraitRelationships() {
+        CompactNeighborProvider result = providerWithTraits;
 
         if (result == null) {
             Model model = getOrThrowModel();
             synchronized (this) {
                 result = providerWithTraits;
                 if (result == null) {
-                    providerWithTraits = result = NeighborProvider.cached(
+                    providerWithTraits = result = CompactNeighborProvider.of(
+                            model,
                             NeighborProvider.withTraitRelationships(model, provider));
                 }
             }
@@ -71,14 +97,22 @@ public final class NeighborProviderIndex implements KnowledgeIndex {
      * @return Returns the reversed neighbor provider.
      */
     public NeighborProvider getReverseProvider() {
-        NeighborProvider result = reversed;
+        return getCompactReverseProvider();
+    }
+
+    /**
+     * Gets a reversed, bottom up neighbor provider as a {@link CompactNeighborProvider}.
+     *
+     * @return Returns the reversed neighbor provider.
+     */
+    public CompactNeighborProvider getCompactReverseProvider() {
+        CompactNeighborProvider result = reversed;
 
         if (result == null) {
-            Model model = getOrThrowModel();
             synchronized (this) {
                 result = reversed;
                 if (result == null) {
-                    reversed = result = NeighborProvider.reverse(model, provider);
+                    reversed = result = provider.reverse();
                 }
             }
         }
@@ -92,14 +126,23 @@ public final class NeighborProviderIndex implements KnowledgeIndex {
      * @return Returns the reversed neighbor provider with reverse traits.
      */
     public NeighborProvider getReverseProviderWithTraitRelationships() {
-        NeighborProvider result = reversedWithTraits;
+        return getCompactReverseProviderWithTraitRelationships();
+    }
+
+    /**
+     * Gets a reversed, bottom up neighbor provider that includes reverse traits
+     * as a {@link CompactNeighborProvider}.
+     *
+     * @return Returns the reversed neighbor provider with reverse traits.
+     */
+    public CompactNeighborProvider getCompactReverseProviderWithTraitRelationships() {
+        CompactNeighborProvider result = reversedWithTraits;
 
         if (result == null) {
             synchronized (this) {
                 result = reversedWithTraits;
                 if (result == null) {
-                    NeighborProvider withTraits = getProviderWithTraitRelationships();
-                    reversedWithTraits = result = NeighborProvider.reverse(getOrThrowModel(), withTraits);
+                    reversedWithTraits = result = getCompactProviderWithTraitRelationships().reverse();
                 }
             }
         }
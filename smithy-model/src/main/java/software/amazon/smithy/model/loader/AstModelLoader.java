@@ -6,6 +6,7 @@ package software.amazon.smithy.model.loader;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -16,6 +17,7 @@ import software.amazon.smithy.model.node.ArrayNode;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.node.internal.NodeHandler;
 import software.amazon.smithy.model.shapes.AbstractShapeBuilder;
 import software.amazon.smithy.model.shapes.BigDecimalShape;
 import software.amazon.smithy.model.shapes.BigIntegerShape;
@@ -105,11 +107,22 @@ final class AstModelLoader {
 
     private final Version modelVersion;
     private final ObjectNode model;
+    private final ShapeStream shapeStream;
     private Consumer<LoadOperation> operations;
 
     AstModelLoader(Version modelVersion, ObjectNode model) {
+        this(modelVersion, model, null);
+    }
+
+    /**
+     * @param modelVersion Version of the model.
+     * @param model Parsed model.
+     * @param shapeStream Shapes that were loaded while the model was parsed, or null.
+     */
+    AstModelLoader(Version modelVersion, ObjectNode model, ShapeStream shapeStream) {
         this.modelVersion = modelVersion;
         this.model = model;
+        this.shapeStream = shapeStream;
     }
 
     void parse(Consumer<LoadOperation> consumer) {
@@ -138,25 +151,33 @@ final class AstModelLoader {
     }
 
     private void loadShapes() {
+        if (shapeStream != null) {
+            shapeStream.replay(operations);
+        }
+
         model.getObjectMember(SHAPES).ifPresent(shapes -> {
             for (Map.Entry<StringNode, Node> entry : shapes.getMembers().entrySet()) {
-                ShapeId id = entry.getKey().expectShapeId();
-                ObjectNode definition = entry.getValue().expectObjectNode();
-                String type = definition.expectStringMember(TYPE).getValue();
-                try {
-                    // Note: loadShape() returns null when using apply for traits.
-                    LoadOperation.DefineShape defineShape = loadShape(id, type, definition);
-                    if (defineShape != null) {
-                        operations.accept(defineShape);
-                    }
-                } catch (SourceException e) {
-                    ValidationEvent event = ValidationEvent.fromSourceException(e).toBuilder().shapeId(id).build();
-                    emit(event);
-                }
+                loadShapeEntry(entry.getKey(), entry.getValue());
             }
         });
     }
 
+    private void loadShapeEntry(StringNode key, Node value) {
+        ShapeId id = key.expectShapeId();
+        ObjectNode definition = value.expectObjectNode();
+        String type = definition.expectStringMember(TYPE).getValue();
+        try {
+            // Note: loadShape() returns null when using apply for traits.
+            LoadOperation.DefineShape defineShape = loadShape(id, type, definition);
+            if (defineShape != null) {
+                operations.accept(defineShape);
+            }
+        } catch (SourceException e) {
+            ValidationEvent event = ValidationEvent.fromSourceException(e).toBuilder().shapeId(id).build();
+            emit(event);
+        }
+    }
+
     private LoadOperation.DefineShape loadShape(ShapeId id, String type, ObjectNode value) {
         switch (type) {
             case "blob":
@@ -424,4 +445,77 @@ final class AstModelLoader {
             return ids;
         }).orElseGet(Collections::emptyList);
     }
+
+    /**
+     * Loads the shapes of a JSON AST model while the model is being parsed.
+     *
+     * <p>Each entry of the top-level "shapes" object is converted to load
+     * operations as soon as it has been parsed, and the entry is then
+     * omitted from the parsed model. Only the trait values referenced by
+     * the operations are retained rather than the Node of every shape
+     * definition. Shapes can only be streamed once the "smithy" version has
+     * been parsed, so entries that come before the version are left in the
+     * parsed model and loaded as usual.
+     *
+     * <p>The operations are buffered and replayed after the model is parsed
+     * so that they are emitted in the same order, and with the same
+     * failures, as when loading a fully parsed model.
+     */
+    static final class ShapeStream implements NodeHandler.MemberListener {
+        private Map<String, StreamedShape> shapes = new LinkedHashMap<>();
+        private Map<String, StreamedShape> parsing = new LinkedHashMap<>();
+        private AstModelLoader loader;
+
+        @Override
+        public boolean member(List<String> path, StringNode key, Node value) {
+            if (path.isEmpty()) {
+                if (key.getValue().equals("smithy") && loader == null && value.isStringNode()) {
+                    Version version = Version.fromString(value.expectStringNode().getValue());
+                    if (version != null) {
+                        loader = new AstModelLoader(version, null);
+                    }
+                } else if (key.getValue().equals(SHAPES)) {
+                    // When "shapes" is defined more than once, only the last definition is used.
+                    shapes = parsing;
+                    parsing = new LinkedHashMap<>();
+                }
+                return false;
+            } else if (loader == null || path.size() != 1 || !SHAPES.equals(path.get(0))) {
+                return false;
+            }
+
+            // Duplicate shape keys keep the key and position of the first entry and the value of the last.
+            StreamedShape previous = parsing.get(key.getValue());
+            StringNode shapeKey = previous == null ? key : previous.key;
+            StreamedShape shape = new StreamedShape(shapeKey);
+            loader.operations = shape.operations::add;
+            try {
+                loader.loadShapeEntry(shapeKey, value);
+            } catch (RuntimeException e) {
+                // Failures stop loading the model, so they're rethrown when the operations are replayed.
+                shape.failure = e;
+            }
+            parsing.put(key.getValue(), shape);
+            return true;
+        }
+
+        private void replay(Consumer<LoadOperation> consumer) {
+            for (StreamedShape shape : shapes.values()) {
+                shape.operations.forEach(consumer);
+                if (shape.failure != null) {
+                    throw shape.failure;
+                }
+            }
+        }
+    }
+
+    private static final class StreamedShape {
+        private final StringNode key;
+        private final List<LoadOperation> operations = new ArrayList<>();
+        private RuntimeException failure;
+
+        StreamedShape(StringNode key) {
+            this.key = key;
+        }
+    }
 }
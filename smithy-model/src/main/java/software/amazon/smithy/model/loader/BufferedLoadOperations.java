@@ -0,0 +1,50 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.loader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Buffers {@link LoadOperation}s produced by a loader until they are replayed into a processor.
+ *
+ * <p>This allows files to be parsed on a worker thread while still applying their operations
+ * to a {@link LoadOperationProcessor} in a deterministic order. Loaders can continue to emit
+ * operations after the buffer is replayed (for example, when forward references are resolved),
+ * so every operation received after {@link #replay} is sent directly to the replay target.
+ */
+final class BufferedLoadOperations implements Consumer<LoadOperation> {
+
+    private List<LoadOperation> operations = new ArrayList<>();
+    private Consumer<LoadOperation> target;
+
+    @Override
+    public void accept(LoadOperation operation) {
+        if (target != null) {
+            target.accept(operation);
+        } else {
+            operations.add(operation);
+        }
+    }
+
+    /**
+     * Sends every buffered operation to the given consumer, and forwards subsequent operations to it.
+     *
+     * @param consumer Consumer that receives the operations.
+     */
+    void replay(Consumer<LoadOperation> consumer) {
+        if (target != null) {
+            throw new IllegalStateException("Load operations have already been replayed");
+        }
+
+        target = consumer;
+        List<LoadOperation> pending = operations;
+        operations = null;
+        for (LoadOperation operation : pending) {
+            consumer.accept(operation);
+        }
+    }
+}
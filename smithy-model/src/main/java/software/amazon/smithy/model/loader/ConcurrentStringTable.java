@@ -0,0 +1,108 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.loader;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A thread-safe caching string table that converts CharSequence to String objects.
+ *
+ * <p>This table uses the same design as {@link StringTable}: an FNV-1a hash selects a
+ * slot, and collisions simply overwrite the previously cached value. Slots are read and
+ * written atomically, so a single table can be shared by many parsers running
+ * concurrently and reused across assemblies using
+ * {@link ModelAssembler#stringTable(ConcurrentStringTable)}. This allows services that
+ * assemble many models containing the same identifiers to share a single copy of each
+ * identifier.
+ *
+ * <p>The table tracks the number of hits and misses so that it can be sized
+ * appropriately. A high miss rate for a workload that repeats the same strings
+ * indicates that the table is too small.
+ */
+public final class ConcurrentStringTable implements Function<CharSequence, String> {
+
+    private final AtomicReferenceArray<String> table;
+    private final int sizeMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Create a string table with 16384 entries.
+     */
+    public ConcurrentStringTable() {
+        this(14);
+    }
+
+    /**
+     * Create a string table with a specific number of entries.
+     *
+     * @param sizeBits Size of the table based on bit shifting (e.g., 1 -> 2, 2 -> 4, ..., 10 -> 1024, 11 -> 2048).
+     */
+    public ConcurrentStringTable(int sizeBits) {
+        if (sizeBits <= 0) {
+            throw new IllegalArgumentException("Cache sizeBits must be >= 1");
+        } else if (sizeBits >= 21) {
+            throw new IllegalArgumentException("Refusing to create a cache with " + (1 << 21) + " entries");
+        }
+
+        int size = 1 << sizeBits;
+        this.sizeMask = size - 1;
+        this.table = new AtomicReferenceArray<>(size);
+    }
+
+    @Override
+    public String apply(CharSequence chars) {
+        int idx = StringTable.getFnvHashCode(chars) & sizeMask;
+        String text = table.get(idx);
+
+        // On a cache hit, return the value if it matches. Otherwise, overwrite this value.
+        if (text != null && StringTable.textEquals(chars, text)) {
+            hits.increment();
+            return text;
+        } else {
+            misses.increment();
+            String value = chars.toString();
+            table.set(idx, value);
+            return value;
+        }
+    }
+
+    /**
+     * Gets the number of times a string was found in the table.
+     *
+     * @return Returns the number of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of times a string was not found in the table and had to be created.
+     *
+     * @return Returns the number of misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of entries the table can hold.
+     *
+     * @return Returns the table size.
+     */
+    public int size() {
+        return table.length();
+    }
+
+    /**
+     * Resets the hit and miss counters without clearing the table.
+     */
+    public void resetCounters() {
+        hits.reset();
+        misses.reset();
+    }
+}
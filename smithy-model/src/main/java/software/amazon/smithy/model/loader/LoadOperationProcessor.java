@@ -37,6 +37,7 @@ final class LoadOperationProcessor implements Consumer<LoadOperation> {
             TraitFactory traitFactory,
             Model prelude,
             boolean allowUnknownTraits,
+            boolean lazyTraits,
             Consumer<ValidationEvent> validationEventListener,
             ValidationEventDecorator decorator
     ) {
@@ -61,7 +62,7 @@ final class LoadOperationProcessor implements Consumer<LoadOperation> {
 
         this.prelude = prelude;
         shapeMap = new LoaderShapeMap(prelude, events);
-        traitMap = new LoaderTraitMap(traitFactory, events, allowUnknownTraits);
+        traitMap = new LoaderTraitMap(traitFactory, events, allowUnknownTraits, lazyTraits);
 
         this.visitor = new LoadOperation.Visitor() {
             @Override
@@ -15,6 +15,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 import software.amazon.smithy.model.SourceException;
 import software.amazon.smithy.model.SourceLocation;
@@ -22,28 +23,41 @@ import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.shapes.AbstractShapeBuilder;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.DynamicTrait;
+import software.amazon.smithy.model.traits.LazyTrait;
+import software.amazon.smithy.model.traits.MixinTrait;
 import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.traits.TraitFactory;
 import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.Validator;
+import software.amazon.smithy.utils.SetUtils;
 
 final class LoaderTraitMap {
 
     private static final Logger LOGGER = Logger.getLogger(LoaderTraitMap.class.getName());
     private static final String UNRESOLVED_TRAIT_SUFFIX = ".UnresolvedTrait";
 
+    // Traits that are needed to build shapes are never lazy.
+    private static final Set<ShapeId> EAGER_TRAITS = SetUtils.of(MixinTrait.ID);
+
     private final TraitFactory traitFactory;
     private final Map<ShapeId, Map<ShapeId, Node>> traits = new HashMap<>();
     private final List<ValidationEvent> events;
     private final boolean allowUnknownTraits;
+    private final Map<ShapeId, Class<? extends Trait>> lazyTraitClasses;
     private final Map<ShapeId, Map<ShapeId, Trait>> unclaimed = new HashMap<>();
     private final Set<ShapeId> claimed = new HashSet<>();
 
-    LoaderTraitMap(TraitFactory traitFactory, List<ValidationEvent> events, boolean allowUnknownTraits) {
+    LoaderTraitMap(
+            TraitFactory traitFactory,
+            List<ValidationEvent> events,
+            boolean allowUnknownTraits,
+            boolean lazyTraits
+    ) {
         this.traitFactory = traitFactory;
         this.events = events;
         this.allowUnknownTraits = allowUnknownTraits;
+        this.lazyTraitClasses = lazyTraits ? new ConcurrentHashMap<>() : null;
     }
 
     void applyTraitsToNonMixinsInShapeMap(LoaderShapeMap shapeMap) {
@@ -103,6 +117,10 @@ final class LoaderTraitMap {
     }
 
     private Trait createTrait(ShapeId target, ShapeId traitId, Node traitValue) {
+        if (lazyTraitClasses != null && !EAGER_TRAITS.contains(traitId)) {
+            return new LazyTrait(traitId, target, traitValue, traitFactory, lazyTraitClasses);
+        }
+
         try {
             return traitFactory.createTrait(traitId, target, traitValue)
                     .orElseGet(() -> new DynamicTrait(traitId, traitValue));
@@ -0,0 +1,331 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.loader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Reads model files through a memory-mapped {@link ByteBuffer} rather than
+ * copying them into a {@code String}.
+ *
+ * <p>Files that only contain ASCII characters are exposed as a zero-copy
+ * {@link CharSequence} view over the mapped bytes. Well-formed UTF-8 files
+ * are also read from the mapped bytes, decoding each char when it is
+ * accessed; only a small index of char offsets is kept on the heap. Files
+ * with malformed UTF-8 are decoded into a {@link CharBuffer} that replaces
+ * the malformed input.
+ */
+final class MappedModelFile {
+
+    private MappedModelFile() {}
+
+    /**
+     * Supplies an {@link InputStream} for a file on the local file system.
+     *
+     * <p>The path is retained so that the loader can memory-map the file
+     * instead of reading it from the stream.
+     */
+    static final class PathSupplier implements Supplier<InputStream> {
+        private final Path path;
+
+        PathSupplier(Path path) {
+            this.path = path;
+        }
+
+        Path getPath() {
+            return path;
+        }
+
+        @Override
+        public InputStream get() {
+            try {
+                return Files.newInputStream(path);
+            } catch (IOException e) {
+                throw new ModelImportException(
+                        "Unable to import Smithy model from " + path + ": " + e.getMessage(),
+                        e);
+            }
+        }
+    }
+
+    /**
+     * Memory-maps a UTF-8 encoded file and returns its contents.
+     *
+     * @param path File to read.
+     * @return Returns the contents of the file.
+     * @throws IOException if the file can't be read.
+     */
+    static CharSequence read(Path path) throws IOException {
+        ByteBuffer bytes;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File is too large to load: " + size + " bytes");
+            }
+            // The mapping remains valid after the channel is closed.
+            bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        if (isAscii(bytes)) {
+            return new AsciiSequence(bytes, 0, bytes.limit());
+        }
+
+        CharSequence utf8 = Utf8Sequence.index(bytes);
+        return utf8 != null ? utf8 : decode(bytes);
+    }
+
+    private static boolean isAscii(ByteBuffer bytes) {
+        for (int i = 0; i < bytes.limit(); i++) {
+            if (bytes.get(i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static CharSequence decode(ByteBuffer bytes) throws IOException {
+        // Replace malformed input like new String(bytes, UTF_8) does.
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        return decoder.decode(bytes.duplicate());
+    }
+
+    // Each byte of an ASCII file is exactly one char, so chars are read straight from the mapped bytes.
+    private static final class AsciiSequence implements CharSequence {
+        private final ByteBuffer bytes;
+        private final int offset;
+        private final int length;
+
+        AsciiSequence(ByteBuffer bytes, int offset, int length) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+            }
+            return (char) bytes.get(offset + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length || start > end) {
+                throw new IndexOutOfBoundsException("Invalid range " + start + " to " + end + " of " + length);
+            }
+            return new AsciiSequence(bytes, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            byte[] result = new byte[length];
+            ByteBuffer view = bytes.duplicate();
+            view.position(offset);
+            view.get(result);
+            return new String(result, StandardCharsets.US_ASCII);
+        }
+    }
+
+    // Chars are decoded from the mapped bytes on access. The tokenizer mostly reads forward, so a cursor
+    // remembers the last position, and a checkpoint every CHECKPOINT_INTERVAL chars bounds backward seeks.
+    private static final class Utf8Sequence implements CharSequence {
+        private static final int CHECKPOINT_INTERVAL = 64;
+
+        private final ByteBuffer bytes;
+        private final int length;
+
+        // Byte offset of the code point holding every CHECKPOINT_INTERVAL'th char, shifted left by one and
+        // with the low bit set when that char is the low surrogate of a supplementary code point.
+        private final long[] checkpoints;
+
+        private int cursorChar;
+        private int cursorByte;
+        private boolean cursorLow;
+
+        private Utf8Sequence(ByteBuffer bytes, int length, long[] checkpoints) {
+            this.bytes = bytes;
+            this.length = length;
+            this.checkpoints = checkpoints;
+        }
+
+        /**
+         * Validates that the bytes are well-formed UTF-8 and indexes their chars.
+         *
+         * @param bytes Bytes to index.
+         * @return Returns the indexed sequence, or null if the bytes are not well-formed UTF-8.
+         */
+        static Utf8Sequence index(ByteBuffer bytes) {
+            int limit = bytes.limit();
+            long[] checkpoints = new long[16];
+            int checkpointCount = 0;
+            int chars = 0;
+            int position = 0;
+
+            while (position < limit) {
+                int width = sequenceWidth(bytes, position, limit);
+                if (width == 0) {
+                    return null;
+                }
+
+                // A supplementary code point is two chars, and either of them can start an interval.
+                int span = width == 4 ? 2 : 1;
+                for (int i = 0; i < span; i++) {
+                    if ((chars + i) % CHECKPOINT_INTERVAL == 0) {
+                        if (checkpointCount == checkpoints.length) {
+                            checkpoints = Arrays.copyOf(checkpoints, checkpointCount * 2);
+                        }
+                        checkpoints[checkpointCount++] = ((long) position << 1) | i;
+                    }
+                }
+
+                chars += span;
+                position += width;
+            }
+
+            return new Utf8Sequence(bytes, chars, Arrays.copyOf(checkpoints, checkpointCount));
+        }
+
+        // Returns the number of bytes in the well-formed sequence starting at position, or 0 if it's malformed.
+        private static int sequenceWidth(ByteBuffer bytes, int position, int limit) {
+            int lead = bytes.get(position) & 0xFF;
+            int width;
+            int min = 0x80;
+            int max = 0xBF;
+            if (lead < 0x80) {
+                return 1;
+            } else if (lead >= 0xC2 && lead <= 0xDF) {
+                width = 2;
+            } else if (lead >= 0xE0 && lead <= 0xEF) {
+                width = 3;
+                if (lead == 0xE0) {
+                    // Reject overlong encodings.
+                    min = 0xA0;
+                } else if (lead == 0xED) {
+                    // Reject surrogate code points.
+                    max = 0x9F;
+                }
+            } else if (lead >= 0xF0 && lead <= 0xF4) {
+                width = 4;
+                if (lead == 0xF0) {
+                    min = 0x90;
+                } else if (lead == 0xF4) {
+                    // Reject code points above U+10FFFF.
+                    max = 0x8F;
+                }
+            } else {
+                return 0;
+            }
+
+            if (position + width > limit) {
+                return 0;
+            }
+
+            int second = bytes.get(position + 1) & 0xFF;
+            if (second < min || second > max) {
+                return 0;
+            }
+
+            for (int i = 2; i < width; i++) {
+                int next = bytes.get(position + i) & 0xFF;
+                if (next < 0x80 || next > 0xBF) {
+                    return 0;
+                }
+            }
+
+            return width;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+            }
+
+            if (index < cursorChar || index - cursorChar >= CHECKPOINT_INTERVAL) {
+                long checkpoint = checkpoints[index / CHECKPOINT_INTERVAL];
+                cursorChar = index - index % CHECKPOINT_INTERVAL;
+                cursorByte = (int) (checkpoint >>> 1);
+                cursorLow = (checkpoint & 1) != 0;
+            }
+
+            while (cursorChar < index) {
+                int lead = bytes.get(cursorByte) & 0xFF;
+                if (lead >= 0xF0 && !cursorLow) {
+                    cursorLow = true;
+                } else {
+                    cursorByte += lead < 0x80 ? 1 : lead < 0xE0 ? 2 : lead < 0xF0 ? 3 : 4;
+                    cursorLow = false;
+                }
+                cursorChar++;
+            }
+
+            return decodeChar(cursorByte, cursorLow);
+        }
+
+        private char decodeChar(int position, boolean low) {
+            int lead = bytes.get(position) & 0xFF;
+            if (lead < 0x80) {
+                return (char) lead;
+            } else if (lead < 0xE0) {
+                return (char) (((lead & 0x1F) << 6) | (bytes.get(position + 1) & 0x3F));
+            } else if (lead < 0xF0) {
+                return (char) (((lead & 0x0F) << 12)
+                        | ((bytes.get(position + 1) & 0x3F) << 6)
+                        | (bytes.get(position + 2) & 0x3F));
+            }
+
+            int codePoint = ((lead & 0x07) << 18)
+                    | ((bytes.get(position + 1) & 0x3F) << 12)
+                    | ((bytes.get(position + 2) & 0x3F) << 6)
+                    | (bytes.get(position + 3) & 0x3F);
+            return low ? Character.lowSurrogate(codePoint) : Character.highSurrogate(codePoint);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length || start > end) {
+                throw new IndexOutOfBoundsException("Invalid range " + start + " to " + end + " of " + length);
+            }
+            // Slices taken by the tokenizer are short, so they are copied rather than indexed again.
+            StringBuilder result = new StringBuilder(end - start);
+            for (int i = start; i < end; i++) {
+                result.append(charAt(i));
+            }
+            return result.toString();
+        }
+
+        @Override
+        public String toString() {
+            byte[] result = new byte[bytes.limit()];
+            bytes.duplicate().get(result);
+            return new String(result, StandardCharsets.UTF_8);
+        }
+    }
+}
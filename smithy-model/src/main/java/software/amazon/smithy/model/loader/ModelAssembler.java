@@ -23,9 +23,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceException;
@@ -34,11 +39,14 @@ import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.traits.TraitFactory;
+import software.amazon.smithy.model.validation.PartitionedValidator;
+import software.amazon.smithy.model.validation.ShapeLocalValidator;
 import software.amazon.smithy.model.validation.ValidatedResult;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidationEventDecorator;
 import software.amazon.smithy.model.validation.Validator;
 import software.amazon.smithy.model.validation.ValidatorFactory;
+import software.amazon.smithy.model.validation.ValidatorProfile;
 import software.amazon.smithy.utils.Pair;
 
 /**
@@ -72,6 +80,63 @@ public final class ModelAssembler {
      */
     public static final String DISABLE_JAR_CACHE = "assembler.disableJarCache";
 
+    /**
+     * Parses model files concurrently when set to true.
+     *
+     * <p>Each imported file is tokenized and parsed on a worker thread, and the
+     * resulting load operations are then applied in the same order that files
+     * were added to the assembler. The assembled model and emitted validation
+     * events are the same as when files are loaded serially.
+     */
+    public static final String PARALLEL_LOADING = "assembler.parallelLoading";
+
+    /**
+     * Directory used to cache binary snapshots of loaded models.
+     *
+     * <p>The value is a {@link Path} or a {@code String} path. When set, the
+     * assembler computes a content hash of every model file it was given and
+     * loads the model from a previously written snapshot with the same hash
+     * instead of parsing the files. Loading events are stored alongside the
+     * snapshot and replayed, and the model is validated as usual.
+     *
+     * <p>Snapshots are only used when every shape comes from model files,
+     * meaning no shapes, models, document nodes, traits, or metadata were
+     * added programmatically. Snapshots are not written for models that
+     * contain errors. Custom {@link TraitFactory} instances are used when
+     * reading snapshots, but are not part of the snapshot key.
+     */
+    public static final String SNAPSHOT_CACHE_DIRECTORY = "assembler.snapshotCacheDirectory";
+
+    /**
+     * Memory-maps imported {@code .smithy} files when set to true.
+     *
+     * <p>Files are tokenized directly from the mapped file rather than first
+     * being copied into a string on the heap, which reduces peak memory
+     * usage when loading very large models. Only files added using
+     * {@link #addImport(Path)} are mapped. Mapped files can remain locked
+     * until the mapping is garbage collected, which prevents them from being
+     * deleted or modified on some platforms like Windows.
+     */
+    public static final String MEMORY_MAP_FILES = "assembler.memoryMapFiles";
+
+    /**
+     * Creates traits from their values only when they are first accessed
+     * when set to true.
+     *
+     * <p>Shapes keep the node value of each trait that was loaded from a
+     * model file, and the trait is created the first time it is retrieved
+     * from the shape, for example through {@link Shape#getTrait(Class)}.
+     * This reduces the time and memory needed to load large models when
+     * only a small subset of their traits are used.
+     *
+     * <p>Because validating a model needs nearly every trait, this property
+     * only takes effect when validation is disabled using
+     * {@link #disableValidation()}. Errors that occur while creating a
+     * trait are thrown as a {@link SourceException} when the trait is
+     * accessed rather than being reported as validation events.
+     */
+    public static final String LAZY_TRAITS = "assembler.lazyTraits";
+
     private static final Logger LOGGER = Logger.getLogger(ModelAssembler.class.getName());
 
     private static final Consumer<ValidationEvent> DEFAULT_EVENT_LISTENER = ValidationEvent -> {
@@ -92,6 +157,13 @@ public final class ModelAssembler {
     private boolean disablePrelude;
     private Consumer<ValidationEvent> validationEventListener = DEFAULT_EVENT_LISTENER;
     private StringTable stringTable;
+    private ConcurrentStringTable sharedStringTable;
+    private ValidatedResult<Model> previousResult;
+    private Consumer<ValidatorProfile> validatorProfileListener;
+    private Executor validationExecutor;
+
+    // How long each validator took the last time this assembler validated a model, used to schedule validators.
+    private final Map<String, Long> validatorCosts = new ConcurrentHashMap<>();
 
     // Lazy initialization holder class idiom to hold a default trait factory.
     static final class LazyTraitFactoryHolder {
@@ -119,6 +191,10 @@ public final class ModelAssembler {
         assembler.disableValidation = disableValidation;
         assembler.validationEventListener = validationEventListener;
         assembler.stringTable = stringTable;
+        assembler.sharedStringTable = sharedStringTable;
+        assembler.previousResult = previousResult;
+        assembler.validatorProfileListener = validatorProfileListener;
+        assembler.validationExecutor = validationExecutor;
         return assembler;
     }
 
@@ -138,6 +214,9 @@ public final class ModelAssembler {
      *     <li>Metadata registered via {@link #putMetadata}</li>
      *     <li>Validation is re-enabled if it was disabled.</li>
      *     <li>Validation event listener via {@link #validationEventListener(Consumer)}</li>
+     *     <li>Previous result registered via {@link #incrementalValidation(ValidatedResult)}</li>
+     *     <li>Validator profile listener via {@link #validatorProfileListener(Consumer)}</li>
+     *     <li>Timings of previous validations used to schedule validators</li>
      * </ul>
      *
      * <p>The state of {@link #disablePrelude} is reset such that the prelude
@@ -156,6 +235,9 @@ public final class ModelAssembler {
         disablePrelude = false;
         disableValidation = false;
         validationEventListener = DEFAULT_EVENT_LISTENER;
+        previousResult = null;
+        validatorProfileListener = null;
+        validatorCosts.clear();
         return this;
     }
 
@@ -257,15 +339,8 @@ public final class ModelAssembler {
             }
         } else if (Files.isRegularFile(importPath)) {
             // Use an absolute path for better de-duping of the same file.
-            inputStreamModels.put(importPath.toAbsolutePath().toString(), () -> {
-                try {
-                    return Files.newInputStream(importPath);
-                } catch (IOException e) {
-                    throw new ModelImportException(
-                            "Unable to import Smithy model from " + importPath + ": " + e.getMessage(),
-                            e);
-                }
-            });
+            inputStreamModels.put(importPath.toAbsolutePath().toString(),
+                    new MappedModelFile.PathSupplier(importPath));
         } else {
             throw new ModelImportException("Cannot find import file: " + importPath);
         }
@@ -486,6 +561,89 @@ public final class ModelAssembler {
         return this;
     }
 
+    /**
+     * Sets a thread-safe string table used to intern strings while parsing model files.
+     *
+     * <p>By default, each assembler uses its own string table that is only
+     * used by one parser at a time. A shared table can be given to any
+     * number of assemblers, including copies created with {@link #copy()}
+     * and assemblers loading files in parallel, so that models that repeat
+     * the same identifiers share a single copy of each identifier.
+     *
+     * @param stringTable String table to use, or null to use a table owned by this assembler.
+     * @return Returns the assembler.
+     */
+    public ModelAssembler stringTable(ConcurrentStringTable stringTable) {
+        this.sharedStringTable = stringTable;
+        return this;
+    }
+
+    /**
+     * Sets the executor used to run validators.
+     *
+     * <p>Validators are split into units of work that are submitted to the
+     * executor, starting with the units that are expected to take the most
+     * time based on previous validations performed by this assembler. The
+     * calling thread runs units that the executor hasn't started, so a
+     * bounded executor can be used even if the caller runs on one of its
+     * threads. Validators run on {@link ForkJoinPool#commonPool()} by default.
+     * Events are returned in the same order regardless of the executor.
+     *
+     * <p>Slow validators that implement {@link ShapeLocalValidator} or
+     * {@link PartitionedValidator} are split into units that each validate
+     * a subset of the model's shapes or partitions, like its services.
+     *
+     * @param executor Executor used to run validators, or null to use the default.
+     * @return Returns the assembler.
+     */
+    public ModelAssembler validationExecutor(Executor executor) {
+        this.validationExecutor = executor;
+        return this;
+    }
+
+    /**
+     * Sets a listener that receives a {@link ValidatorProfile} each time a
+     * {@link Validator} finishes validating the model.
+     *
+     * <p>Profiles report the wall time, CPU time, allocated bytes, and number
+     * of events of each validator, and are used to find the validators that
+     * dominate the time it takes to validate a model. Validators are only
+     * measured when a listener is set.
+     *
+     * <p>Like {@link #validationEventListener(Consumer)}, the listener could
+     * be invoked simultaneously by multiple threads.
+     *
+     * @param profileListener Listener invoked for each ValidatorProfile, or null to disable profiling.
+     * @return Returns the assembler.
+     */
+    public ModelAssembler validatorProfileListener(Consumer<ValidatorProfile> profileListener) {
+        this.validatorProfileListener = profileListener;
+        return this;
+    }
+
+    /**
+     * Validates the assembled model incrementally using a previously assembled result.
+     *
+     * <p>Validators that implement {@link ShapeLocalValidator} only validate
+     * shapes that differ from the previous model or that can reach a shape
+     * that differs from the previous model, and the previous events of every
+     * other shape are reused. Other validators validate the entire model.
+     * The model is validated entirely if the metadata of the previous model
+     * differs from the assembled model.
+     *
+     * <p>The previous result must have been assembled using the same
+     * validators, validator factory, and properties as this assembler. This
+     * is typically used by tools that repeatedly reassemble a model as it is
+     * edited.
+     *
+     * @param previousResult Previously assembled result, or null to validate the entire model.
+     * @return Returns the assembler.
+     */
+    public ModelAssembler incrementalValidation(ValidatedResult<Model> previousResult) {
+        this.previousResult = previousResult;
+        return this;
+    }
+
     /**
      * Assembles the model and returns the validated result.
      *
@@ -505,12 +663,26 @@ public final class ModelAssembler {
         ValidationEventDecorator decorator = ValidationEventDecorator.compose(validatorFactory.loadDecorators());
 
         Model prelude = disablePrelude ? null : Prelude.getPreludeModel();
+        Map<String, Supplier<InputStream>> models = inputStreamModels;
+        ModelSnapshotCache snapshotCache = createSnapshotCache();
+
+        if (snapshotCache != null) {
+            ValidatedResult<Model> snapshot = snapshotCache.read(traitFactory, prelude);
+            if (snapshot != null) {
+                // Events stored in the snapshot were already decorated when they were first emitted.
+                List<ValidationEvent> events = new ArrayList<>(snapshot.getValidationEvents());
+                events.forEach(validationEventListener);
+                return validate(snapshot.unwrap(), events, decorator);
+            }
+            models = snapshotCache.inputs();
+        }
 
         // As issues are encountered, they are decorated and then emitted.
         LoadOperationProcessor processor = new LoadOperationProcessor(
                 traitFactory,
                 prelude,
                 areUnknownTraitsAllowed(),
+                areTraitsLazy(),
                 validationEventListener,
                 decorator);
         List<ValidationEvent> events = processor.events();
@@ -537,16 +709,17 @@ public final class ModelAssembler {
             }
         }
 
-        if (stringTable == null) {
+        if (stringTable == null && sharedStringTable == null) {
             stringTable = new StringTable();
         }
 
         // Load model files into the processor.
-        for (Map.Entry<String, Supplier<InputStream>> entry : inputStreamModels.entrySet()) {
-            try {
-                ModelLoader.load(traitFactory, properties, entry.getKey(), processor, entry.getValue(), stringTable);
-            } catch (SourceException e) {
-                processor.accept(new LoadOperation.Event(ValidationEvent.fromSourceException(e)));
+        if (isParallelLoadingEnabled() && models.size() > 1) {
+            loadModelFilesInParallel(models, processor);
+        } else {
+            Function<CharSequence, String> strings = sharedStringTable != null ? sharedStringTable : stringTable;
+            for (Map.Entry<String, Supplier<InputStream>> entry : models.entrySet()) {
+                loadModelFile(entry.getKey(), entry.getValue(), processor, strings);
             }
         }
 
@@ -561,20 +734,39 @@ public final class ModelAssembler {
         // Do the 1.0 -> 2.0 transform before full-model validation.
         Model transformed = new ModelInteropTransformer(processedModel, events, processor::getShapeVersion).transform();
 
+        if (snapshotCache != null && !LoaderUtils.containsErrorEvents(events)) {
+            snapshotCache.write(transformed, events);
+        }
+
+        return validate(transformed, events, decorator);
+    }
+
+    private ValidatedResult<Model> validate(
+            Model transformed,
+            List<ValidationEvent> events,
+            ValidationEventDecorator decorator
+    ) {
         if (disableValidation || LoaderUtils.containsErrorEvents(events)) {
             // All events have been emitted and decorated at this point.
             return new ValidatedResult<>(transformed, events);
         }
 
         try {
-            List<ValidationEvent> mergedEvents = ModelValidator.builder()
+            ModelValidator.Builder builder = ModelValidator.builder()
                     .addValidators(validators)
                     .validatorFactory(validatorFactory, decorator)
                     .eventListener(validationEventListener)
                     .includeEvents(events)
                     .legacyValidationMode((boolean) properties.getOrDefault("LEGACY_VALIDATION_MODE", false))
-                    .build()
-                    .validate(transformed);
+                    .profileListener(validatorProfileListener)
+                    .executor(validationExecutor)
+                    .validatorCosts(validatorCosts);
+            if (previousResult != null) {
+                previousResult.getResult()
+                        .ifPresent(previous -> builder.previousResult(previous,
+                                previousResult.getValidationEvents()));
+            }
+            List<ValidationEvent> mergedEvents = builder.build().validate(transformed);
             return new ValidatedResult<>(transformed, mergedEvents);
         } catch (SourceException e) {
             events.add(ValidationEvent.fromSourceException(e));
@@ -582,12 +774,75 @@ public final class ModelAssembler {
         }
     }
 
+    private void loadModelFile(
+            String filename,
+            Supplier<InputStream> contentSupplier,
+            Consumer<LoadOperation> consumer,
+            Function<CharSequence, String> strings
+    ) {
+        try {
+            ModelLoader.load(traitFactory, properties, filename, consumer, contentSupplier, strings);
+        } catch (SourceException e) {
+            consumer.accept(new LoadOperation.Event(ValidationEvent.fromSourceException(e)));
+        }
+    }
+
+    // Parse each file into a buffer on a worker thread, then replay the buffers in file order so that
+    // the processor sees exactly the same sequence of operations as it would when loading serially.
+    // StringTable is not thread-safe, so each worker thread gets its own table unless a shared table is set.
+    private void loadModelFilesInParallel(
+            Map<String, Supplier<InputStream>> models,
+            LoadOperationProcessor processor
+    ) {
+        ThreadLocal<Function<CharSequence, String>> strings = ThreadLocal.withInitial(
+                () -> sharedStringTable != null ? sharedStringTable : new StringTable());
+        List<BufferedLoadOperations> buffers = models.entrySet()
+                .parallelStream()
+                .map(entry -> {
+                    BufferedLoadOperations buffer = new BufferedLoadOperations();
+                    loadModelFile(entry.getKey(), entry.getValue(), buffer, strings.get());
+                    return buffer;
+                })
+                .collect(Collectors.toList());
+
+        for (BufferedLoadOperations buffer : buffers) {
+            buffer.replay(processor);
+        }
+    }
+
     private void addMetadataToProcessor(Map<String, Node> metadataMap, LoadOperationProcessor processor) {
         for (Map.Entry<String, Node> entry : metadataMap.entrySet()) {
             processor.accept(new LoadOperation.PutMetadata(Version.UNKNOWN, entry.getKey(), entry.getValue()));
         }
     }
 
+    private ModelSnapshotCache createSnapshotCache() {
+        Object directory = properties.get(SNAPSHOT_CACHE_DIRECTORY);
+        if (directory == null
+                || inputStreamModels.isEmpty()
+                || !shapes.isEmpty()
+                || !mergeModels.isEmpty()
+                || !documentNodes.isEmpty()
+                || !pendingTraits.isEmpty()
+                || !metadata.isEmpty()) {
+            return null;
+        }
+
+        Path path = directory instanceof Path ? (Path) directory : Paths.get(directory.toString());
+        return ModelSnapshotCache.create(path, inputStreamModels, properties, !disablePrelude);
+    }
+
+    private boolean isParallelLoadingEnabled() {
+        Object parallel = properties.get(ModelAssembler.PARALLEL_LOADING);
+        return parallel != null && (boolean) parallel;
+    }
+
+    private boolean areTraitsLazy() {
+        // Validating a model creates nearly every trait, so lazy traits are only used when validation is disabled.
+        Object lazy = properties.get(ModelAssembler.LAZY_TRAITS);
+        return disableValidation && lazy != null && (boolean) lazy;
+    }
+
     private boolean areUnknownTraitsAllowed() {
         Object allowUnknown = properties.get(ModelAssembler.ALLOW_UNKNOWN_TRAITS);
         return allowUnknown != null && (boolean) allowUnknown;
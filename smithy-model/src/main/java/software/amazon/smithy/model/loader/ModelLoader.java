@@ -6,8 +6,11 @@ package software.amazon.smithy.model.loader;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -18,6 +21,7 @@ import software.amazon.smithy.model.SourceLocation;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.node.internal.NodeHandler;
 import software.amazon.smithy.model.traits.TraitFactory;
 import software.amazon.smithy.utils.IoUtils;
 
@@ -57,18 +61,26 @@ final class ModelLoader {
     ) {
         try {
             if (filename.endsWith(".smithy")) {
-                try (InputStream inputStream = contentSupplier.get()) {
-                    String contents = IoUtils.toUtf8String(inputStream);
-                    new IdlModelLoader(filename, contents, stringTable).parse(operationConsumer);
+                CharSequence contents;
+                if (isMemoryMapped(properties, contentSupplier)) {
+                    contents = MappedModelFile.read(((MappedModelFile.PathSupplier) contentSupplier).getPath());
+                } else {
+                    try (InputStream inputStream = contentSupplier.get()) {
+                        contents = IoUtils.toUtf8String(inputStream);
+                    }
                 }
+                new IdlModelLoader(filename, contents, stringTable).parse(operationConsumer);
                 return true;
             } else if (filename.endsWith(".jar")) {
                 loadJar(traitFactory, properties, filename, operationConsumer, stringTable);
                 return true;
             } else if (filename.endsWith(".json") || filename.equals(SourceLocation.NONE.getFilename())) {
-                try (InputStream inputStream = contentSupplier.get()) {
-                    // Assume it's JSON if there's an N/A filename.
-                    return loadParsedNode(Node.parse(inputStream, filename), operationConsumer);
+                // Assume it's JSON if there's an N/A filename. The JSON is decoded as it's parsed rather than
+                // first being copied into a string, and shapes are loaded as they're parsed.
+                try (Reader reader = new InputStreamReader(contentSupplier.get(), StandardCharsets.UTF_8)) {
+                    AstModelLoader.ShapeStream shapeStream = new AstModelLoader.ShapeStream();
+                    Node node = NodeHandler.parse(filename, reader, false, shapeStream);
+                    return loadParsedNode(node, operationConsumer, shapeStream);
                 }
             } else {
                 LOGGER.warning(() -> "Ignoring unrecognized Smithy model file: " + filename);
@@ -79,12 +91,25 @@ final class ModelLoader {
         }
     }
 
+    private static boolean isMemoryMapped(Map<String, Object> properties, Supplier<InputStream> contentSupplier) {
+        Object memoryMap = properties.get(ModelAssembler.MEMORY_MAP_FILES);
+        return memoryMap != null && (boolean) memoryMap && contentSupplier instanceof MappedModelFile.PathSupplier;
+    }
+
     // Attempts to load a Smithy AST JSON model. JSON files that do not contain a top-level "smithy" key are skipped
     // and false is returned. The "smithy" version is used to delegate loading to different versions of the Smithy
     // JSON AST format.
     //
     // This loader supports version 1.0 and 2.0. Support for 0.5 and 0.4 was removed in 0.10.
     static boolean loadParsedNode(Node node, Consumer<LoadOperation> operationConsumer) {
+        return loadParsedNode(node, operationConsumer, null);
+    }
+
+    private static boolean loadParsedNode(
+            Node node,
+            Consumer<LoadOperation> operationConsumer,
+            AstModelLoader.ShapeStream shapeStream
+    ) {
         if (node.isObjectNode()) {
             ObjectNode model = node.expectObjectNode();
             if (model.containsMember("smithy")) {
@@ -94,7 +119,7 @@ final class ModelLoader {
                     throw new ModelSyntaxException("Unsupported Smithy version number: " + versionNode.getValue(),
                             versionNode);
                 } else {
-                    new AstModelLoader(version, model).parse(operationConsumer);
+                    new AstModelLoader(version, model, shapeStream).parse(operationConsumer);
                     return true;
                 }
             }
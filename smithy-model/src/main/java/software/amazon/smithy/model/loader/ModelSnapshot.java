@@ -0,0 +1,624 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.loader;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.BooleanNode;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.NullNode;
+import software.amazon.smithy.model.node.NumberNode;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.shapes.AbstractShapeBuilder;
+import software.amazon.smithy.model.shapes.EntityShape;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ResourceShape;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeType;
+import software.amazon.smithy.model.traits.DynamicTrait;
+import software.amazon.smithy.model.traits.Trait;
+import software.amazon.smithy.model.traits.TraitFactory;
+import software.amazon.smithy.model.traits.synthetic.SyntheticEnumTrait;
+import software.amazon.smithy.model.validation.ValidatedResult;
+import software.amazon.smithy.model.validation.ValidationEvent;
+
+/**
+ * Reads and writes a compact binary snapshot of a loaded {@link Model} and the
+ * events that were emitted while loading it.
+ *
+ * <p>A snapshot contains model metadata and every non-prelude shape. Shapes
+ * are stored much like {@link Shape#toBuilder()} sees them: introduced
+ * traits as {@link Node} values, mixins, members, type-specific properties,
+ * and source locations. The synthetic enum trait is not stored because the
+ * enum shape builder recomputes it from members. Strings are written once
+ * and then referenced by index.
+ */
+final class ModelSnapshot {
+
+    private static final int MAGIC = 0x534D5953;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final byte NODE_NULL = 0;
+    private static final byte NODE_TRUE = 1;
+    private static final byte NODE_FALSE = 2;
+    private static final byte NODE_INT = 3;
+    private static final byte NODE_LONG = 4;
+    private static final byte NODE_DOUBLE = 5;
+    private static final byte NODE_DECIMAL = 6;
+    private static final byte NODE_STRING = 7;
+    private static final byte NODE_ARRAY = 8;
+    private static final byte NODE_OBJECT = 9;
+
+    private static final ShapeType[] SHAPE_TYPES = ShapeType.values();
+
+    private ModelSnapshot() {}
+
+    /**
+     * Gets the version of the snapshot format, which is changed any time the binary layout changes.
+     *
+     * @return Returns the format version.
+     */
+    static int formatVersion() {
+        return FORMAT_VERSION;
+    }
+
+    /**
+     * Writes a model and its loading events to the given stream.
+     *
+     * @param model Model to write. Prelude shapes are not written.
+     * @param events Events emitted while loading the model.
+     * @param out Where to write the snapshot. The stream is not closed.
+     * @throws IOException if the snapshot cannot be written.
+     */
+    static void write(Model model, List<ValidationEvent> events, OutputStream out) throws IOException {
+        Writer writer = new Writer(new DataOutputStream(out));
+        writer.data.writeInt(MAGIC);
+        writer.data.writeInt(FORMAT_VERSION);
+
+        writer.writeVarInt(model.getMetadata().size());
+        for (Map.Entry<String, Node> entry : model.getMetadata().entrySet()) {
+            writer.writeString(entry.getKey());
+            writer.writeNode(entry.getValue(), entry.getValue().getSourceLocation());
+        }
+
+        List<Shape> shapes = new ArrayList<>();
+        for (Shape shape : model.toSet()) {
+            if (!shape.isMemberShape() && !Prelude.isPreludeShape(shape)) {
+                shapes.add(shape);
+            }
+        }
+
+        writer.writeVarInt(shapes.size());
+        for (Shape shape : shapes) {
+            writer.writeShape(shape);
+        }
+
+        writer.writeVarInt(events.size());
+        for (ValidationEvent event : events) {
+            Node node = event.toNode();
+            writer.writeNode(node, node.getSourceLocation());
+        }
+
+        writer.data.flush();
+    }
+
+    /**
+     * Reads a model and its loading events from the given stream.
+     *
+     * @param in Stream to read. The stream is not closed.
+     * @param traitFactory Trait factory used to create traits from their stored values.
+     * @param prelude Prelude model to add to the result, or null to not add the prelude.
+     * @return Returns the model and the events that were emitted when it was originally loaded.
+     * @throws IOException if the snapshot is invalid or cannot be read.
+     */
+    static ValidatedResult<Model> read(InputStream in, TraitFactory traitFactory, Model prelude) throws IOException {
+        Reader reader = new Reader(new DataInputStream(in), traitFactory, prelude);
+        if (reader.data.readInt() != MAGIC) {
+            throw new IOException("Not a Smithy model snapshot");
+        } else if (reader.data.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported Smithy model snapshot format version");
+        }
+
+        Model.Builder builder = Model.builder();
+
+        int metadataCount = reader.readVarInt();
+        for (int i = 0; i < metadataCount; i++) {
+            builder.putMetadataProperty(reader.readString(), reader.readNode());
+        }
+
+        int shapeCount = reader.readVarInt();
+        for (int i = 0; i < shapeCount; i++) {
+            reader.readShape();
+        }
+        for (ShapeId id : reader.records.keySet()) {
+            builder.addShape(reader.build(id));
+        }
+
+        if (prelude != null) {
+            builder.addShapes(prelude);
+        }
+
+        int eventCount = reader.readVarInt();
+        List<ValidationEvent> events = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            events.add(ValidationEvent.fromNode(reader.readNode()));
+        }
+
+        return new ValidatedResult<>(builder.build(), events);
+    }
+
+    private static final class Writer {
+        private final DataOutputStream data;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        Writer(DataOutputStream data) {
+            this.data = data;
+        }
+
+        void writeVarInt(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                data.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data.writeByte(value);
+        }
+
+        // Strings are written inline the first time they're seen (as 0 followed by the string), and then
+        // referenced using their 1-based index.
+        void writeString(String value) throws IOException {
+            Integer index = strings.get(value);
+            if (index != null) {
+                writeVarInt(index);
+            } else {
+                strings.put(value, strings.size() + 1);
+                writeVarInt(0);
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(bytes.length);
+                data.write(bytes);
+            }
+        }
+
+        void writeOptionalString(String value) throws IOException {
+            data.writeBoolean(value != null);
+            if (value != null) {
+                writeString(value);
+            }
+        }
+
+        void writeShapeId(ShapeId id) throws IOException {
+            writeString(id.toString());
+        }
+
+        void writeOptionalShapeId(Optional<ShapeId> id) throws IOException {
+            writeOptionalString(id.map(ShapeId::toString).orElse(null));
+        }
+
+        void writeShapeIds(Collection<ShapeId> ids) throws IOException {
+            writeVarInt(ids.size());
+            for (ShapeId id : ids) {
+                writeShapeId(id);
+            }
+        }
+
+        void writeSourceLocation(SourceLocation location) throws IOException {
+            writeString(location.getFilename());
+            writeVarInt(location.getLine());
+            writeVarInt(location.getColumn());
+        }
+
+        // The location of the root node is passed explicitly so that traits can retain their source location
+        // even when their toNode method does not.
+        void writeNode(Node node, SourceLocation location) throws IOException {
+            switch (node.getType()) {
+                case NULL:
+                    data.writeByte(NODE_NULL);
+                    break;
+                case BOOLEAN:
+                    data.writeByte(node.expectBooleanNode().getValue() ? NODE_TRUE : NODE_FALSE);
+                    break;
+                case NUMBER:
+                    writeNumber(node.expectNumberNode().getValue());
+                    break;
+                case STRING:
+                    data.writeByte(NODE_STRING);
+                    writeString(node.expectStringNode().getValue());
+                    break;
+                case ARRAY:
+                    data.writeByte(NODE_ARRAY);
+                    List<Node> elements = node.expectArrayNode().getElements();
+                    writeVarInt(elements.size());
+                    for (Node element : elements) {
+                        writeNode(element, element.getSourceLocation());
+                    }
+                    break;
+                case OBJECT:
+                default:
+                    data.writeByte(NODE_OBJECT);
+                    Map<StringNode, Node> members = node.expectObjectNode().getMembers();
+                    writeVarInt(members.size());
+                    for (Map.Entry<StringNode, Node> entry : members.entrySet()) {
+                        writeString(entry.getKey().getValue());
+                        writeSourceLocation(entry.getKey().getSourceLocation());
+                        writeNode(entry.getValue(), entry.getValue().getSourceLocation());
+                    }
+                    break;
+            }
+            writeSourceLocation(location);
+        }
+
+        void writeNumber(Number value) throws IOException {
+            if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                data.writeByte(NODE_INT);
+                data.writeInt(value.intValue());
+            } else if (value instanceof Long) {
+                data.writeByte(NODE_LONG);
+                data.writeLong(value.longValue());
+            } else if (value instanceof Double || value instanceof Float) {
+                data.writeByte(NODE_DOUBLE);
+                data.writeDouble(value.doubleValue());
+            } else {
+                data.writeByte(NODE_DECIMAL);
+                writeString(value.toString());
+            }
+        }
+
+        void writeTraits(Shape shape) throws IOException {
+            List<Trait> traits = new ArrayList<>(shape.getIntroducedTraits().size());
+            for (Trait trait : shape.getIntroducedTraits().values()) {
+                if (!trait.toShapeId().equals(SyntheticEnumTrait.ID)) {
+                    traits.add(trait);
+                }
+            }
+
+            writeVarInt(traits.size());
+            for (Trait trait : traits) {
+                writeShapeId(trait.toShapeId());
+                writeNode(trait.toNode(), trait.getSourceLocation());
+            }
+        }
+
+        void writeShape(Shape shape) throws IOException {
+            data.writeByte(shape.getType().ordinal());
+            writeShapeId(shape.getId());
+            writeSourceLocation(shape.getSourceLocation());
+            writeTraits(shape);
+            writeShapeIds(shape.getMixins());
+
+            // Members inherited from mixins are written too so that members redefined without
+            // changes keep their own source location.
+            writeVarInt(shape.members().size());
+            for (MemberShape member : shape.members()) {
+                writeString(member.getMemberName());
+                writeShapeId(member.getTarget());
+                writeSourceLocation(member.getSourceLocation());
+                writeTraits(member);
+                writeShapeIds(member.getMixins());
+            }
+
+            switch (shape.getType()) {
+                case OPERATION:
+                    OperationShape operation = (OperationShape) shape;
+                    writeShapeId(operation.getInputShape());
+                    writeShapeId(operation.getOutputShape());
+                    writeShapeIds(operation.getIntroducedErrors());
+                    break;
+                case SERVICE:
+                    ServiceShape service = (ServiceShape) shape;
+                    writeString(service.getIntroducedVersion());
+                    writeShapeIds(service.getIntroducedErrors());
+                    writeVarInt(service.getIntroducedRename().size());
+                    for (Map.Entry<ShapeId, String> entry : service.getIntroducedRename().entrySet()) {
+                        writeShapeId(entry.getKey());
+                        writeString(entry.getValue());
+                    }
+                    writeShapeIds(service.getIntroducedOperations());
+                    writeShapeIds(service.getIntroducedResources());
+                    break;
+                case RESOURCE:
+                    ResourceShape resource = (ResourceShape) shape;
+                    writeShapeIdMap(resource.getIdentifiers());
+                    writeShapeIdMap(resource.getProperties());
+                    writeOptionalShapeId(resource.getPut());
+                    writeOptionalShapeId(resource.getCreate());
+                    writeOptionalShapeId(resource.getRead());
+                    writeOptionalShapeId(resource.getUpdate());
+                    writeOptionalShapeId(resource.getDelete());
+                    writeOptionalShapeId(resource.getList());
+                    writeShapeIds(resource.getIntroducedOperations());
+                    writeShapeIds(resource.getCollectionOperations());
+                    writeShapeIds(resource.getIntroducedResources());
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        void writeShapeIdMap(Map<String, ShapeId> map) throws IOException {
+            writeVarInt(map.size());
+            for (Map.Entry<String, ShapeId> entry : map.entrySet()) {
+                writeString(entry.getKey());
+                writeShapeId(entry.getValue());
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final DataInputStream data;
+        private final TraitFactory traitFactory;
+        private final Model prelude;
+        private final List<String> strings = new ArrayList<>();
+        private final Map<ShapeId, ShapeRecord> records = new LinkedHashMap<>();
+        private final Map<ShapeId, Shape> built = new HashMap<>();
+
+        Reader(DataInputStream data, TraitFactory traitFactory, Model prelude) {
+            this.data = data;
+            this.traitFactory = traitFactory;
+            this.prelude = prelude;
+        }
+
+        int readVarInt() throws IOException {
+            int result = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = data.readUnsignedByte();
+                result |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("Malformed variable length integer in model snapshot");
+        }
+
+        String readString() throws IOException {
+            int index = readVarInt();
+            if (index > 0) {
+                if (index > strings.size()) {
+                    throw new IOException("Invalid string reference in model snapshot: " + index);
+                }
+                return strings.get(index - 1);
+            }
+            byte[] bytes = new byte[readVarInt()];
+            data.readFully(bytes);
+            String value = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        }
+
+        String readOptionalString() throws IOException {
+            return data.readBoolean() ? readString() : null;
+        }
+
+        ShapeId readShapeId() throws IOException {
+            return ShapeId.from(readString());
+        }
+
+        ShapeId readOptionalShapeId() throws IOException {
+            String value = readOptionalString();
+            return value == null ? null : ShapeId.from(value);
+        }
+
+        List<ShapeId> readShapeIds() throws IOException {
+            int size = readVarInt();
+            List<ShapeId> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(readShapeId());
+            }
+            return result;
+        }
+
+        Map<String, ShapeId> readShapeIdMap() throws IOException {
+            int size = readVarInt();
+            Map<String, ShapeId> result = new LinkedHashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                result.put(readString(), readShapeId());
+            }
+            return result;
+        }
+
+        SourceLocation readSourceLocation() throws IOException {
+            String filename = readString();
+            int line = readVarInt();
+            int column = readVarInt();
+            return line == 0 && column == 0 && filename.equals(SourceLocation.NONE.getFilename())
+                    ? SourceLocation.NONE
+                    : new SourceLocation(filename, line, column);
+        }
+
+        Node readNode() throws IOException {
+            byte tag = data.readByte();
+            switch (tag) {
+                case NODE_NULL:
+                    return new NullNode(readSourceLocation());
+                case NODE_TRUE:
+                case NODE_FALSE:
+                    return new BooleanNode(tag == NODE_TRUE, readSourceLocation());
+                case NODE_INT:
+                    int intValue = data.readInt();
+                    return new NumberNode(intValue, readSourceLocation());
+                case NODE_LONG:
+                    long longValue = data.readLong();
+                    return new NumberNode(longValue, readSourceLocation());
+                case NODE_DOUBLE:
+                    double doubleValue = data.readDouble();
+                    return new NumberNode(doubleValue, readSourceLocation());
+                case NODE_DECIMAL:
+                    BigDecimal decimal = new BigDecimal(readString());
+                    return new NumberNode(decimal, readSourceLocation());
+                case NODE_STRING:
+                    String value = readString();
+                    return new StringNode(value, readSourceLocation());
+                case NODE_ARRAY:
+                    int elementCount = readVarInt();
+                    List<Node> elements = new ArrayList<>(elementCount);
+                    for (int i = 0; i < elementCount; i++) {
+                        elements.add(readNode());
+                    }
+                    return new ArrayNode(elements, readSourceLocation());
+                case NODE_OBJECT:
+                    int memberCount = readVarInt();
+                    Map<StringNode, Node> members = new LinkedHashMap<>(memberCount);
+                    for (int i = 0; i < memberCount; i++) {
+                        String key = readString();
+                        StringNode keyNode = new StringNode(key, readSourceLocation());
+                        members.put(keyNode, readNode());
+                    }
+                    return new ObjectNode(members, readSourceLocation());
+                default:
+                    throw new IOException("Invalid node type in model snapshot: " + tag);
+            }
+        }
+
+        List<Trait> readTraits(ShapeId target) throws IOException {
+            int size = readVarInt();
+            List<Trait> traits = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                ShapeId traitId = readShapeId();
+                Node value = readNode();
+                traits.add(traitFactory.createTrait(traitId, target, value)
+                        .orElseGet(() -> new DynamicTrait(traitId, value)));
+            }
+            return traits;
+        }
+
+        void readShape() throws IOException {
+            int typeIndex = data.readUnsignedByte();
+            if (typeIndex >= SHAPE_TYPES.length) {
+                throw new IOException("Invalid shape type in model snapshot: " + typeIndex);
+            }
+
+            ShapeType type = SHAPE_TYPES[typeIndex];
+            ShapeId id = readShapeId();
+            AbstractShapeBuilder<?, ?> builder = type.createBuilderForType().id(id).source(readSourceLocation());
+            builder.addTraits(readTraits(id));
+            ShapeRecord record = new ShapeRecord(builder, readShapeIds());
+
+            int memberCount = readVarInt();
+            for (int i = 0; i < memberCount; i++) {
+                ShapeId memberId = id.withMember(readString());
+                MemberShape.Builder member = MemberShape.builder()
+                        .id(memberId)
+                        .target(readShapeId())
+                        .source(readSourceLocation());
+                member.addTraits(readTraits(memberId));
+                record.members.add(new MemberRecord(member, readShapeIds()));
+            }
+
+            switch (type) {
+                case OPERATION:
+                    OperationShape.Builder operation = (OperationShape.Builder) builder;
+                    operation.input(readShapeId());
+                    operation.output(readShapeId());
+                    operation.errors(readShapeIds());
+                    break;
+                case SERVICE:
+                    ServiceShape.Builder service = (ServiceShape.Builder) builder;
+                    service.version(readString());
+                    service.errors(readShapeIds());
+                    int renameCount = readVarInt();
+                    for (int i = 0; i < renameCount; i++) {
+                        service.putRename(readShapeId(), readString());
+                    }
+                    readEntityBindings(service);
+                    break;
+                case RESOURCE:
+                    ResourceShape.Builder resource = (ResourceShape.Builder) builder;
+                    resource.identifiers(readShapeIdMap());
+                    resource.properties(readShapeIdMap());
+                    resource.put(readOptionalShapeId());
+                    resource.create(readOptionalShapeId());
+                    resource.read(readOptionalShapeId());
+                    resource.update(readOptionalShapeId());
+                    resource.delete(readOptionalShapeId());
+                    resource.list(readOptionalShapeId());
+                    resource.operations(readShapeIds());
+                    resource.collectionOperations(readShapeIds());
+                    resource.resources(readShapeIds());
+                    break;
+                default:
+                    break;
+            }
+
+            records.put(id, record);
+        }
+
+        private void readEntityBindings(EntityShape.Builder<?, ?> builder) throws IOException {
+            builder.operations(readShapeIds());
+            builder.resources(readShapeIds());
+        }
+
+        // Shapes are built on demand so that mixins are always built before the shapes that use them.
+        Shape build(ShapeId id) throws IOException {
+            Shape result = built.get(id);
+            if (result != null) {
+                return result;
+            }
+
+            ShapeRecord record = records.get(id);
+            if (record == null) {
+                if (prelude != null && prelude.getShape(id).isPresent()) {
+                    return prelude.expectShape(id);
+                }
+                throw new IOException("Model snapshot refers to an unknown shape: " + id);
+            }
+
+            for (ShapeId mixin : record.mixins) {
+                record.builder.addMixin(build(mixin));
+            }
+
+            for (MemberRecord member : record.members) {
+                for (ShapeId mixin : member.mixins) {
+                    Shape container = build(mixin.withoutMember());
+                    String memberName = mixin.getMember().orElse("");
+                    member.builder.addMixin(container.getMember(memberName)
+                            .orElseThrow(() -> new IOException("Unknown mixin member in model snapshot: " + mixin)));
+                }
+                record.builder.addMember(member.builder.build());
+            }
+
+            result = record.builder.build();
+            built.put(id, result);
+            return result;
+        }
+    }
+
+    private static final class ShapeRecord {
+        private final AbstractShapeBuilder<?, ?> builder;
+        private final List<ShapeId> mixins;
+        private final List<MemberRecord> members = new ArrayList<>();
+
+        ShapeRecord(AbstractShapeBuilder<?, ?> builder, List<ShapeId> mixins) {
+            this.builder = builder;
+            this.mixins = mixins;
+        }
+    }
+
+    private static final class MemberRecord {
+        private final MemberShape.Builder builder;
+        private final List<ShapeId> mixins;
+
+        MemberRecord(MemberShape.Builder builder, List<ShapeId> mixins) {
+            this.builder = builder;
+            this.mixins = mixins;
+        }
+    }
+}
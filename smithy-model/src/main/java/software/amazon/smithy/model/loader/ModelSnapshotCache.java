@@ -0,0 +1,199 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.loader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.traits.TraitFactory;
+import software.amazon.smithy.model.validation.ValidatedResult;
+import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.utils.IoUtils;
+
+/**
+ * Caches {@link ModelSnapshot}s in a directory using a key derived from the
+ * contents of every model file given to a {@link ModelAssembler}.
+ *
+ * <p>The contents of each model file are read into memory once to compute
+ * the key. If no snapshot exists for the key, the buffered contents are
+ * used to load the model so that each file is only read once.
+ */
+final class ModelSnapshotCache {
+
+    private static final Logger LOGGER = Logger.getLogger(ModelSnapshotCache.class.getName());
+    private static final String EXTENSION = ".smithysnapshot";
+
+    private final Path directory;
+    private final String key;
+    private final Map<String, Supplier<InputStream>> inputs = new LinkedHashMap<>();
+
+    private ModelSnapshotCache(Path directory, String key) {
+        this.directory = directory;
+        this.key = key;
+    }
+
+    /**
+     * Creates a snapshot cache for the given model files.
+     *
+     * @param directory Directory that contains snapshots.
+     * @param models Model files to load, keyed by filename.
+     * @param properties Assembler properties that are included in the key.
+     * @param preludeEnabled Whether the prelude is added to the model.
+     * @return Returns the created cache.
+     */
+    static ModelSnapshotCache create(
+            Path directory,
+            Map<String, Supplier<InputStream>> models,
+            Map<String, Object> properties,
+            boolean preludeEnabled
+    ) {
+        MessageDigest digest = createDigest();
+        update(digest, "format:" + ModelSnapshot.formatVersion());
+        update(digest, "implementation:" + ModelSnapshotCache.class.getPackage().getImplementationVersion());
+        update(digest, "prelude:" + preludeEnabled);
+
+        // Properties are sorted so that the key doesn't depend on insertion order.
+        for (Map.Entry<String, Object> entry : new TreeMap<>(properties).entrySet()) {
+            if (!entry.getKey().equals(ModelAssembler.SNAPSHOT_CACHE_DIRECTORY)) {
+                update(digest, "property:" + entry.getKey() + '=' + entry.getValue());
+            }
+        }
+
+        Map<String, byte[]> contents = new LinkedHashMap<>();
+        for (Map.Entry<String, Supplier<InputStream>> entry : models.entrySet()) {
+            byte[] bytes = readContents(entry.getKey(), entry.getValue());
+            contents.put(entry.getKey(), bytes);
+            update(digest, "file:" + entry.getKey() + ':' + bytes.length);
+            digest.update(bytes);
+        }
+
+        ModelSnapshotCache cache = new ModelSnapshotCache(directory, toHex(digest.digest()));
+
+        for (Map.Entry<String, Supplier<InputStream>> entry : models.entrySet()) {
+            if (entry.getKey().endsWith(".jar")) {
+                // JARs are loaded through their manifest rather than the supplier, so keep the original.
+                cache.inputs.put(entry.getKey(), entry.getValue());
+            } else {
+                byte[] bytes = contents.get(entry.getKey());
+                cache.inputs.put(entry.getKey(), () -> new ByteArrayInputStream(bytes));
+            }
+        }
+
+        return cache;
+    }
+
+    /**
+     * Gets the model files to load when there is no snapshot, backed by the contents read to compute the key.
+     *
+     * @return Returns the model files keyed by filename.
+     */
+    Map<String, Supplier<InputStream>> inputs() {
+        return inputs;
+    }
+
+    /**
+     * Reads the snapshot for the cache key if one exists.
+     *
+     * @param traitFactory Trait factory used to create traits.
+     * @param prelude Prelude model to add to the result, or null.
+     * @return Returns the cached model and loading events, or null if there is no usable snapshot.
+     */
+    ValidatedResult<Model> read(TraitFactory traitFactory, Model prelude) {
+        Path file = snapshotFile();
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            LOGGER.fine(() -> "Loading model from snapshot " + file);
+            return ModelSnapshot.read(in, traitFactory, prelude);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning(() -> "Ignoring unreadable model snapshot " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes a snapshot for the cache key.
+     *
+     * <p>The snapshot is written to a temporary file that is then moved into
+     * place, so concurrent readers never observe a partially written
+     * snapshot. Failing to write a snapshot is logged and otherwise ignored.
+     *
+     * @param model Model to write.
+     * @param events Events emitted while loading the model.
+     */
+    void write(Model model, List<ValidationEvent> events) {
+        Path file = snapshotFile();
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, key, ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                ModelSnapshot.write(model, events, out);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.fine(() -> "Wrote model snapshot " + file);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning(() -> "Unable to write model snapshot " + file + ": " + e.getMessage());
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // Nothing more can be done.
+                }
+            }
+        }
+    }
+
+    private Path snapshotFile() {
+        return directory.resolve(key + EXTENSION);
+    }
+
+    private static byte[] readContents(String filename, Supplier<InputStream> supplier) {
+        try (InputStream in = supplier.get()) {
+            return IoUtils.toByteArray(in);
+        } catch (IOException e) {
+            throw new ModelImportException("Error loading " + filename + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder result = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return result.toString();
+    }
+}
@@ -4,24 +4,48 @@
  */
 package software.amazon.smithy.model.loader;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.knowledge.HttpBindingIndex;
+import software.amazon.smithy.model.knowledge.KnowledgeIndex;
+import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.knowledge.OperationIndex;
+import software.amazon.smithy.model.knowledge.ServiceIndex;
+import software.amazon.smithy.model.knowledge.TopDownIndex;
+import software.amazon.smithy.model.neighbor.NeighborProvider;
+import software.amazon.smithy.model.neighbor.Relationship;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.PartitionedValidator;
 import software.amazon.smithy.model.validation.Severity;
+import software.amazon.smithy.model.validation.ShapeLocalValidator;
 import software.amazon.smithy.model.validation.ValidatedResult;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidationEventDecorator;
 import software.amazon.smithy.model.validation.ValidationUtils;
 import software.amazon.smithy.model.validation.Validator;
 import software.amazon.smithy.model.validation.ValidatorFactory;
+import software.amazon.smithy.model.validation.ValidatorProfile;
+import software.amazon.smithy.model.validation.ValidatorService;
 import software.amazon.smithy.model.validation.suppressions.ModelBasedEventDecorator;
 import software.amazon.smithy.model.validation.validators.ResourceCycleValidator;
 import software.amazon.smithy.model.validation.validators.TargetValidator;
@@ -65,6 +89,14 @@ final class ModelValidator implements Validator {
             ResourceCycleValidator.class,
             new ResourceCycleValidator());
 
+    /** Knowledge indexes used by many built-in validators, computed concurrently before validators run. */
+    private static final List<Class<? extends KnowledgeIndex>> PRECOMPUTED_KNOWLEDGE = ListUtils.of(
+            NeighborProviderIndex.class,
+            TopDownIndex.class,
+            OperationIndex.class,
+            ServiceIndex.class,
+            HttpBindingIndex.class);
+
     private final ValidatorFactory validatorFactory;
     private final List<ValidationEvent> events;
     private final List<Validator> validators;
@@ -72,6 +104,11 @@ final class ModelValidator implements Validator {
     private final ValidationEventDecorator validationEventDecorator;
     private final Consumer<ValidationEvent> eventListener;
     private final boolean legacyValidationMode;
+    private final Model previousModel;
+    private final List<ValidationEvent> previousEvents;
+    private final Consumer<ValidatorProfile> profileListener;
+    private final Executor executor;
+    private final Map<String, Long> validatorCosts;
 
     ModelValidator(Builder builder) {
         this.validatorFactory = builder.validatorFactory;
@@ -81,6 +118,11 @@ final class ModelValidator implements Validator {
         this.validators = builder.validators.copy();
         this.criticalValidators = builder.criticalValidators.copy();
         this.legacyValidationMode = builder.legacyValidationMode;
+        this.previousModel = builder.previousModel;
+        this.previousEvents = builder.previousEvents;
+        this.profileListener = builder.profileListener;
+        this.executor = builder.executor;
+        this.validatorCosts = builder.validatorCosts;
     }
 
     @Override
@@ -105,6 +147,11 @@ final class ModelValidator implements Validator {
         private Consumer<ValidationEvent> eventListener = event -> {};
         private ValidationEventDecorator validationEventDecorator;
         private boolean legacyValidationMode = false;
+        private Model previousModel;
+        private List<ValidationEvent> previousEvents = Collections.emptyList();
+        private Consumer<ValidatorProfile> profileListener;
+        private Executor executor;
+        private Map<String, Long> validatorCosts;
 
         private Builder() {}
 
@@ -190,6 +237,63 @@ final class ModelValidator implements Validator {
             return this;
         }
 
+        /**
+         * Sets the result of a previous validation that is used to incrementally validate the model.
+         *
+         * <p>{@link ShapeLocalValidator}s only validate shapes that differ from the previous model, or that can
+         * reach a shape that differs from the previous model. The previous events of every other shape are
+         * reused. The previous result must have been created using the same validators and decorators.
+         *
+         * @param previousModel Previously validated model.
+         * @param previousEvents Events emitted when validating the previous model.
+         * @return Returns the builder.
+         */
+        public Builder previousResult(Model previousModel, List<ValidationEvent> previousEvents) {
+            this.previousModel = Objects.requireNonNull(previousModel);
+            this.previousEvents = Objects.requireNonNull(previousEvents);
+            return this;
+        }
+
+        /**
+         * Sets a listener that receives a {@link ValidatorProfile} each time a {@link Validator} completes.
+         *
+         * <p>Validators are only measured when a listener is set.
+         *
+         * @param profileListener Listener that consumes each profile, or null to disable profiling.
+         * @return Returns the builder.
+         */
+        public Builder profileListener(Consumer<ValidatorProfile> profileListener) {
+            this.profileListener = profileListener;
+            return this;
+        }
+
+        /**
+         * Sets the executor used to run validators.
+         *
+         * <p>Validators run on {@link ForkJoinPool#commonPool()} by default.
+         *
+         * @param executor Executor used to run validators, or null to use the default.
+         * @return Returns the builder.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the table used to remember how long each validator took, which is used to
+         * schedule and split validators the next time a model is validated with the same table.
+         *
+         * <p>Costs aren't remembered between validations by default.
+         *
+         * @param validatorCosts Mutable, thread-safe map of validator names to their last cost in nanoseconds.
+         * @return Returns the builder.
+         */
+        public Builder validatorCosts(Map<String, Long> validatorCosts) {
+            this.validatorCosts = validatorCosts;
+            return this;
+        }
+
         @Override
         public ModelValidator build() {
             // Adding built-in validators is deferred to allow for a custom factory to be set on the builder.
@@ -207,6 +311,12 @@ final class ModelValidator implements Validator {
         private final ValidationEventDecorator validationEventDecorator;
         private final Consumer<ValidationEvent> eventListener;
         private final boolean legacyValidationMode;
+        private final List<ValidationEvent> previousEvents;
+        private final Set<ShapeId> affectedShapes;
+        private final ValidatorProfiler profiler;
+        private final ValidationScheduler scheduler;
+        private final Executor executor;
+        private volatile List<Shape> shapes;
 
         private LoadedModelValidator(Model model, ModelValidator validator) {
             this.model = model;
@@ -214,6 +324,18 @@ final class ModelValidator implements Validator {
             this.validators = new ArrayList<>(validator.validators);
             this.criticalValidators = Collections.unmodifiableList(validator.criticalValidators);
             this.legacyValidationMode = validator.legacyValidationMode;
+            this.previousEvents = validator.previousEvents;
+            this.profiler = validator.profileListener == null ? null : new ValidatorProfiler(validator.profileListener);
+            this.scheduler = new ValidationScheduler(validator.executor, validator.validatorCosts);
+            this.executor = validator.executor == null ? ForkJoinPool.commonPool() : validator.executor;
+
+            // Validators loaded from metadata and suppressions defined in metadata can affect any shape, so only
+            // validate incrementally when metadata is unchanged.
+            if (validator.previousModel != null && validator.previousModel.getMetadata().equals(model.getMetadata())) {
+                this.affectedShapes = findAffectedShapes(validator.previousModel, model);
+            } else {
+                this.affectedShapes = null;
+            }
 
             // Suppressing and elevating events is handled by composing a given decorator with a
             // ModelBasedEventDecorator.
@@ -293,31 +415,201 @@ final class ModelValidator implements Validator {
 
         private List<ValidationEvent> validate() {
             // Perform critical correctness validation before other critical validators.
-            events.addAll(streamEvents(CORRECTNESS_VALIDATORS.values().stream()));
+            events.addAll(runValidators(new ArrayList<>(CORRECTNESS_VALIDATORS.values())));
             if (LoaderUtils.containsErrorEvents(events)) {
                 return events;
             }
 
             // Same thing, but for other critical validators.
-            events.addAll(streamEvents(criticalValidators.parallelStream()));
+            events.addAll(runValidators(criticalValidators));
 
             // Only fail early here if legacy validation mode is enabled.
             if (!legacyValidationMode && LoaderUtils.containsErrorEvents(events)) {
                 return events;
             }
 
-            events.addAll(streamEvents(validators.parallelStream()));
+            precomputeKnowledge();
+            events.addAll(runValidators(validators));
             return events;
         }
 
-        private List<ValidationEvent> streamEvents(Stream<Validator> validators) {
-            return validators
-                    .flatMap(validator -> validator.validate(model).stream())
+        // Compute the indexes shared by validators up front rather than in whichever validator needs them first.
+        private void precomputeKnowledge() {
+            try {
+                model.precomputeKnowledge(PRECOMPUTED_KNOWLEDGE, executor);
+            } catch (RuntimeException e) {
+                // Indexes that fail aren't cached, so the validators that need them report the failure instead.
+            }
+        }
+
+        private List<ValidationEvent> runValidators(List<Validator> validators) {
+            return scheduler.run(validators, LoadedModelValidator::getValidatorName, unitFactory);
+        }
+
+        private final ValidationScheduler.UnitFactory<Validator> unitFactory =
+                new ValidationScheduler.UnitFactory<Validator>() {
+                    @Override
+                    public List<Supplier<List<ValidationEvent>>> createUnits(Validator validator, int splits) {
+                        return LoadedModelValidator.this.createUnits(validator, splits);
+                    }
+
+                    @Override
+                    public List<ValidationEvent> merge(Validator validator, List<ValidationEvent> events) {
+                        // Shape-local events are returned in the order of their shapes in the model, so that
+                        // the order doesn't depend on whether the validator was split or run incrementally.
+                        if (validator instanceof ShapeLocalValidator) {
+                            if (events.size() > 1) {
+                                events.sort(Comparator.comparingInt(LoadedModelValidator.this::getShapeOrdinal));
+                            }
+                        } else if (validator instanceof PartitionedValidator) {
+                            // Partitioned events are processed once the partitions are merged, since merging
+                            // can remove events that more than one partition emitted.
+                            return processEvents(((PartitionedValidator) validator).mergePartitions(model, events));
+                        }
+                        return events;
+                    }
+                };
+
+        private int getShapeOrdinal(ValidationEvent event) {
+            int ordinal = event.getShapeId().map(model::getShapeOrdinal).orElse(-1);
+            return ordinal < 0 ? Integer.MAX_VALUE : ordinal;
+        }
+
+        private List<Supplier<List<ValidationEvent>>> createUnits(Validator validator, int splits) {
+            List<Supplier<List<ValidationEvent>>> units = new ArrayList<>();
+            if (affectedShapes != null && validator instanceof ShapeLocalValidator) {
+                units.add(() -> validateIncrementally((ShapeLocalValidator) validator));
+            } else if (splits > 1 && validator instanceof ShapeLocalValidator) {
+                // Shape-local validators can validate disjoint partitions of the model independently.
+                ShapeLocalValidator shapeLocal = (ShapeLocalValidator) validator;
+                List<Shape> shapes = getShapes();
+                int size = (shapes.size() + splits - 1) / splits;
+                for (int start = 0; start < shapes.size(); start += size) {
+                    List<Shape> partition = shapes.subList(start, Math.min(start + size, shapes.size()));
+                    units.add(() -> processEvents(shapeLocal.validateShapes(model, partition)));
+                }
+            } else if (validator instanceof PartitionedValidator) {
+                PartitionedValidator partitioned = (PartitionedValidator) validator;
+                List<Shape> shapes = splits > 1
+                        ? new ArrayList<>(partitioned.getPartitionShapes(model))
+                        : Collections.emptyList();
+                if (shapes.size() > 1) {
+                    // Events of each partition are processed by UnitFactory#merge.
+                    int size = (shapes.size() + splits - 1) / splits;
+                    for (int start = 0; start < shapes.size(); start += size) {
+                        List<Shape> partition = shapes.subList(start, Math.min(start + size, shapes.size()));
+                        units.add(() -> partitioned.validatePartition(model, partition));
+                    }
+                } else {
+                    units.add(() -> partitioned.validate(model));
+                }
+            } else {
+                units.add(() -> processEvents(validator.validate(model)));
+            }
+
+            if (profiler == null) {
+                return units;
+            }
+
+            ValidatorProfiler.Profile profile = profiler.start(getValidatorName(validator), units.size());
+            List<Supplier<List<ValidationEvent>>> result = new ArrayList<>(units.size());
+            for (Supplier<List<ValidationEvent>> unit : units) {
+                result.add(() -> profile.measure(unit));
+            }
+            return result;
+        }
+
+        private List<ValidationEvent> processEvents(List<ValidationEvent> validatorEvents) {
+            return validatorEvents.stream()
                     .filter(this::filterPrelude)
                     .map(this::updateAndEmitEvent)
                     .collect(Collectors.toList());
         }
 
+        private List<Shape> getShapes() {
+            List<Shape> result = shapes;
+            if (result == null) {
+                synchronized (this) {
+                    result = shapes;
+                    if (result == null) {
+                        shapes = result = new ArrayList<>(model.toSet());
+                    }
+                }
+            }
+            return result;
+        }
+
+        private static String getValidatorName(Validator validator) {
+            if (validator instanceof ValidatorFromDefinitionFactory.DefinedValidator) {
+                return ((ValidatorFromDefinitionFactory.DefinedValidator) validator).getName();
+            } else if (validator instanceof AbstractValidator) {
+                return ((AbstractValidator) validator).getName();
+            } else if (validator instanceof ShapeLocalValidator) {
+                return ((ShapeLocalValidator) validator).getName();
+            } else {
+                return ValidatorService.determineValidatorName(validator.getClass());
+            }
+        }
+
+        private List<ValidationEvent> validateIncrementally(ShapeLocalValidator validator) {
+            List<Shape> candidates = new ArrayList<>(affectedShapes.size());
+            for (ShapeId id : affectedShapes) {
+                model.getShape(id).ifPresent(candidates::add);
+            }
+
+            // Previous events were already decorated and emitted, so they're only sent to the listener again.
+            Stream<ValidationEvent> reused = previousEvents.stream()
+                    .filter(event -> event.containsId(validator.getName()))
+                    .filter(event -> event.getShapeId()
+                            .filter(id -> !affectedShapes.contains(id) && model.getShape(id).isPresent())
+                            .isPresent())
+                    .peek(eventListener);
+
+            Stream<ValidationEvent> validated = validator.validateShapes(model, candidates)
+                    .stream()
+                    .filter(event -> event.getShapeId().map(affectedShapes::contains).orElse(true))
+                    .filter(this::filterPrelude)
+                    .map(this::updateAndEmitEvent);
+
+            return Stream.concat(reused, validated).collect(Collectors.toList());
+        }
+
+        // A shape is affected if it changed, or if it can reach a shape that changed. Shapes are
+        // walked in both models so that relationships to added and removed shapes are both found.
+        private static Set<ShapeId> findAffectedShapes(Model previous, Model model) {
+            Map<ShapeId, Shape> changed = new HashMap<>();
+            for (Shape shape : model.toSet()) {
+                if (!previous.getShape(shape.getId()).filter(shape::equals).isPresent()) {
+                    changed.put(shape.getId(), shape);
+                }
+            }
+            for (Shape shape : previous.toSet()) {
+                if (!model.getShape(shape.getId()).isPresent()) {
+                    changed.put(shape.getId(), shape);
+                }
+            }
+
+            Set<ShapeId> affected = new HashSet<>(changed.keySet());
+            addDependentShapes(model, changed.values(), affected);
+            addDependentShapes(previous, changed.values(), affected);
+            return affected;
+        }
+
+        private static void addDependentShapes(Model model, Collection<Shape> changed, Set<ShapeId> affected) {
+            NeighborProvider reverse = NeighborProviderIndex.of(model).getReverseProviderWithTraitRelationships();
+            Set<ShapeId> visited = new HashSet<>();
+            Deque<Shape> queue = new ArrayDeque<>(changed);
+            while (!queue.isEmpty()) {
+                for (Relationship relationship : reverse.getNeighbors(queue.pop())) {
+                    Shape dependent = relationship.getShape();
+                    if (visited.add(dependent.getId())) {
+                        queue.push(dependent);
+                    }
+                }
+            }
+            affected.addAll(visited);
+        }
+
         private boolean filterPrelude(ValidationEvent event) {
             // Don't emit any non-error events for prelude shapes and traits.
             // This prevents custom validators from unnecessarily needing to worry about prelude shapes and trait
@@ -11,6 +11,8 @@ import java.util.function.Function;
  * This is a simple, not thread-safe, caching string table that converts CharSequence to String objects.
  *
  * <p>The implementation uses an FNV-1a hash, and collisions simply overwrite the previously cached value.
+ *
+ * @see ConcurrentStringTable for a thread-safe table that can be shared across parsers.
  */
 public final class StringTable implements Function<CharSequence, String> {
 
@@ -69,7 +71,7 @@ public final class StringTable implements Function<CharSequence, String> {
         return getFnvHashCode(chars) & sizeMask;
     }
 
-    private static int getFnvHashCode(CharSequence text) {
+    static int getFnvHashCode(CharSequence text) {
         int hashCode = FNV_OFFSET_BIAS;
         int end = text.length();
 
@@ -80,7 +82,7 @@ public final class StringTable implements Function<CharSequence, String> {
         return hashCode;
     }
 
-    private static boolean textEquals(CharSequence left, String right) {
+    static boolean textEquals(CharSequence left, String right) {
         if (left.length() != right.length()) {
             return false;
         }
@@ -0,0 +1,211 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.loader;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import software.amazon.smithy.model.validation.ValidationEvent;
+
+/**
+ * Runs validators on an {@link Executor}, starting with the most expensive work first.
+ *
+ * <p>The cost of each validator is estimated using the time it took the
+ * last time a validator with the same name ran with the same cost table.
+ * Validators that previously took longer than {@link #SPLIT_THRESHOLD_NANOS}
+ * are split into multiple units of work when possible, and every unit of
+ * work is submitted to the executor in descending order of estimated cost.
+ * This keeps a single slow validator from running alone on one thread after
+ * every other validator has completed.
+ *
+ * <p>Rather than blocking until the executor runs every unit, the calling
+ * thread runs units that haven't started yet. Validation therefore
+ * completes even when every thread of a bounded executor is busy, including
+ * when the caller itself is running on one of those threads.
+ *
+ * <p>Regardless of the order in which work completes, events are returned
+ * in the order of the given validators. The events of a validator are
+ * merged in the order of its units and then put into their final order by
+ * {@link UnitFactory#merge}, so that a validator can return its events in
+ * the same order whether or not it was split.
+ */
+final class ValidationScheduler {
+
+    /** Validators that took at least this long the last time they ran are split into multiple units. */
+    static final long SPLIT_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final Executor executor;
+    private final int parallelism;
+    private final Map<String, Long> costs;
+
+    /**
+     * @param executor Executor used to run units of work, or null to use the common pool.
+     * @param costs Mutable, thread-safe map of validator names to the time they last took, or null to not
+     *              remember costs between runs.
+     */
+    ValidationScheduler(Executor executor, Map<String, Long> costs) {
+        this.executor = executor == null ? ForkJoinPool.commonPool() : executor;
+        this.parallelism = this.executor instanceof ForkJoinPool
+                ? ((ForkJoinPool) this.executor).getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.costs = costs == null ? new ConcurrentHashMap<>() : costs;
+    }
+
+    /**
+     * Creates the units of work used to run a validator.
+     *
+     * @param <T> Type of validator.
+     */
+    interface UnitFactory<T> {
+        /**
+         * Creates units of work that together run the given validator.
+         *
+         * @param validator Validator to run.
+         * @param splits Requested number of units. Validators that can't be split return a single unit.
+         * @return Returns the units of work.
+         */
+        List<Supplier<List<ValidationEvent>>> createUnits(T validator, int splits);
+
+        /**
+         * Puts the events of a validator, merged in the order of its units, into the order to return them in.
+         *
+         * @param validator Validator that emitted the events.
+         * @param events Mutable list of the events of every unit of the validator.
+         * @return Returns the ordered events.
+         */
+        List<ValidationEvent> merge(T validator, List<ValidationEvent> events);
+    }
+
+    /**
+     * Runs each validator and returns their events in the order of the validators.
+     *
+     * @param validators Validators to run.
+     * @param names Gets the name of a validator, used to record and look up its cost.
+     * @param unitFactory Creates the units of work of each validator.
+     * @param <T> Type of validator.
+     * @return Returns the events of every validator.
+     */
+    <T> List<ValidationEvent> run(
+            List<T> validators,
+            Function<T, String> names,
+            UnitFactory<T> unitFactory
+    ) {
+        List<ScheduledUnit> scheduled = new ArrayList<>();
+        List<List<ScheduledUnit>> byValidator = new ArrayList<>(validators.size());
+
+        for (T validator : validators) {
+            String name = names.apply(validator);
+            long cost = costs.getOrDefault(name, 0L);
+            int splits = cost >= SPLIT_THRESHOLD_NANOS ? parallelism : 1;
+            List<Supplier<List<ValidationEvent>>> units = unitFactory.createUnits(validator, splits);
+            ValidatorCost validatorCost = new ValidatorCost(name, units.size());
+            List<ScheduledUnit> validatorUnits = new ArrayList<>(units.size());
+            for (Supplier<List<ValidationEvent>> unit : units) {
+                ScheduledUnit scheduledUnit = new ScheduledUnit(unit, validatorCost, cost / units.size());
+                validatorUnits.add(scheduledUnit);
+                scheduled.add(scheduledUnit);
+            }
+            byValidator.add(validatorUnits);
+        }
+
+        // Submit the most expensive work first. The sort is stable, so unknown costs keep their original order.
+        scheduled.sort(Comparator.comparingLong((ScheduledUnit unit) -> unit.estimatedCost).reversed());
+        for (ScheduledUnit unit : scheduled) {
+            try {
+                executor.execute(unit::runIfUnclaimed);
+            } catch (RejectedExecutionException e) {
+                // The unit is run by the calling thread below.
+            }
+        }
+
+        List<ValidationEvent> result = new ArrayList<>();
+        for (int i = 0; i < validators.size(); i++) {
+            List<ScheduledUnit> units = byValidator.get(i);
+            List<ValidationEvent> events = new ArrayList<>();
+            for (ScheduledUnit unit : units) {
+                // Run units that no thread has started rather than waiting on the executor.
+                unit.runIfUnclaimed();
+                events.addAll(join(unit.future));
+            }
+            result.addAll(unitFactory.merge(validators.get(i), events));
+        }
+        return result;
+    }
+
+    private static List<ValidationEvent> join(CompletableFuture<List<ValidationEvent>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Rethrow the original exception so callers can handle exceptions like SourceException.
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // Records the total time of a validator once each of its units has completed.
+    private final class ValidatorCost {
+        private final String name;
+        private final AtomicInteger remaining;
+        private final AtomicLong elapsed = new AtomicLong();
+
+        ValidatorCost(String name, int units) {
+            this.name = name;
+            this.remaining = new AtomicInteger(units);
+        }
+
+        void record(long nanos) {
+            long total = elapsed.addAndGet(nanos);
+            if (remaining.decrementAndGet() == 0) {
+                costs.put(name, total);
+            }
+        }
+    }
+
+    private static final class ScheduledUnit {
+        private final Supplier<List<ValidationEvent>> unit;
+        private final ValidatorCost validatorCost;
+        private final long estimatedCost;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<List<ValidationEvent>> future = new CompletableFuture<>();
+
+        ScheduledUnit(Supplier<List<ValidationEvent>> unit, ValidatorCost validatorCost, long estimatedCost) {
+            this.unit = unit;
+            this.validatorCost = validatorCost;
+            this.estimatedCost = estimatedCost;
+        }
+
+        // Each unit is run exactly once, by whichever thread claims it first.
+        void runIfUnclaimed() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                long start = System.nanoTime();
+                List<ValidationEvent> events = unit.get();
+                validatorCost.record(System.nanoTime() - start);
+                future.complete(events);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
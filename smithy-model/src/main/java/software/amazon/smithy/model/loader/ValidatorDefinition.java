@@ -30,7 +30,7 @@ final class ValidatorDefinition {
     Severity severity;
     String message;
     Selector selector;
-    private final String id;
+    final String id;
 
     ValidatorDefinition(String name, String id) {
         this.name = name;
@@ -6,8 +6,13 @@ package software.amazon.smithy.model.loader;
 
 import static java.lang.String.format;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceException;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.validation.PartitionedValidator;
 import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidatedResult;
 import software.amazon.smithy.model.validation.ValidationEvent;
@@ -44,6 +49,57 @@ final class ValidatorFromDefinitionFactory {
     }
 
     private Validator mapValidator(ValidatorDefinition definition, Validator upstream) {
-        return model -> definition.map(model, upstream.validate(model));
+        return upstream instanceof PartitionedValidator
+                ? new PartitionedDefinedValidator(definition, (PartitionedValidator) upstream)
+                : new DefinedValidator(definition, upstream);
+    }
+
+    /**
+     * A validator created from a definition in metadata, named after the ID of the definition.
+     */
+    static class DefinedValidator implements Validator {
+        final ValidatorDefinition definition;
+        private final Validator upstream;
+
+        private DefinedValidator(ValidatorDefinition definition, Validator upstream) {
+            this.definition = definition;
+            this.upstream = upstream;
+        }
+
+        String getName() {
+            return definition.id;
+        }
+
+        @Override
+        public List<ValidationEvent> validate(Model model) {
+            return definition.map(model, upstream.validate(model));
+        }
+    }
+
+    /**
+     * A defined validator that partitions the model like the validator it was created from.
+     */
+    static final class PartitionedDefinedValidator extends DefinedValidator implements PartitionedValidator {
+        private final PartitionedValidator upstream;
+
+        private PartitionedDefinedValidator(ValidatorDefinition definition, PartitionedValidator upstream) {
+            super(definition, upstream);
+            this.upstream = upstream;
+        }
+
+        @Override
+        public Collection<? extends Shape> getPartitionShapes(Model model) {
+            return upstream.getPartitionShapes(model);
+        }
+
+        @Override
+        public List<ValidationEvent> validatePartition(Model model, Collection<? extends Shape> shapes) {
+            return definition.map(model, upstream.validatePartition(model, shapes));
+        }
+
+        @Override
+        public List<ValidationEvent> mergePartitions(Model model, List<ValidationEvent> events) {
+            return upstream.mergePartitions(model, events);
+        }
     }
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.loader;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.model.validation.ValidatorProfile;
+
+/**
+ * Measures the wall time, CPU time, and allocations of validators and sends
+ * a {@link ValidatorProfile} for each to a listener.
+ *
+ * <p>Validators that are split into multiple units of work report the sum
+ * of the measurements of each unit.
+ *
+ * <p>CPU time and allocations are read from the thread MX bean, which is
+ * loaded reflectively because the {@code java.management} and
+ * {@code jdk.management} modules aren't part of every runtime image. When
+ * the bean can't be loaded, only wall time is measured.
+ */
+final class ValidatorProfiler {
+
+    private static final MethodHandle CPU_TIME;
+    private static final MethodHandle ALLOCATED_BYTES;
+
+    static {
+        MethodHandle cpuTime = null;
+        MethodHandle allocatedBytes = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> factory = Class.forName("java.lang.management.ManagementFactory");
+            Class<?> threadBean = Class.forName("java.lang.management.ThreadMXBean");
+            Object threads = factory.getMethod("getThreadMXBean").invoke(null);
+            if (isEnabled(threads, threadBean, "isCurrentThreadCpuTimeSupported", "isThreadCpuTimeEnabled")) {
+                cpuTime = lookup.findVirtual(threadBean, "getCurrentThreadCpuTime", MethodType.methodType(long.class))
+                        .bindTo(threads);
+            }
+            // Allocation tracking is a HotSpot extension, so it isn't available on every JVM.
+            Class<?> allocationBean = Class.forName("com.sun.management.ThreadMXBean");
+            if (allocationBean.isInstance(threads)
+                    && isEnabled(threads, allocationBean, "isThreadAllocatedMemorySupported",
+                            "isThreadAllocatedMemoryEnabled")) {
+                allocatedBytes = lookup.findVirtual(allocationBean,
+                        "getThreadAllocatedBytes",
+                        MethodType.methodType(long.class, long.class)).bindTo(threads);
+            }
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            // Measure whatever was found before the failure.
+        }
+        CPU_TIME = cpuTime;
+        ALLOCATED_BYTES = allocatedBytes;
+    }
+
+    private final Consumer<ValidatorProfile> listener;
+
+    ValidatorProfiler(Consumer<ValidatorProfile> listener) {
+        this.listener = listener;
+    }
+
+    private static boolean isEnabled(Object bean, Class<?> beanClass, String supported, String enabled)
+            throws ReflectiveOperationException {
+        return (Boolean) beanClass.getMethod(supported).invoke(bean)
+                && (Boolean) beanClass.getMethod(enabled).invoke(bean);
+    }
+
+    private static long cpuTime() {
+        try {
+            return (long) CPU_TIME.invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to measure thread CPU time", e);
+        }
+    }
+
+    private static long allocatedBytes(long threadId) {
+        try {
+            return (long) ALLOCATED_BYTES.invokeExact(threadId);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to measure thread allocations", e);
+        }
+    }
+
+    /**
+     * Starts profiling a validator that runs as one or more units of work.
+     *
+     * <p>The profile is sent to the listener once every unit has been measured.
+     *
+     * @param name Name of the validator.
+     * @param units Number of units of work that run the validator.
+     * @return Returns the profile used to measure each unit.
+     */
+    Profile start(String name, int units) {
+        return new Profile(name, units);
+    }
+
+    /**
+     * Accumulates the measurements of each unit of work of a validator.
+     */
+    final class Profile {
+        private final String name;
+        private final AtomicInteger remaining;
+        private final AtomicLong wallTime = new AtomicLong();
+        private final AtomicLong cpuTime = new AtomicLong();
+        private final AtomicLong allocated = new AtomicLong();
+        private final AtomicInteger eventCount = new AtomicInteger();
+
+        private Profile(String name, int units) {
+            this.name = name;
+            this.remaining = new AtomicInteger(units);
+        }
+
+        /**
+         * Runs a unit of work on the current thread and measures it.
+         *
+         * @param unit Runs part of the validator and returns the events it emitted.
+         * @return Returns the events emitted by the unit.
+         */
+        List<ValidationEvent> measure(Supplier<List<ValidationEvent>> unit) {
+            long threadId = Thread.currentThread().getId();
+            long startCpu = CPU_TIME != null ? cpuTime() : 0;
+            long startAllocated = ALLOCATED_BYTES != null ? allocatedBytes(threadId) : 0;
+            long startWall = System.nanoTime();
+
+            List<ValidationEvent> events = unit.get();
+
+            wallTime.addAndGet(System.nanoTime() - startWall);
+            if (CPU_TIME != null) {
+                cpuTime.addAndGet(cpuTime() - startCpu);
+            }
+            if (ALLOCATED_BYTES != null) {
+                allocated.addAndGet(allocatedBytes(threadId) - startAllocated);
+            }
+            eventCount.addAndGet(events.size());
+
+            if (remaining.decrementAndGet() == 0) {
+                listener.accept(new ValidatorProfile(
+                        name,
+                        wallTime.get(),
+                        CPU_TIME != null ? cpuTime.get() : -1,
+                        ALLOCATED_BYTES != null ? allocated.get() : -1,
+                        eventCount.get()));
+            }
+
+            return events;
+        }
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.neighbor;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+/**
+ * A precomputed neighbor provider that stores relationships as arrays of
+ * shape ordinals rather than {@link Relationship} objects.
+ *
+ * <p>The relationships of every shape in a model are stored in compressed
+ * sparse row form: the relationships of the shape with ordinal {@code i}
+ * are the edges from {@link #getEdgeStart(int)} up to
+ * {@link #getEdgeEnd(int)}, and each edge stores the ordinal of the shape
+ * on the other end of the relationship and the relationship type. Ordinals
+ * are assigned by {@link Model#getShapeOrdinal(ShapeId)}.
+ *
+ * <p>{@link Relationship} objects are only created when they're requested
+ * through {@link #getNeighbors(Shape)} or {@link #getRelationship(int, int)}.
+ * Graph traversals can instead walk the edges of a shape directly without
+ * allocating.
+ *
+ * <p>A reversed provider is created using {@link #reverse()}. The edges of
+ * a reversed provider point at the shapes that have a relationship to a
+ * shape, and {@link #getNeighbors(Shape)} returns the relationships of
+ * those shapes that target the given shape.
+ */
+public final class CompactNeighborProvider implements NeighborProvider {
+
+    private static final RelationshipType[] TYPES = RelationshipType.values();
+
+    private final Model model;
+    private final NeighborProvider fallback;
+    private final boolean reversed;
+    private final int[] offsets;
+    private final int[] neighbors;
+    private final byte[] types;
+
+    // Relationships to shapes that aren't in the model. Forward providers store the ascending edges
+    // with a missing neighbor alongside the ID of each neighbor, while reversed providers key these by
+    // the shape ID that isn't in the model.
+    private final int[] missingEdges;
+    private final ShapeId[] missingNeighbors;
+    private final Map<ShapeId, List<Relationship>> missingTargets;
+
+    private CompactNeighborProvider(
+            Model model,
+            NeighborProvider fallback,
+            boolean reversed,
+            int[] offsets,
+            int[] neighbors,
+            byte[] types,
+            int[] missingEdges,
+            ShapeId[] missingNeighbors,
+            Map<ShapeId, List<Relationship>> missingTargets
+    ) {
+        this.model = model;
+        this.fallback = fallback;
+        this.reversed = reversed;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.types = types;
+        this.missingEdges = missingEdges;
+        this.missingNeighbors = missingNeighbors;
+        this.missingTargets = missingTargets;
+    }
+
+    /**
+     * Creates a provider that precomputes the neighbors of every shape in a model.
+     *
+     * <p>Shapes that aren't part of the model are delegated to the given
+     * provider.
+     *
+     * @param model Model to precompute neighbors for.
+     * @param provider Provider used to find the neighbors of each shape.
+     * @return Returns the created provider.
+     */
+    public static CompactNeighborProvider of(Model model, NeighborProvider provider) {
+        int shapeCount = model.toSet().size();
+        int[] offsets = new int[shapeCount + 1];
+        int[] neighbors = new int[shapeCount * 2];
+        byte[] types = new byte[neighbors.length];
+        int[] missingEdges = new int[0];
+        ShapeId[] missingNeighbors = new ShapeId[0];
+        int missingCount = 0;
+        int edge = 0;
+
+        for (int ordinal = 0; ordinal < shapeCount; ordinal++) {
+            offsets[ordinal] = edge;
+            List<Relationship> relationships = provider.getNeighbors(model.getShapeByOrdinal(ordinal));
+            if (edge + relationships.size() > neighbors.length) {
+                int size = Math.max(neighbors.length * 2, edge + relationships.size());
+                neighbors = Arrays.copyOf(neighbors, size);
+                types = Arrays.copyOf(types, size);
+            }
+            for (Relationship relationship : relationships) {
+                int neighbor = relationship.getNeighborShape().isPresent()
+                        ? model.getShapeOrdinal(relationship.getNeighborShapeId())
+                        : -1;
+                if (neighbor == -1) {
+                    if (missingCount == missingEdges.length) {
+                        int size = Math.max(4, missingCount * 2);
+                        missingEdges = Arrays.copyOf(missingEdges, size);
+                        missingNeighbors = Arrays.copyOf(missingNeighbors, size);
+                    }
+                    missingEdges[missingCount] = edge;
+                    missingNeighbors[missingCount] = relationship.getNeighborShapeId();
+                    missingCount++;
+                }
+                neighbors[edge] = neighbor;
+                types[edge] = (byte) relationship.getRelationshipType().ordinal();
+                edge++;
+            }
+        }
+        offsets[shapeCount] = edge;
+
+        return new CompactNeighborProvider(
+                model,
+                provider,
+                false,
+                offsets,
+                Arrays.copyOf(neighbors, edge),
+                Arrays.copyOf(types, edge),
+                Arrays.copyOf(missingEdges, missingCount),
+                Arrays.copyOf(missingNeighbors, missingCount),
+                Collections.emptyMap());
+    }
+
+    /**
+     * Creates a provider that returns the relationships that target a shape
+     * rather than the relationships of a shape.
+     *
+     * <p>Duplicate relationships are only returned once.
+     *
+     * @return Returns the reversed provider.
+     * @throws UnsupportedOperationException if this provider is already reversed.
+     */
+    public CompactNeighborProvider reverse() {
+        if (reversed) {
+            throw new UnsupportedOperationException("Neighbor provider is already reversed");
+        }
+
+        int shapeCount = offsets.length - 1;
+        int[] reverseOffsets = new int[shapeCount + 1];
+        for (int neighbor : neighbors) {
+            if (neighbor >= 0) {
+                reverseOffsets[neighbor + 1]++;
+            }
+        }
+        for (int ordinal = 0; ordinal < shapeCount; ordinal++) {
+            reverseOffsets[ordinal + 1] += reverseOffsets[ordinal];
+        }
+
+        // Fill in the reversed edges in the order of the shapes that define them. Every edge of a shape is
+        // added before the edges of the next shape, so duplicates from the same shape are adjacent.
+        int[] sources = new int[reverseOffsets[shapeCount]];
+        byte[] reverseTypes = new byte[sources.length];
+        int[] sizes = new int[shapeCount];
+        Map<ShapeId, List<Relationship>> missingTargets = new HashMap<>();
+        for (int source = 0; source < shapeCount; source++) {
+            for (int edge = offsets[source]; edge < offsets[source + 1]; edge++) {
+                int target = neighbors[edge];
+                if (target < 0) {
+                    Relationship relationship = getRelationship(source, edge);
+                    List<Relationship> targeting = missingTargets.computeIfAbsent(
+                            relationship.getNeighborShapeId(),
+                            id -> new ArrayList<>());
+                    if (!targeting.contains(relationship)) {
+                        targeting.add(relationship);
+                    }
+                } else if (!containsEdge(sources, reverseTypes, reverseOffsets[target], sizes[target], source,
+                        types[edge])) {
+                    int position = reverseOffsets[target] + sizes[target]++;
+                    sources[position] = source;
+                    reverseTypes[position] = types[edge];
+                }
+            }
+        }
+
+        // Remove the gaps left by duplicates.
+        int[] compactOffsets = new int[shapeCount + 1];
+        int edge = 0;
+        for (int target = 0; target < shapeCount; target++) {
+            compactOffsets[target] = edge;
+            System.arraycopy(sources, reverseOffsets[target], sources, edge, sizes[target]);
+            System.arraycopy(reverseTypes, reverseOffsets[target], reverseTypes, edge, sizes[target]);
+            edge += sizes[target];
+        }
+        compactOffsets[shapeCount] = edge;
+
+        return new CompactNeighborProvider(
+                model,
+                null,
+                true,
+                compactOffsets,
+                Arrays.copyOf(sources, edge),
+                Arrays.copyOf(reverseTypes, edge),
+                new int[0],
+                new ShapeId[0],
+                missingTargets);
+    }
+
+    private static boolean containsEdge(int[] sources, byte[] types, int start, int size, int source, byte type) {
+        // Only the trailing edges added by the same source can be duplicates.
+        for (int i = start + size - 1; i >= start && sources[i] == source; i--) {
+            if (types[i] == type) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the model the provider was created for.
+     *
+     * @return Returns the model.
+     */
+    public Model getModel() {
+        return model;
+    }
+
+    /**
+     * Checks if the provider returns the relationships that target a shape.
+     *
+     * @return Returns true if the provider is reversed.
+     */
+    public boolean isReversed() {
+        return reversed;
+    }
+
+    /**
+     * Gets the ordinal of a shape if it's the shape stored in the model.
+     *
+     * <p>The edges of a shape can only be used if this method returns an
+     * ordinal. Shapes that aren't part of the model, including shapes with
+     * the same ID as a different shape in the model, return -1.
+     *
+     * @param shape Shape to get the ordinal of.
+     * @return Returns the ordinal or -1.
+     */
+    public int getOrdinal(Shape shape) {
+        int ordinal = model.getShapeOrdinal(shape.getId());
+        if (ordinal >= 0) {
+            Shape stored = model.getShapeByOrdinal(ordinal);
+            if (stored != shape && !stored.equals(shape)) {
+                return -1;
+            }
+        }
+        return ordinal;
+    }
+
+    /**
+     * Gets the first edge of a shape.
+     *
+     * @param ordinal Ordinal of the shape.
+     * @return Returns the index of the first edge.
+     */
+    public int getEdgeStart(int ordinal) {
+        return offsets[ordinal];
+    }
+
+    /**
+     * Gets the index after the last edge of a shape.
+     *
+     * @param ordinal Ordinal of the shape.
+     * @return Returns the exclusive end index of the edges.
+     */
+    public int getEdgeEnd(int ordinal) {
+        return offsets[ordinal + 1];
+    }
+
+    /**
+     * Gets the ordinal of the shape on the other end of an edge.
+     *
+     * <p>This is the neighbor shape for forward providers and the shape that
+     * defines the relationship for reversed providers.
+     *
+     * @param edge Edge to get the neighbor of.
+     * @return Returns the ordinal of the neighbor, or -1 if the neighbor isn't in the model.
+     */
+    public int getNeighborOrdinal(int edge) {
+        return neighbors[edge];
+    }
+
+    /**
+     * Gets the relationship type of an edge.
+     *
+     * @param edge Edge to get the relationship type of.
+     * @return Returns the relationship type.
+     */
+    public RelationshipType getRelationshipType(int edge) {
+        return TYPES[types[edge]];
+    }
+
+    /**
+     * Creates the relationship of an edge.
+     *
+     * @param ordinal Ordinal of the shape the edge belongs to.
+     * @param edge Edge to create a relationship for.
+     * @return Returns the created relationship.
+     */
+    public Relationship getRelationship(int ordinal, int edge) {
+        Shape shape = model.getShapeByOrdinal(ordinal);
+        Shape neighbor = neighbors[edge] >= 0 ? model.getShapeByOrdinal(neighbors[edge]) : null;
+        if (reversed) {
+            return Relationship.create(neighbor, getRelationshipType(edge), shape);
+        } else if (neighbor == null) {
+            ShapeId missing = missingNeighbors[Arrays.binarySearch(missingEdges, edge)];
+            return Relationship.createInvalid(shape, getRelationshipType(edge), missing);
+        } else {
+            return Relationship.create(shape, getRelationshipType(edge), neighbor);
+        }
+    }
+
+    @Override
+    public List<Relationship> getNeighbors(Shape shape) {
+        if (reversed) {
+            int ordinal = model.getShapeOrdinal(shape.getId());
+            if (ordinal < 0) {
+                return missingTargets.getOrDefault(shape.getId(), Collections.emptyList());
+            }
+            return offsets[ordinal] == offsets[ordinal + 1]
+                    ? Collections.emptyList()
+                    : new EdgeList(ordinal);
+        }
+
+        int ordinal = getOrdinal(shape);
+        if (ordinal < 0) {
+            return fallback.getNeighbors(shape);
+        }
+        return offsets[ordinal] == offsets[ordinal + 1]
+                ? Collections.emptyList()
+                : new EdgeList(ordinal);
+    }
+
+    // An immutable view of the edges of a shape that creates relationships as they're accessed.
+    private final class EdgeList extends AbstractList<Relationship> implements RandomAccess {
+        private final int ordinal;
+
+        EdgeList(int ordinal) {
+            this.ordinal = ordinal;
+        }
+
+        @Override
+        public Relationship get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            return getRelationship(ordinal, offsets[ordinal] + index);
+        }
+
+        @Override
+        public int size() {
+            return offsets[ordinal + 1] - offsets[ordinal];
+        }
+    }
+}
@@ -5,6 +5,7 @@
 package software.amazon.smithy.model.neighbor;
 
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -125,9 +126,111 @@ public final class Walker {
      * @return Returns an iterator of shapes connected to {@code shape}.
      */
     public Iterator<Shape> iterateShapes(Shape shape, Predicate<Relationship> predicate) {
+        if (provider instanceof CompactNeighborProvider && !((CompactNeighborProvider) provider).isReversed()) {
+            return new CompactShapeIterator(shape, predicate, (CompactNeighborProvider) provider);
+        }
         return new ShapeIterator(shape, predicate, provider);
     }
 
+    // Walks shapes using the edges of a compact provider, which requires no allocation per edge
+    // unless relationships have to be created to test the predicate.
+    private static final class CompactShapeIterator implements Iterator<Shape> {
+        private final Predicate<Relationship> predicate;
+        private final boolean testRelationships;
+        private final CompactNeighborProvider provider;
+        private final Model model;
+        private final long[] traversed;
+        private int[] stack = new int[16];
+        private int stackSize;
+        private Shape queued;
+
+        CompactShapeIterator(Shape shape, Predicate<Relationship> predicate, CompactNeighborProvider provider) {
+            this.predicate = predicate;
+            this.testRelationships = predicate != FunctionalUtils.<Relationship>alwaysTrue();
+            this.provider = provider;
+            this.model = provider.getModel();
+            this.traversed = new long[(model.toSet().size() + 63) >>> 6];
+
+            // Always include the given shape in the results.
+            queued = shape;
+            int ordinal = provider.getOrdinal(shape);
+            if (ordinal >= 0) {
+                markTraversed(ordinal);
+                pushNeighbors(ordinal);
+            } else {
+                // The shape isn't part of the model, so its relationships have to be computed.
+                int existing = model.getShapeOrdinal(shape.getId());
+                if (existing >= 0) {
+                    markTraversed(existing);
+                }
+                for (Relationship rel : provider.getNeighbors(shape)) {
+                    if (rel.getNeighborShape().isPresent() && predicate.test(rel)) {
+                        int neighbor = model.getShapeOrdinal(rel.getNeighborShapeId());
+                        if (neighbor >= 0) {
+                            push(neighbor);
+                        }
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (queued != null) {
+                return true;
+            }
+
+            while (stackSize > 0) {
+                int ordinal = stack[--stackSize];
+                if (markTraversed(ordinal)) {
+                    queued = model.getShapeByOrdinal(ordinal);
+                    pushNeighbors(ordinal);
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public Shape next() {
+            if (queued == null) {
+                throw new NoSuchElementException("No relationships in relationship iterator stack");
+            }
+
+            Shape shape = queued;
+            queued = null;
+            return shape;
+        }
+
+        private boolean markTraversed(int ordinal) {
+            long mask = 1L << ordinal;
+            int word = ordinal >>> 6;
+            if ((traversed[word] & mask) != 0) {
+                return false;
+            }
+            traversed[word] |= mask;
+            return true;
+        }
+
+        private void pushNeighbors(int ordinal) {
+            for (int edge = provider.getEdgeStart(ordinal); edge < provider.getEdgeEnd(ordinal); edge++) {
+                int neighbor = provider.getNeighborOrdinal(edge);
+                // Only look at valid relationships that pass the predicate.
+                if (neighbor >= 0 && (!testRelationships || predicate.test(provider.getRelationship(ordinal, edge)))) {
+                    push(neighbor);
+                }
+            }
+        }
+
+        private void push(int ordinal) {
+            if (stackSize == stack.length) {
+                stack = Arrays.copyOf(stack, stackSize * 2);
+            }
+            stack[stackSize++] = ordinal;
+        }
+    }
+
     private static final class ShapeIterator implements Iterator<Shape> {
         private final Predicate<Relationship> predicate;
         private final Deque<Relationship> stack = new ArrayDeque<>();
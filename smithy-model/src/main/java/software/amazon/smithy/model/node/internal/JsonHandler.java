@@ -61,5 +61,7 @@ abstract class JsonHandler<A, O> {
 
     void endObject(O object, SourceLocation location) {}
 
+    void startObjectValue(O object, String name) {}
+
     void endObjectValue(O object, String name, SourceLocation keyLocation) {}
 }
@@ -4,10 +4,14 @@
  */
 package software.amazon.smithy.model.node.internal;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 import software.amazon.smithy.model.SourceLocation;
 import software.amazon.smithy.model.node.ArrayNode;
 import software.amazon.smithy.model.node.BooleanNode;
@@ -22,6 +26,31 @@ import software.amazon.smithy.utils.SmithyInternalApi;
 public final class NodeHandler extends JsonHandler<ArrayNode.Builder, ObjectNode.Builder> {
 
     private Node value;
+    private MemberListener listener;
+    private List<String> path;
+
+    /**
+     * Receives each member of a JSON object as soon as it has been parsed.
+     */
+    @SmithyInternalApi
+    @FunctionalInterface
+    public interface MemberListener {
+        /**
+         * Receives a parsed object member.
+         *
+         * <p>The path contains the name of each object member that encloses
+         * the object the member belongs to, starting from the root value.
+         * Array elements are represented as null in the path. For example,
+         * the members of the root object have an empty path. The path
+         * is only valid during the call and must not be modified.
+         *
+         * @param path Path to the object that contains the member.
+         * @param key Key of the member.
+         * @param value Value of the member.
+         * @return Returns true if the listener consumed the member and it should not be added to its object.
+         */
+        boolean member(List<String> path, StringNode key, Node value);
+    }
 
     @SmithyInternalApi
     public static Node parse(String filename, String content, boolean allowComments) {
@@ -30,6 +59,31 @@ public final class NodeHandler extends JsonHandler<ArrayNode.Builder, ObjectNode
         return handler.value;
     }
 
+    /**
+     * Parses JSON and sends each object member to a listener before it is
+     * added to its object.
+     *
+     * <p>Members consumed by the listener are omitted from the returned
+     * node, which allows large documents to be processed without keeping
+     * every value in memory.
+     *
+     * @param filename Filename of the JSON.
+     * @param reader Reader to parse.
+     * @param allowComments Set to true to allow comments.
+     * @param listener Listener that receives each object member.
+     * @return Returns the parsed node without the members consumed by the listener.
+     * @throws IOException if the JSON can't be read.
+     */
+    @SmithyInternalApi
+    public static Node parse(String filename, Reader reader, boolean allowComments, MemberListener listener)
+            throws IOException {
+        NodeHandler handler = new NodeHandler();
+        handler.listener = listener;
+        handler.path = new ArrayList<>();
+        new JsonParser(filename, handler, allowComments).parse(reader);
+        return handler.value;
+    }
+
     @SmithyInternalApi
     public static String print(Node node) {
         StringWriter writer = new StringWriter();
@@ -88,6 +142,9 @@ public final class NodeHandler extends JsonHandler<ArrayNode.Builder, ObjectNode
 
     @Override
     ArrayNode.Builder startArray() {
+        if (listener != null) {
+            path.add(null);
+        }
         return ArrayNode.builder();
     }
 
@@ -98,6 +155,9 @@ public final class NodeHandler extends JsonHandler<ArrayNode.Builder, ObjectNode
 
     @Override
     void endArray(ArrayNode.Builder builder, SourceLocation location) {
+        if (listener != null) {
+            path.remove(path.size() - 1);
+        }
         value = builder.sourceLocation(location).build();
     }
 
@@ -106,9 +166,22 @@ public final class NodeHandler extends JsonHandler<ArrayNode.Builder, ObjectNode
         return ObjectNode.builder();
     }
 
+    @Override
+    void startObjectValue(ObjectNode.Builder object, String name) {
+        if (listener != null) {
+            path.add(name);
+        }
+    }
+
     @Override
     void endObjectValue(ObjectNode.Builder object, String name, SourceLocation keyLocation) {
         StringNode key = new StringNode(name, keyLocation);
+        if (listener != null) {
+            path.remove(path.size() - 1);
+            if (listener.member(path, key, value)) {
+                return;
+            }
+        }
         object.withMember(key, value);
     }
 
@@ -12,18 +12,20 @@ import java.util.function.Function;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeIdSyntaxException;
 import software.amazon.smithy.model.traits.Trait;
 
 /**
  * Matches shapes with a specific attribute or that matches an attribute comparator.
  */
-final class AttributeSelector implements InternalSelector {
+final class AttributeSelector implements FilterSelector {
 
     private final List<String> path;
     private final List<AttributeValue> expected;
     private final AttributeComparator comparator;
     private final boolean caseInsensitive;
     private final Function<Model, Collection<? extends Shape>> optimizer;
+    private final boolean indexed;
 
     AttributeSelector(
             List<String> path,
@@ -48,17 +50,25 @@ final class AttributeSelector implements InternalSelector {
         // Optimization for loading shapes with a specific trait.
         // This optimization can only be applied when there's no comparator,
         // and it doesn't matter how deep into the trait the selector descends.
+        ShapeId trait = null;
         if (comparator == null
                 && path.size() >= 2
                 && path.get(0).equals("trait") // only match on traits
                 && !path.get(1).startsWith("(")) { // don't match projections
-            optimizer = model -> {
+            try {
                 // The trait name might be relative to the prelude, so ensure it's absolute.
-                String absoluteShapeId = Trait.makeAbsoluteName(path.get(1));
-                ShapeId trait = ShapeId.from(absoluteShapeId);
-                return model.getShapesWithTrait(trait);
-            };
+                trait = ShapeId.from(Trait.makeAbsoluteName(path.get(1)));
+            } catch (ShapeIdSyntaxException e) {
+                // Evaluate the attribute against every shape like any other attribute.
+            }
+        }
+
+        if (trait != null) {
+            ShapeId traitId = trait;
+            indexed = true;
+            optimizer = model -> model.getShapesWithTrait(traitId);
         } else {
+            indexed = false;
             optimizer = Model::toSet;
         }
     }
@@ -73,16 +83,24 @@ final class AttributeSelector implements InternalSelector {
     }
 
     @Override
-    public Response push(Context context, Shape shape, Receiver next) {
-        if (matchesAttribute(shape, context)) {
-            return next.apply(context, shape);
-        } else {
-            return Response.CONTINUE;
-        }
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    @Override
+    public int cost() {
+        return indexed ? TRAIT_COST : ATTRIBUTE_COST;
+    }
+
+    @Override
+    public boolean isReorderable() {
+        // Unknown attributes throw when evaluated, so they must be evaluated in the order they were written.
+        return AttributeValueImpl.ShapeValue.PROPERTIES.contains(path.get(0));
     }
 
-    private boolean matchesAttribute(Shape shape, Context stack) {
-        AttributeValue lhs = AttributeValue.shape(shape, stack.getVars()).getPath(path);
+    @Override
+    public boolean test(Context context, Shape shape) {
+        AttributeValue lhs = AttributeValue.shape(shape, context.getVars()).getPath(path);
 
         if (comparator == null) {
             return lhs.isPresent();
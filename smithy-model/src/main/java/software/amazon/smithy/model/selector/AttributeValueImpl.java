@@ -25,6 +25,7 @@ import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.Trait;
+import software.amazon.smithy.utils.SetUtils;
 
 /**
  * Package private implementations of attribute values.
@@ -409,6 +410,9 @@ final class AttributeValueImpl {
     }
 
     static final class ShapeValue implements AttributeValue {
+        /** The properties supported by {@link #getProperty}. */
+        static final Set<String> PROPERTIES = SetUtils.of("trait", "id", "service", "var");
+
         private final Shape shape;
         private final Map<String, Set<Shape>> vars;
 
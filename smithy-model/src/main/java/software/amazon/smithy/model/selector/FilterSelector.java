@@ -0,0 +1,75 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.selector;
+
+import software.amazon.smithy.model.shapes.Shape;
+
+/**
+ * An internal selector that emits either the shape it receives or nothing.
+ *
+ * <p>Filters never map over their input, so {@link SelectorPlanner} can
+ * evaluate adjacent filters in any order, combine them into a single step,
+ * and apply them directly to the shapes emitted by a neighbor step.
+ */
+interface FilterSelector extends InternalSelector {
+
+    /** Cost of checking the type of a shape. */
+    int TYPE_COST = 0;
+
+    /** Cost of checking if a shape has a trait. */
+    int TRAIT_COST = 1;
+
+    /** Cost of resolving and comparing an attribute. */
+    int ATTRIBUTE_COST = 2;
+
+    /** Cost of resolving a scoped attribute and testing its assertions. */
+    int SCOPED_ATTRIBUTE_COST = 3;
+
+    /** Cost of evaluating a nested selector. */
+    int SELECTOR_COST = 4;
+
+    /**
+     * Tests if the filter accepts a shape.
+     *
+     * @param context Context being evaluated.
+     * @param shape Shape to test.
+     * @return Returns true if the shape is accepted.
+     */
+    boolean test(Context context, Shape shape);
+
+    /**
+     * Gets the relative cost of testing a shape, used to test cheaper filters first.
+     *
+     * @return Returns the cost of the filter.
+     */
+    int cost();
+
+    /**
+     * Checks if {@link #getStartingShapes} returns a subset of the model
+     * taken from an index rather than every shape.
+     *
+     * @return Returns true if the filter has an index.
+     */
+    default boolean isIndexed() {
+        return false;
+    }
+
+    /**
+     * Checks if the filter is guaranteed to only depend on the shape and the
+     * variables set before it, and to never throw for a shape.
+     *
+     * <p>Only reorderable filters are moved by {@link SelectorPlanner}.
+     *
+     * @return Returns true if the filter can be reordered.
+     */
+    default boolean isReorderable() {
+        return true;
+    }
+
+    @Override
+    default Response push(Context context, Shape shape, Receiver next) {
+        return test(context, shape) ? next.apply(context, shape) : Response.CONTINUE;
+    }
+}
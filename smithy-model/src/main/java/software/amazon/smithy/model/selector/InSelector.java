@@ -9,7 +9,7 @@ import software.amazon.smithy.model.shapes.Shape;
 /**
  * Checks if the given value is in the result of a selector.
  */
-final class InSelector implements InternalSelector {
+final class InSelector implements FilterSelector {
 
     private final InternalSelector selector;
 
@@ -18,27 +18,27 @@ final class InSelector implements InternalSelector {
     }
 
     @Override
-    public Response push(Context context, Shape shape, Receiver next) {
+    public boolean test(Context context, Shape shape) {
         // Some internal selectors provide optimizations for quickly checking if they contain a shape.
         switch (selector.containsShapeOptimization(context, shape)) {
             case YES:
-                return next.apply(context, shape);
+                return true;
             case NO:
-                return Response.CONTINUE;
+                return false;
             case MAYBE:
             default:
                 // Unable to use the optimization, so emit each shape until a match is found.
                 FilteredHolder holder = new FilteredHolder(shape);
                 selector.push(context, shape, holder);
-
-                if (holder.matched) {
-                    return next.apply(context, shape);
-                }
-
-                return Response.CONTINUE;
+                return holder.matched;
         }
     }
 
+    @Override
+    public int cost() {
+        return SELECTOR_COST;
+    }
+
     private static final class FilteredHolder implements InternalSelector.Receiver {
         private final Shape shapeToMatch;
         private boolean matched;
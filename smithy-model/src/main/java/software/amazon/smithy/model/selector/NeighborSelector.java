@@ -9,6 +9,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.neighbor.CompactNeighborProvider;
 import software.amazon.smithy.model.neighbor.NeighborProvider;
 import software.amazon.smithy.model.neighbor.Relationship;
 import software.amazon.smithy.model.neighbor.RelationshipType;
@@ -23,46 +25,66 @@ final class NeighborSelector implements InternalSelector {
 
     private final List<String> relTypes;
     private final Direction direction;
-    private final Function<Context, NeighborProvider> neighborFactory;
+    private final Function<Context, CompactNeighborProvider> neighborFactory;
+    private final FilterSelector filter;
+
+    // Indexed by RelationshipType ordinal to check relationship types without creating relationships.
+    private final boolean[] matchingTypes;
 
     private NeighborSelector(List<String> relTypes, Direction direction) {
+        this(relTypes, direction, null);
+    }
+
+    private NeighborSelector(List<String> relTypes, Direction direction, FilterSelector filter) {
         this.relTypes = Objects.requireNonNull(relTypes);
         this.direction = direction;
         boolean includeTraits = relTypes.contains("trait");
         this.neighborFactory = direction.neighborFactory(includeTraits);
+        this.filter = filter;
+
+        RelationshipType[] types = RelationshipType.values();
+        matchingTypes = new boolean[types.length];
+        for (RelationshipType type : types) {
+            matchingTypes[type.ordinal()] = type != RelationshipType.MEMBER_CONTAINER
+                    && (relTypes.isEmpty() || relTypes.contains(type.getSelectorLabel().orElse("")));
+        }
     }
 
     private enum Direction {
         FORWARD {
             @Override
-            protected Response emit(Context context, Relationship rel, Receiver next) {
-                return next.apply(context, rel.expectNeighborShape());
+            protected Shape neighbor(Relationship rel) {
+                return rel.expectNeighborShape();
             }
 
             @Override
-            protected Function<Context, NeighborProvider> neighborFactory(boolean includeTraits) {
+            protected Function<Context, CompactNeighborProvider> neighborFactory(boolean includeTraits) {
                 return includeTraits
-                        ? context -> context.neighborIndex.getProviderWithTraitRelationships()
-                        : context -> context.neighborIndex.getProvider();
+                        ? context -> context.neighborIndex.getCompactProviderWithTraitRelationships()
+                        : context -> context.neighborIndex.getCompactProvider();
             }
         },
         REVERSE {
             @Override
-            protected Response emit(Context context, Relationship rel, Receiver next) {
-                return next.apply(context, rel.getShape());
+            protected Shape neighbor(Relationship rel) {
+                return rel.getShape();
             }
 
             @Override
-            protected Function<Context, NeighborProvider> neighborFactory(boolean includeTraits) {
+            protected Function<Context, CompactNeighborProvider> neighborFactory(boolean includeTraits) {
                 return includeTraits
-                        ? context -> context.neighborIndex.getReverseProviderWithTraitRelationships()
-                        : context -> context.neighborIndex.getReverseProvider();
+                        ? context -> context.neighborIndex.getCompactReverseProviderWithTraitRelationships()
+                        : context -> context.neighborIndex.getCompactReverseProvider();
             }
         };
 
-        protected abstract Response emit(Context context, Relationship rel, Receiver next);
+        protected abstract Shape neighbor(Relationship rel);
 
-        protected abstract Function<Context, NeighborProvider> neighborFactory(boolean includeTraits);
+        protected Response emit(Context context, Relationship rel, Receiver next) {
+            return next.apply(context, neighbor(rel));
+        }
+
+        protected abstract Function<Context, CompactNeighborProvider> neighborFactory(boolean includeTraits);
     }
 
     static InternalSelector forward(List<String> relationships) {
@@ -104,12 +126,50 @@ final class NeighborSelector implements InternalSelector {
         return IsSelector.of(predicates);
     }
 
+    /**
+     * Creates a neighbor selector that only emits neighbors accepted by a filter.
+     *
+     * <p>This is equivalent to following this selector with the filter, but
+     * tests each neighbor in place rather than pushing it to another selector.
+     *
+     * @param filter Filter to apply to each neighbor.
+     * @return Returns the created selector.
+     */
+    NeighborSelector withFilter(FilterSelector filter) {
+        return new NeighborSelector(relTypes, direction, filter);
+    }
+
     @Override
     public Response push(Context context, Shape shape, Receiver next) {
-        NeighborProvider resolvedProvider = neighborFactory.apply(context);
-        for (Relationship rel : resolvedProvider.getNeighbors(shape)) {
+        CompactNeighborProvider resolvedProvider = neighborFactory.apply(context);
+        int ordinal = resolvedProvider.getOrdinal(shape);
+        if (ordinal < 0) {
+            return pushRelationships(context, resolvedProvider, shape, next);
+        }
+
+        Model model = resolvedProvider.getModel();
+        for (int edge = resolvedProvider.getEdgeStart(ordinal); edge < resolvedProvider.getEdgeEnd(ordinal); edge++) {
+            int neighborOrdinal = resolvedProvider.getNeighborOrdinal(edge);
+            if (neighborOrdinal >= 0 && matchingTypes[resolvedProvider.getRelationshipType(edge).ordinal()]) {
+                Shape neighbor = model.getShapeByOrdinal(neighborOrdinal);
+                if ((filter == null || filter.test(context, neighbor))
+                        && next.apply(context, neighbor) == Response.STOP) {
+                    // Stop pushing shapes upstream and propagate the signal to stop.
+                    return Response.STOP;
+                }
+            }
+        }
+
+        return Response.CONTINUE;
+    }
+
+    // Shapes that aren't part of the model don't have edges, so use their relationships.
+    private Response pushRelationships(Context context, NeighborProvider provider, Shape shape, Receiver next) {
+        for (Relationship rel : provider.getNeighbors(shape)) {
             if (matches(rel)) {
-                if (direction.emit(context, rel, next) == Response.STOP) {
+                Shape neighbor = direction.neighbor(rel);
+                if ((filter == null || filter.test(context, neighbor))
+                        && next.apply(context, neighbor) == Response.STOP) {
                     // Stop pushing shapes upstream and propagate the signal to stop.
                     return Response.STOP;
                 }
@@ -163,9 +223,12 @@ final class NeighborSelector implements InternalSelector {
     private static final class InstanceOperationRelationship implements InternalSelector {
 
         private final Direction direction;
-        private final Function<Context, NeighborProvider> neighborFactory;
+        private final Function<Context, ? extends NeighborProvider> neighborFactory;
 
-        InstanceOperationRelationship(Direction direction, Function<Context, NeighborProvider> neighborFactory) {
+        InstanceOperationRelationship(
+                Direction direction,
+                Function<Context, ? extends NeighborProvider> neighborFactory
+        ) {
             this.direction = direction;
             this.neighborFactory = neighborFactory;
         }
@@ -4,8 +4,11 @@
  */
 package software.amazon.smithy.model.selector;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.function.Predicate;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.neighbor.CompactNeighborProvider;
 import software.amazon.smithy.model.neighbor.Relationship;
 import software.amazon.smithy.model.neighbor.RelationshipDirection;
 import software.amazon.smithy.model.neighbor.Walker;
@@ -23,7 +26,13 @@ final class RecursiveNeighborSelector implements InternalSelector {
 
     @Override
     public Response push(Context context, Shape shape, Receiver next) {
-        Walker walker = new Walker(context.neighborIndex.getProvider());
+        CompactNeighborProvider provider = context.neighborIndex.getCompactProvider();
+        int ordinal = provider.getOrdinal(shape);
+        if (ordinal >= 0) {
+            return pushCompact(context, provider, ordinal, next);
+        }
+
+        Walker walker = new Walker(provider);
         Iterator<Shape> shapeIterator = walker.iterateShapes(shape, ONLY_DIRECTED);
 
         while (shapeIterator.hasNext()) {
@@ -39,4 +48,40 @@ final class RecursiveNeighborSelector implements InternalSelector {
 
         return Response.CONTINUE;
     }
+
+    // Walks the edges of the provider in the same order as Walker without creating relationships.
+    private Response pushCompact(Context context, CompactNeighborProvider provider, int start, Receiver next) {
+        Model model = provider.getModel();
+        long[] traversed = new long[(model.toSet().size() + 63) >>> 6];
+        int[] stack = new int[16];
+        int stackSize = 0;
+        traversed[start >>> 6] |= 1L << start;
+        int ordinal = start;
+
+        while (true) {
+            for (int edge = provider.getEdgeStart(ordinal); edge < provider.getEdgeEnd(ordinal); edge++) {
+                int neighbor = provider.getNeighborOrdinal(edge);
+                if (neighbor >= 0
+                        && provider.getRelationshipType(edge).getDirection() == RelationshipDirection.DIRECTED) {
+                    if (stackSize == stack.length) {
+                        stack = Arrays.copyOf(stack, stackSize * 2);
+                    }
+                    stack[stackSize++] = neighbor;
+                }
+            }
+
+            do {
+                if (stackSize == 0) {
+                    return Response.CONTINUE;
+                }
+                ordinal = stack[--stackSize];
+            } while ((traversed[ordinal >>> 6] & (1L << ordinal)) != 0);
+
+            traversed[ordinal >>> 6] |= 1L << ordinal;
+            if (next.apply(context, model.getShapeByOrdinal(ordinal)) == Response.STOP) {
+                // Stop sending recursive neighbors when told to stop and propagate.
+                return Response.STOP;
+            }
+        }
+    }
 }
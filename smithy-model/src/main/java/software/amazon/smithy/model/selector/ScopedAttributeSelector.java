@@ -5,15 +5,13 @@
 package software.amazon.smithy.model.selector;
 
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 import software.amazon.smithy.model.shapes.Shape;
 
 /**
  * Matches a scoped attribute or projection against a set of assertions that
  * can path into the scoped attribute.
  */
-final class ScopedAttributeSelector implements InternalSelector {
+final class ScopedAttributeSelector implements FilterSelector {
 
     static final class Assertion {
         private final ScopedFactory lhs;
@@ -53,17 +51,20 @@ final class ScopedAttributeSelector implements InternalSelector {
     }
 
     @Override
-    public Response push(Context context, Shape shape, Receiver next) {
-        if (matchesAssertions(shape, context.getVars())) {
-            return next.apply(context, shape);
-        } else {
-            return Response.CONTINUE;
-        }
+    public int cost() {
+        return SCOPED_ATTRIBUTE_COST;
     }
 
-    private boolean matchesAssertions(Shape shape, Map<String, Set<Shape>> vars) {
+    @Override
+    public boolean isReorderable() {
+        // When the shape itself is the scope, assertions can refer to unknown attributes that throw.
+        return !path.isEmpty() && AttributeValueImpl.ShapeValue.PROPERTIES.contains(path.get(0));
+    }
+
+    @Override
+    public boolean test(Context context, Shape shape) {
         // First resolve the scope of the assertions.
-        AttributeValue scope = AttributeValue.shape(shape, vars).getPath(path);
+        AttributeValue scope = AttributeValue.shape(shape, context.getVars()).getPath(path);
 
         // If it's not present, then nothing could ever match.
         if (!scope.isPresent()) {
@@ -89,9 +89,26 @@ public interface Selector {
         }
     }
 
+    /**
+     * Describes how the selector is evaluated.
+     *
+     * <p>Parsed selectors are compiled into a plan that reorders and
+     * combines filters and chooses the shapes to evaluate from an index
+     * when possible. The description lists the steps of the plan and is
+     * only intended for debugging; its format may change.
+     *
+     * @return Returns the description of the selector.
+     */
+    default String explain() {
+        return toString();
+    }
+
     /**
      * Matches a selector to a model.
      *
+     * <p>Parsed selectors cache the result in the model's
+     * {@link SelectorResultCache}, so the returned set is unmodifiable.
+     *
      * @param model Model used to resolve shapes with.
      * @return Returns the matching shapes.
      */
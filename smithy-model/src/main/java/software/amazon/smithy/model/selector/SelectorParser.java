@@ -27,7 +27,13 @@ final class SelectorParser extends SimpleParser {
     private static final Logger LOGGER = Logger.getLogger(SelectorParser.class.getName());
     private static final Set<Character> BREAK_TOKENS = SetUtils.of(',', ']', ')');
     private static final Set<String> REL_TYPES = new HashSet<>();
-    private final List<InternalSelector> roots = new ArrayList<>();
+    private final List<SelectorPlanner.Plan> roots = new ArrayList<>();
+
+    // Plans of the selectors nested in the selector being parsed.
+    private List<SelectorPlanner.Plan> arguments = new ArrayList<>();
+
+    // Number of selectors parsed that prevent an enclosing selector from being reordered.
+    private int unorderedSelectors;
 
     static {
         // Adds selector relationship labels for warnings when unknown relationship names are used.
@@ -42,41 +48,64 @@ final class SelectorParser extends SimpleParser {
 
     static Selector parse(String selector) {
         SelectorParser parser = new SelectorParser(selector);
-        List<InternalSelector> result = parser.parse();
+        SelectorPlanner.Plan result = parser.parse();
         return new WrappedSelector(selector, result, parser.roots);
     }
 
-    List<InternalSelector> parse() {
+    SelectorPlanner.Plan parse() {
         return recursiveParse();
     }
 
-    private List<InternalSelector> recursiveParse() {
-        List<InternalSelector> selectors = new IgnoreIdentitySelectorArray();
+    private SelectorPlanner.Plan recursiveParse() {
+        List<SelectorPlanner.Step> steps = new IgnoreIdentitySelectorArray();
 
-        // createSelector() will strip leading ws.
-        selectors.add(createSelector());
+        // parseStep() will strip leading ws.
+        steps.add(parseStep());
 
-        // Need to always strip after calling createSelector in case we are at EOF.
+        // Need to always strip after calling parseStep in case we are at EOF.
         ws();
 
         // Parse until a break token: ",", "]", and ")".
         while (!eof() && !BREAK_TOKENS.contains(peek())) {
-            selectors.add(createSelector());
-            // Always skip ws after calling createSelector.
+            steps.add(parseStep());
+            // Always skip ws after calling parseStep.
             ws();
         }
 
-        return selectors;
+        return SelectorPlanner.plan(steps);
     }
 
     /**
      * Filter out unnecessary identity selectors when creating the finalized AST to evaluate selectors.
      */
-    private static final class IgnoreIdentitySelectorArray extends ArrayList<InternalSelector> {
+    private static final class IgnoreIdentitySelectorArray extends ArrayList<SelectorPlanner.Step> {
         @Override
-        public boolean add(InternalSelector o) {
-            return o != InternalSelector.IDENTITY && super.add(o);
+        public boolean add(SelectorPlanner.Step o) {
+            return o.getSelector() != InternalSelector.IDENTITY && super.add(o);
+        }
+    }
+
+    private SelectorPlanner.Step parseStep() {
+        ws();
+        int start = position();
+        List<SelectorPlanner.Plan> enclosingArguments = arguments;
+        int enclosingUnorderedSelectors = unorderedSelectors;
+        arguments = new ArrayList<>();
+
+        InternalSelector selector = createSelector();
+        String source = input().subSequence(start, position()).toString();
+
+        // Filters can only be reordered if every selector nested inside them can be reordered too.
+        boolean reorderable = selector instanceof FilterSelector
+                && ((FilterSelector) selector).isReorderable()
+                && unorderedSelectors == enclosingUnorderedSelectors;
+        if (!reorderable && selector instanceof FilterSelector) {
+            unorderedSelectors++;
         }
+
+        SelectorPlanner.Step step = new SelectorPlanner.Step(selector, source, arguments, reorderable);
+        arguments = enclosingArguments;
+        return step;
     }
 
     private InternalSelector createSelector() {
@@ -165,10 +194,13 @@ final class SelectorParser extends SimpleParser {
         ws();
         expect('(');
         ws();
-        InternalSelector selector = AndSelector.of(recursiveParse());
+        SelectorPlanner.Plan selector = recursiveParse();
         ws();
         expect(')');
 
+        // Selectors that read variables can't be moved across selectors that store them.
+        unorderedSelectors++;
+        arguments.add(selector);
         return new VariableStoreSelector(name, selector);
     }
 
@@ -253,7 +285,7 @@ final class SelectorParser extends SimpleParser {
                             column());
                 }
                 InternalSelector root = new RootSelector(selectors.get(0), roots.size());
-                roots.add(selectors.get(0));
+                roots.add((SelectorPlanner.Plan) selectors.get(0));
                 return root;
             case "topdown":
                 if (selectors.size() > 2) {
@@ -293,7 +325,9 @@ final class SelectorParser extends SimpleParser {
         char next;
 
         do {
-            selectors.add(AndSelector.of(recursiveParse()));
+            SelectorPlanner.Plan selector = recursiveParse();
+            arguments.add(selector);
+            selectors.add(selector);
             ws();
             next = expect(')', ',');
         } while (next != ')');
@@ -0,0 +1,297 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.selector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+
+/**
+ * Compiles the selectors parsed from a sequence of selector expressions
+ * into a {@link Plan}.
+ *
+ * <p>The planner makes the following optimizations:
+ *
+ * <ul>
+ *     <li>Adjacent filters that can be reordered are sorted by cost so that
+ *     cheap shape type and trait checks are evaluated first.</li>
+ *     <li>The shapes sent through the plan are taken from the smallest index
+ *     of the filters at the start of the plan rather than only the first
+ *     selector.</li>
+ *     <li>Adjacent filters are fused into a single step that tests each
+ *     filter in turn.</li>
+ *     <li>Filters that follow a neighbor selector are applied to each
+ *     neighbor in place rather than pushing each neighbor to another
+ *     selector.</li>
+ * </ul>
+ */
+final class SelectorPlanner {
+
+    private static final Comparator<Step> BY_COST = Comparator.comparingInt(step -> step.filter().cost());
+
+    private SelectorPlanner() {}
+
+    /**
+     * A parsed selector and the text it was parsed from.
+     */
+    static final class Step {
+        private final InternalSelector selector;
+        private final String kind;
+        private final String source;
+        private final List<Plan> arguments;
+        private final boolean reorderable;
+
+        /**
+         * @param selector Parsed selector.
+         * @param source Text the selector was parsed from.
+         * @param arguments Plans of the selectors nested in the selector.
+         * @param reorderable Set to true if the selector is a filter that can be reordered.
+         */
+        Step(InternalSelector selector, String source, List<Plan> arguments, boolean reorderable) {
+            this(selector, selector instanceof FilterSelector ? "filter" : "select", source, arguments, reorderable);
+        }
+
+        private Step(
+                InternalSelector selector,
+                String kind,
+                String source,
+                List<Plan> arguments,
+                boolean reorderable
+        ) {
+            this.selector = selector;
+            this.kind = kind;
+            this.source = source;
+            this.arguments = arguments;
+            this.reorderable = reorderable;
+        }
+
+        InternalSelector getSelector() {
+            return selector;
+        }
+
+        private boolean isFilter() {
+            return selector instanceof FilterSelector;
+        }
+
+        private FilterSelector filter() {
+            return (FilterSelector) selector;
+        }
+    }
+
+    /**
+     * Creates a plan that evaluates each step in sequence.
+     *
+     * @param parsed Steps in the order they were parsed.
+     * @return Returns the optimized plan.
+     */
+    static Plan plan(List<Step> parsed) {
+        List<Step> steps = new ArrayList<>(parsed);
+
+        // Sort each run of reorderable filters by cost. The sort is stable, so filters with the same
+        // cost are evaluated in the order they were written.
+        int position = 0;
+        while (position < steps.size()) {
+            int end = position;
+            while (end < steps.size() && steps.get(end).reorderable) {
+                end++;
+            }
+            if (end - position > 1) {
+                steps.subList(position, end).sort(BY_COST);
+            }
+            position = Math.max(end, position + 1);
+        }
+
+        // Every reorderable filter at the start of the plan is applied to the starting shapes, so the index of
+        // any of these filters contains every shape that can match.
+        List<Step> indexes = new ArrayList<>();
+        for (Step step : steps) {
+            if (!step.reorderable) {
+                break;
+            } else if (step.filter().isIndexed()) {
+                indexes.add(step);
+            }
+        }
+
+        List<Step> fused = new ArrayList<>(steps.size());
+        position = 0;
+        while (position < steps.size()) {
+            Step step = steps.get(position);
+            int end = position + 1;
+            if (step.isFilter() || step.selector instanceof NeighborSelector) {
+                while (end < steps.size() && steps.get(end).isFilter()) {
+                    end++;
+                }
+            }
+            fused.add(end - position == 1 ? step : fuse(steps.subList(position, end)));
+            position = end;
+        }
+
+        return new Plan(fused, indexes);
+    }
+
+    private static Step fuse(List<Step> steps) {
+        Step head = steps.get(0);
+        List<Step> filters = head.isFilter() ? steps : steps.subList(1, steps.size());
+        FilterSelector filter;
+        if (filters.size() == 1) {
+            filter = filters.get(0).filter();
+        } else {
+            FilterSelector[] fusedFilters = new FilterSelector[filters.size()];
+            for (int i = 0; i < fusedFilters.length; i++) {
+                fusedFilters[i] = filters.get(i).filter();
+            }
+            filter = new AllFilters(fusedFilters);
+        }
+
+        StringBuilder source = new StringBuilder();
+        List<Plan> arguments = new ArrayList<>();
+        for (Step step : steps) {
+            if (source.length() > 0) {
+                source.append(' ');
+            }
+            source.append(step.source);
+            arguments.addAll(step.arguments);
+        }
+
+        if (head.isFilter()) {
+            return new Step(filter, "filter", source.toString(), arguments, false);
+        } else {
+            InternalSelector neighbor = ((NeighborSelector) head.selector).withFilter(filter);
+            return new Step(neighbor, "neighbor with filter", source.toString(), arguments, false);
+        }
+    }
+
+    /**
+     * Accepts shapes that are accepted by every filter.
+     */
+    private static final class AllFilters implements FilterSelector {
+        private final FilterSelector[] filters;
+
+        AllFilters(FilterSelector[] filters) {
+            this.filters = filters;
+        }
+
+        @Override
+        public boolean test(Context context, Shape shape) {
+            for (FilterSelector filter : filters) {
+                if (!filter.test(context, shape)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int cost() {
+            int cost = 0;
+            for (FilterSelector filter : filters) {
+                cost = Math.max(cost, filter.cost());
+            }
+            return cost;
+        }
+
+        @Override
+        public ContainsShape containsShapeOptimization(Context context, Shape shape) {
+            ContainsShape result = ContainsShape.YES;
+            for (FilterSelector filter : filters) {
+                switch (filter.containsShapeOptimization(context, shape)) {
+                    case NO:
+                        return ContainsShape.NO;
+                    case MAYBE:
+                        result = ContainsShape.MAYBE;
+                        break;
+                    default:
+                        break;
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * An optimized sequence of selectors.
+     */
+    static final class Plan implements InternalSelector {
+        private final List<Step> steps;
+        private final List<Step> indexes;
+        private final InternalSelector delegate;
+
+        private Plan(List<Step> steps, List<Step> indexes) {
+            this.steps = Collections.unmodifiableList(steps);
+            this.indexes = indexes;
+
+            List<InternalSelector> selectors = new ArrayList<>(steps.size());
+            for (Step step : steps) {
+                selectors.add(step.selector);
+            }
+            this.delegate = AndSelector.of(selectors);
+        }
+
+        @Override
+        public Response push(Context context, Shape shape, Receiver next) {
+            return delegate.push(context, shape, next);
+        }
+
+        @Override
+        public Collection<? extends Shape> getStartingShapes(Model model) {
+            Collection<? extends Shape> result = null;
+            for (Step index : indexes) {
+                Collection<? extends Shape> candidate = index.selector.getStartingShapes(model);
+                if (result == null || candidate.size() < result.size()) {
+                    result = candidate;
+                }
+            }
+            return result == null ? model.toSet() : result;
+        }
+
+        @Override
+        public ContainsShape containsShapeOptimization(Context context, Shape shape) {
+            return steps.size() == 1
+                    ? steps.get(0).selector.containsShapeOptimization(context, shape)
+                    : ContainsShape.MAYBE;
+        }
+
+        /**
+         * Writes a description of the plan, one line per step.
+         *
+         * @param builder Where to write the description.
+         * @param indent Indentation to write before each line.
+         */
+        void explain(StringBuilder builder, String indent) {
+            builder.append(indent).append("start: ");
+            if (indexes.isEmpty()) {
+                builder.append("all shapes");
+            } else {
+                builder.append("smallest of ");
+                for (int i = 0; i < indexes.size(); i++) {
+                    if (i > 0) {
+                        builder.append(", ");
+                    }
+                    builder.append(indexes.get(i).source);
+                }
+            }
+            builder.append('\n');
+
+            for (int i = 0; i < steps.size(); i++) {
+                Step step = steps.get(i);
+                builder.append(indent)
+                        .append(i + 1)
+                        .append(". ")
+                        .append(step.kind)
+                        .append(": ")
+                        .append(step.source)
+                        .append('\n');
+                for (int j = 0; j < step.arguments.size(); j++) {
+                    builder.append(indent).append("   argument ").append(j + 1).append(":\n");
+                    step.arguments.get(j).explain(builder, indent + "     ");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.selector;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.KnowledgeIndex;
+import software.amazon.smithy.model.shapes.Shape;
+
+/**
+ * Caches the shapes matched by selectors in a model.
+ *
+ * <p>Parsed selectors store the result of {@link Selector#select(Model)}
+ * in this cache, keyed by their expression with the whitespace between
+ * tokens collapsed. Selecting shapes with the same expression from the
+ * same model returns the cached result, an unmodifiable set, rather than
+ * evaluating the selector again.
+ *
+ * <p>The size of the cache is bounded by the total number of shapes held
+ * by its results. The limit is {@value #MODELS_PER_CACHE} times the number
+ * of shapes in the model, which means the cache can't hold more than the
+ * equivalent of that many copies of the model. The least recently used
+ * results are evicted when the limit is exceeded. Caching can be turned
+ * off for a model with {@link #disable()}.
+ */
+public final class SelectorResultCache implements KnowledgeIndex {
+
+    /** The number of shapes the cache can hold relative to the number of shapes in the model. */
+    public static final int MODELS_PER_CACHE = 16;
+
+    // Allows the cache to hold small results for models with very few shapes.
+    private static final long MINIMUM_WEIGHT = 1024;
+
+    private long maxWeight;
+    private final Map<String, Set<Shape>> results = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public SelectorResultCache(Model model) {
+        this((long) model.toSet().size() * MODELS_PER_CACHE + MINIMUM_WEIGHT);
+    }
+
+    SelectorResultCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    public static SelectorResultCache of(Model model) {
+        return model.getKnowledge(SelectorResultCache.class, SelectorResultCache::new);
+    }
+
+    /**
+     * Gets the number of times a cached result was returned.
+     *
+     * @return Returns the number of hits.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of times a selector had to be evaluated.
+     *
+     * @return Returns the number of misses.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of results that were evicted to stay within the size limit.
+     *
+     * @return Returns the number of evictions.
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * Gets the number of results in the cache.
+     *
+     * @return Returns the number of cached results.
+     */
+    public synchronized int size() {
+        return results.size();
+    }
+
+    /**
+     * Gets the total number of shapes held by the results in the cache.
+     *
+     * @return Returns the weight of the cache.
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Evicts every cached result and stops caching results of the model.
+     *
+     * <p>Selectors are evaluated every time they select shapes from the
+     * model after the cache is disabled.
+     */
+    public synchronized void disable() {
+        maxWeight = 0;
+        results.clear();
+        weight = 0;
+    }
+
+    /**
+     * Gets a cached result or evaluates and caches it.
+     *
+     * <p>Selectors are evaluated outside of the lock, so a result might be
+     * evaluated more than once when it is requested from multiple threads.
+     *
+     * @param key Normalized selector expression.
+     * @param evaluator Evaluates the selector.
+     * @return Returns the cached result, which must not be modified.
+     */
+    Set<Shape> get(String key, Supplier<Set<Shape>> evaluator) {
+        synchronized (this) {
+            Set<Shape> cached = results.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        misses.incrementAndGet();
+        Set<Shape> result = evaluator.get();
+        put(key, result);
+        return result;
+    }
+
+    private synchronized void put(String key, Set<Shape> result) {
+        long resultWeight = weigh(result);
+        if (resultWeight > maxWeight) {
+            // Don't evict every other result to make room for a result that can't fit.
+            return;
+        }
+
+        Set<Shape> previous = results.put(key, result);
+        if (previous != null) {
+            weight -= weigh(previous);
+        }
+        weight += resultWeight;
+
+        Iterator<Set<Shape>> iterator = results.values().iterator();
+        while (weight > maxWeight) {
+            weight -= weigh(iterator.next());
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    // Every result has a weight of at least 1 so that empty results still count against the limit.
+    private static long weigh(Set<Shape> result) {
+        return result.size() + 1;
+    }
+
+    /**
+     * Normalizes a selector expression by trimming it and collapsing
+     * whitespace between tokens into a single space.
+     *
+     * <p>Whitespace inside of quoted strings is preserved. Like the selector
+     * parser, quoted strings end at the next matching quote.
+     *
+     * @param expression Expression to normalize.
+     * @return Returns the normalized expression.
+     */
+    static String normalize(String expression) {
+        StringBuilder result = new StringBuilder(expression.length());
+        char quote = 0;
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < expression.length(); i++) {
+            char c = expression.charAt(i);
+            if (quote != 0) {
+                result.append(c);
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+                pendingSpace = result.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    result.append(' ');
+                    pendingSpace = false;
+                }
+                if (c == '"' || c == '\'') {
+                    quote = c;
+                }
+                result.append(c);
+            }
+        }
+
+        return result.toString();
+    }
+}
@@ -8,7 +8,7 @@ import java.util.Collection;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 
-final class ShapeTypeCategorySelector implements InternalSelector {
+final class ShapeTypeCategorySelector implements FilterSelector {
     private final Class<? extends Shape> shapeCategory;
 
     ShapeTypeCategorySelector(Class<? extends Shape> shapeCategory) {
@@ -16,12 +16,18 @@ final class ShapeTypeCategorySelector implements InternalSelector {
     }
 
     @Override
-    public Response push(Context ctx, Shape shape, Receiver next) {
-        if (shapeCategory.isInstance(shape)) {
-            return next.apply(ctx, shape);
-        }
+    public boolean test(Context context, Shape shape) {
+        return shapeCategory.isInstance(shape);
+    }
 
-        return Response.CONTINUE;
+    @Override
+    public int cost() {
+        return TYPE_COST;
+    }
+
+    @Override
+    public boolean isIndexed() {
+        return true;
     }
 
     @Override
@@ -9,7 +9,7 @@ import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeType;
 
-final class ShapeTypeSelector implements InternalSelector {
+final class ShapeTypeSelector implements FilterSelector {
 
     final ShapeType shapeType;
 
@@ -18,12 +18,18 @@ final class ShapeTypeSelector implements InternalSelector {
     }
 
     @Override
-    public Response push(Context ctx, Shape shape, Receiver next) {
-        if (shape.getType().isShapeType(shapeType)) {
-            return next.apply(ctx, shape);
-        }
+    public boolean test(Context context, Shape shape) {
+        return shape.getType().isShapeType(shapeType);
+    }
 
-        return Response.CONTINUE;
+    @Override
+    public int cost() {
+        return TYPE_COST;
+    }
+
+    @Override
+    public boolean isIndexed() {
+        return true;
     }
 
     @Override
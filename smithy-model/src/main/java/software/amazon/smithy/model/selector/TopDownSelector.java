@@ -4,13 +4,12 @@
  */
 package software.amazon.smithy.model.selector;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import software.amazon.smithy.model.neighbor.Relationship;
 import software.amazon.smithy.model.neighbor.RelationshipType;
 import software.amazon.smithy.model.shapes.Shape;
-import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeBitSet;
 
 final class TopDownSelector implements InternalSelector {
     private final InternalSelector qualifier;
@@ -24,7 +23,7 @@ final class TopDownSelector implements InternalSelector {
     @Override
     public Response push(Context context, Shape shape, Receiver next) {
         if (shape.isServiceShape() || shape.isResourceShape() || shape.isOperationShape()) {
-            return pushMatch(false, context, shape, next, new HashSet<>());
+            return pushMatch(false, context, shape, next, new ShapeBitSet<>(context.getModel()));
         }
 
         return Response.CONTINUE;
@@ -35,13 +34,11 @@ final class TopDownSelector implements InternalSelector {
     // recursive references. Custom validators are applied before resource
     // cycles are detected, meaning this function needs to protect against
     // recursion.
-    private Response pushMatch(boolean qualified, Context context, Shape shape, Receiver next, Set<ShapeId> visited) {
-        if (visited.contains(shape.getId())) {
+    private Response pushMatch(boolean qualified, Context context, Shape shape, Receiver next, Set<Shape> visited) {
+        if (!visited.add(shape)) {
             return Response.CONTINUE;
         }
 
-        visited.add(shape.getId());
-
         // If the flag isn't set, then check if this shape sets it to true.
         if (!qualified && context.receivedShapes(shape, qualifier)) {
             qualified = true;
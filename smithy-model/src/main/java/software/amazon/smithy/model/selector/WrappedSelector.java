@@ -6,7 +6,7 @@ package software.amazon.smithy.model.selector;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -16,6 +16,7 @@ import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeBitSet;
 
 /**
  * Provides a toString method that prints the expression.
@@ -26,13 +27,15 @@ final class WrappedSelector implements Selector {
     private static final int PARALLEL_THRESHOLD = 10000;
 
     private final String expression;
-    private final InternalSelector delegate;
-    private final List<InternalSelector> roots;
+    private final String cacheKey;
+    private final SelectorPlanner.Plan delegate;
+    private final List<SelectorPlanner.Plan> roots;
 
-    WrappedSelector(String expression, List<InternalSelector> selectors, List<InternalSelector> roots) {
+    WrappedSelector(String expression, SelectorPlanner.Plan delegate, List<SelectorPlanner.Plan> roots) {
         this.expression = expression;
+        this.cacheKey = SelectorResultCache.normalize(expression);
         this.roots = roots;
-        this.delegate = AndSelector.of(selectors);
+        this.delegate = delegate;
     }
 
     @Override
@@ -40,6 +43,18 @@ final class WrappedSelector implements Selector {
         return expression;
     }
 
+    @Override
+    public String explain() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("selector: ").append(expression).append('\n');
+        delegate.explain(builder, "");
+        for (int i = 0; i < roots.size(); i++) {
+            builder.append("root ").append(i).append(":\n");
+            roots.get(i).explain(builder, "  ");
+        }
+        return builder.toString();
+    }
+
     @Override
     public boolean equals(Object other) {
         return other instanceof Selector && toString().equals(other.toString());
@@ -57,13 +72,23 @@ final class WrappedSelector implements Selector {
 
     @Override
     public Set<Shape> select(Model model, StartingContext startingContext) {
+        if (startingContext.getStartingShapes() != null) {
+            return evaluate(model, startingContext);
+        }
+
+        // Cached results are shared by every caller, so they're returned as unmodifiable views.
+        return SelectorResultCache.of(model)
+                .get(cacheKey, () -> Collections.unmodifiableSet(evaluate(model, startingContext)));
+    }
+
+    private Set<Shape> evaluate(Model model, StartingContext startingContext) {
         Collection<? extends Shape> startingShapes = getStartingShapes(model, startingContext);
 
         if (isParallel(startingShapes)) {
-            return shapes(model).collect(Collectors.toSet());
+            return shapes(model, startingContext).collect(Collectors.toCollection(() -> new ShapeBitSet<>(model)));
         } else {
             // This is more optimized than using shapes() for smaller models that aren't parallelized.
-            Set<Shape> result = new HashSet<>();
+            Set<Shape> result = new ShapeBitSet<>(model);
             pushShapes(model, startingShapes, (ctx, s) -> {
                 result.add(s);
                 return InternalSelector.Response.CONTINUE;
@@ -132,7 +157,7 @@ final class WrappedSelector implements Selector {
     private List<Set<Shape>> computeRoots(Model model) {
         NeighborProviderIndex index = NeighborProviderIndex.of(model);
         List<Set<Shape>> rootResults = new ArrayList<>(roots.size());
-        for (InternalSelector selector : roots) {
+        for (SelectorPlanner.Plan selector : roots) {
             Set<Shape> result = evalRoot(model, index, selector, rootResults);
             rootResults.add(result);
         }
@@ -148,7 +173,7 @@ final class WrappedSelector implements Selector {
     ) {
         Collection<? extends Shape> shapesToEmit = selector.getStartingShapes(model);
         Context isolatedContext = new Context(model, index, results);
-        Set<Shape> captures = new HashSet<>();
+        Set<Shape> captures = new ShapeBitSet<>(model);
         for (Shape rootShape : shapesToEmit) {
             isolatedContext.getVars().clear();
             selector.push(isolatedContext, rootShape, (c, s) -> {
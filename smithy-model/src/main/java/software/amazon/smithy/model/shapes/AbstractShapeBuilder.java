@@ -14,6 +14,7 @@ import java.util.Objects;
 import java.util.Optional;
 import software.amazon.smithy.model.FromSourceLocation;
 import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.traits.LazyTrait;
 import software.amazon.smithy.model.traits.MixinTrait;
 import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.utils.BuilderRef;
@@ -127,7 +128,7 @@ public abstract class AbstractShapeBuilder<B extends AbstractShapeBuilder<B, S>,
      * @return Returns the applied traits.
      */
     public Map<ShapeId, Trait> getAllTraits() {
-        return traits.peek();
+        return LazyTrait.createdView(traits.peek());
     }
 
     /**
@@ -19,6 +19,7 @@ import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceException;
 import software.amazon.smithy.model.SourceLocation;
 import software.amazon.smithy.model.node.ExpectationNotMetException;
+import software.amazon.smithy.model.traits.LazyTrait;
 import software.amazon.smithy.model.traits.MixinTrait;
 import software.amazon.smithy.model.traits.TagsTrait;
 import software.amazon.smithy.model.traits.Trait;
@@ -61,7 +62,9 @@ public abstract class Shape implements FromSourceLocation, Tagged, ToShapeId, Co
         id = SmithyBuilder.requiredState("id", builder.getId());
         validateShapeId(expectMemberSegments);
 
-        introducedTraits = MapUtils.copyOf(builder.getTraits());
+        // Lazy traits are copied as-is and only created when accessed through the exposed trait maps.
+        Map<ShapeId, Trait> introduced = TraitMap.copyOf(builder.getTraits());
+        introducedTraits = LazyTrait.createdView(introduced);
         mixins = MapUtils.orderedCopyOf(builder.getMixins());
 
         if (mixins.isEmpty()) {
@@ -73,11 +76,11 @@ public abstract class Shape implements FromSourceLocation, Tagged, ToShapeId, Co
             Map<ShapeId, Trait> computedTraits = new HashMap<>();
             for (Shape shape : mixins.values()) {
                 // Mixin traits override other mixin traits, in order.
-                computedTraits.putAll(MixinTrait.getNonLocalTraitsFromMap(shape.getAllTraits()));
+                computedTraits.putAll(MixinTrait.getNonLocalTraitsFromMap(LazyTrait.uncreated(shape.traits)));
             }
             // Traits applied to the shape directly override inherited traits.
-            computedTraits.putAll(introducedTraits);
-            traits = Collections.unmodifiableMap(computedTraits);
+            computedTraits.putAll(introduced);
+            traits = LazyTrait.createdView(TraitMap.copyOf(computedTraits));
         }
     }
 
@@ -302,20 +305,17 @@ public abstract class Shape implements FromSourceLocation, Tagged, ToShapeId, Co
      * Attempt to retrieve a specific {@link Trait} by class from the shape.
      *
      * <p>The first trait instance found matching the given type is returned.
+     * Final trait classes created by a {@code TraitService} provider are
+     * found by looking up the trait ID they're registered for before
+     * checking every trait.
      *
      * @param traitClass Trait class to retrieve.
      * @param <T> The instance of the trait to retrieve.
      * @return Returns the matching trait.
      */
-    @SuppressWarnings("unchecked")
     public final <T extends Trait> Optional<T> getTrait(Class<T> traitClass) {
-        for (Trait trait : traits.values()) {
-            if (traitClass.isInstance(trait)) {
-                return Optional.of((T) trait);
-            }
-        }
-
-        return Optional.empty();
+        // The traits of a shape are always stored in a TraitMap, which is searched by registered trait ID first.
+        return Optional.ofNullable(((TraitMap) LazyTrait.uncreated(traits)).findTrait(traitClass));
     }
 
     /**
@@ -849,7 +849,7 @@ public abstract class Shape implements FromSourceLocation, Tagged, ToShapeId, Co
         builder.id(getId());
         builder.source(getSourceLocation());
         // Only add introduced traits to the builder to allow model load -> rebuild -> serialize roundtripping.
-        builder.addTraits(getIntroducedTraits().values());
+        builder.addTraits(LazyTrait.uncreated(getIntroducedTraits()).values());
         builder.mixins(mixins.values());
 
         // Add members to the builder that are not just strictly inherited from mixins.
@@ -0,0 +1,415 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.shapes;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import software.amazon.smithy.model.Model;
+
+/**
+ * A mutable set of shapes backed by a bit for each shape in a model.
+ *
+ * <p>Shapes are stored using the ordinal assigned to them by
+ * {@link Model#getShapeOrdinal(ShapeId)}, so each shape in the model takes
+ * up a single bit rather than a hash table entry. Union, intersection, and
+ * difference operations between sets created for the same model are
+ * performed 64 shapes at a time.
+ *
+ * <p>Shapes that aren't part of the model the set was created for can still
+ * be added to the set, but they are stored in a regular hash set. Shapes
+ * are iterated in ordinal order, followed by any shapes that aren't in the
+ * model.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @param <T> Type of shape in the set.
+ */
+public final class ShapeBitSet<T extends Shape> extends AbstractSet<T> {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Model model;
+    private long[] words = EMPTY;
+    private int bitCount;
+    private Set<T> overflow;
+    private int modCount;
+
+    /**
+     * Creates an empty set for shapes in the given model.
+     *
+     * @param model Model that assigns ordinals to shapes.
+     */
+    public ShapeBitSet(Model model) {
+        this.model = Objects.requireNonNull(model);
+    }
+
+    /**
+     * Creates a set for shapes in the given model that contains the given shapes.
+     *
+     * @param model Model that assigns ordinals to shapes.
+     * @param shapes Shapes to add to the set.
+     */
+    public ShapeBitSet(Model model, Collection<? extends T> shapes) {
+        this(model);
+        addAll(shapes);
+    }
+
+    /**
+     * Gets the model the set was created for.
+     *
+     * @return Returns the model.
+     */
+    public Model getModel() {
+        return model;
+    }
+
+    @Override
+    public int size() {
+        return bitCount + (overflow == null ? 0 : overflow.size());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Shape)) {
+            return false;
+        }
+        int ordinal = ordinal((Shape) o);
+        if (ordinal >= 0) {
+            return isSet(ordinal);
+        }
+        return overflow != null && overflow.contains(o);
+    }
+
+    @Override
+    public boolean add(T shape) {
+        int ordinal = ordinal(shape);
+        if (ordinal < 0) {
+            if (overflow == null) {
+                overflow = new HashSet<>();
+            }
+            if (overflow.add(shape)) {
+                modCount++;
+                return true;
+            }
+            return false;
+        }
+
+        int word = ordinal >>> 6;
+        if (word >= words.length) {
+            grow(word + 1);
+        }
+        long mask = 1L << ordinal;
+        if ((words[word] & mask) != 0) {
+            return false;
+        }
+        words[word] |= mask;
+        bitCount++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof Shape)) {
+            return false;
+        }
+        int ordinal = ordinal((Shape) o);
+        if (ordinal < 0) {
+            if (overflow != null && overflow.remove(o)) {
+                modCount++;
+                return true;
+            }
+            return false;
+        } else if (!isSet(ordinal)) {
+            return false;
+        }
+        clearBit(ordinal);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        words = EMPTY;
+        bitCount = 0;
+        overflow = null;
+        modCount++;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        ShapeBitSet<?> other = sameModel(c);
+        if (other == null) {
+            return super.addAll(c);
+        }
+
+        if (other.words.length > words.length) {
+            grow(other.words.length);
+        }
+        boolean changed = false;
+        for (int i = 0; i < other.words.length; i++) {
+            long updated = words[i] | other.words[i];
+            if (updated != words[i]) {
+                words[i] = updated;
+                changed = true;
+            }
+        }
+        if (other.overflow != null) {
+            for (Shape shape : other.overflow) {
+                // Only shapes of type T can be in a set that is a Collection<? extends T>.
+                @SuppressWarnings("unchecked")
+                T value = (T) shape;
+                changed |= add(value);
+            }
+        }
+        if (changed) {
+            recount();
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        ShapeBitSet<?> other = sameModel(c);
+        if (other == null) {
+            return super.retainAll(c);
+        }
+
+        boolean changed = false;
+        for (int i = 0; i < words.length; i++) {
+            long updated = i < other.words.length ? words[i] & other.words[i] : 0;
+            if (updated != words[i]) {
+                words[i] = updated;
+                changed = true;
+            }
+        }
+        if (overflow != null) {
+            changed |= other.overflow == null ? !overflow.isEmpty() : overflow.retainAll(other.overflow);
+            if (other.overflow == null) {
+                overflow = null;
+            }
+        }
+        if (changed) {
+            recount();
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        ShapeBitSet<?> other = sameModel(c);
+        if (other == null) {
+            return super.removeAll(c);
+        }
+
+        boolean changed = false;
+        int shared = Math.min(words.length, other.words.length);
+        for (int i = 0; i < shared; i++) {
+            long updated = words[i] & ~other.words[i];
+            if (updated != words[i]) {
+                words[i] = updated;
+                changed = true;
+            }
+        }
+        if (overflow != null && other.overflow != null) {
+            changed |= overflow.removeAll(other.overflow);
+        }
+        if (changed) {
+            recount();
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        ShapeBitSet<?> other = sameModel(c);
+        if (other == null) {
+            return super.containsAll(c);
+        }
+
+        for (int i = 0; i < other.words.length; i++) {
+            long mine = i < words.length ? words[i] : 0;
+            if ((other.words[i] & ~mine) != 0) {
+                return false;
+            }
+        }
+        return other.overflow == null || (overflow != null && overflow.containsAll(other.overflow));
+    }
+
+    /**
+     * Checks if this set contains any of the shapes in another set.
+     *
+     * @param other Set to check.
+     * @return Returns true if the sets have at least one shape in common.
+     */
+    public boolean intersects(ShapeBitSet<?> other) {
+        if (other.model == model) {
+            int shared = Math.min(words.length, other.words.length);
+            for (int i = 0; i < shared; i++) {
+                if ((words[i] & other.words[i]) != 0) {
+                    return true;
+                }
+            }
+            if (overflow == null || other.overflow == null) {
+                return false;
+            }
+        }
+
+        ShapeBitSet<?> smaller = size() <= other.size() ? this : other;
+        ShapeBitSet<?> larger = smaller == this ? other : this;
+        for (Shape shape : smaller) {
+            if (larger.contains(shape)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new BitIterator();
+    }
+
+    // Gets the ordinal of a shape if the shape is the one stored in the model, or -1.
+    private int ordinal(Shape shape) {
+        int ordinal = model.getShapeOrdinal(shape.getId());
+        if (ordinal >= 0) {
+            Shape stored = model.getShapeByOrdinal(ordinal);
+            if (stored != shape && !stored.equals(shape)) {
+                return -1;
+            }
+        }
+        return ordinal;
+    }
+
+    private boolean isSet(int ordinal) {
+        int word = ordinal >>> 6;
+        return word < words.length && (words[word] & (1L << ordinal)) != 0;
+    }
+
+    private void clearBit(int ordinal) {
+        words[ordinal >>> 6] &= ~(1L << ordinal);
+        bitCount--;
+        modCount++;
+    }
+
+    // Words are allocated up to the highest ordinal in the set so that small sets stay small.
+    private void grow(int minWords) {
+        int maxWords = (model.toSet().size() + 63) >>> 6;
+        int size = Math.min(Math.max(minWords, words.length * 2), Math.max(maxWords, minWords));
+        long[] grown = new long[size];
+        System.arraycopy(words, 0, grown, 0, words.length);
+        words = grown;
+    }
+
+    private void recount() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        bitCount = count;
+        modCount++;
+    }
+
+    private ShapeBitSet<?> sameModel(Collection<?> c) {
+        if (c instanceof ShapeBitSet && ((ShapeBitSet<?>) c).model == model) {
+            return (ShapeBitSet<?>) c;
+        }
+        return null;
+    }
+
+    private final class BitIterator implements Iterator<T> {
+        private int nextOrdinal;
+        private int lastOrdinal = -1;
+        private Iterator<T> overflowIterator;
+        private boolean lastFromOverflow;
+        private int expectedModCount = modCount;
+
+        BitIterator() {
+            nextOrdinal = nextSetBit(0);
+        }
+
+        private int nextSetBit(int from) {
+            int word = from >>> 6;
+            if (word >= words.length) {
+                return -1;
+            }
+            long bits = words[word] & (-1L << from);
+            while (true) {
+                if (bits != 0) {
+                    return (word << 6) + Long.numberOfTrailingZeros(bits);
+                } else if (++word == words.length) {
+                    return -1;
+                }
+                bits = words[word];
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            checkForComodification();
+            if (nextOrdinal >= 0) {
+                return true;
+            }
+            if (overflowIterator == null) {
+                if (overflow == null) {
+                    return false;
+                }
+                overflowIterator = overflow.iterator();
+            }
+            return overflowIterator.hasNext();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (nextOrdinal >= 0) {
+                lastOrdinal = nextOrdinal;
+                lastFromOverflow = false;
+                nextOrdinal = nextSetBit(nextOrdinal + 1);
+                // Only shapes of type T are ever added to the set.
+                return (T) model.getShapeByOrdinal(lastOrdinal);
+            }
+            lastOrdinal = -1;
+            lastFromOverflow = true;
+            return overflowIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (lastFromOverflow) {
+                overflowIterator.remove();
+                lastFromOverflow = false;
+                modCount++;
+            } else if (lastOrdinal >= 0) {
+                clearBit(lastOrdinal);
+                lastOrdinal = -1;
+            } else {
+                throw new IllegalStateException();
+            }
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
@@ -4,13 +4,11 @@
  */
 package software.amazon.smithy.model.shapes;
 
-import java.util.Collections;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import software.amazon.smithy.model.loader.ParserUtils;
 import software.amazon.smithy.model.loader.Prelude;
 import software.amazon.smithy.model.node.Node;
@@ -397,34 +395,25 @@ public final class ShapeId implements ToShapeId, Comparable<ShapeId> {
     }
 
     /**
-     * A least-recently used flyweight factory that creates shape IDs.
+     * A flyweight factory that creates shape IDs.
      *
      * <p>Prelude IDs are stored separately from non-prelude IDs because we can make a reasonable estimate about the
      * size of the prelude and stop caching IDs when that size is exceeded. Prelude shapes are stored in a
      * ConcurrentHashMap with a bounded size. Once the size exceeds 500, then items are no longer stored in the cache.
-     * Non-prelude shapes are stored in a bounded, synchronized LRU cache based on {@link LinkedHashMap}.
+     * Non-prelude shapes are stored in a bounded, lock-free {@link InternTable} so that threads creating shape IDs
+     * in parallel never contend on a lock.
      */
     private static final class ShapeIdFactory {
         private static final int NON_PRELUDE_MAX_SIZE = 8192;
         private static final int PRELUDE_MAX_SIZE = 500;
         private static final String PRELUDE_PREFIX = Prelude.NAMESPACE + '#';
 
-        private final Map<String, ShapeId> nonPreludeCache;
+        private final InternTable nonPreludeCache;
         private final ConcurrentMap<String, ShapeId> preludeCache;
 
         ShapeIdFactory() {
             preludeCache = new ConcurrentHashMap<>(PRELUDE_MAX_SIZE);
-
-            // A simple LRU cache based on LinkedHashMap, wrapped in a synchronized map.
-            nonPreludeCache = Collections.synchronizedMap(new LinkedHashMap<String, ShapeId>(
-                    NON_PRELUDE_MAX_SIZE + 1,
-                    1.0f,
-                    true) {
-                @Override
-                protected boolean removeEldestEntry(Map.Entry<String, ShapeId> eldest) {
-                    return this.size() > NON_PRELUDE_MAX_SIZE;
-                }
-            });
+            nonPreludeCache = new InternTable(NON_PRELUDE_MAX_SIZE);
         }
 
         ShapeId create(final String key) {
@@ -454,7 +443,12 @@ public final class ShapeId implements ToShapeId, Comparable<ShapeId> {
         }
 
         private ShapeId getNonPreludeId(String key) {
-            return nonPreludeCache.computeIfAbsent(key, ShapeIdFactory::buildShapeId);
+            ShapeId result = nonPreludeCache.get(key);
+            if (result == null) {
+                result = buildShapeId(key);
+                nonPreludeCache.put(key, result);
+            }
+            return result;
         }
 
         private static ShapeId buildShapeId(String absoluteShapeId) {
@@ -481,4 +475,57 @@ public final class ShapeId implements ToShapeId, Comparable<ShapeId> {
             return new ShapeId(absoluteShapeId, namespace, name, memberName);
         }
     }
+
+    /**
+     * A bounded, lock-free cache of shape IDs.
+     *
+     * <p>The table is a fixed-size array of two-slot buckets. A lookup reads
+     * at most two slots and never blocks. When both slots of a bucket are
+     * occupied, adding an ID moves the most recently added ID of the bucket
+     * to the second slot and evicts the ID that was in it, which approximates
+     * LRU eviction without any bookkeeping on reads. Concurrent writers can
+     * overwrite each other's entries, but since shape IDs are immutable and
+     * compared by value, a lost entry only causes a later cache miss.
+     */
+    private static final class InternTable {
+        private final AtomicReferenceArray<ShapeId> slots;
+        private final int mask;
+
+        InternTable(int capacity) {
+            // Round up to a power of two so that buckets can be found by masking the hash.
+            int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+            slots = new AtomicReferenceArray<>(size);
+            mask = size - 1;
+        }
+
+        ShapeId get(String key) {
+            int bucket = bucket(key);
+            ShapeId result = slots.get(bucket);
+            if (result != null && result.absoluteName.equals(key)) {
+                return result;
+            }
+            result = slots.get(bucket + 1);
+            if (result != null && result.absoluteName.equals(key)) {
+                return result;
+            }
+            return null;
+        }
+
+        void put(String key, ShapeId id) {
+            int bucket = bucket(key);
+            ShapeId first = slots.get(bucket);
+            if (first == null && slots.compareAndSet(bucket, null, id)) {
+                return;
+            }
+            if (first != null) {
+                slots.lazySet(bucket + 1, first);
+            }
+            slots.lazySet(bucket, id);
+        }
+
+        private int bucket(String key) {
+            int hash = key.hashCode();
+            return ((hash ^ (hash >>> 16)) & mask) & ~1;
+        }
+    }
 }
@@ -0,0 +1,356 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.shapes;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import software.amazon.smithy.model.traits.LazyTrait;
+import software.amazon.smithy.model.traits.Trait;
+import software.amazon.smithy.model.traits.TraitClassRegistry;
+
+/**
+ * A compact immutable map of traits stored in arrays sorted by the hash
+ * code of each trait ID.
+ *
+ * <p>Most shapes have only a few traits, so storing them inline in arrays
+ * uses far less memory than a hash map and lets lookups compare the
+ * interned shape IDs of traits by identity before falling back to equality.
+ * Larger maps are searched using a binary search over the sorted hash codes.
+ */
+final class TraitMap extends AbstractMap<ShapeId, Trait> {
+
+    private static final TraitMap EMPTY = new TraitMap(new ShapeId[0], new Trait[0], new int[0]);
+
+    // Maps with more traits than this are searched using a binary search rather than a linear scan.
+    private static final int LINEAR_SEARCH_LIMIT = 8;
+
+    private final ShapeId[] ids;
+    private final Trait[] traits;
+    private final int[] hashes;
+    private Set<Entry<ShapeId, Trait>> entrySet;
+    private Set<ShapeId> keySet;
+    private Collection<Trait> values;
+
+    // 1 if every trait is stored under the ID its class is registered for, -1 if not, or 0 if not yet known.
+    private byte registeredIds;
+
+    private TraitMap(ShapeId[] ids, Trait[] traits, int[] hashes) {
+        this.ids = ids;
+        this.traits = traits;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Creates an immutable copy of a map of traits.
+     *
+     * @param traits Traits to copy.
+     * @return Returns the copied traits.
+     */
+    static TraitMap copyOf(Map<ShapeId, Trait> traits) {
+        if (traits instanceof TraitMap) {
+            return (TraitMap) traits;
+        } else if (traits.isEmpty()) {
+            return EMPTY;
+        }
+
+        int size = traits.size();
+        ShapeId[] ids = new ShapeId[size];
+        Trait[] values = new Trait[size];
+        int[] hashes = new int[size];
+        int count = 0;
+
+        // Insertion sort by hash, which is fast for the small maps that make up most trait maps.
+        for (Map.Entry<ShapeId, Trait> entry : traits.entrySet()) {
+            ShapeId id = entry.getKey();
+            int hash = id.hashCode();
+            int position = count++;
+            while (position > 0 && hashes[position - 1] > hash) {
+                ids[position] = ids[position - 1];
+                values[position] = values[position - 1];
+                hashes[position] = hashes[position - 1];
+                position--;
+            }
+            ids[position] = id;
+            values[position] = entry.getValue();
+            hashes[position] = hash;
+        }
+
+        return new TraitMap(ids, values, hashes);
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof ShapeId)) {
+            return -1;
+        }
+
+        int size = ids.length;
+        if (size <= LINEAR_SEARCH_LIMIT) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == key) {
+                    return i;
+                }
+            }
+            int hash = key.hashCode();
+            for (int i = 0; i < size; i++) {
+                if (hashes[i] == hash && ids[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int hash = key.hashCode();
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (hashes[middle] < hash) {
+                low = middle + 1;
+            } else if (hashes[middle] > hash) {
+                high = middle - 1;
+            } else {
+                // Check every ID with the same hash code, starting from the first one.
+                int i = middle;
+                while (i > 0 && hashes[i - 1] == hash) {
+                    i--;
+                }
+                for (; i < size && hashes[i] == hash; i++) {
+                    if (ids[i] == key || ids[i].equals(key)) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds a trait that is an instance of a class.
+     *
+     * <p>In maps that are too large to search linearly, the trait stored
+     * under the ID that the class is registered for in
+     * {@link TraitClassRegistry} is checked first. Registered classes are
+     * final, so if every trait of the map is stored under the ID its class
+     * is registered for, no other trait can be an instance of the class.
+     * Otherwise every trait is checked, which finds traits of the class
+     * stored under other IDs. Smaller maps are always checked linearly,
+     * which costs no more than finding the registered ID. Lazy traits known
+     * to create a trait of a different class are skipped without creating
+     * them.
+     *
+     * @param traitClass Class of the trait to find.
+     * @param <T> Type of the trait to find.
+     * @return Returns the found trait, or null if not found.
+     */
+    @SuppressWarnings("unchecked")
+    <T extends Trait> T findTrait(Class<T> traitClass) {
+        ShapeId id = ids.length > LINEAR_SEARCH_LIMIT ? TraitClassRegistry.getTraitId(traitClass) : null;
+        if (id != null) {
+            int index = indexOf(id);
+            if (index != -1) {
+                Trait trait = instanceOf(traits[index], traitClass);
+                if (trait != null) {
+                    return (T) trait;
+                }
+            } else if (storesRegisteredIds()) {
+                return null;
+            }
+        }
+
+        for (Trait trait : traits) {
+            trait = instanceOf(trait, traitClass);
+            if (trait != null) {
+                return (T) trait;
+            }
+        }
+        return null;
+    }
+
+    // Checks if every trait is stored under the ID its class is registered for. A registered ID never
+    // changes to a different ID, so the result stays valid once computed.
+    private boolean storesRegisteredIds() {
+        byte result = registeredIds;
+        if (result == 0) {
+            result = 1;
+            for (int i = 0; i < traits.length; i++) {
+                Class<? extends Trait> traitClass = traits[i] instanceof LazyTrait
+                        ? ((LazyTrait) traits[i]).getKnownTraitClass()
+                        : traits[i].getClass();
+                if (traitClass == null || !ids[i].equals(TraitClassRegistry.getTraitId(traitClass))) {
+                    result = -1;
+                    break;
+                }
+            }
+            registeredIds = result;
+        }
+        return result > 0;
+    }
+
+    private static Trait instanceOf(Trait trait, Class<? extends Trait> traitClass) {
+        if (trait instanceof LazyTrait) {
+            LazyTrait lazy = (LazyTrait) trait;
+            Class<? extends Trait> knownClass = lazy.getKnownTraitClass();
+            if (knownClass != null && !traitClass.isAssignableFrom(knownClass)) {
+                return null;
+            }
+            trait = lazy.get();
+        }
+        return traitClass.isInstance(trait) ? trait : null;
+    }
+
+    @Override
+    public Trait get(Object key) {
+        int index = indexOf(key);
+        return index == -1 ? null : traits[index];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) != -1;
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        } else if (!(other instanceof TraitMap)) {
+            return super.equals(other);
+        }
+
+        TraitMap otherMap = (TraitMap) other;
+        if (otherMap.ids.length != ids.length) {
+            return false;
+        }
+        for (int i = 0; i < ids.length; i++) {
+            Trait otherTrait = otherMap.get(ids[i]);
+            if (otherTrait == null || !traits[i].equals(otherTrait)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (int i = 0; i < ids.length; i++) {
+            result += hashes[i] ^ traits[i].hashCode();
+        }
+        return result;
+    }
+
+    @Override
+    public Set<Entry<ShapeId, Trait>> entrySet() {
+        Set<Entry<ShapeId, Trait>> result = entrySet;
+        if (result == null) {
+            entrySet = result = new AbstractSet<Entry<ShapeId, Trait>>() {
+                @Override
+                public Iterator<Entry<ShapeId, Trait>> iterator() {
+                    return new ArrayIterator<Entry<ShapeId, Trait>>() {
+                        @Override
+                        Entry<ShapeId, Trait> get(int index) {
+                            return new SimpleImmutableEntry<>(ids[index], traits[index]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return ids.length;
+                }
+            };
+        }
+        return result;
+    }
+
+    @Override
+    public Set<ShapeId> keySet() {
+        Set<ShapeId> result = keySet;
+        if (result == null) {
+            keySet = result = new AbstractSet<ShapeId>() {
+                @Override
+                public Iterator<ShapeId> iterator() {
+                    return new ArrayIterator<ShapeId>() {
+                        @Override
+                        ShapeId get(int index) {
+                            return ids[index];
+                        }
+                    };
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    return containsKey(o);
+                }
+
+                @Override
+                public int size() {
+                    return ids.length;
+                }
+            };
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<Trait> values() {
+        Collection<Trait> result = values;
+        if (result == null) {
+            values = result = new AbstractCollection<Trait>() {
+                @Override
+                public Iterator<Trait> iterator() {
+                    return new ArrayIterator<Trait>() {
+                        @Override
+                        Trait get(int index) {
+                            return traits[index];
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return traits.length;
+                }
+            };
+        }
+        return result;
+    }
+
+    private abstract class ArrayIterator<T> implements Iterator<T> {
+        private int index;
+
+        abstract T get(int index);
+
+        @Override
+        public boolean hasNext() {
+            return index < ids.length;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return get(index++);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.traits;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import software.amazon.smithy.model.SourceException;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.utils.SmithyInternalApi;
+
+/**
+ * A trait that is created from its node value using a {@link TraitFactory}
+ * the first time it is needed.
+ *
+ * <p>Lazy traits are stored in shapes in place of the trait they create.
+ * Shapes never expose lazy traits: the trait maps returned by a shape
+ * create the trait when a value is accessed, while checking if a trait is
+ * present only requires the trait ID. Creating a trait is thread-safe and
+ * the created trait is reused.
+ *
+ * <p>The class of the trait created for a trait ID is shared by every lazy
+ * trait created with the same class registry, and factories created from
+ * {@link TraitService} providers know the class of the traits they create
+ * up front. This allows a lookup by trait class to skip lazy traits of
+ * other classes without creating them.
+ */
+@SmithyInternalApi
+public final class LazyTrait implements Trait {
+
+    private final ShapeId id;
+    private final ShapeId target;
+    private final Node value;
+    private final TraitFactory traitFactory;
+    private final Map<ShapeId, Class<? extends Trait>> traitClasses;
+    private volatile Trait trait;
+
+    /**
+     * @param id ID of the trait.
+     * @param target Shape the trait is applied to.
+     * @param value Value of the trait.
+     * @param traitFactory Factory used to create the trait.
+     * @param traitClasses Thread-safe registry of the classes created for each trait ID.
+     */
+    public LazyTrait(
+            ShapeId id,
+            ShapeId target,
+            Node value,
+            TraitFactory traitFactory,
+            Map<ShapeId, Class<? extends Trait>> traitClasses
+    ) {
+        this.id = Objects.requireNonNull(id);
+        this.target = Objects.requireNonNull(target);
+        this.value = Objects.requireNonNull(value);
+        this.traitFactory = Objects.requireNonNull(traitFactory);
+        this.traitClasses = Objects.requireNonNull(traitClasses);
+    }
+
+    /**
+     * Gets the trait, creating it if it hasn't been created yet.
+     *
+     * @return Returns the created trait.
+     * @throws SourceException if the trait can't be created.
+     */
+    public Trait get() {
+        Trait result = trait;
+        if (result == null) {
+            synchronized (this) {
+                result = trait;
+                if (result == null) {
+                    result = create();
+                    traitClasses.putIfAbsent(id, result.getClass());
+                    trait = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private Trait create() {
+        try {
+            return traitFactory.createTrait(id, target, value).orElseGet(() -> new DynamicTrait(id, value));
+        } catch (SourceException e) {
+            throw new SourceException(String.format("Error creating trait `%s`: %s",
+                    Trait.getIdiomaticTraitName(id),
+                    e.getMessageWithoutLocation()), e.getSourceLocation(), e);
+        } catch (RuntimeException e) {
+            throw new SourceException(String.format("Error creating trait `%s`: %s",
+                    Trait.getIdiomaticTraitName(id),
+                    e.getMessage()), value, e);
+        }
+    }
+
+    /**
+     * Gets the class of a trait, creating it only if the class isn't already known.
+     *
+     * @param trait Trait to get the class of.
+     * @return Returns the class of the trait, or the class of the trait it creates if lazy.
+     */
+    public static Class<? extends Trait> getTraitClass(Trait trait) {
+        if (!(trait instanceof LazyTrait)) {
+            return trait.getClass();
+        }
+        LazyTrait lazy = (LazyTrait) trait;
+        Class<? extends Trait> knownClass = lazy.getKnownTraitClass();
+        return knownClass != null ? knownClass : lazy.get().getClass();
+    }
+
+    /**
+     * Gets the class of the trait this lazy trait creates if it is known
+     * without creating the trait.
+     *
+     * @return Returns the known class, or null if not known.
+     */
+    public Class<? extends Trait> getKnownTraitClass() {
+        Trait result = trait;
+        if (result != null) {
+            return result.getClass();
+        }
+        Class<? extends Trait> knownClass = traitClasses.get(id);
+        if (knownClass == null && traitFactory instanceof ServiceTraitFactory) {
+            knownClass = ((ServiceTraitFactory) traitFactory).getTraitClass(id);
+        }
+        return knownClass;
+    }
+
+    /**
+     * Gets a trait, creating it if it is lazy.
+     *
+     * @param trait Trait to unwrap.
+     * @return Returns the created trait.
+     */
+    public static Trait unwrap(Trait trait) {
+        return trait instanceof LazyTrait ? ((LazyTrait) trait).get() : trait;
+    }
+
+    /**
+     * Creates an unmodifiable view of a trait map that creates lazy traits
+     * when they're accessed.
+     *
+     * @param traits Traits that may contain lazy traits.
+     * @return Returns the view, or the given map if it contains no lazy traits.
+     */
+    public static Map<ShapeId, Trait> createdView(Map<ShapeId, Trait> traits) {
+        if (traits instanceof CreatedView) {
+            return traits;
+        }
+        for (Trait trait : traits.values()) {
+            if (trait instanceof LazyTrait) {
+                return new CreatedView(traits);
+            }
+        }
+        return traits;
+    }
+
+    /**
+     * Gets the underlying traits of a map created by {@link #createdView}
+     * without creating any lazy traits.
+     *
+     * @param traits Trait map to get the underlying traits of.
+     * @return Returns the traits, which may contain lazy traits.
+     */
+    public static Map<ShapeId, Trait> uncreated(Map<ShapeId, Trait> traits) {
+        return traits instanceof CreatedView ? ((CreatedView) traits).traits : traits;
+    }
+
+    @Override
+    public ShapeId toShapeId() {
+        return id;
+    }
+
+    @Override
+    public SourceLocation getSourceLocation() {
+        return value.getSourceLocation();
+    }
+
+    @Override
+    public Node toNode() {
+        return get().toNode();
+    }
+
+    @Override
+    public boolean isSynthetic() {
+        return get().isSynthetic();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Trait && get().equals(unwrap((Trait) other));
+    }
+
+    @Override
+    public int hashCode() {
+        return get().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return get().toString();
+    }
+
+    private static final class CreatedView extends AbstractMap<ShapeId, Trait> {
+        private final Map<ShapeId, Trait> traits;
+        private final Set<Map.Entry<ShapeId, Trait>> entrySet = new AbstractSet<Map.Entry<ShapeId, Trait>>() {
+            @Override
+            public Iterator<Map.Entry<ShapeId, Trait>> iterator() {
+                Iterator<Map.Entry<ShapeId, Trait>> delegate = traits.entrySet().iterator();
+                return new Iterator<Map.Entry<ShapeId, Trait>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return delegate.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<ShapeId, Trait> next() {
+                        Map.Entry<ShapeId, Trait> entry = delegate.next();
+                        return new SimpleImmutableEntry<>(entry.getKey(), unwrap(entry.getValue()));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return traits.size();
+            }
+        };
+
+        CreatedView(Map<ShapeId, Trait> traits) {
+            this.traits = traits;
+        }
+
+        @Override
+        public Set<Map.Entry<ShapeId, Trait>> entrySet() {
+            return entrySet;
+        }
+
+        @Override
+        public int size() {
+            return traits.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return traits.isEmpty();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return traits.containsKey(key);
+        }
+
+        @Override
+        public Trait get(Object key) {
+            Trait trait = traits.get(key);
+            return trait == null ? null : unwrap(trait);
+        }
+
+        @Override
+        public Set<ShapeId> keySet() {
+            return Collections.unmodifiableSet(traits.keySet());
+        }
+    }
+}
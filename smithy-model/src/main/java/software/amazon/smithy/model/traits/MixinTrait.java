@@ -83,7 +83,7 @@ public final class MixinTrait extends AbstractTrait implements ToSmithyBuilder<M
         // Technically the trait could be a dynamic trait in some wacky,
         // hand-made model that isn't sent through the assembler. That is
         // so beyond unlikely, that a hard cast here works fine.
-        MixinTrait mixinTrait = (MixinTrait) traits.get(MixinTrait.ID);
+        MixinTrait mixinTrait = (MixinTrait) LazyTrait.unwrap(traits.get(MixinTrait.ID));
 
         for (ShapeId toRemove : mixinTrait.getLocalTraits()) {
             filtered.remove(toRemove);
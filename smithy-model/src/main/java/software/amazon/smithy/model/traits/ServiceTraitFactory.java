@@ -0,0 +1,53 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.traits;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+/**
+ * Creates traits using {@link TraitService} providers.
+ *
+ * <p>A provider nested inside a final trait class is assumed to create
+ * instances of that class. This allows the class of a {@link LazyTrait}
+ * created with this factory to be known without creating the trait. The
+ * classes are scoped to the factory, so factories don't affect each other.
+ * The trait ID of each class is also registered with {@link TraitClassRegistry}
+ * so that traits can be found by class with a lookup by ID.
+ */
+final class ServiceTraitFactory implements TraitFactory {
+
+    private final Map<ShapeId, TraitService> services = new HashMap<>();
+    private final Map<ShapeId, Class<? extends Trait>> traitClasses = new HashMap<>();
+
+    ServiceTraitFactory(Iterable<TraitService> services) {
+        services.forEach(service -> this.services.put(service.getShapeId(), service));
+        for (TraitService service : this.services.values()) {
+            Class<? extends Trait> traitClass = TraitClassRegistry.register(service);
+            if (traitClass != null) {
+                traitClasses.put(service.getShapeId(), traitClass);
+            }
+        }
+    }
+
+    @Override
+    public Optional<Trait> createTrait(ShapeId id, ShapeId target, Node value) {
+        TraitService service = services.get(id);
+        return service == null ? Optional.empty() : Optional.ofNullable(service.createTrait(target, value));
+    }
+
+    /**
+     * Gets the class of the traits created for a trait ID.
+     *
+     * @param id Trait ID to get the class of.
+     * @return Returns the class, or null if it isn't known.
+     */
+    Class<? extends Trait> getTraitClass(ShapeId id) {
+        return traitClasses.get(id);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.traits;
+
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.utils.SmithyInternalApi;
+
+/**
+ * The trait ID that each final trait class is registered for by a
+ * {@link TraitService} provider.
+ *
+ * <p>A provider nested inside a final trait class is assumed to create
+ * instances of that class, so a trait of that class is usually stored under
+ * the provider's trait ID. The ID is only a hint: traits can be built
+ * directly or created by other factories under other IDs, so lookups must
+ * check the trait stored under the ID and fall back to checking every trait.
+ *
+ * <p>Classes that aren't final, classes that aren't registered, and classes
+ * registered for more than one trait ID have no trait ID.
+ */
+@SmithyInternalApi
+public final class TraitClassRegistry {
+
+    // Marks classes that are registered for more than one trait ID.
+    private static final Object AMBIGUOUS = new Object();
+    private static final Map<Class<?>, Object> TRAIT_IDS = new ConcurrentHashMap<>();
+
+    // Caches the ID of each class on the class itself, which is faster to read than the map. A stale ID
+    // can't change the result of a lookup since the trait found under it is checked.
+    private static final ClassValue<ShapeId> CACHED_IDS = new ClassValue<ShapeId>() {
+        @Override
+        protected ShapeId computeValue(Class<?> type) {
+            Object id = TRAIT_IDS.get(type);
+            return id instanceof ShapeId ? (ShapeId) id : null;
+        }
+    };
+
+    private TraitClassRegistry() {}
+
+    /**
+     * Registers the trait class created by a trait service.
+     *
+     * @param service Service to register.
+     * @return Returns the registered trait class, or null if the service doesn't create a known class.
+     */
+    static Class<? extends Trait> register(TraitService service) {
+        Class<?> traitClass = service.getClass().getEnclosingClass();
+        if (traitClass == null
+                || !Trait.class.isAssignableFrom(traitClass)
+                || !Modifier.isFinal(traitClass.getModifiers())) {
+            return null;
+        }
+        TRAIT_IDS.merge(traitClass, service.getShapeId(), (a, b) -> a.equals(b) ? a : AMBIGUOUS);
+        CACHED_IDS.remove(traitClass);
+        return traitClass.asSubclass(Trait.class);
+    }
+
+    /**
+     * Gets the trait ID that a trait class is registered for.
+     *
+     * @param traitClass Trait class to get the ID of.
+     * @return Returns the trait ID, or null if the class has no registered trait ID.
+     */
+    public static ShapeId getTraitId(Class<? extends Trait> traitClass) {
+        return CACHED_IDS.get(traitClass);
+    }
+}
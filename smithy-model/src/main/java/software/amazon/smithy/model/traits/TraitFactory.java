@@ -4,8 +4,6 @@
  */
 package software.amazon.smithy.model.traits;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import software.amazon.smithy.model.SourceException;
@@ -36,10 +34,7 @@ public interface TraitFactory {
      * @return Returns the created TraitFactory.
      */
     static TraitFactory createServiceFactory(Iterable<TraitService> services) {
-        Map<ShapeId, TraitService> serviceMap = new HashMap<>();
-        services.forEach(service -> serviceMap.put(service.getShapeId(), service));
-        return (name, target, value) -> Optional.ofNullable(serviceMap.get(name))
-                .map(provider -> provider.createTrait(target, value));
+        return new ServiceTraitFactory(services);
     }
 
     /**
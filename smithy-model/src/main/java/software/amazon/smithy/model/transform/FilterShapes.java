@@ -9,7 +9,6 @@ import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.Prelude;
 import software.amazon.smithy.model.shapes.Shape;
-import software.amazon.smithy.utils.FunctionalUtils;
 
 /**
  * Filters shapes out of a model that do not match a predicate.
@@ -34,11 +33,14 @@ final class FilterShapes {
     Model transform(ModelTransformer transformer, Model model) {
         return transformer.removeShapes(model,
                 model.shapes()
-                        .filter(shape -> canFilterShape(model, shape))
-                        .filter(FunctionalUtils.not(predicate))
+                        .filter(shape -> shouldRemove(model, shape))
                         .collect(Collectors.toSet()));
     }
 
+    boolean shouldRemove(Model model, Shape shape) {
+        return canFilterShape(model, shape) && !predicate.test(shape);
+    }
+
     private static boolean canFilterShape(Model model, Shape shape) {
         return !shape.isMemberShape() || model.getShape(shape.asMemberShape().get().getContainer())
                 .filter(container -> container.isStructureShape()
@@ -31,7 +31,7 @@ final class FilterTraits {
         return transformer.mapShapes(model, this::filterTraits);
     }
 
-    private Shape filterTraits(Shape shape) {
+    Shape filterTraits(Shape shape) {
         List<Trait> keepTraits = shape.getAllTraits()
                 .values()
                 .stream()
@@ -31,19 +31,20 @@ final class MapShapes {
         return transformer.replaceShapes(model,
                 model.shapes()
                         .flatMap(shape -> {
-                            Shape mapped =
-                                    Objects.requireNonNull(mapper.apply(shape), "Shape mapper must not return null");
-                            if (mapped.equals(shape)) {
-                                return Stream.empty();
-                            } else if (!mapped.getId().equals(shape.getId())) {
-                                throw new ModelTransformException(String.format(
-                                        "Mapped shapes must have the same shape ID. Expected %s, but found %s",
-                                        shape.getId(),
-                                        mapped.getId()));
-                            } else {
-                                return Stream.of(mapped);
-                            }
+                            Shape mapped = map(shape);
+                            return mapped.equals(shape) ? Stream.empty() : Stream.of(mapped);
                         })
                         .collect(Collectors.toSet()));
     }
+
+    Shape map(Shape shape) {
+        Shape mapped = Objects.requireNonNull(mapper.apply(shape), "Shape mapper must not return null");
+        if (!mapped.getId().equals(shape.getId())) {
+            throw new ModelTransformException(String.format(
+                    "Mapped shapes must have the same shape ID. Expected %s, but found %s",
+                    shape.getId(),
+                    mapped.getId()));
+        }
+        return mapped;
+    }
 }
@@ -31,7 +31,7 @@ final class MapTraits {
         return transformer.mapShapes(model, this::mapTraits);
     }
 
-    private Shape mapTraits(Shape shape) {
+    Shape mapTraits(Shape shape) {
         Collection<Trait> traits = new ArrayList<>();
         boolean changed = false;
 
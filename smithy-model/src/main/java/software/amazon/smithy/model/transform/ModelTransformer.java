@@ -86,6 +86,21 @@ public final class ModelTransformer {
         return createWithServiceLoader(ServiceLoader.load(ModelTransformerPlugin.class, classLoader));
     }
 
+    /**
+     * Creates a pipeline that applies multiple transformations to a model
+     * in as few passes over the model as possible.
+     *
+     * <p>Using a pipeline is much more efficient than invoking multiple
+     * shape-level transformations one after the other because consecutive
+     * transformations are applied to each shape in a single pass, and
+     * plugins that clean up removed shapes only run once.
+     *
+     * @return Returns the created pipeline.
+     */
+    public TransformPipeline pipeline() {
+        return new TransformPipeline(this, plugins);
+    }
+
     /**
      * Adds or replaces shapes into the model while ensuring that the model
      * is in a consistent state.
@@ -40,10 +40,15 @@ final class RemoveShapes {
     }
 
     Model transform(ModelTransformer transformer, Model model) {
+        Set<Shape> removed = new HashSet<>(toRemove);
+        return cleanup(transformer, plugins, removed, remove(model, removed));
+    }
+
+    // Removes the shapes without running plugins, adding the removed shapes and their members to removed.
+    Model remove(Model model, Set<Shape> removed) {
         Model.Builder builder = model.toBuilder();
 
-        // Iteratively add each shape that needs to be removed from the index using multiple rounds.
-        Set<Shape> removed = new HashSet<>(toRemove);
+        removed.addAll(toRemove);
         for (Shape removedShape : toRemove) {
             validateShapeCopiedFromMixin(model, removedShape);
             builder.removeShape(removedShape.getId());
@@ -52,12 +57,20 @@ final class RemoveShapes {
             removed.addAll(removedShape.members());
         }
 
-        Model result = builder.build();
+        return builder.build();
+    }
 
+    // Runs plugins to clean up references to the removed shapes.
+    static Model cleanup(
+            ModelTransformer transformer,
+            List<ModelTransformerPlugin> plugins,
+            Set<Shape> removed,
+            Model model
+    ) {
+        Model result = model;
         for (ModelTransformerPlugin plugin : plugins) {
             result = plugin.onRemove(transformer, removed, result);
         }
-
         return result;
     }
 
@@ -68,6 +68,16 @@ final class ReplaceShapes {
     }
 
     Model transform(ModelTransformer transformer, Model model) {
+        Set<Shape> removedMembers = new HashSet<>();
+        Model result = replace(model, removedMembers);
+
+        // Returns a model that removes any shapes that need to be removed after mapping over the shapes.
+        return transformer.removeShapes(result, removedMembers);
+    }
+
+    // Replaces shapes without removing the members that were removed from replaced shapes. The members
+    // that need to be removed are added to removedMembers.
+    Model replace(Model model, Set<Shape> removedMembers) {
         Collection<Shape> shouldReplace = determineShapesToReplace(model);
         if (shouldReplace.isEmpty()) {
             return model;
@@ -85,9 +95,8 @@ final class ReplaceShapes {
         // over shapes in the provided model.
         builder.addShapes(getUpdatedContainers(model, shouldReplace));
 
-        // Builds the model, then returns a model that removes any shapes that
-        // need to be removed after mapping over the shapes.
-        return transformer.removeShapes(builder.build(), getRemovedMembers(model, shouldReplace));
+        removedMembers.addAll(getRemovedMembers(model, shouldReplace));
+        return builder.build();
     }
 
     private Collection<Shape> determineShapesToReplace(Model model) {
@@ -0,0 +1,382 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.transform;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.neighbor.UnreferencedShapes;
+import software.amazon.smithy.model.shapes.AbstractShapeBuilder;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.MixinTrait;
+import software.amazon.smithy.model.traits.Trait;
+import software.amazon.smithy.utils.FunctionalUtils;
+
+/**
+ * Applies multiple transformations to a model while creating as few
+ * intermediate models as possible.
+ *
+ * <p>Consecutive shape-level transformations, like mapping shapes and
+ * mapping or filtering traits, are fused together with the next step that
+ * filters shapes and applied in a single pass over the shapes of a model.
+ * Each shape is passed through every step in the order the steps were
+ * added, and each step sees the shape as it was produced by the previous
+ * step. Members are passed through each step along with their containers,
+ * and changes made to a member take precedence over changes made to the
+ * member by its container, as with {@link ModelTransformer#mapShapes}.
+ *
+ * <p>{@link ModelTransformerPlugin}s that clean up references to removed
+ * shapes run once for all of the shapes removed by a pass, before the next
+ * step is applied. Every step sees the same shapes it would see if the
+ * transformations were applied one at a time. A pass is applied one step at
+ * a time if a step other than the last changes a mixin or removes members,
+ * since shapes that depend on them have to be updated first.
+ *
+ * <pre>{@code
+ * Model result = ModelTransformer.create().pipeline()
+ *         .removeShapesIf(shape -> shape.hasTrait(InternalTrait.class))
+ *         .removeTraitsIf((shape, trait) -> trait instanceof DocumentationTrait)
+ *         .removeUnreferencedShapes()
+ *         .transform(model);
+ * }</pre>
+ *
+ * @see ModelTransformer#pipeline()
+ */
+public final class TransformPipeline {
+
+    private final ModelTransformer transformer;
+    private final List<ModelTransformerPlugin> plugins;
+    private final List<Stage> stages = new ArrayList<>();
+
+    TransformPipeline(ModelTransformer transformer, List<ModelTransformerPlugin> plugins) {
+        this.transformer = transformer;
+        this.plugins = plugins;
+    }
+
+    /**
+     * Filters shapes out of the model that do not match the given predicate.
+     *
+     * @param predicate Predicate that filters shapes.
+     * @return Returns the pipeline.
+     * @see ModelTransformer#filterShapes(Model, Predicate)
+     */
+    public TransformPipeline filterShapes(Predicate<Shape> predicate) {
+        FilterShapes filter = new FilterShapes(predicate);
+        addShapeStep((model, shape) -> filter.shouldRemove(model, shape) ? null : shape);
+        // Later steps need to see the model after references to the removed shapes are cleaned up.
+        currentStage().filtered = true;
+        return this;
+    }
+
+    /**
+     * Removes shapes from the model that match the given predicate.
+     *
+     * @param predicate Predicate that accepts a shape and returns true to remove it.
+     * @return Returns the pipeline.
+     * @see ModelTransformer#removeShapesIf(Model, Predicate)
+     */
+    public TransformPipeline removeShapesIf(Predicate<Shape> predicate) {
+        return filterShapes(FunctionalUtils.not(predicate));
+    }
+
+    /**
+     * Maps over all shapes in the model using a mapping function.
+     *
+     * @param mapper Mapping function that accepts a shape and returns a shape with the same ID.
+     * @return Returns the pipeline.
+     * @see ModelTransformer#mapShapes(Model, Function)
+     */
+    public TransformPipeline mapShapes(Function<Shape, Shape> mapper) {
+        MapShapes mapShapes = new MapShapes(mapper);
+        return addShapeStep((model, shape) -> mapShapes.map(shape));
+    }
+
+    /**
+     * Maps over all traits in the model using a mapping function.
+     *
+     * @param mapper Mapping function that accepts a (Shape, Trait) and returns the mapped Trait.
+     * @return Returns the pipeline.
+     * @see ModelTransformer#mapTraits(Model, BiFunction)
+     */
+    public TransformPipeline mapTraits(BiFunction<Shape, Trait, Trait> mapper) {
+        MapTraits mapTraits = new MapTraits(mapper);
+        return addShapeStep((model, shape) -> mapTraits.mapTraits(shape));
+    }
+
+    /**
+     * Filters traits out of the model that do not match the given predicate.
+     *
+     * @param predicate Predicate that accepts a (Shape, Trait) and returns false if the trait should be removed.
+     * @return Returns the pipeline.
+     * @see ModelTransformer#filterTraits(Model, BiPredicate)
+     */
+    public TransformPipeline filterTraits(BiPredicate<Shape, Trait> predicate) {
+        FilterTraits filterTraits = new FilterTraits(predicate);
+        return addShapeStep((model, shape) -> filterTraits.filterTraits(shape));
+    }
+
+    /**
+     * Filters traits out of the model that match the given predicate.
+     *
+     * @param predicate Predicate that accepts a (Shape, Trait) and returns true if the trait should be removed.
+     * @return Returns the pipeline.
+     * @see ModelTransformer#removeTraitsIf(Model, BiPredicate)
+     */
+    public TransformPipeline removeTraitsIf(BiPredicate<Shape, Trait> predicate) {
+        return filterTraits(predicate.negate());
+    }
+
+    /**
+     * Removes shapes (excluding service shapes) that are not referenced by
+     * any other shapes once the previous steps are applied.
+     *
+     * @return Returns the pipeline.
+     * @see ModelTransformer#removeUnreferencedShapes(Model)
+     */
+    public TransformPipeline removeUnreferencedShapes() {
+        return removeUnreferencedShapes(FunctionalUtils.alwaysTrue());
+    }
+
+    /**
+     * Removes shapes (excluding service shapes) that are not referenced by
+     * any other shapes once the previous steps are applied.
+     *
+     * @param keepFilter Predicate function that accepts an unreferenced
+     *  shape and returns true to remove the shape or false to keep the shape.
+     * @return Returns the pipeline.
+     * @see ModelTransformer#removeUnreferencedShapes(Model, Predicate)
+     */
+    public TransformPipeline removeUnreferencedShapes(Predicate<Shape> keepFilter) {
+        UnreferencedShapes unreferencedShapes = new UnreferencedShapes(keepFilter);
+        Stage stage = currentStage();
+        if (stage.removeAfter != null) {
+            stage = new Stage();
+            stages.add(stage);
+        }
+        stage.removeAfter = unreferencedShapes::compute;
+        return this;
+    }
+
+    /**
+     * Applies the steps of the pipeline to a model.
+     *
+     * <p>The pipeline can be applied to any number of models.
+     *
+     * @param model Model to transform.
+     * @return Returns the transformed model.
+     */
+    public Model transform(Model model) {
+        // Shapes that were removed but haven't been cleaned up by plugins yet.
+        Set<Shape> removed = new HashSet<>();
+        Model result = model;
+
+        for (Stage stage : stages) {
+            if (!stage.shapeSteps.isEmpty()) {
+                result = applyShapeSteps(cleanup(result, removed), stage.shapeSteps, removed);
+            }
+            if (stage.removeAfter != null) {
+                // Shapes that refer to removed shapes must be cleaned up before finding unreferenced shapes.
+                result = cleanup(result, removed);
+                Set<Shape> toRemove = stage.removeAfter.apply(result);
+                if (!toRemove.isEmpty()) {
+                    result = new RemoveShapes(toRemove, plugins).remove(result, removed);
+                }
+            }
+        }
+
+        return cleanup(result, removed);
+    }
+
+    private TransformPipeline addShapeStep(ShapeStep step) {
+        Stage stage = currentStage();
+        if (stage.removeAfter != null || stage.filtered) {
+            stage = new Stage();
+            stages.add(stage);
+        }
+        stage.shapeSteps.add(step);
+        return this;
+    }
+
+    private Stage currentStage() {
+        if (stages.isEmpty()) {
+            stages.add(new Stage());
+        }
+        return stages.get(stages.size() - 1);
+    }
+
+    // Runs plugins to clean up references to the removed shapes, then forgets the removed shapes.
+    private Model cleanup(Model model, Set<Shape> removed) {
+        if (removed.isEmpty()) {
+            return model;
+        }
+        // Plugins are given a copy since they may hold on to the removed shapes.
+        Model result = RemoveShapes.cleanup(transformer, plugins, new HashSet<>(removed), model);
+        removed.clear();
+        return result;
+    }
+
+    private Model applyShapeSteps(Model model, List<ShapeStep> steps, Set<Shape> removed) {
+        Pass pass = new Pass(model, steps);
+        for (Shape shape : model.toSet()) {
+            // Members are passed through the steps along with their containers.
+            if (!shape.isMemberShape()) {
+                pass.apply(shape);
+                if (pass.applyStepsSeparately) {
+                    return applyStepsSeparately(model, steps, removed);
+                }
+            }
+        }
+
+        Set<Shape> removedMembers = new HashSet<>();
+        Model result = new ReplaceShapes(pass.replacements.values()).replace(model, removedMembers);
+        pass.toRemove.addAll(removedMembers);
+        return pass.toRemove.isEmpty() ? result : new RemoveShapes(pass.toRemove, plugins).remove(result, removed);
+    }
+
+    private Model applyStepsSeparately(Model model, List<ShapeStep> steps, Set<Shape> removed) {
+        Model result = model;
+        for (ShapeStep step : steps) {
+            result = applyShapeSteps(cleanup(result, removed), Collections.singletonList(step), removed);
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface ShapeStep {
+        // Returns the transformed shape, or null to remove the shape.
+        Shape apply(Model model, Shape shape);
+    }
+
+    // Shape-level steps applied in a single pass, followed by an optional step that finds shapes to remove.
+    private static final class Stage {
+        private final List<ShapeStep> shapeSteps = new ArrayList<>();
+        private boolean filtered;
+        private Function<Model, Set<Shape>> removeAfter;
+    }
+
+    // Passes shapes through the steps of a stage, collecting the shapes to replace and remove.
+    private static final class Pass {
+        private final Model model;
+        private final List<ShapeStep> steps;
+        private final Map<ShapeId, Shape> replacements = new HashMap<>();
+        private final Set<Shape> toRemove = new HashSet<>();
+
+        // Set when the steps can't be applied in a single pass because later steps depend on
+        // changes made to other shapes.
+        private boolean applyStepsSeparately;
+
+        Pass(Model model, List<ShapeStep> steps) {
+            this.model = model;
+            this.steps = steps;
+        }
+
+        void apply(Shape shape) {
+            Shape current = shape;
+            // The current version of each member, which is either the member changed by a step or the member
+            // of the current container.
+            Map<String, MemberShape> members = shape.getAllMembers().isEmpty()
+                    ? Collections.emptyMap()
+                    : new LinkedHashMap<>(shape.getAllMembers());
+            List<MemberShape> changedMembers = null;
+            int last = steps.size() - 1;
+
+            for (int i = 0; i <= last; i++) {
+                ShapeStep step = steps.get(i);
+                Shape next = step.apply(model, current);
+                if (next == null) {
+                    // Members are removed along with their container.
+                    toRemove.add(current);
+                    return;
+                }
+
+                Map<String, MemberShape> nextMembers = next.getAllMembers();
+                changedMembers = null;
+                Iterator<Map.Entry<String, MemberShape>> iterator = members.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<String, MemberShape> entry = iterator.next();
+                    MemberShape member = entry.getValue();
+                    Shape mapped = step.apply(model, member);
+                    if (mapped == null) {
+                        toRemove.add(member);
+                        iterator.remove();
+                        applyStepsSeparately |= i < last;
+                    } else if (!mapped.equals(member)) {
+                        if (!mapped.isMemberShape()) {
+                            // Let replacing shapes fail the same way it does when mapping shapes.
+                            applyStepsSeparately = true;
+                            return;
+                        }
+                        entry.setValue((MemberShape) mapped);
+                        if (changedMembers == null) {
+                            changedMembers = new ArrayList<>();
+                        }
+                        changedMembers.add((MemberShape) mapped);
+                    } else if (nextMembers.containsKey(entry.getKey())) {
+                        entry.setValue(nextMembers.get(entry.getKey()));
+                    } else {
+                        // The member was removed by its container.
+                        iterator.remove();
+                        applyStepsSeparately |= i < last;
+                    }
+                }
+
+                if (next != current) {
+                    // Members added by the container are passed through the remaining steps.
+                    for (MemberShape member : nextMembers.values()) {
+                        if (!members.containsKey(member.getMemberName())) {
+                            if (members.isEmpty()) {
+                                members = new LinkedHashMap<>();
+                            }
+                            members.put(member.getMemberName(), member);
+                        }
+                    }
+                }
+
+                // Later steps see the container with its changed members. Members changed by the last step
+                // are replaced along with the container, the same way they are when mapping shapes.
+                if (changedMembers != null && i < last) {
+                    AbstractShapeBuilder<?, ?> builder = Shape.shapeToBuilder(next);
+                    for (MemberShape member : changedMembers) {
+                        builder.addMember(member);
+                    }
+                    next = builder.build();
+                }
+
+                // Shapes that use a changed mixin are only updated once the mixin is replaced.
+                if (i < last
+                        && !next.equals(current)
+                        && (current.hasTrait(MixinTrait.ID) || next.hasTrait(MixinTrait.ID))) {
+                    applyStepsSeparately = true;
+                }
+                if (applyStepsSeparately) {
+                    return;
+                }
+                current = next;
+            }
+
+            if (!current.equals(shape)) {
+                replacements.put(current.getId(), current);
+            }
+            if (changedMembers != null) {
+                for (MemberShape member : changedMembers) {
+                    replacements.put(member.getId(), member);
+                }
+            }
+        }
+    }
+}
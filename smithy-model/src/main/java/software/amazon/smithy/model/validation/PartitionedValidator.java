@@ -0,0 +1,61 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.validation;
+
+import java.util.Collection;
+import java.util.List;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+
+/**
+ * A {@link Validator} that can validate a model in partitions that are
+ * independent of each other.
+ *
+ * <p>Each partition is a subset of the shapes returned from
+ * {@link #getPartitionShapes(Model)}, like the services of a model. A
+ * {@link software.amazon.smithy.model.loader.ModelAssembler} can split an
+ * expensive partitioned validator into units of work that each validate one
+ * partition. The events of every partition, concatenated in the order of the
+ * partition shapes, are passed to {@link #mergePartitions(Model, List)}, which
+ * must return the same events that {@link #validate(Model)} returns after
+ * being passed to it.
+ *
+ * <p>Unlike a {@link ShapeLocalValidator}, the events emitted for a
+ * partition may depend on any shape in the model.
+ */
+public interface PartitionedValidator extends Validator {
+    /**
+     * Gets the shapes to partition.
+     *
+     * @param model Model being validated.
+     * @return Returns the shapes that partitions are made of.
+     */
+    Collection<? extends Shape> getPartitionShapes(Model model);
+
+    /**
+     * Validates a single partition of a model.
+     *
+     * @param model Model being validated.
+     * @param shapes Shapes of the partition to validate.
+     * @return Returns the validation events of the partition.
+     */
+    List<ValidationEvent> validatePartition(Model model, Collection<? extends Shape> shapes);
+
+    /**
+     * Combines the events of every partition, or the events returned from
+     * {@link #validate(Model)}, into the events of the validator.
+     *
+     * <p>Partitions that find the same problem can use this method to
+     * remove the duplicate events. The default implementation returns the
+     * given events.
+     *
+     * @param model Model being validated.
+     * @param events Mutable list of events to combine.
+     * @return Returns the combined events.
+     */
+    default List<ValidationEvent> mergePartitions(Model model, List<ValidationEvent> events) {
+        return events;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.validation;
+
+import java.util.Collection;
+import java.util.List;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.loader.ModelAssembler;
+import software.amazon.smithy.model.shapes.Shape;
+
+/**
+ * A {@link Validator} that can validate a subset of the shapes in a model.
+ *
+ * <p>Every event emitted by a shape-local validator must be bound to a shape
+ * and must have an event ID that starts with the name returned from
+ * {@link #getName()}. The events emitted for a shape may only depend on the
+ * shape itself and the shapes that can be reached from it through shape
+ * relationships or applied traits. These guarantees allow a
+ * {@link ModelAssembler} performing incremental validation to re-validate
+ * only the shapes affected by a change and reuse the previous events of
+ * every other shape.
+ *
+ * <p>Validators whose events depend on shapes that can't be reached from
+ * the validated shape, like validators that compare the operations of a
+ * service or evaluate selectors over the whole model, can't make these
+ * guarantees. Those validators can implement {@link PartitionedValidator}
+ * instead so that they can still be split into units of work.
+ *
+ * @see ModelAssembler#incrementalValidation(ValidatedResult)
+ */
+public interface ShapeLocalValidator extends Validator {
+    /**
+     * Gets the name of the validator, used as the prefix of every event ID it emits.
+     *
+     * @return Returns the validator name.
+     */
+    String getName();
+
+    /**
+     * Validates only the given shapes of a model.
+     *
+     * <p>Shapes that this validator doesn't apply to are ignored.
+     *
+     * @param model Model that contains the shapes.
+     * @param shapes Shapes to validate.
+     * @return Returns the validation events of the given shapes.
+     */
+    List<ValidationEvent> validateShapes(Model model, Collection<? extends Shape> shapes);
+}
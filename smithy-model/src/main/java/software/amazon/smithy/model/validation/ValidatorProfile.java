@@ -0,0 +1,97 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.validation;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import software.amazon.smithy.model.loader.ModelAssembler;
+
+/**
+ * Measurements taken while running a single {@link Validator} over a model.
+ *
+ * <p>Profiles are sent to the listener registered with
+ * {@link ModelAssembler#validatorProfileListener(Consumer)}. CPU time and
+ * allocated bytes are measured on the thread that ran the validator, and
+ * are only available when supported by the JVM.
+ */
+public final class ValidatorProfile {
+
+    private final String name;
+    private final long wallTimeNanos;
+    private final long cpuTimeNanos;
+    private final long allocatedBytes;
+    private final int eventCount;
+
+    /**
+     * @param name Name of the validator.
+     * @param wallTimeNanos Elapsed wall time in nanoseconds.
+     * @param cpuTimeNanos CPU time in nanoseconds, or -1 if unavailable.
+     * @param allocatedBytes Bytes allocated by the validator, or -1 if unavailable.
+     * @param eventCount Number of events emitted by the validator.
+     */
+    public ValidatorProfile(String name, long wallTimeNanos, long cpuTimeNanos, long allocatedBytes, int eventCount) {
+        this.name = Objects.requireNonNull(name);
+        this.wallTimeNanos = wallTimeNanos;
+        this.cpuTimeNanos = cpuTimeNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.eventCount = eventCount;
+    }
+
+    /**
+     * Gets the name of the validator.
+     *
+     * <p>This is the name of a validator defined in metadata, the result of
+     * {@link AbstractValidator#getName()}, or the simple class name of the
+     * validator without a "Validator" suffix.
+     *
+     * @return Returns the validator name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the elapsed wall time of the validator in nanoseconds.
+     *
+     * @return Returns the wall time.
+     */
+    public long getWallTimeNanos() {
+        return wallTimeNanos;
+    }
+
+    /**
+     * Gets the CPU time used by the validator in nanoseconds.
+     *
+     * @return Returns the CPU time, or -1 if the JVM doesn't support measuring thread CPU time.
+     */
+    public long getCpuTimeNanos() {
+        return cpuTimeNanos;
+    }
+
+    /**
+     * Gets the number of bytes allocated by the validator.
+     *
+     * @return Returns the allocated bytes, or -1 if the JVM doesn't support measuring thread allocations.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Gets the number of events emitted by the validator.
+     *
+     * @return Returns the event count.
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    @Override
+    public String toString() {
+        return "ValidatorProfile{name='" + name + "', wallTimeNanos=" + wallTimeNanos
+                + ", cpuTimeNanos=" + cpuTimeNanos + ", allocatedBytes=" + allocatedBytes
+                + ", eventCount=" + eventCount + '}';
+    }
+}
@@ -5,7 +5,10 @@
 package software.amazon.smithy.model.validation.linters;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -20,6 +23,7 @@ import software.amazon.smithy.model.selector.Selector;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.PartitionedValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidatorService;
 import software.amazon.smithy.utils.OptionalUtils;
@@ -28,7 +32,7 @@ import software.amazon.smithy.utils.SimpleParser;
 /**
  * Emits a validation event for each shape that matches a selector.
  */
-public final class EmitEachSelectorValidator extends AbstractValidator {
+public final class EmitEachSelectorValidator extends AbstractValidator implements PartitionedValidator {
 
     /**
      * EmitEachSelector configuration settings.
@@ -112,19 +116,46 @@ public final class EmitEachSelectorValidator extends AbstractValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validate(model, Selector.StartingContext.DEFAULT);
+    }
+
+    @Override
+    public Collection<? extends Shape> getPartitionShapes(Model model) {
+        return model.toSet();
+    }
+
+    @Override
+    public List<ValidationEvent> validatePartition(Model model, Collection<? extends Shape> shapes) {
+        // Each starting shape is sent through the selector independently of the others.
+        return validate(model, new Selector.StartingContext(shapes));
+    }
+
+    @Override
+    public List<ValidationEvent> mergePartitions(Model model, List<ValidationEvent> events) {
+        // A shape can be matched from starting shapes in more than one partition, but only
+        // gets one event when no message template is used.
+        List<ValidationEvent> result = config.messageTemplate == null
+                ? new ArrayList<>(new LinkedHashSet<>(events))
+                : events;
+        // Events are sorted by shape so that their order doesn't depend on how the model was partitioned.
+        result.sort(Comparator.comparingInt(event -> model.getShapeOrdinal(event.getShapeId().get())));
+        return result;
+    }
+
+    private List<ValidationEvent> validate(Model model, Selector.StartingContext context) {
         // Short-circuit the validation if the binding trait is never used.
         if (config.bindToTrait != null && !model.getAppliedTraits().contains(config.getBindToTrait())) {
             return Collections.emptyList();
         } else if (config.messageTemplate == null) {
-            return validateWithSimpleMessages(model);
+            return validateWithSimpleMessages(model, context);
         } else {
-            return validateWithTemplate(model);
+            return validateWithTemplate(model, context);
         }
     }
 
-    private List<ValidationEvent> validateWithSimpleMessages(Model model) {
+    private List<ValidationEvent> validateWithSimpleMessages(Model model, Selector.StartingContext context) {
         return config.getSelector()
-                .select(model)
+                .select(model, context)
                 .stream()
                 .flatMap(shape -> OptionalUtils.stream(createSimpleEvent(shape)))
                 .collect(Collectors.toList());
@@ -150,9 +181,9 @@ public final class EmitEachSelectorValidator extends AbstractValidator {
 
     // Created events with a message template requires emitting matches
     // into a BiConsumer and building up a mutated List of events.
-    private List<ValidationEvent> validateWithTemplate(Model model) {
+    private List<ValidationEvent> validateWithTemplate(Model model, Selector.StartingContext context) {
         List<ValidationEvent> events = new ArrayList<>();
-        config.getSelector().consumeMatches(model, match -> {
+        config.getSelector().consumeMatches(model, context, match -> {
             createTemplatedEvent(match).ifPresent(events::add);
         });
         return events;
@@ -4,6 +4,8 @@
  */
 package software.amazon.smithy.model.validation.validators;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -13,10 +15,12 @@ import software.amazon.smithy.model.knowledge.ServiceIndex;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.HttpTrait;
 import software.amazon.smithy.model.traits.ProtocolDefinitionTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.PartitionedValidator;
 import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.ListUtils;
@@ -26,17 +30,29 @@ import software.amazon.smithy.utils.Pair;
  * Validates that if any operation in a service uses the http trait,
  * then all operations use them.
  */
-public final class HttpBindingsMissingValidator extends AbstractValidator {
+public final class HttpBindingsMissingValidator extends AbstractValidator implements PartitionedValidator {
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validatePartition(model, model.getServiceShapes());
+    }
+
+    @Override
+    public Collection<? extends Shape> getPartitionShapes(Model model) {
+        return model.getServiceShapes();
+    }
+
+    @Override
+    public List<ValidationEvent> validatePartition(Model model, Collection<? extends Shape> services) {
         if (!model.isTraitApplied(HttpTrait.class)) {
             return Collections.emptyList();
         }
 
         TopDownIndex topDownIndex = TopDownIndex.of(model);
-        return model.shapes(ServiceShape.class)
-                .flatMap(shape -> validateService(topDownIndex, model, shape).stream())
-                .collect(Collectors.toList());
+        List<ValidationEvent> events = new ArrayList<>();
+        for (Shape service : services) {
+            events.addAll(validateService(topDownIndex, model, (ServiceShape) service));
+        }
+        return events;
     }
 
     private List<ValidationEvent> validateService(TopDownIndex topDownIndex, Model model, ServiceShape service) {
@@ -5,8 +5,11 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
@@ -15,6 +18,7 @@ import software.amazon.smithy.model.traits.HttpQueryParamsTrait;
 import software.amazon.smithy.model.traits.HttpQueryTrait;
 import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeLocalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidationUtils;
 
@@ -22,29 +26,38 @@ import software.amazon.smithy.model.validation.ValidationUtils;
  * When the `httpQueryParams` trait is used, this validator emits a NOTE when another member of the container shape
  * applies the `httpQuery` trait which may result in a conflict within the query string.
  */
-public final class HttpQueryParamsTraitValidator extends AbstractValidator {
+public final class HttpQueryParamsTraitValidator extends AbstractValidator implements ShapeLocalValidator {
     @Override
     public List<ValidationEvent> validate(Model model) {
         if (!model.isTraitApplied(HttpQueryParamsTrait.class)) {
             return Collections.emptyList();
-        } else {
-            return validateQueryTraitUsage(model);
         }
+
+        Set<Shape> containers = new LinkedHashSet<>();
+        for (MemberShape member : model.getMemberShapesWithTrait(HttpQueryParamsTrait.class)) {
+            model.getShape(member.getContainer()).ifPresent(containers::add);
+        }
+        return validateShapes(model, containers);
     }
 
-    private List<ValidationEvent> validateQueryTraitUsage(Model model) {
+    @Override
+    public List<ValidationEvent> validateShapes(Model model, Collection<? extends Shape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
 
-        for (MemberShape member : model.getMemberShapesWithTrait(HttpQueryParamsTrait.class)) {
-            model.getShape(member.getContainer())
-                    .flatMap(Shape::asStructureShape)
-                    .ifPresent(structure -> {
-                        // Gather the names of member shapes, as strings, that apply HttpQuery traits
-                        List<String> queryShapes = getMembersWithTrait(structure, HttpQueryTrait.class);
-                        if (queryShapes.size() > 0) {
-                            events.add(createNote(structure, member.getMemberName(), queryShapes));
-                        }
-                    });
+        for (Shape shape : shapes) {
+            StructureShape structure = shape.asStructureShape().orElse(null);
+            if (structure == null) {
+                continue;
+            }
+            for (MemberShape member : structure.members()) {
+                if (member.hasTrait(HttpQueryParamsTrait.ID)) {
+                    // Gather the names of member shapes, as strings, that apply HttpQuery traits
+                    List<String> queryShapes = getMembersWithTrait(structure, HttpQueryTrait.class);
+                    if (queryShapes.size() > 0) {
+                        events.add(createNote(structure, member.getMemberName(), queryShapes));
+                    }
+                }
+            }
         }
 
         return events;
@@ -5,6 +5,7 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -23,12 +24,14 @@ import software.amazon.smithy.model.pattern.UriPattern;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.EndpointTrait;
 import software.amazon.smithy.model.traits.HostLabelTrait;
 import software.amazon.smithy.model.traits.HttpTrait;
 import software.amazon.smithy.model.traits.PatternTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.PartitionedValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.OptionalUtils;
 import software.amazon.smithy.utils.Pair;
@@ -36,17 +39,29 @@ import software.amazon.smithy.utils.Pair;
 /**
  * Validates that no two URIs in a service conflict with each other.
  */
-public final class HttpUriConflictValidator extends AbstractValidator {
+public final class HttpUriConflictValidator extends AbstractValidator implements PartitionedValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validatePartition(model, model.getServiceShapes());
+    }
+
+    @Override
+    public Collection<? extends Shape> getPartitionShapes(Model model) {
+        return model.getServiceShapes();
+    }
+
+    @Override
+    public List<ValidationEvent> validatePartition(Model model, Collection<? extends Shape> services) {
         if (!model.isTraitApplied(HttpTrait.class)) {
             return Collections.emptyList();
         }
 
-        return model.shapes(ServiceShape.class)
-                .flatMap(shape -> validateService(model, shape).stream())
-                .collect(Collectors.toList());
+        List<ValidationEvent> events = new ArrayList<>();
+        for (Shape service : services) {
+            events.addAll(validateService(model, (ServiceShape) service));
+        }
+        return events;
     }
 
     private List<ValidationEvent> validateService(Model model, ServiceShape service) {
@@ -7,21 +7,31 @@ package software.amazon.smithy.model.validation.validators;
 import java.nio.charset.CharsetEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.HttpTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeLocalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
-public final class HttpUriFormatValidator extends AbstractValidator {
+public final class HttpUriFormatValidator extends AbstractValidator implements ShapeLocalValidator {
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getShapesWithTrait(HttpTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validateShapes(Model model, Collection<? extends Shape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
         CharsetEncoder encoder = StandardCharsets.US_ASCII.newEncoder();
 
-        for (Shape shape : model.getShapesWithTrait(HttpTrait.class)) {
-            HttpTrait trait = shape.expectTrait(HttpTrait.class);
+        for (Shape shape : shapes) {
+            HttpTrait trait = shape.getTrait(HttpTrait.class).orElse(null);
+            if (trait == null) {
+                continue;
+            }
             String uri = trait.getUri().toString();
             if (!encoder.canEncode(uri)) {
                 events.add(error(shape, trait, "@http trait `uri` is invalid: " + uri));
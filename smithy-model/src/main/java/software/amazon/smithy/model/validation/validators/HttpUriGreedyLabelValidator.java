@@ -5,6 +5,7 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.pattern.SmithyPattern;
@@ -12,6 +13,7 @@ import software.amazon.smithy.model.pattern.UriPattern;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.HttpTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeLocalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
@@ -19,17 +21,25 @@ import software.amazon.smithy.model.validation.ValidationEvent;
  * the last label in the pattern. This validation emits DANGER events which can be suppressed if the server allows
  * any of these. Some servers do, but most don't.
  */
-public class HttpUriGreedyLabelValidator extends AbstractValidator {
+public class HttpUriGreedyLabelValidator extends AbstractValidator implements ShapeLocalValidator {
 
     private static final String MULTIPLE_GREEDY_LABELS = "MultipleGreedyLabels";
     private static final String GREEDY_LABEL_IS_NOT_LAST_LABEL = "GreedyLabelIsNotLastLabel";
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getShapesWithTrait(HttpTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validateShapes(Model model, Collection<? extends Shape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
 
-        for (Shape shape : model.getShapesWithTrait(HttpTrait.class)) {
-            HttpTrait trait = shape.expectTrait(HttpTrait.class);
+        for (Shape shape : shapes) {
+            HttpTrait trait = shape.getTrait(HttpTrait.class).orElse(null);
+            if (trait == null) {
+                continue;
+            }
             UriPattern pattern = trait.getUri();
 
             List<SmithyPattern.Segment> segments = pattern.getSegments();
@@ -5,6 +5,7 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -18,20 +19,34 @@ import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.JsonNameTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeLocalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
-public final class JsonNameValidator extends AbstractValidator {
+public final class JsonNameValidator extends AbstractValidator implements ShapeLocalValidator {
     @Override
     public List<ValidationEvent> validate(Model model) {
-        List<ValidationEvent> events = new ArrayList<>();
+        List<Shape> containers = new ArrayList<>();
         Set<ShapeId> visitedContainers = new HashSet<>();
 
         // Find every member marked with a jsonName trait. The containing shapes of these members are
         // the only structure/union shapes that need to be validated.
         for (MemberShape member : model.getMemberShapesWithTrait(JsonNameTrait.class)) {
-            // If the container hasn't been visited yet, then validate it's members.
             if (visitedContainers.add(member.getContainer())) {
-                validateMembersOfContainer(model.expectShape(member.getContainer()), events);
+                containers.add(model.expectShape(member.getContainer()));
+            }
+        }
+        return validateShapes(model, containers);
+    }
+
+    @Override
+    public List<ValidationEvent> validateShapes(Model model, Collection<? extends Shape> shapes) {
+        List<ValidationEvent> events = new ArrayList<>();
+        for (Shape shape : shapes) {
+            for (MemberShape member : shape.members()) {
+                if (member.hasTrait(JsonNameTrait.ID)) {
+                    validateMembersOfContainer(shape, events);
+                    break;
+                }
             }
         }
         return events;
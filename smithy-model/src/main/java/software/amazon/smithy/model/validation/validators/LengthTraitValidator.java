@@ -5,20 +5,27 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.LengthTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeLocalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.Pair;
 
-public final class LengthTraitValidator extends AbstractValidator {
+public final class LengthTraitValidator extends AbstractValidator implements ShapeLocalValidator {
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getShapesWithTrait(LengthTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validateShapes(Model model, Collection<? extends Shape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
-        for (Shape shape : model.getShapesWithTrait(LengthTrait.class)) {
-            events.addAll(validateLengthTrait(shape, shape.expectTrait(LengthTrait.class)));
+        for (Shape shape : shapes) {
+            shape.getTrait(LengthTrait.class).ifPresent(trait -> events.addAll(validateLengthTrait(shape, trait)));
         }
 
         return events;
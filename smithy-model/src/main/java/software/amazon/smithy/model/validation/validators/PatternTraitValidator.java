@@ -5,24 +5,33 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.StringJoiner;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.PatternTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeLocalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
  * Emits a validation event if a pattern trait is not anchored.
  */
-public final class PatternTraitValidator extends AbstractValidator {
+public final class PatternTraitValidator extends AbstractValidator implements ShapeLocalValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getShapesWithTrait(PatternTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validateShapes(Model model, Collection<? extends Shape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
-        for (Shape shape : model.getShapesWithTrait(PatternTrait.class)) {
-            validatePatternTrait(events, shape);
+        for (Shape shape : shapes) {
+            if (shape.hasTrait(PatternTrait.class)) {
+                validatePatternTrait(events, shape);
+            }
         }
 
         return events;
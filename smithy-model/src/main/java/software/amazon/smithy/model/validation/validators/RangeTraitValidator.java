@@ -8,6 +8,7 @@ import static java.lang.String.format;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import software.amazon.smithy.model.Model;
@@ -15,19 +16,25 @@ import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.RangeTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeLocalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.Pair;
 
 /**
  * Ensures that range traits are valid.
  */
-public final class RangeTraitValidator extends AbstractValidator {
+public final class RangeTraitValidator extends AbstractValidator implements ShapeLocalValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getShapesWithTrait(RangeTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validateShapes(Model model, Collection<? extends Shape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
-        for (Shape shape : model.getShapesWithTrait(RangeTrait.class)) {
-            events.addAll(validateRangeTrait(model, shape, shape.expectTrait(RangeTrait.class)));
+        for (Shape shape : shapes) {
+            shape.getTrait(RangeTrait.class).ifPresent(trait -> events.addAll(validateRangeTrait(model, shape, trait)));
         }
 
         return events;
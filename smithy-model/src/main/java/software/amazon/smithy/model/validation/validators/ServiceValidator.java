@@ -5,6 +5,7 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -26,6 +27,7 @@ import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.SimpleShape;
 import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.PartitionedValidator;
 import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.Pair;
@@ -45,13 +47,23 @@ import software.amazon.smithy.utils.Pair;
  * detected on other shapes are emitted as a WARNING, and other conflicts are
  * emitted as ERROR.
  */
-public final class ServiceValidator extends AbstractValidator {
+public final class ServiceValidator extends AbstractValidator implements PartitionedValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validatePartition(model, model.getServiceShapes());
+    }
+
+    @Override
+    public Collection<? extends Shape> getPartitionShapes(Model model) {
+        return model.getServiceShapes();
+    }
+
+    @Override
+    public List<ValidationEvent> validatePartition(Model model, Collection<? extends Shape> services) {
         List<ValidationEvent> events = new ArrayList<>();
-        for (ServiceShape shape : model.getServiceShapes()) {
-            validateService(model, shape, events);
+        for (Shape shape : services) {
+            validateService(model, (ServiceShape) shape, events);
         }
         return events;
     }
@@ -5,6 +5,7 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.node.Node;
@@ -14,16 +15,25 @@ import software.amazon.smithy.model.shapes.UnionShape;
 import software.amazon.smithy.model.traits.BoxTrait;
 import software.amazon.smithy.model.traits.DefaultTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeLocalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.SmithyInternalApi;
 
 @SmithyInternalApi
-public final class UnionValidator extends AbstractValidator {
+public final class UnionValidator extends AbstractValidator implements ShapeLocalValidator {
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getUnionShapes());
+    }
+
+    @Override
+    public List<ValidationEvent> validateShapes(Model model, Collection<? extends Shape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
-        for (UnionShape union : model.getUnionShapes()) {
-            if (union.members().isEmpty()) {
+        for (Shape shape : shapes) {
+            UnionShape union = shape.asUnionShape().orElse(null);
+            if (union == null) {
+                continue;
+            } else if (union.members().isEmpty()) {
                 events.add(error(union, "Tagged unions must have one or more members"));
             } else {
                 for (MemberShape member : union.getAllMembers().values()) {
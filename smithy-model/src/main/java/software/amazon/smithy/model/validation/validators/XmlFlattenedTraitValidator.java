@@ -5,6 +5,7 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.ListShape;
@@ -13,19 +14,26 @@ import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.XmlFlattenedTrait;
 import software.amazon.smithy.model.traits.XmlNameTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeLocalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
  * Validates that xmlFlattened members aren't unintentionally ignoring the
  * xmlName of their targets.
  */
-public final class XmlFlattenedTraitValidator extends AbstractValidator {
+public final class XmlFlattenedTraitValidator extends AbstractValidator implements ShapeLocalValidator {
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getMemberShapesWithTrait(XmlFlattenedTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validateShapes(Model model, Collection<? extends Shape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
-        for (MemberShape member : model.getMemberShapesWithTrait(XmlFlattenedTrait.class)) {
+        for (Shape shape : shapes) {
+            MemberShape member = shape.asMemberShape().orElse(null);
             // Don't emit the event if they're being explicit about the xmlName on this member
-            if (member.hasTrait(XmlNameTrait.ID)) {
+            if (member == null || !member.hasTrait(XmlFlattenedTrait.ID) || member.hasTrait(XmlNameTrait.ID)) {
                 continue;
             }
 
@@ -11,14 +11,20 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Assertions;
@@ -31,7 +37,9 @@ import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.node.StringNode;
 import software.amazon.smithy.model.shapes.*;
+import software.amazon.smithy.model.traits.DeprecatedTrait;
 import software.amazon.smithy.model.traits.ExamplesTrait;
+import software.amazon.smithy.model.traits.SensitiveTrait;
 import software.amazon.smithy.model.traits.TraitDefinition;
 import software.amazon.smithy.model.traits.synthetic.OriginalShapeIdTrait;
 
@@ -288,6 +296,138 @@ public class ModelTest {
         model.getKnowledge(TopDownIndex.class);
     }
 
+    @Test
+    public void assignsDenseShapeOrdinals() {
+        Model model = Model.builder()
+                .addShape(StringShape.builder().id("smithy.example#A").build())
+                .addShape(StringShape.builder().id("smithy.example#B").build())
+                .addShape(StringShape.builder().id("smithy.example#C").build())
+                .build();
+
+        Set<Integer> ordinals = new HashSet<>();
+        for (Shape shape : model.toSet()) {
+            int ordinal = model.getShapeOrdinal(shape.getId());
+            ordinals.add(ordinal);
+            assertThat(model.getShapeByOrdinal(ordinal), equalTo(shape));
+        }
+
+        assertThat(ordinals, containsInAnyOrder(0, 1, 2));
+        assertThat(model.getShapeOrdinal(ShapeId.from("smithy.example#D")), equalTo(-1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> model.getShapeByOrdinal(3));
+    }
+
+    @Test
+    public void derivesTraitMappingsFromSourceModel() {
+        Model.Builder builder = Model.builder();
+        for (int i = 0; i < 20; i++) {
+            StringShape.Builder shape = StringShape.builder().id("smithy.example#S" + i);
+            if (i % 2 == 0) {
+                shape.addTrait(new SensitiveTrait());
+            }
+            builder.addShape(shape.build());
+        }
+        Model model = builder.build();
+        assertThat(model.getShapesWithTrait(SensitiveTrait.class), hasSize(10));
+
+        Model derived = model.toBuilder()
+                .removeShape(ShapeId.from("smithy.example#S0"))
+                .addShape(StringShape.builder().id("smithy.example#S2").build())
+                .addShape(StringShape.builder()
+                        .id("smithy.example#S3")
+                        .addTrait(DeprecatedTrait.builder().build())
+                        .build())
+                .build();
+        Model expected = Model.builder().addShapes(derived.toSet()).build();
+
+        assertThat(derived.getShapesWithTrait(SensitiveTrait.class),
+                equalTo(expected.getShapesWithTrait(SensitiveTrait.class)));
+        assertThat(derived.getShapesWithTrait(SensitiveTrait.ID),
+                equalTo(expected.getShapesWithTrait(SensitiveTrait.ID)));
+        assertThat(derived.getShapesWithTrait(DeprecatedTrait.class),
+                contains(derived.expectShape(ShapeId.from("smithy.example#S3"))));
+        assertThat(derived.getAppliedTraits(), equalTo(expected.getAppliedTraits()));
+        assertThat(model.getShapesWithTrait(SensitiveTrait.class), hasSize(10));
+        assertThat(model.getShapesWithTrait(DeprecatedTrait.class), hasSize(0));
+
+        Model withoutDeprecated = derived.toBuilder().removeShape(ShapeId.from("smithy.example#S3")).build();
+        assertFalse(withoutDeprecated.isTraitApplied(DeprecatedTrait.class));
+    }
+
+    @Test
+    public void computesTraitMappingsOfLargeModels() {
+        Model.Builder builder = Model.builder();
+        for (int i = 0; i < 20000; i++) {
+            StringShape.Builder shape = StringShape.builder().id("smithy.example#S" + i);
+            if (i % 3 == 0) {
+                shape.addTrait(new SensitiveTrait());
+            }
+            builder.addShape(shape.build());
+        }
+        Model model = builder.build();
+
+        assertThat(model.getShapesWithTrait(SensitiveTrait.class), hasSize(6667));
+        assertThat(model.getShapesWithTrait(SensitiveTrait.ID), hasSize(6667));
+        assertThat(model.getAppliedTraits(), contains(SensitiveTrait.ID));
+    }
+
+    @Test
+    public void precomputesKnowledgeIndexesOnce() {
+        Model model = Model.builder().build();
+        CountingIndex.CREATED.set(0);
+        model.precomputeKnowledge(Arrays.asList(DependentIndex.class, CountingIndex.class, TopDownIndex.class));
+        model.precomputeKnowledge(Arrays.asList(CountingIndex.class));
+
+        assertThat(CountingIndex.CREATED.get(), equalTo(1));
+        assertThat(model.getKnowledge(DependentIndex.class, DependentIndex::new).counting,
+                sameInstance(model.getKnowledge(CountingIndex.class, CountingIndex::new)));
+    }
+
+    @Test
+    public void precomputesKnowledgeOnExecutorUsedByCaller() throws Exception {
+        Model model = Model.builder().build();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // The only thread of the executor is the caller, so the caller has to compute every index itself.
+            executor.submit(() -> model.precomputeKnowledge(Arrays.asList(DependentIndex.class, TopDownIndex.class),
+                    executor)).get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(model.getKnowledge(DependentIndex.class, DependentIndex::new).counting,
+                sameInstance(model.getKnowledge(CountingIndex.class, CountingIndex::new)));
+    }
+
+    @Test
+    public void throwsWhenKnowledgeCannotBePrecomputed() {
+        Model model = Model.builder().build();
+
+        Assertions.assertThrows(RuntimeException.class,
+                () -> model.precomputeKnowledge(Arrays.asList(FailingIndex.class)));
+    }
+
+    public static final class CountingIndex implements KnowledgeIndex {
+        static final AtomicInteger CREATED = new AtomicInteger();
+
+        public CountingIndex(Model model) {
+            CREATED.incrementAndGet();
+        }
+    }
+
+    public static final class DependentIndex implements KnowledgeIndex {
+        private final CountingIndex counting;
+
+        public DependentIndex(Model model) {
+            counting = model.getKnowledge(CountingIndex.class, CountingIndex::new);
+        }
+    }
+
+    public static final class FailingIndex implements KnowledgeIndex {
+        public FailingIndex(Model model) {
+            throw new IllegalStateException("failed");
+        }
+    }
+
     @Test
     public void doesNotDeadlockWhenReenteringBlackboard() {
         Model model = Model.builder().build();
@@ -0,0 +1,130 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.traits.SensitiveTrait;
+import software.amazon.smithy.utils.SetUtils;
+
+public class ShapeMapTest {
+
+    private static ShapeMap createMap(int count) {
+        Map<ShapeId, Shape> shapes = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            Shape shape = StringShape.builder().id("smithy.example#S" + i).build();
+            shapes.put(shape.getId(), shape);
+        }
+        return ShapeMap.EMPTY.with(shapes, Collections.emptySet());
+    }
+
+    private static Shape shape(ShapeMap map, int index) {
+        return map.get(ShapeId.from("smithy.example#S" + index));
+    }
+
+    @Test
+    public void derivesMapsFromChanges() {
+        ShapeMap map = createMap(100);
+        Shape replacement = shape(map, 1).asStringShape().get().toBuilder().addTrait(new SensitiveTrait()).build();
+        Shape added = StringShape.builder().id("smithy.example#Added").build();
+        Map<ShapeId, Shape> puts = new HashMap<>();
+        puts.put(replacement.getId(), replacement);
+        puts.put(added.getId(), added);
+
+        ShapeMap derived = map.with(puts, SetUtils.of(ShapeId.from("smithy.example#S2")));
+
+        assertThat(derived.size(), equalTo(100));
+        assertThat(derived.get(replacement.getId()), sameInstance(replacement));
+        assertThat(derived.get(added.getId()), sameInstance(added));
+        assertThat(derived.get(ShapeId.from("smithy.example#S2")), nullValue());
+        assertThat(derived.containsKey(ShapeId.from("smithy.example#S2")), is(false));
+        assertThat(derived.get(ShapeId.from("smithy.example#S3")), sameInstance(shape(map, 3)));
+        assertThat(map.get(replacement.getId()), sameInstance(shape(map, 1)));
+        assertThat(map.size(), equalTo(100));
+
+        List<Shape> values = new ArrayList<>(derived.values());
+        assertThat(values.size(), equalTo(100));
+        assertThat(values.get(values.size() - 1), sameInstance(added));
+        assertThat(derived.keySet().size(), equalTo(100));
+        assertThat(new HashMap<>(derived), equalTo(derived));
+    }
+
+    @Test
+    public void undoesChanges() {
+        ShapeMap map = createMap(100);
+        Shape original = shape(map, 1);
+        Shape replacement = original.asStringShape().get().toBuilder().addTrait(new SensitiveTrait()).build();
+
+        ShapeMap replaced = map.with(Collections.singletonMap(original.getId(), replacement), Collections.emptySet());
+        ShapeMap restored = replaced.with(Collections.singletonMap(original.getId(), original), Collections.emptySet());
+
+        assertThat(restored, equalTo(map));
+        assertThat(restored.get(original.getId()), sameInstance(original));
+        assertThat(map.with(Collections.emptyMap(), Collections.emptySet()), sameInstance(map));
+    }
+
+    @Test
+    public void flattensLargeChanges() {
+        ShapeMap map = createMap(8);
+        Map<ShapeId, Shape> puts = new HashMap<>();
+        for (int i = 0; i < 3; i++) {
+            Shape shape = StructureShape.builder().id("smithy.example#Added" + i).build();
+            puts.put(shape.getId(), shape);
+        }
+
+        ShapeMap derived = map.with(puts, SetUtils.of(ShapeId.from("smithy.example#S0")));
+
+        assertThat(derived.size(), equalTo(10));
+        assertThat(derived.containsKey(ShapeId.from("smithy.example#S0")), is(false));
+        assertThat(derived.containsKey(ShapeId.from("smithy.example#Added2")), is(true));
+        assertThat(new ArrayList<>(derived.values()).size(), equalTo(10));
+    }
+
+    @Test
+    public void modelsDerivedFromOtherModelsShareShapes() {
+        Model model = Model.builder().addShapes(createMap(100).values()).build();
+        Shape removed = StringShape.builder().id("smithy.example#S5").build();
+        Model derived = model.toBuilder().removeShape(removed.getId()).build();
+
+        assertThat(derived.toSet().size(), equalTo(99));
+        assertThat(derived.getShape(removed.getId()).isPresent(), is(false));
+        assertThat(model.toBuilder().build(), equalTo(model));
+        assertThat(derived.toBuilder().addShape(removed).build(), equalTo(model));
+        assertThat(derived.toBuilder().getCurrentShapes().keySet(), contains(derived.getShapeIds().toArray()));
+    }
+
+    @Test
+    public void builderCurrentShapesReflectLaterChanges() {
+        Model model = Model.builder().addShapes(createMap(10).values()).build();
+        Model.Builder builder = model.toBuilder();
+        Map<ShapeId, Shape> current = builder.getCurrentShapes();
+        Shape added = StringShape.builder().id("smithy.example#Added").build();
+
+        builder.addShape(added).removeShape(ShapeId.from("smithy.example#S0"));
+
+        assertThat(current.get(added.getId()), sameInstance(added));
+        assertThat(current.containsKey(ShapeId.from("smithy.example#S0")), is(false));
+        assertThat(current.get(ShapeId.from("smithy.example#S1")), sameInstance(model.expectShape(
+                ShapeId.from("smithy.example#S1"))));
+        assertThat(current.size(), equalTo(10));
+        assertThat(current.isEmpty(), is(false));
+    }
+}
@@ -7,10 +7,15 @@ package software.amazon.smithy.model.loader;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidatedResult;
+import software.amazon.smithy.utils.ListUtils;
 
 public class AstModelLoaderTest {
     @Test
@@ -97,4 +102,40 @@ public class AstModelLoaderTest {
         assertEquals(0, model.getValidationEvents(Severity.WARNING).size());
         assertEquals(0, model.getValidationEvents(Severity.ERROR).size());
     }
+
+    @ParameterizedTest
+    @MethodSource("streamedModels")
+    public void loadsStreamedShapesLikeParsedNodes(String json) {
+        ValidatedResult<Model> streamed = Model.assembler()
+                .addUnparsedModel("test.json", json)
+                .assemble();
+        ValidatedResult<Model> parsed = Model.assembler()
+                .addDocumentNode(Node.parse(json, "test.json"))
+                .assemble();
+
+        assertEquals(parsed.getResult(), streamed.getResult());
+        assertEquals(parsed.getValidationEvents(), streamed.getValidationEvents());
+    }
+
+    public static List<String> streamedModels() {
+        return ListUtils.of(
+                // Shapes that come after the version are streamed.
+                "{\"smithy\": \"2.0\", \"shapes\": {\"smithy.example#A\": {\"type\": \"string\"}}}",
+                // Shapes that come before the version are loaded after parsing.
+                "{\"shapes\": {\"smithy.example#A\": {\"type\": \"string\"}}, \"smithy\": \"2.0\"}",
+                // The last duplicate shape wins.
+                "{\"smithy\": \"2.0\", \"shapes\": {\"smithy.example#A\": {\"type\": \"string\"}, "
+                        + "\"smithy.example#B\": {\"type\": \"string\"}, "
+                        + "\"smithy.example#A\": {\"type\": \"integer\"}}}",
+                // The last duplicate shapes object wins.
+                "{\"smithy\": \"2.0\", \"shapes\": {\"smithy.example#A\": {\"type\": \"string\"}}, "
+                        + "\"shapes\": {\"smithy.example#B\": {\"type\": \"string\"}}}",
+                // Invalid shape IDs stop loading at the same shape.
+                "{\"smithy\": \"2.0\", \"shapes\": {\"smithy.example#A\": {\"type\": \"string\"}, "
+                        + "\"invalid id\": {\"type\": \"string\"}, "
+                        + "\"smithy.example#B\": {\"type\": \"string\"}}}",
+                // Events are emitted in the same order.
+                "{\"smithy\": \"2.0\", \"shapes\": {\"smithy.example#A\": {\"type\": \"nope\"}}, "
+                        + "\"metadata\": {\"foo\": true}, \"other\": true}");
+    }
 }
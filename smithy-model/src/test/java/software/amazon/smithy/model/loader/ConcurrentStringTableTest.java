@@ -0,0 +1,97 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.loader;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.nio.CharBuffer;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+public class ConcurrentStringTableTest {
+    @Test
+    public void cachesAndReturnsStringValues() {
+        ConcurrentStringTable table = new ConcurrentStringTable();
+
+        CharBuffer originalFoo = CharBuffer.wrap(new char[] {'f', 'o', 'o'});
+        String internedFoo = table.apply(originalFoo);
+
+        assertThat(table.apply(originalFoo), equalTo(internedFoo));
+        assertThat(table.apply(originalFoo), sameInstance(internedFoo));
+        assertThat(table.getMisses(), equalTo(1L));
+        assertThat(table.getHits(), equalTo(2L));
+    }
+
+    @Test
+    public void overwritesPreviousValuesOnCollision() {
+        ConcurrentStringTable table = new ConcurrentStringTable(1); // 2 entries
+
+        String internedFoo = table.apply("foo");
+        table.apply("foo1");
+        table.apply("foo2");
+        String nextInternedFoo = table.apply(new StringBuilder("foo"));
+
+        assertThat(nextInternedFoo, equalTo("foo"));
+        assertThat(nextInternedFoo, not(sameInstance(internedFoo)));
+    }
+
+    @Test
+    public void canBeSharedAcrossThreads() {
+        ConcurrentStringTable table = new ConcurrentStringTable(4);
+
+        IntStream.range(0, 10000).parallel().forEach(i -> {
+            String value = "value" + (i % 100);
+            assertThat(table.apply(new StringBuilder(value)), equalTo(value));
+        });
+
+        assertThat(table.getHits() + table.getMisses(), equalTo(10000L));
+    }
+
+    @Test
+    public void resetsCounters() {
+        ConcurrentStringTable table = new ConcurrentStringTable();
+        table.apply("foo");
+        table.apply("foo");
+        table.resetCounters();
+
+        assertThat(table.getHits(), equalTo(0L));
+        assertThat(table.getMisses(), equalTo(0L));
+        assertThat(table.apply("foo"), equalTo("foo"));
+        assertThat(table.getHits(), equalTo(1L));
+    }
+
+    @Test
+    public void isSharedAcrossAssemblies() {
+        ConcurrentStringTable table = new ConcurrentStringTable();
+        String model = "$version: \"2\"\nnamespace smithy.example\nstructure Foo {\n    bar: String\n}\n";
+        ModelAssembler assembler = Model.assembler().stringTable(table);
+
+        assembler.copy().addUnparsedModel("a.smithy", model).assemble().unwrap();
+        long misses = table.getMisses();
+        Model result = assembler.copy().addUnparsedModel("b.smithy", model).assemble().unwrap();
+
+        assertThat(table.getHits(), greaterThan(0L));
+        assertThat(table.getMisses(), equalTo(misses));
+        assertThat(result.expectShape(ShapeId.from("smithy.example#Foo$bar")).getId().getMember().get(),
+                equalTo("bar"));
+    }
+
+    @Test
+    public void doesNotCreateTooBigOfCache() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ConcurrentStringTable(21));
+    }
+
+    @Test
+    public void doesNotCreateTooSmallOfCache() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ConcurrentStringTable(0));
+    }
+}
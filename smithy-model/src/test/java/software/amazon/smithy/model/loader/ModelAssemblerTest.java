@@ -10,6 +10,8 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
@@ -30,6 +32,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -46,6 +49,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.JarUtils;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.SourceException;
 import software.amazon.smithy.model.SourceLocation;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
@@ -65,6 +69,8 @@ import software.amazon.smithy.model.traits.DeprecatedTrait;
 import software.amazon.smithy.model.traits.DocumentationTrait;
 import software.amazon.smithy.model.traits.DynamicTrait;
 import software.amazon.smithy.model.traits.InternalTrait;
+import software.amazon.smithy.model.traits.LazyTrait;
+import software.amazon.smithy.model.traits.LengthTrait;
 import software.amazon.smithy.model.traits.MediaTypeTrait;
 import software.amazon.smithy.model.traits.MixinTrait;
 import software.amazon.smithy.model.traits.PatternTrait;
@@ -74,11 +80,13 @@ import software.amazon.smithy.model.traits.SuppressTrait;
 import software.amazon.smithy.model.traits.TagsTrait;
 import software.amazon.smithy.model.traits.synthetic.OriginalShapeIdTrait;
 import software.amazon.smithy.model.validation.Severity;
+import software.amazon.smithy.model.validation.ShapeLocalValidator;
 import software.amazon.smithy.model.validation.ValidatedResult;
 import software.amazon.smithy.model.validation.ValidatedResultException;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.Validator;
 import software.amazon.smithy.model.validation.ValidatorFactory;
+import software.amazon.smithy.model.validation.ValidatorProfile;
 import software.amazon.smithy.utils.IoUtils;
 import software.amazon.smithy.utils.ListUtils;
 
@@ -1459,4 +1467,283 @@ public class ModelAssemblerTest {
         assertTrue(combinedModel.expectShape(ShapeId.from("smithy.example#MachineData$machineId"), MemberShape.class)
                 .hasTrait(RequiredTrait.ID));
     }
+
+    @Test
+    public void parallelLoadingMatchesSerialLoading() throws Exception {
+        Path modelDir = Paths.get(getClass().getResource("valid/mixins").toURI());
+        ValidatedResult<Model> serial = Model.assembler()
+                .addImport(modelDir)
+                .assemble();
+        ValidatedResult<Model> parallel = Model.assembler()
+                .addImport(modelDir)
+                .putProperty(ModelAssembler.PARALLEL_LOADING, true)
+                .assemble();
+
+        assertThat(parallel.getResult(), equalTo(serial.getResult()));
+        assertThat(parallel.getValidationEvents(), equalTo(serial.getValidationEvents()));
+    }
+
+    @Test
+    public void parallelLoadingResolvesForwardReferencesAcrossFiles() {
+        Model model = Model.assembler()
+                .putProperty(ModelAssembler.PARALLEL_LOADING, true)
+                .addUnparsedModel("a.smithy", "$version: \"2\"\nnamespace smithy.example\n@b\nstring A\n")
+                .addUnparsedModel("b.smithy", "$version: \"2\"\nnamespace smithy.example\n@trait\nstructure b {}\n")
+                .assemble()
+                .unwrap();
+
+        assertTrue(model.expectShape(ShapeId.from("smithy.example#A")).hasTrait("smithy.example#b"));
+    }
+
+    @Test
+    public void memoryMappedLoadingMatchesDefaultLoading() throws Exception {
+        Path modelDir = Paths.get(getClass().getResource("valid/mixins").toURI());
+        ValidatedResult<Model> loaded = Model.assembler()
+                .addImport(modelDir)
+                .assemble();
+        ValidatedResult<Model> mapped = Model.assembler()
+                .addImport(modelDir)
+                .putProperty(ModelAssembler.MEMORY_MAP_FILES, true)
+                .assemble();
+
+        assertThat(mapped.getResult(), equalTo(loaded.getResult()));
+        assertThat(mapped.getValidationEvents(), equalTo(loaded.getValidationEvents()));
+    }
+
+    @Test
+    public void memoryMapsFilesWithNonAsciiCharacters() throws IOException {
+        Path modelFile = outputDirectory.resolve("model.smithy");
+        Files.write(modelFile,
+                ListUtils.of("$version: \"2\"",
+                        "namespace smithy.example",
+                        "/// Documentation with non-ASCII characters: éè ☃ 😀",
+                        "string A"));
+        Model model = Model.assembler()
+                .addImport(modelFile)
+                .putProperty(ModelAssembler.MEMORY_MAP_FILES, true)
+                .assemble()
+                .unwrap();
+
+        Shape shape = model.expectShape(ShapeId.from("smithy.example#A"));
+
+        assertThat(shape.expectTrait(DocumentationTrait.class).getValue(),
+                equalTo("Documentation with non-ASCII characters: éè ☃ 😀"));
+    }
+
+    @Test
+    public void createsLazyTraitsWhenAccessed() {
+        Model model = Model.assembler()
+                .addUnparsedModel("a.smithy",
+                        "$version: \"2\"\nnamespace smithy.example\n"
+                                + "/// Docs\n@pattern(\"a\")\nstring A\n"
+                                + "@pattern(\"b\")\nstring B\n")
+                .disableValidation()
+                .putProperty(ModelAssembler.LAZY_TRAITS, true)
+                .assemble()
+                .unwrap();
+        Shape a = model.expectShape(ShapeId.from("smithy.example#A"));
+        Shape b = model.expectShape(ShapeId.from("smithy.example#B"));
+
+        assertTrue(a.hasTrait(PatternTrait.ID));
+        assertThat(LazyTrait.uncreated(a.getAllTraits()).get(PatternTrait.ID), instanceOf(LazyTrait.class));
+        assertThat(a.expectTrait(PatternTrait.class).getValue(), equalTo("a"));
+        assertThat(a.getAllTraits().get(DocumentationTrait.ID), instanceOf(DocumentationTrait.class));
+
+        // The class of the pattern trait is now known, so it isn't created when looking for other traits.
+        LazyTrait pattern = (LazyTrait) LazyTrait.uncreated(b.getAllTraits()).get(PatternTrait.ID);
+        assertFalse(b.getTrait(DocumentationTrait.class).isPresent());
+        assertThat(pattern.getKnownTraitClass(), equalTo(PatternTrait.class));
+        assertThat(model.getShapesWithTrait(PatternTrait.class), hasItems(a, b));
+    }
+
+    @Test
+    public void throwsWhenLazyTraitsCannotBeCreated() {
+        Model model = Model.assembler()
+                .addUnparsedModel("a.smithy",
+                        "$version: \"2\"\nnamespace smithy.example\n@length(min: \"x\")\nstring A\n")
+                .disableValidation()
+                .putProperty(ModelAssembler.LAZY_TRAITS, true)
+                .assemble()
+                .unwrap();
+        Shape shape = model.expectShape(ShapeId.from("smithy.example#A"));
+
+        SourceException e = Assertions.assertThrows(SourceException.class, () -> shape.getTrait(LengthTrait.class));
+        assertThat(e.getMessage(), startsWith("Error creating trait `length`"));
+    }
+
+    @Test
+    public void ignoresLazyTraitsWhenValidating() {
+        ValidatedResult<Model> result = Model.assembler()
+                .addUnparsedModel("a.smithy",
+                        "$version: \"2\"\nnamespace smithy.example\n@length(min: \"x\")\nstring A\n")
+                .putProperty(ModelAssembler.LAZY_TRAITS, true)
+                .assemble();
+
+        assertTrue(result.isBroken());
+        assertThat(result.getValidationEvents().get(0).getMessage(), startsWith("Error creating trait `length`"));
+    }
+
+    @Test
+    public void loadsModelsFromSnapshotCache() throws IOException {
+        Path cache = outputDirectory.resolve("snapshots");
+        Path modelFile = outputDirectory.resolve("model.smithy");
+        Files.write(modelFile,
+                ListUtils.of("$version: \"2\"",
+                        "namespace smithy.example",
+                        "@mixin",
+                        "structure Mixin { @required foo: String }",
+                        "/// Docs",
+                        "structure Foo with [Mixin] {",
+                        "    bar: Integer = 0",
+                        "}"));
+
+        ValidatedResult<Model> first = Model.assembler()
+                .addImport(modelFile)
+                .putProperty(ModelAssembler.SNAPSHOT_CACHE_DIRECTORY, cache)
+                .assemble();
+        ValidatedResult<Model> second = Model.assembler()
+                .addImport(modelFile)
+                .putProperty(ModelAssembler.SNAPSHOT_CACHE_DIRECTORY, cache.toString())
+                .assemble();
+
+        assertThat(Files.list(cache).count(), equalTo(1L));
+        assertThat(second.unwrap(), equalTo(first.unwrap()));
+        assertThat(second.getValidationEvents(), containsInAnyOrder(first.getValidationEvents().toArray()));
+        ShapeId member = ShapeId.from("smithy.example#Foo$bar");
+        assertThat(second.unwrap().expectShape(member).getSourceLocation(),
+                equalTo(first.unwrap().expectShape(member).getSourceLocation()));
+    }
+
+    @Test
+    public void writesNewSnapshotWhenModelsChange() throws IOException {
+        Path cache = outputDirectory.resolve("snapshots");
+        Path modelFile = outputDirectory.resolve("model.smithy");
+        Files.write(modelFile, ListUtils.of("$version: \"2\"", "namespace smithy.example", "string Foo"));
+        Model.assembler().addImport(modelFile).putProperty(ModelAssembler.SNAPSHOT_CACHE_DIRECTORY, cache).assemble();
+
+        Files.write(modelFile, ListUtils.of("$version: \"2\"", "namespace smithy.example", "integer Foo"));
+        Model model = Model.assembler()
+                .addImport(modelFile)
+                .putProperty(ModelAssembler.SNAPSHOT_CACHE_DIRECTORY, cache)
+                .assemble()
+                .unwrap();
+
+        assertThat(Files.list(cache).count(), equalTo(2L));
+        assertThat(model.expectShape(ShapeId.from("smithy.example#Foo")).getType(), is(ShapeType.INTEGER));
+    }
+
+    @Test
+    public void doesNotUseSnapshotCacheWithProgrammaticShapes() throws IOException {
+        Path cache = outputDirectory.resolve("snapshots");
+        Path modelFile = outputDirectory.resolve("model.smithy");
+        Files.write(modelFile, ListUtils.of("$version: \"2\"", "namespace smithy.example", "string Foo"));
+        Model.assembler()
+                .addImport(modelFile)
+                .addShape(StringShape.builder().id("smithy.example#Bar").build())
+                .putProperty(ModelAssembler.SNAPSHOT_CACHE_DIRECTORY, cache)
+                .assemble()
+                .unwrap();
+
+        assertFalse(Files.exists(cache));
+    }
+
+    @Test
+    public void incrementallyValidatesOnlyAffectedShapes() {
+        List<ShapeId> validated = Collections.synchronizedList(new ArrayList<>());
+        ShapeLocalValidator validator = new ShapeLocalValidator() {
+            @Override
+            public String getName() {
+                return "Counting";
+            }
+
+            @Override
+            public List<ValidationEvent> validate(Model model) {
+                return validateShapes(model, model.getStringShapes());
+            }
+
+            @Override
+            public List<ValidationEvent> validateShapes(Model model, Collection<? extends Shape> shapes) {
+                List<ValidationEvent> events = new ArrayList<>();
+                for (Shape shape : shapes) {
+                    if (shape.isStringShape() && !Prelude.isPreludeShape(shape)) {
+                        validated.add(shape.getId());
+                        events.add(ValidationEvent.builder()
+                                .id(getName())
+                                .severity(Severity.NOTE)
+                                .shape(shape)
+                                .message("Validated")
+                                .build());
+                    }
+                }
+                return events;
+            }
+        };
+
+        StructureShape structure = StructureShape.builder()
+                .id("smithy.example#Structure")
+                .addMember("foo", ShapeId.from("smithy.example#Foo"))
+                .build();
+        StringShape bar = StringShape.builder().id("smithy.example#Bar").build();
+        ValidatedResult<Model> previous = new ModelAssembler()
+                .addValidator(validator)
+                .addShapes(structure, StringShape.builder().id("smithy.example#Foo").build(), bar)
+                .assemble();
+
+        validated.clear();
+        ValidatedResult<Model> result = new ModelAssembler()
+                .addValidator(validator)
+                .addShapes(structure, bar)
+                .addShape(StringShape.builder()
+                        .id("smithy.example#Foo")
+                        .addTrait(new DocumentationTrait("Changed"))
+                        .build())
+                .incrementalValidation(previous)
+                .assemble();
+
+        assertThat(validated, contains(ShapeId.from("smithy.example#Foo")));
+        assertThat(result.getValidationEvents().stream()
+                .filter(event -> event.getId().equals("Counting"))
+                .map(event -> event.getShapeId().get())
+                .collect(Collectors.toList()),
+                containsInAnyOrder(ShapeId.from("smithy.example#Foo"), ShapeId.from("smithy.example#Bar")));
+    }
+
+    @Test
+    public void incrementalValidationDropsEventsOfRemovedShapes() {
+        ValidatedResult<Model> previous = new ModelAssembler()
+                .addShape(StringShape.builder()
+                        .id("smithy.example#Foo")
+                        .addTrait(new PatternTrait("a"))
+                        .build())
+                .assemble();
+        ValidatedResult<Model> result = new ModelAssembler()
+                .addShape(StringShape.builder().id("smithy.example#Bar").build())
+                .incrementalValidation(previous)
+                .assemble();
+
+        assertThat(previous.getValidationEvents(Severity.WARNING), not(empty()));
+        assertThat(result.getValidationEvents(), empty());
+    }
+
+    @Test
+    public void sendsValidatorProfilesToListener() {
+        List<ValidatorProfile> profiles = Collections.synchronizedList(new ArrayList<>());
+        new ModelAssembler()
+                .addShape(StringShape.builder()
+                        .id("smithy.example#Foo")
+                        .addTrait(new PatternTrait("a"))
+                        .build())
+                .validatorProfileListener(profiles::add)
+                .assemble()
+                .unwrap();
+
+        ValidatorProfile pattern = profiles.stream()
+                .filter(profile -> profile.getName().equals("PatternTrait"))
+                .findFirst()
+                .get();
+
+        assertThat(pattern.getEventCount(), equalTo(1));
+        assertThat(pattern.getWallTimeNanos(), greaterThanOrEqualTo(0L));
+        assertTrue(profiles.stream().anyMatch(profile -> profile.getName().equals("Target")));
+    }
 }
@@ -7,12 +7,26 @@ package software.amazon.smithy.model.loader;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.model.validation.PartitionedValidator;
 import software.amazon.smithy.model.validation.Severity;
+import software.amazon.smithy.model.validation.ShapeLocalValidator;
 import software.amazon.smithy.model.validation.ValidatedResult;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
@@ -47,4 +61,146 @@ public class ModelValidatorTest {
         assertThat(result.getValidationEvents().get(0).getMessage(), containsString("client"));
         assertThat(result.getValidationEvents().get(1).getMessage(), containsString("server"));
     }
+
+    @Test
+    public void splitsSlowShapeLocalValidatorsOnExecutor() {
+        AtomicInteger calls = new AtomicInteger();
+        ModelAssembler assembler = createSlowValidatorAssembler(calls);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assembler.validationExecutor(pool);
+            ValidatedResult<Model> first = assembler.assemble();
+            assertThat(calls.get(), equalTo(1));
+
+            // The second validation knows the validator is slow, so it's split into multiple units.
+            calls.set(0);
+            ValidatedResult<Model> second = assembler.assemble();
+            ValidatedResult<Model> third = assembler.assemble();
+
+            assertThat(calls.get(), greaterThan(2));
+            assertThat(second.getValidationEvents(), equalTo(first.getValidationEvents()));
+            assertThat(third.getValidationEvents(), equalTo(second.getValidationEvents()));
+
+            // Costs are remembered per assembler, so a different assembler doesn't split the validator.
+            calls.set(0);
+            createSlowValidatorAssembler(calls).validationExecutor(pool).assemble();
+            assertThat(calls.get(), equalTo(1));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void splitsSlowPartitionedValidatorsOnExecutor() {
+        AtomicInteger calls = new AtomicInteger();
+        ModelAssembler assembler = createSlowPartitionedValidatorAssembler(calls);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assembler.validationExecutor(pool);
+            ValidatedResult<Model> first = assembler.assemble();
+            assertThat(calls.get(), equalTo(1));
+
+            calls.set(0);
+            ValidatedResult<Model> second = assembler.assemble();
+
+            assertThat(calls.get(), greaterThan(1));
+            assertThat(first.getValidationEvents(), hasSize(20));
+            assertThat(second.getValidationEvents(), equalTo(first.getValidationEvents()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void validatesOnBoundedExecutorUsedByCaller() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        ModelAssembler assembler = createSlowValidatorAssembler(calls);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assembler.validationExecutor(executor);
+            // The only thread of the executor is the caller, so the caller has to run every unit itself. The
+            // second validation splits the validator when more than one processor is available.
+            ValidatedResult<Model> first = executor.submit(assembler::assemble).get(30, TimeUnit.SECONDS);
+            ValidatedResult<Model> second = executor.submit(assembler::assemble).get(30, TimeUnit.SECONDS);
+
+            assertThat(first.getValidationEvents(), hasSize(20));
+            assertThat(second.getValidationEvents(), equalTo(first.getValidationEvents()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static ModelAssembler createSlowValidatorAssembler(AtomicInteger calls) {
+        ShapeLocalValidator validator = new ShapeLocalValidator() {
+            @Override
+            public String getName() {
+                return "SlowSplitTest";
+            }
+
+            @Override
+            public List<ValidationEvent> validate(Model model) {
+                return validateShapes(model, model.getStringShapes());
+            }
+
+            @Override
+            public List<ValidationEvent> validateShapes(Model model, Collection<? extends Shape> shapes) {
+                return validateSlowly(calls, getName(), shapes);
+            }
+        };
+
+        return addStringShapes(new ModelAssembler().addValidator(validator));
+    }
+
+    private static ModelAssembler createSlowPartitionedValidatorAssembler(AtomicInteger calls) {
+        PartitionedValidator validator = new PartitionedValidator() {
+            @Override
+            public List<ValidationEvent> validate(Model model) {
+                return validatePartition(model, model.getStringShapes());
+            }
+
+            @Override
+            public Collection<? extends Shape> getPartitionShapes(Model model) {
+                return model.getStringShapes();
+            }
+
+            @Override
+            public List<ValidationEvent> validatePartition(Model model, Collection<? extends Shape> shapes) {
+                return validateSlowly(calls, "SlowPartitionTest", shapes);
+            }
+        };
+
+        return addStringShapes(new ModelAssembler().addValidator(validator));
+    }
+
+    private static ModelAssembler addStringShapes(ModelAssembler assembler) {
+        for (int i = 0; i < 20; i++) {
+            assembler.addShape(StringShape.builder().id("smithy.example#String" + i).build());
+        }
+        return assembler;
+    }
+
+    private static List<ValidationEvent> validateSlowly(
+            AtomicInteger calls,
+            String name,
+            Collection<? extends Shape> shapes
+    ) {
+        calls.incrementAndGet();
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+        List<ValidationEvent> events = new ArrayList<>();
+        for (Shape shape : shapes) {
+            if (shape.isStringShape() && shape.getId().getNamespace().equals("smithy.example")) {
+                events.add(ValidationEvent.builder()
+                        .id(name)
+                        .severity(Severity.NOTE)
+                        .shape(shape)
+                        .message("Validated")
+                        .build());
+            }
+        }
+        return events;
+    }
 }
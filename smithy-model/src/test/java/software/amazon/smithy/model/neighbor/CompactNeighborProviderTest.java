@@ -0,0 +1,136 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.neighbor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.model.shapes.StructureShape;
+
+public class CompactNeighborProviderTest {
+
+    private static Model model;
+
+    @BeforeAll
+    public static void before() {
+        model = Model.assembler()
+                .addUnparsedModel("test.smithy",
+                        "$version: \"2.0\"\n"
+                                + "namespace smithy.example\n"
+                                + "service Service {\n"
+                                + "    operations: [Operation]\n"
+                                + "}\n"
+                                + "operation Operation {\n"
+                                + "    input := {\n"
+                                + "        @required\n"
+                                + "        a: String\n"
+                                + "        b: Structure\n"
+                                + "    }\n"
+                                + "    errors: [Error]\n"
+                                + "}\n"
+                                + "structure Structure {\n"
+                                + "    a: String\n"
+                                + "    b: Structure\n"
+                                + "}\n"
+                                + "@error(\"client\")\n"
+                                + "structure Error {}\n")
+                .assemble()
+                .unwrap();
+    }
+
+    @Test
+    public void returnsTheSameNeighborsAsTheProvider() {
+        NeighborProvider provider = NeighborProvider.of(model);
+        CompactNeighborProvider compact = CompactNeighborProvider.of(model, provider);
+
+        for (Shape shape : model.toSet()) {
+            assertThat(compact.getNeighbors(shape), equalTo(provider.getNeighbors(shape)));
+        }
+    }
+
+    @Test
+    public void returnsTheSameNeighborsAsTheReverseProvider() {
+        NeighborProvider provider = NeighborProvider.withTraitRelationships(model, NeighborProvider.of(model));
+        NeighborProvider reverse = NeighborProvider.reverse(model, provider);
+        CompactNeighborProvider compact = CompactNeighborProvider.of(model, provider).reverse();
+
+        for (Shape shape : model.toSet()) {
+            assertThat(new HashSet<>(compact.getNeighbors(shape)), equalTo(new HashSet<>(reverse.getNeighbors(shape))));
+            assertThat(compact.getNeighbors(shape).size(), equalTo(reverse.getNeighbors(shape).size()));
+        }
+    }
+
+    @Test
+    public void walksEdgesWithoutRelationships() {
+        CompactNeighborProvider compact = CompactNeighborProvider.of(model, NeighborProvider.of(model));
+        Shape structure = model.expectShape(ShapeId.from("smithy.example#Structure"));
+        int ordinal = compact.getOrdinal(structure);
+        List<String> edges = new ArrayList<>();
+        for (int edge = compact.getEdgeStart(ordinal); edge < compact.getEdgeEnd(ordinal); edge++) {
+            Shape neighbor = model.getShapeByOrdinal(compact.getNeighborOrdinal(edge));
+            edges.add(compact.getRelationshipType(edge) + " " + neighbor.getId());
+        }
+
+        assertThat(edges, containsInAnyOrder(
+                "STRUCTURE_MEMBER smithy.example#Structure$a",
+                "STRUCTURE_MEMBER smithy.example#Structure$b"));
+    }
+
+    @Test
+    public void storesRelationshipsToShapesNotInTheModel() {
+        StructureShape structure = StructureShape.builder()
+                .id("smithy.example#Structure")
+                .addMember("missing", ShapeId.from("smithy.example#Missing"))
+                .build();
+        MemberShape member = structure.getMember("missing").get();
+        Model broken = Model.builder().addShapes(structure, member).build();
+        NeighborProvider provider = NeighborProvider.of(broken);
+        CompactNeighborProvider compact = CompactNeighborProvider.of(broken, provider);
+        CompactNeighborProvider reverse = compact.reverse();
+        Shape missing = StringShape.builder().id("smithy.example#Missing").build();
+
+        assertThat(compact.getNeighbors(member), equalTo(provider.getNeighbors(member)));
+        assertThat(reverse.getNeighbors(missing),
+                contains(Relationship.createInvalid(member, RelationshipType.MEMBER_TARGET, missing.getId())));
+    }
+
+    @Test
+    public void delegatesShapesThatAreNotInTheModel() {
+        NeighborProvider provider = NeighborProvider.of(model);
+        CompactNeighborProvider compact = CompactNeighborProvider.of(model, provider);
+        Shape other = StringShape.builder().id("smithy.example#Other").build();
+
+        assertThat(compact.getOrdinal(other), equalTo(-1));
+        assertThat(compact.getNeighbors(other), empty());
+        assertThat(compact.reverse().getNeighbors(other), empty());
+        assertThat(compact.reverse().isReversed(), is(true));
+    }
+
+    @Test
+    public void walkerUsesCompactProvider() {
+        Shape service = model.expectShape(ShapeId.from("smithy.example#Service"));
+        Walker compactWalker = new Walker(CompactNeighborProvider.of(model, NeighborProvider.of(model)));
+        Walker walker = new Walker(NeighborProvider.of(model));
+
+        assertThat(new ArrayList<>(compactWalker.walkShapes(service)),
+                equalTo(new ArrayList<>(walker.walkShapes(service))));
+        assertThat(compactWalker.walkShapes(service, rel -> rel.getRelationshipType() != RelationshipType.ERROR),
+                equalTo(walker.walkShapes(service, rel -> rel.getRelationshipType() != RelationshipType.ERROR)));
+    }
+}
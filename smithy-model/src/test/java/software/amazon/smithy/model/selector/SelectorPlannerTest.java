@@ -0,0 +1,109 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.selector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+
+public class SelectorPlannerTest {
+
+    private static Model model;
+
+    @BeforeAll
+    public static void before() {
+        model = Model.assembler()
+                .addUnparsedModel("test.smithy",
+                        "$version: \"2.0\"\n"
+                                + "namespace smithy.example\n"
+                                + "structure A {\n"
+                                + "    @required\n"
+                                + "    @documentation(\"docs\")\n"
+                                + "    a: String\n"
+                                + "    b: String\n"
+                                + "}\n"
+                                + "@documentation(\"docs\")\n"
+                                + "string B\n"
+                                + "@documentation(\"docs\")\n"
+                                + "integer C\n")
+                .assemble()
+                .unwrap();
+    }
+
+    @Test
+    public void sortsFiltersByCost() {
+        Selector selector = Selector.parse("[id|name = B] [trait|documentation] string");
+
+        assertThat(selector.explain(),
+                equalTo("selector: [id|name = B] [trait|documentation] string\n"
+                        + "start: smallest of string, [trait|documentation]\n"
+                        + "1. filter: string [trait|documentation] [id|name = B]\n"));
+        assertThat(SelectorTest.exampleIds(model, selector.toString()), containsInAnyOrder("smithy.example#B"));
+    }
+
+    @Test
+    public void appliesFiltersToNeighbors() {
+        Selector selector = Selector.parse("structure > [trait|required] member");
+
+        assertThat(selector.explain(),
+                equalTo("selector: structure > [trait|required] member\n"
+                        + "start: smallest of structure\n"
+                        + "1. filter: structure\n"
+                        + "2. neighbor with filter: > member [trait|required]\n"));
+        assertThat(SelectorTest.exampleIds(model, selector.toString()), containsInAnyOrder("smithy.example#A$a"));
+    }
+
+    @Test
+    public void doesNotReorderFiltersThatStoreVariables() {
+        Selector selector = Selector.parse("[trait|documentation] :not($a(> member) > member) simpleType");
+
+        assertThat(selector.explain(),
+                equalTo("selector: [trait|documentation] :not($a(> member) > member) simpleType\n"
+                        + "start: smallest of [trait|documentation]\n"
+                        + "1. filter: [trait|documentation] :not($a(> member) > member) simpleType\n"
+                        + "   argument 1:\n"
+                        + "     start: all shapes\n"
+                        + "     1. select: $a(> member)\n"
+                        + "        argument 1:\n"
+                        + "          start: all shapes\n"
+                        + "          1. neighbor with filter: > member\n"
+                        + "     2. neighbor with filter: > member\n"));
+        assertThat(SelectorTest.exampleIds(model, selector.toString()),
+                containsInAnyOrder("smithy.example#B", "smithy.example#C"));
+    }
+
+    @Test
+    public void doesNotReorderUnknownAttributes() {
+        Selector selector = Selector.parse("[foo|bar] string");
+
+        assertThat(selector.explain(),
+                equalTo("selector: [foo|bar] string\n"
+                        + "start: all shapes\n"
+                        + "1. filter: [foo|bar] string\n"));
+    }
+
+    @Test
+    public void explainsRoots() {
+        Selector selector = Selector.parse(":in(:root(string))");
+
+        assertThat(selector.explain(),
+                equalTo("selector: :in(:root(string))\n"
+                        + "start: all shapes\n"
+                        + "1. filter: :in(:root(string))\n"
+                        + "   argument 1:\n"
+                        + "     start: all shapes\n"
+                        + "     1. select: :root(string)\n"
+                        + "        argument 1:\n"
+                        + "          start: smallest of string\n"
+                        + "          1. filter: string\n"
+                        + "root 0:\n"
+                        + "  start: smallest of string\n"
+                        + "  1. filter: string\n"));
+    }
+}
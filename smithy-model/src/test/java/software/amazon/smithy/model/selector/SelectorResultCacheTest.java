@@ -0,0 +1,121 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.selector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.StringShape;
+
+public class SelectorResultCacheTest {
+
+    private static Model createModel() {
+        return Model.assembler()
+                .addUnparsedModel("test.smithy",
+                        "$version: \"2.0\"\n"
+                                + "namespace smithy.example\n"
+                                + "structure A {\n"
+                                + "    a: String\n"
+                                + "    b: String\n"
+                                + "}\n")
+                .assemble()
+                .unwrap();
+    }
+
+    @Test
+    public void cachesResultsByNormalizedExpression() {
+        Model model = createModel();
+        SelectorResultCache cache = SelectorResultCache.of(model);
+        // Validating the model also caches selector results.
+        long misses = cache.getMissCount();
+        long hits = cache.getHitCount();
+        long weight = cache.getWeight();
+
+        Set<Shape> first = Selector.parse("structure [id|name = A] > member").select(model);
+        Set<Shape> second = Selector.parse("structure\n    [id|name = A]   > member").select(model);
+
+        assertThat(second, hasSize(2));
+        assertThat(second, sameInstance(first));
+        Assertions.assertThrows(UnsupportedOperationException.class, first::clear);
+        assertThat(cache.getMissCount(), equalTo(misses + 1));
+        assertThat(cache.getHitCount(), equalTo(hits + 1));
+        assertThat(cache.getWeight(), equalTo(weight + 3));
+    }
+
+    @Test
+    public void doesNotCacheResultsForCustomStartingShapes() {
+        Model model = createModel();
+        SelectorResultCache cache = SelectorResultCache.of(model);
+        long misses = cache.getMissCount();
+        int size = cache.size();
+
+        Selector selector = Selector.parse("structure [id|name = A] > member");
+        Selector.StartingContext context = new Selector.StartingContext(model.getStructureShapes());
+        selector.select(model, context);
+        selector.select(model, context);
+
+        assertThat(cache.getMissCount(), equalTo(misses));
+        assertThat(cache.size(), equalTo(size));
+    }
+
+    @Test
+    public void stopsCachingResultsWhenDisabled() {
+        Model model = createModel();
+        SelectorResultCache cache = SelectorResultCache.of(model);
+        cache.disable();
+        long misses = cache.getMissCount();
+
+        Selector selector = Selector.parse("structure [id|name = A] > member");
+        selector.select(model);
+        selector.select(model);
+
+        assertThat(cache.size(), equalTo(0));
+        assertThat(cache.getWeight(), equalTo(0L));
+        assertThat(cache.getMissCount(), equalTo(misses + 2));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedResults() {
+        SelectorResultCache cache = new SelectorResultCache(4);
+        Set<Shape> result = Collections.singleton(StringShape.builder().id("smithy.example#A").build());
+        cache.get("a", () -> result);
+        cache.get("b", () -> result);
+        cache.get("a", () -> result);
+        cache.get("c", () -> result);
+
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.getWeight(), equalTo(4L));
+        assertThat(cache.getEvictionCount(), equalTo(1L));
+        assertThat(cache.get("a", HashSet::new), equalTo(result));
+        assertThat(cache.get("b", HashSet::new), equalTo(Collections.emptySet()));
+    }
+
+    @Test
+    public void doesNotCacheResultsLargerThanTheCache() {
+        SelectorResultCache cache = new SelectorResultCache(1);
+        Set<Shape> result = Collections.singleton(StringShape.builder().id("smithy.example#A").build());
+        cache.get("a", () -> result);
+
+        assertThat(cache.size(), equalTo(0));
+        assertThat(cache.getEvictionCount(), equalTo(0L));
+    }
+
+    @Test
+    public void normalizesWhitespaceOutsideOfStrings() {
+        assertThat(SelectorResultCache.normalize("  string\n\t[id|name =  'a  b']  "),
+                equalTo("string [id|name = 'a  b']"));
+        assertThat(SelectorResultCache.normalize("[trait|tags|(values) = \"a  'b\"]   member"),
+                equalTo("[trait|tags|(values) = \"a  'b\"] member"));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.shapes;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.traits.SensitiveTrait;
+
+public class ShapeBitSetTest {
+
+    private static Model model;
+    private static Shape a;
+    private static Shape b;
+    private static Shape c;
+    private static Shape d;
+
+    @BeforeAll
+    public static void before() {
+        Model.Builder builder = Model.builder();
+        // Use enough shapes to span multiple words.
+        for (int i = 0; i < 200; i++) {
+            builder.addShape(StringShape.builder().id("smithy.example#S" + i).build());
+        }
+        model = builder.build();
+        a = model.expectShape(ShapeId.from("smithy.example#S0"));
+        b = model.expectShape(ShapeId.from("smithy.example#S70"));
+        c = model.expectShape(ShapeId.from("smithy.example#S140"));
+        d = model.expectShape(ShapeId.from("smithy.example#S199"));
+    }
+
+    @Test
+    public void addsAndRemovesShapes() {
+        ShapeBitSet<Shape> set = new ShapeBitSet<>(model);
+
+        assertThat(set.add(a), is(true));
+        assertThat(set.add(a), is(false));
+        assertThat(set.add(c), is(true));
+        assertThat(set, hasSize(2));
+        assertThat(set.contains(a), is(true));
+        assertThat(set.contains(b), is(false));
+        assertThat(set.contains("S0"), is(false));
+        assertThat(set.remove(a), is(true));
+        assertThat(set.remove(a), is(false));
+        assertThat(set, containsInAnyOrder(c));
+
+        set.clear();
+        assertThat(set, empty());
+    }
+
+    @Test
+    public void storesShapesThatAreNotInTheModel() {
+        Shape outside = StringShape.builder().id("smithy.example#Outside").build();
+        Shape changed = StringShape.builder().id("smithy.example#S0").addTrait(new SensitiveTrait()).build();
+        ShapeBitSet<Shape> set = new ShapeBitSet<>(model, Arrays.asList(a, outside, changed));
+
+        assertThat(set, hasSize(3));
+        assertThat(set, containsInAnyOrder(a, outside, changed));
+        assertThat(set.contains(StringShape.builder().id("smithy.example#Outside").build()), is(true));
+        assertThat(set.remove(changed), is(true));
+        assertThat(set, containsInAnyOrder(a, outside));
+    }
+
+    @Test
+    public void equalsOtherSets() {
+        ShapeBitSet<Shape> set = new ShapeBitSet<>(model, Arrays.asList(a, b, d));
+        Set<Shape> hashSet = new HashSet<>(Arrays.asList(a, b, d));
+
+        assertThat(set, equalTo(hashSet));
+        assertThat(hashSet, equalTo(set));
+        assertThat(set.hashCode(), equalTo(hashSet.hashCode()));
+    }
+
+    @Test
+    public void performsSetOperationsOnSetsOfTheSameModel() {
+        ShapeBitSet<Shape> left = new ShapeBitSet<>(model, Arrays.asList(a, b, c));
+        ShapeBitSet<Shape> right = new ShapeBitSet<>(model, Arrays.asList(b, c, d));
+
+        ShapeBitSet<Shape> union = new ShapeBitSet<>(model, left);
+        assertThat(union.addAll(right), is(true));
+        assertThat(union, containsInAnyOrder(a, b, c, d));
+        assertThat(union.containsAll(left), is(true));
+        assertThat(left.containsAll(union), is(false));
+
+        ShapeBitSet<Shape> intersection = new ShapeBitSet<>(model, left);
+        assertThat(intersection.retainAll(right), is(true));
+        assertThat(intersection, containsInAnyOrder(b, c));
+        assertThat(intersection.retainAll(right), is(false));
+
+        ShapeBitSet<Shape> difference = new ShapeBitSet<>(model, left);
+        assertThat(difference.removeAll(right), is(true));
+        assertThat(difference, containsInAnyOrder(a));
+
+        assertThat(left.intersects(right), is(true));
+        assertThat(difference.intersects(right), is(false));
+    }
+
+    @Test
+    public void performsSetOperationsOnOtherCollections() {
+        ShapeBitSet<Shape> set = new ShapeBitSet<>(model, Arrays.asList(a, b, c));
+
+        assertThat(set.retainAll(new HashSet<>(Arrays.asList(b, c, d))), is(true));
+        assertThat(set, containsInAnyOrder(b, c));
+        assertThat(set.removeAll(Arrays.asList(c)), is(true));
+        assertThat(set, containsInAnyOrder(b));
+    }
+
+    @Test
+    public void iteratorRemovesShapes() {
+        ShapeBitSet<Shape> set = new ShapeBitSet<>(model, Arrays.asList(a, b, c, d));
+        Iterator<Shape> iterator = set.iterator();
+        while (iterator.hasNext()) {
+            if (!iterator.next().equals(c)) {
+                iterator.remove();
+            }
+        }
+
+        assertThat(set, containsInAnyOrder(c));
+    }
+}
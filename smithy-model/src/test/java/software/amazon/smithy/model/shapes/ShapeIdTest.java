@@ -6,6 +6,7 @@ package software.amazon.smithy.model.shapes;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -14,6 +15,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -352,4 +355,27 @@ public class ShapeIdTest {
 
         assertThat(id.getName(serviceShape), equalTo("FooName"));
     }
+
+    @Test
+    public void reusesCachedShapeIds() {
+        ShapeId id = ShapeId.from("foo.bar#Cached$member");
+
+        assertThat(ShapeId.from("foo.bar#Cached$member"), sameInstance(id));
+    }
+
+    @Test
+    public void createsShapeIdsConcurrently() {
+        // Use more IDs than the cache holds so that entries are evicted while other threads read them.
+        List<String> ids = IntStream.range(0, 20000)
+                .mapToObj(i -> "smithy.example" + (i % 7) + "#Shape" + i)
+                .collect(Collectors.toList());
+
+        IntStream.range(0, 8).parallel().forEach(thread -> {
+            for (String id : ids) {
+                ShapeId shapeId = ShapeId.from(id);
+                assertThat(shapeId.toString(), equalTo(id));
+                assertThat(shapeId.getName(), equalTo(id.substring(id.indexOf('#') + 1)));
+            }
+        });
+    }
 }
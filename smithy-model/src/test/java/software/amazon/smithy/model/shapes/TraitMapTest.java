@@ -0,0 +1,81 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.shapes;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.traits.DocumentationTrait;
+import software.amazon.smithy.model.traits.DynamicTrait;
+import software.amazon.smithy.model.traits.RequiredTrait;
+import software.amazon.smithy.model.traits.SensitiveTrait;
+import software.amazon.smithy.model.traits.Trait;
+
+public class TraitMapTest {
+
+    private static Map<ShapeId, Trait> createTraits(int count) {
+        Map<ShapeId, Trait> traits = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            ShapeId id = ShapeId.from("smithy.example#trait" + i);
+            traits.put(id, new DynamicTrait(id, Node.from(i)));
+        }
+        return traits;
+    }
+
+    @Test
+    public void findsTraitsOfSmallAndLargeMaps() {
+        for (int count : new int[] {0, 1, 3, 8, 9, 50}) {
+            Map<ShapeId, Trait> traits = createTraits(count);
+            TraitMap map = TraitMap.copyOf(traits);
+
+            assertThat(map.size(), equalTo(count));
+            assertThat(map, equalTo(traits));
+            assertThat(traits, equalTo(map));
+            assertThat(map.hashCode(), equalTo(traits.hashCode()));
+            assertThat(map.keySet(), equalTo(traits.keySet()));
+            assertThat(map.values(), containsInAnyOrder(traits.values().toArray()));
+            for (Map.Entry<ShapeId, Trait> entry : traits.entrySet()) {
+                // Look up traits by an equal ID that isn't the same instance.
+                ShapeId copy = ShapeId.fromParts(entry.getKey().getNamespace(), entry.getKey().getName());
+                assertThat(map.get(copy), sameInstance(entry.getValue()));
+                assertThat(map.containsKey(entry.getKey()), is(true));
+            }
+            assertThat(map.get(ShapeId.from("smithy.example#missing")), nullValue());
+            assertThat(map.get("smithy.example#trait0"), nullValue());
+        }
+    }
+
+    @Test
+    public void isImmutable() {
+        TraitMap map = TraitMap.copyOf(createTraits(2));
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> map.put(RequiredTrait.ID, null));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> map.clear());
+    }
+
+    @Test
+    public void shapesUseTraitMaps() {
+        StringShape shape = StringShape.builder()
+                .id("smithy.example#Foo")
+                .addTrait(new SensitiveTrait())
+                .addTrait(new DocumentationTrait("docs"))
+                .build();
+
+        assertThat(shape.getAllTraits() instanceof TraitMap, is(true));
+        assertThat(shape.hasTrait(SensitiveTrait.ID), is(true));
+        assertThat(shape.hasTrait(RequiredTrait.ID), is(false));
+        assertThat(shape.expectTrait(DocumentationTrait.class).getValue(), equalTo("docs"));
+        assertThat(shape.toBuilder().build(), equalTo(shape));
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.traits;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.utils.ListUtils;
+
+public class ServiceTraitFactoryTest {
+
+    private static final ShapeId A = ShapeId.from("smithy.example#a");
+    private static final ShapeId B = ShapeId.from("smithy.example#b");
+
+    @Test
+    public void knowsClassesOfFinalTraitProviders() {
+        ServiceTraitFactory factory = new ServiceTraitFactory(ListUtils.of(
+                new SensitiveTrait.Provider(),
+                new EnumTrait.Provider()));
+
+        assertThat(factory.getTraitClass(SensitiveTrait.ID), equalTo(SensitiveTrait.class));
+        assertThat(factory.getTraitClass(EnumTrait.ID), nullValue());
+        assertThat(factory.getTraitClass(DocumentationTrait.ID), nullValue());
+    }
+
+    @Test
+    public void scopesClassesToFactory() {
+        ServiceTraitFactory factory = new ServiceTraitFactory(ListUtils.of(new SharedTrait.Provider(A)));
+        ServiceTraitFactory other = new ServiceTraitFactory(ListUtils.of(new SharedTrait.Provider(B)));
+
+        assertThat(factory.getTraitClass(A), equalTo(SharedTrait.class));
+        assertThat(factory.getTraitClass(B), nullValue());
+        assertThat(other.getTraitClass(A), nullValue());
+    }
+
+    @Test
+    public void lazyTraitsKnowClassesOfTheirFactory() {
+        TraitFactory factory = TraitFactory.createServiceFactory(ListUtils.of(new SensitiveTrait.Provider()));
+        ShapeId target = ShapeId.from("smithy.example#Foo");
+        LazyTrait sensitive = new LazyTrait(SensitiveTrait.ID, target, Node.objectNode(), factory,
+                new ConcurrentHashMap<>());
+        LazyTrait documentation = new LazyTrait(DocumentationTrait.ID, target, Node.from("hi"), factory,
+                new ConcurrentHashMap<>());
+
+        assertThat(sensitive.getKnownTraitClass(), equalTo(SensitiveTrait.class));
+        assertThat(documentation.getKnownTraitClass(), nullValue());
+    }
+
+    @Test
+    public void findsTraitsOfTheSameClassUnderDifferentIds() {
+        TraitFactory factory = TraitFactory.createServiceFactory(ListUtils.of(new SharedTrait.Provider(A)));
+        Trait trait = factory.createTrait(A, ShapeId.from("smithy.example#Foo"), Node.objectNode()).get();
+        SharedTrait custom = new SharedTrait(B);
+        StringShape shape = StringShape.builder()
+                .id("smithy.example#Foo")
+                .addTrait(custom)
+                .build();
+        StringShape both = StringShape.builder()
+                .id("smithy.example#Bar")
+                .addTrait(trait)
+                .addTrait(custom)
+                .build();
+
+        assertThat(shape.getTrait(SharedTrait.class).get(), sameInstance(custom));
+        assertThat(both.getTrait(SharedTrait.class).isPresent(), is(true));
+    }
+
+    @Test
+    public void findsTraitsByClass() {
+        StringShape shape = StringShape.builder()
+                .id("smithy.example#Foo")
+                .addTrait(new SensitiveTrait())
+                .build();
+        StringShape dynamic = StringShape.builder()
+                .id("smithy.example#Bar")
+                .addTrait(new DynamicTrait(SensitiveTrait.ID, Node.objectNode()))
+                .build();
+
+        assertThat(shape.getTrait(SensitiveTrait.class).isPresent(), is(true));
+        assertThat(shape.getTrait(DocumentationTrait.class).isPresent(), is(false));
+        assertThat(dynamic.getTrait(SensitiveTrait.class).isPresent(), is(false));
+        assertThat(dynamic.getTrait(DynamicTrait.class).isPresent(), is(true));
+    }
+
+    @Test
+    public void registersTraitIdsOfFinalTraitClasses() {
+        new ServiceTraitFactory(ListUtils.of(new SensitiveTrait.Provider(), new EnumTrait.Provider()));
+
+        assertThat(TraitClassRegistry.getTraitId(SensitiveTrait.class), equalTo(SensitiveTrait.ID));
+        assertThat(TraitClassRegistry.getTraitId(EnumTrait.class), nullValue());
+    }
+
+    @Test
+    public void findsTraitsStoredUnderOtherIdsThanTheRegisteredId() {
+        new ServiceTraitFactory(ListUtils.of(new SensitiveTrait.Provider()));
+        SensitiveTrait sensitive = new SensitiveTrait();
+        StringShape shape = StringShape.builder()
+                .id("smithy.example#Foo")
+                .addTrait(new DynamicTrait(SensitiveTrait.ID, Node.objectNode()))
+                .addTrait(new SharedTrait(A))
+                .build();
+        StringShape registered = StringShape.builder()
+                .id("smithy.example#Bar")
+                .addTrait(sensitive)
+                .build();
+
+        assertThat(shape.getTrait(SharedTrait.class).isPresent(), is(true));
+        assertThat(shape.getTrait(SensitiveTrait.class).isPresent(), is(false));
+        assertThat(registered.getTrait(SensitiveTrait.class).get(), sameInstance(sensitive));
+    }
+
+    @Test
+    public void scansForClassesRegisteredForMoreThanOneId() {
+        new ServiceTraitFactory(ListUtils.of(new SharedTrait.Provider(A)));
+        new ServiceTraitFactory(ListUtils.of(new SharedTrait.Provider(B)));
+        SharedTrait trait = new SharedTrait(B);
+        StringShape shape = StringShape.builder()
+                .id("smithy.example#Foo")
+                .addTrait(trait)
+                .build();
+
+        assertThat(TraitClassRegistry.getTraitId(SharedTrait.class), nullValue());
+        assertThat(shape.getTrait(SharedTrait.class).get(), sameInstance(trait));
+    }
+
+    public static final class SharedTrait extends AbstractTrait {
+        public SharedTrait(ShapeId id) {
+            super(id, Node.objectNode());
+        }
+
+        @Override
+        protected Node createNode() {
+            return Node.objectNode();
+        }
+
+        public static final class Provider implements TraitService {
+            private final ShapeId id;
+
+            Provider(ShapeId id) {
+                this.id = id;
+            }
+
+            @Override
+            public ShapeId getShapeId() {
+                return id;
+            }
+
+            @Override
+            public Trait createTrait(ShapeId target, Node value) {
+                return new SharedTrait(id);
+            }
+        }
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.transform;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.traits.DocumentationTrait;
+import software.amazon.smithy.model.traits.ProtocolDefinitionTrait;
+import software.amazon.smithy.model.traits.SensitiveTrait;
+import software.amazon.smithy.model.traits.Trait;
+
+public class TransformPipelineTest {
+
+    private static Model model;
+
+    @BeforeAll
+    public static void before() {
+        model = Model.assembler()
+                .addUnparsedModel("test.smithy",
+                        "$version: \"2.0\"\n"
+                                + "namespace smithy.example\n"
+                                + "service Service {\n"
+                                + "    operations: [GetFoo, Internal]\n"
+                                + "}\n"
+                                + "/// Gets foo.\n"
+                                + "operation GetFoo {\n"
+                                + "    input := {\n"
+                                + "        /// The ID.\n"
+                                + "        @required\n"
+                                + "        id: String\n"
+                                + "        internal: InternalStructure\n"
+                                + "    }\n"
+                                + "    output := with [Common] {\n"
+                                + "        secret: Secret\n"
+                                + "    }\n"
+                                + "}\n"
+                                + "@tags([\"internal\"])\n"
+                                + "operation Internal {\n"
+                                + "    input: InternalStructure\n"
+                                + "}\n"
+                                + "@tags([\"internal\"])\n"
+                                + "structure InternalStructure {\n"
+                                + "    value: InternalString\n"
+                                + "}\n"
+                                + "string InternalString\n"
+                                + "@sensitive\n"
+                                + "string Secret\n"
+                                + "@mixin\n"
+                                + "structure Common {\n"
+                                + "    /// Common docs.\n"
+                                + "    common: String\n"
+                                + "}\n")
+                .assemble()
+                .unwrap();
+    }
+
+    private static boolean isInternal(Shape shape) {
+        return shape.getTags().contains("internal");
+    }
+
+    private static Trait upperCaseDocs(Shape shape, Trait trait) {
+        if (trait instanceof DocumentationTrait) {
+            return new DocumentationTrait(((DocumentationTrait) trait).getValue().toUpperCase());
+        }
+        return trait;
+    }
+
+    @Test
+    public void appliesTheSameChangesAsIndividualTransforms() {
+        ModelTransformer transformer = ModelTransformer.create();
+        Model expected = transformer.removeShapesIf(model, TransformPipelineTest::isInternal);
+        expected = transformer.mapTraits(expected, TransformPipelineTest::upperCaseDocs);
+        expected = transformer.removeTraitsIf(expected, (shape, trait) -> trait instanceof SensitiveTrait);
+        expected = transformer.removeUnreferencedShapes(expected);
+
+        Model result = transformer.pipeline()
+                .removeShapesIf(TransformPipelineTest::isInternal)
+                .mapTraits(TransformPipelineTest::upperCaseDocs)
+                .removeTraitsIf((shape, trait) -> trait instanceof SensitiveTrait)
+                .removeUnreferencedShapes()
+                .transform(model);
+
+        assertThat(result, equalTo(expected));
+        assertThat(result.getShape(ShapeId.from("smithy.example#InternalString")).isPresent(), is(false));
+        assertThat(result.getShape(ShapeId.from("smithy.example#GetFooInput$internal")).isPresent(), is(false));
+    }
+
+    @Test
+    public void appliesStepsAfterRemovingUnreferencedShapes() {
+        ModelTransformer transformer = ModelTransformer.create();
+        Model expected = transformer.removeShapesIf(model, TransformPipelineTest::isInternal);
+        expected = transformer.removeUnreferencedShapes(expected);
+        expected = transformer.mapTraits(expected, TransformPipelineTest::upperCaseDocs);
+
+        Model result = transformer.pipeline()
+                .removeShapesIf(TransformPipelineTest::isInternal)
+                .removeUnreferencedShapes()
+                .mapTraits(TransformPipelineTest::upperCaseDocs)
+                .transform(model);
+
+        assertThat(result, equalTo(expected));
+    }
+
+    @Test
+    public void cleansUpRemovedShapesReferencedByTraitsBeforeLaterSteps() {
+        Model model = Model.assembler()
+                .addUnparsedModel("test.smithy",
+                        "$version: \"2.0\"\n"
+                                + "namespace smithy.example\n"
+                                + "service Service {\n"
+                                + "    operations: [GetFoo]\n"
+                                + "}\n"
+                                + "operation GetFoo {\n"
+                                + "    input := {\n"
+                                + "        @internal\n"
+                                + "        id: String\n"
+                                + "        linked: Linked\n"
+                                + "    }\n"
+                                + "}\n"
+                                + "structure Linked {}\n"
+                                + "@trait\n"
+                                + "structure internal {}\n"
+                                + "@trait\n"
+                                + "@protocolDefinition(traits: [internal])\n"
+                                + "structure protocol {}\n")
+                .assemble()
+                .unwrap();
+        ShapeId internal = ShapeId.from("smithy.example#internal");
+        Predicate<Shape> isRemoved = shape -> shape.getId().equals(internal)
+                || shape.getId().getMember().filter("linked"::equals).isPresent();
+        Function<Shape, Shape> documentInternal = shape -> shape.hasTrait(internal)
+                ? Shape.shapeToBuilder(shape).addTrait(new DocumentationTrait("Internal")).build()
+                : shape;
+        ModelTransformer transformer = ModelTransformer.create();
+        Model expected = transformer.removeShapesIf(model, isRemoved);
+        expected = transformer.mapShapes(expected, documentInternal);
+        expected = transformer.removeUnreferencedShapes(expected);
+
+        Model result = transformer.pipeline()
+                .removeShapesIf(isRemoved)
+                .mapShapes(documentInternal)
+                .removeUnreferencedShapes()
+                .transform(model);
+
+        assertThat(result, equalTo(expected));
+        assertThat(result.expectShape(ShapeId.from("smithy.example#GetFooInput$id"))
+                .hasTrait(DocumentationTrait.class), is(false));
+        assertThat(result.getShape(ShapeId.from("smithy.example#Linked")).isPresent(), is(false));
+        assertThat(result.expectShape(ShapeId.from("smithy.example#protocol"))
+                .expectTrait(ProtocolDefinitionTrait.class)
+                .getTraits(), empty());
+    }
+
+    @Test
+    public void mapsMembersAlongWithTheirContainers() {
+        ShapeId id = ShapeId.from("smithy.example#GetFooInput");
+        Function<Shape, Shape> documentMembers = shape -> {
+            if (shape.getId().equals(id)) {
+                StructureShape structure = shape.asStructureShape().get();
+                MemberShape member = structure.getMember("id").get();
+                return structure.toBuilder()
+                        .addMember(member.toBuilder().addTrait(new DocumentationTrait("Container")).build())
+                        .build();
+            } else if (shape.getId().equals(id.withMember("id"))) {
+                String docs = shape.expectTrait(DocumentationTrait.class).getValue();
+                return Shape.shapeToBuilder(shape).addTrait(new DocumentationTrait(docs + "?")).build();
+            } else if (shape.getId().equals(id.withMember("internal"))) {
+                return Shape.shapeToBuilder(shape).addTrait(new DocumentationTrait("Member")).build();
+            }
+            return shape;
+        };
+        Function<Shape, Shape> appendToDocs = shape -> shape.getTrait(DocumentationTrait.class)
+                .filter(trait -> shape.isMemberShape())
+                .<Shape>map(trait -> Shape.shapeToBuilder(shape)
+                        .addTrait(new DocumentationTrait(trait.getValue() + "!"))
+                        .build())
+                .orElse(shape);
+        ModelTransformer transformer = ModelTransformer.create();
+        Model expected = transformer.mapShapes(model, documentMembers);
+        expected = transformer.mapShapes(expected, appendToDocs);
+
+        Model result = transformer.pipeline()
+                .mapShapes(documentMembers)
+                .mapShapes(appendToDocs)
+                .transform(model);
+
+        assertThat(result, equalTo(expected));
+        // Changes made to a member take precedence over changes made to the member by its container.
+        assertThat(result.expectShape(id.withMember("id")).expectTrait(DocumentationTrait.class).getValue(),
+                equalTo("The ID.?!"));
+        assertThat(result.expectShape(id.withMember("internal")).expectTrait(DocumentationTrait.class).getValue(),
+                equalTo("Member!"));
+    }
+
+    @Test
+    public void runsPluginsOnceForEachPass() {
+        List<Collection<Shape>> calls = new ArrayList<>();
+        ModelTransformerPlugin plugin = new ModelTransformerPlugin() {
+            @Override
+            public Model onRemove(ModelTransformer transformer, Collection<Shape> removed, Model model) {
+                calls.add(removed);
+                return model;
+            }
+        };
+        ModelTransformer transformer = ModelTransformer.createWithPlugins(Collections.singletonList(plugin));
+
+        transformer.pipeline()
+                .mapTraits(TransformPipelineTest::upperCaseDocs)
+                .removeShapesIf(shape -> shape.getId().getName().startsWith("Internal")
+                        && !shape.getId().getName().equals("InternalString"))
+                .removeUnreferencedShapes()
+                .transform(model);
+
+        // Shapes removed by the pass are cleaned up before finding unreferenced shapes.
+        assertThat(calls.size(), equalTo(2));
+        assertThat(calls.get(0).contains(model.expectShape(ShapeId.from("smithy.example#Internal"))), is(true));
+        assertThat(calls.get(0).contains(model.expectShape(ShapeId.from("smithy.example#InternalStructure$value"))),
+                is(true));
+        assertThat(calls.get(1).contains(model.expectShape(ShapeId.from("smithy.example#InternalString"))),
+                is(true));
+    }
+
+    @Test
+    public void mapsMembersOfMappedContainers() {
+        ShapeId id = ShapeId.from("smithy.example#GetFooInput");
+        ModelTransformer transformer = ModelTransformer.create();
+
+        Model result = transformer.pipeline()
+                .mapShapes(shape -> {
+                    if (!shape.getId().equals(id)) {
+                        return shape;
+                    }
+                    StructureShape structure = shape.asStructureShape().get();
+                    MemberShape member = structure.getMember("id").get();
+                    return structure.toBuilder()
+                            .addMember(member.toBuilder().addTrait(new DocumentationTrait("Changed")).build())
+                            .build();
+                })
+                .mapTraits(TransformPipelineTest::upperCaseDocs)
+                .transform(model);
+
+        MemberShape member = result.expectShape(id.withMember("id"), MemberShape.class);
+        assertThat(member.expectTrait(DocumentationTrait.class).getValue(), equalTo("CHANGED"));
+        assertThat(result.expectShape(id, StructureShape.class).getMember("id").get(), equalTo(member));
+    }
+
+    @Test
+    public void returnsTheSameModelWhenNothingChanges() {
+        Model result = ModelTransformer.create()
+                .pipeline()
+                .mapTraits((shape, trait) -> trait)
+                .removeShapesIf(shape -> false)
+                .transform(model);
+
+        assertThat(result == model, is(true));
+    }
+}
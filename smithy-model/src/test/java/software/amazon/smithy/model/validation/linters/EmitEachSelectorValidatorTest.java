@@ -11,14 +11,19 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.nullValue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.selector.Selector;
+import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.traits.DocumentationTrait;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
@@ -105,6 +110,35 @@ public class EmitEachSelectorValidatorTest {
         assertThat(validator.validate(model), empty());
     }
 
+    @Test
+    public void partitionsEmitTheSameEventsAsValidate() {
+        StringShape string = StringShape.builder().id("foo.bar#S").build();
+        Model model = Model.builder()
+                .addShape(string)
+                .addShape(StructureShape.builder().id("foo.bar#A").addMember("a", string.getId()).build())
+                .addShape(StructureShape.builder().id("foo.bar#B").addMember("b", string.getId()).build())
+                .build();
+
+        for (String template : Arrays.asList(null, "Matched @{id}")) {
+            EmitEachSelectorValidator.Config config = new EmitEachSelectorValidator.Config();
+            config.setSelector(Selector.parse("structure > member > string"));
+            if (template != null) {
+                config.setMessageTemplate(template);
+            }
+            EmitEachSelectorValidator validator = new EmitEachSelectorValidator(config);
+
+            // Both structures are in separate partitions and match the same string.
+            List<ValidationEvent> partitioned = new ArrayList<>();
+            for (Shape shape : validator.getPartitionShapes(model)) {
+                partitioned.addAll(validator.validatePartition(model, Collections.singletonList(shape)));
+            }
+            List<ValidationEvent> merged = validator.mergePartitions(model, partitioned);
+
+            assertThat(merged, equalTo(validator.mergePartitions(model, validator.validate(model))));
+            assertThat(merged, hasSize(template == null ? 1 : 2));
+        }
+    }
+
     @Test
     public void handlesEscapesAtSymbols() {
         EmitEachSelectorValidator.Config config = new EmitEachSelectorValidator.Config();
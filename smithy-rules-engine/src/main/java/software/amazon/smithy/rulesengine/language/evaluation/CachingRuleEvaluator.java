@@ -0,0 +1,279 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.language.evaluation;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Reference;
+import software.amazon.smithy.utils.SmithyUnstableApi;
+
+/**
+ * Evaluates an endpoint rule-set, remembering the results of recent evaluations.
+ *
+ * <p>Results are cached using only the values of the names that were read while evaluating
+ * the rule-set. Evaluation can only take a different path when one of those values changes,
+ * so any parameter arguments that have the same values for every name read by a cached
+ * evaluation resolve to the same result, even if other parameters differ.
+ *
+ * <p>Because evaluation is deterministic, the name read next only depends on the values of
+ * the names read before it. Cached results are stored in a trie that branches on the value
+ * of each name in the order the names are read, so finding a cached result walks the trie
+ * once without allocating.
+ *
+ * <p>The cache holds up to a maximum number of results, evicting the least recently used
+ * result when it's full. Evaluations that throw are not cached. This class is safe to use
+ * from multiple threads.
+ */
+@SmithyUnstableApi
+public final class CachingRuleEvaluator {
+    // The key used for a name that has no value.
+    private static final Object MISSING = new Object();
+
+    private final EndpointRuleSet ruleset;
+    private final int maxSize;
+
+    // The root of the trie, the most and least recently used results, and the number of results.
+    // These are guarded by synchronizing on the evaluator.
+    private Node root;
+    private Leaf newest;
+    private Leaf oldest;
+    private int size;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a caching evaluator for the given rule-set.
+     *
+     * @param ruleset The endpoint ruleset to evaluate.
+     * @param maxSize The maximum number of results to cache.
+     */
+    public CachingRuleEvaluator(EndpointRuleSet ruleset, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be greater than 0: " + maxSize);
+        }
+        this.ruleset = ruleset;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Evaluates the rule-set with the provided parameter arguments, using a cached
+     * result when one applies.
+     *
+     * @param parameterArguments The rule-set parameter identifiers and
+     *                           values to evaluate the rule-set against.
+     * @return The resulting value from the final matched rule.
+     */
+    public Value evaluate(Map<Identifier, Value> parameterArguments) {
+        Value result = find(parameterArguments);
+        if (result != null) {
+            hits.incrementAndGet();
+            return result;
+        }
+
+        misses.incrementAndGet();
+        RecordingEvaluator evaluator = new RecordingEvaluator();
+        result = evaluator.evaluateRuleSet(ruleset, parameterArguments);
+        store(evaluator.read, parameterArguments, result);
+        return result;
+    }
+
+    private synchronized Value find(Map<Identifier, Value> parameterArguments) {
+        Node node = root;
+        while (node instanceof Branch) {
+            Branch branch = (Branch) node;
+            node = branch.children.get(key(parameterArguments.get(branch.name)));
+        }
+        if (node == null) {
+            return null;
+        }
+        Leaf leaf = (Leaf) node;
+        unlink(leaf);
+        link(leaf);
+        return leaf.result;
+    }
+
+    private synchronized void store(Set<Identifier> read, Map<Identifier, Value> parameterArguments, Value result) {
+        Branch parent = null;
+        Object parentKey = null;
+        Node node = root;
+        for (Identifier name : read) {
+            Object key = key(parameterArguments.get(name));
+            if (node == null) {
+                node = new Branch(name);
+                attach(parent, parentKey, node);
+            } else if (!(node instanceof Branch) || !((Branch) node).name.equals(name)) {
+                // Another evaluation read names in a different order, so the result isn't cached.
+                return;
+            }
+            parent = (Branch) node;
+            parentKey = key;
+            node = parent.children.get(key);
+        }
+
+        if (node instanceof Leaf) {
+            // Another thread cached the result of the same path first.
+            Leaf leaf = (Leaf) node;
+            unlink(leaf);
+            link(leaf);
+        } else if (node == null) {
+            Leaf leaf = new Leaf(result);
+            attach(parent, parentKey, leaf);
+            link(leaf);
+            if (++size > maxSize) {
+                evict();
+            }
+        }
+    }
+
+    private static Object key(Value value) {
+        return value == null ? MISSING : value;
+    }
+
+    private void attach(Branch parent, Object key, Node node) {
+        node.parent = parent;
+        node.key = key;
+        if (parent == null) {
+            root = node;
+        } else {
+            parent.children.put(key, node);
+        }
+    }
+
+    // Removes the least recently used result, along with any branches that no longer lead to a result.
+    private void evict() {
+        Leaf leaf = oldest;
+        unlink(leaf);
+        size--;
+        evictions.incrementAndGet();
+        Node node = leaf;
+        while (node.parent != null) {
+            Branch parent = node.parent;
+            parent.children.remove(node.key);
+            if (!parent.children.isEmpty()) {
+                return;
+            }
+            node = parent;
+        }
+        root = null;
+    }
+
+    private void link(Leaf leaf) {
+        leaf.older = newest;
+        leaf.newer = null;
+        if (newest == null) {
+            oldest = leaf;
+        } else {
+            newest.newer = leaf;
+        }
+        newest = leaf;
+    }
+
+    private void unlink(Leaf leaf) {
+        if (leaf.older == null) {
+            oldest = leaf.newer;
+        } else {
+            leaf.older.newer = leaf.newer;
+        }
+        if (leaf.newer == null) {
+            newest = leaf.older;
+        } else {
+            leaf.newer.older = leaf.older;
+        }
+        leaf.older = null;
+        leaf.newer = null;
+    }
+
+    /**
+     * Gets the number of evaluations that used a cached result.
+     *
+     * @return the number of cache hits.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of evaluations that evaluated the rule-set.
+     *
+     * @return the number of cache misses.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of results evicted from the cache.
+     *
+     * @return the number of evictions.
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * Gets the fraction of evaluations that used a cached result.
+     *
+     * @return the hit rate between 0 and 1, or 0 if nothing has been evaluated.
+     */
+    public double getHitRate() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Gets the number of results currently cached.
+     *
+     * @return the cache size.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    // Records the names read while evaluating the rule-set, in the order they were first read.
+    private static final class RecordingEvaluator extends RuleEvaluator {
+        private final Set<Identifier> read = new LinkedHashSet<>();
+
+        @Override
+        public Value visitRef(Reference reference) {
+            read.add(reference.getName());
+            return super.visitRef(reference);
+        }
+    }
+
+    private abstract static class Node {
+        Branch parent;
+        Object key;
+    }
+
+    // Branches on the value given for the next name read by evaluations that reach it.
+    private static final class Branch extends Node {
+        private final Identifier name;
+        private final Map<Object, Node> children = new HashMap<>();
+
+        Branch(Identifier name) {
+            this.name = name;
+        }
+    }
+
+    // A cached result, linked into the list of results from most to least recently used.
+    private static final class Leaf extends Node {
+        private final Value result;
+        private Leaf older;
+        private Leaf newer;
+
+        Leaf(Value result) {
+            this.result = result;
+        }
+    }
+}
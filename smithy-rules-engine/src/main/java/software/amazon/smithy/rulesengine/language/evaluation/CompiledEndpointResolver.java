@@ -0,0 +1,635 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.language.evaluation;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import software.amazon.smithy.rulesengine.language.Endpoint;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.language.evaluation.value.BooleanValue;
+import software.amazon.smithy.rulesengine.language.evaluation.value.EndpointValue;
+import software.amazon.smithy.rulesengine.language.evaluation.value.IntegerValue;
+import software.amazon.smithy.rulesengine.language.evaluation.value.StringValue;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Expression;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.ExpressionVisitor;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Reference;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Template;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.FunctionDefinition;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.GetAttr;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.IsValidHostLabel;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.Substring;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.literal.Literal;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.literal.LiteralVisitor;
+import software.amazon.smithy.utils.SmithyUnstableApi;
+
+/**
+ * An endpoint resolver that compiles an {@link EndpointDecisionDiagram} into a single
+ * {@link MethodHandle} rather than interpreting expressions during each resolution.
+ *
+ * <p>Each node of the diagram becomes a {@link MethodHandles#guardWithTest guardWithTest}
+ * branch, and each condition and result is composed from method handles with
+ * {@link MethodHandles#filterArguments filterArguments}, {@link MethodHandles#foldArguments foldArguments},
+ * and {@link MethodHandles#filterReturnValue filterReturnValue}. Parameters and condition results
+ * are stored in a flat frame with slots resolved at compile time. Boolean expressions return
+ * primitive booleans, and strings, booleans, and integers are stored in the frame unwrapped,
+ * so resolving parameters doesn't create a {@link Scope} or wrap intermediate results in a
+ * {@link Value}. Literals, templates, and endpoints without references are folded into constants.
+ *
+ * <p>{@code isValidHostLabel} and {@code substring} are called directly with unwrapped arguments.
+ * Other library functions are defined in terms of {@link Value}, so their arguments and results
+ * are still wrapped.
+ *
+ * <p>Resolving parameters returns the same result as
+ * {@link RuleEvaluator#evaluate(EndpointRuleSet, Map)}.
+ */
+@SmithyUnstableApi
+public final class CompiledEndpointResolver {
+    // Marks a condition slot that hasn't been evaluated during the current resolution.
+    private static final Object UNEVALUATED = new Object();
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodHandle GET_SLOT = MethodHandles.arrayElementGetter(Object[].class);
+    private static final MethodHandle NON_NULL = findStatic(Objects.class, "nonNull", boolean.class, Object.class);
+    private static final MethodHandle BOX = findStatic(Boolean.class, "valueOf", Boolean.class, boolean.class)
+            .asType(MethodType.methodType(Object.class, boolean.class));
+    private static final MethodHandle WRAP = findStatic("wrap", Value.class, Object.class);
+    private static final MethodHandle TRUTHY = findStatic("isTruthy", boolean.class, Object.class);
+    private static final MethodHandle IS_UNEVALUATED = findStatic("isUnevaluated", boolean.class, Object.class);
+    private static final MethodHandle STORE = findStatic(
+            "store", boolean.class, Object.class, Object[].class, int.class);
+    private static final MethodHandle FAIL = findStatic("fail", Value.class, EndpointDecisionDiagram.Result.class);
+    private static final MethodHandle EXPECT_BOOLEAN = findStatic("expectBoolean", boolean.class, Object.class);
+    private static final MethodHandle NOT = findStatic("not", boolean.class, boolean.class);
+    private static final MethodHandle BOOLEAN_EQUALS = findStatic(
+            "booleanEquals", boolean.class, boolean.class, boolean.class);
+    private static final MethodHandle STRING_EQUALS = findStatic(
+            "stringEquals", boolean.class, Object.class, Object.class);
+    private static final MethodHandle GET_ATTR = findStatic("getAttr", Object.class, GetAttr.class, Object.class);
+    private static final MethodHandle IS_VALID_HOST_LABEL = findStatic(
+            "isValidHostLabel", boolean.class, Object.class, Object.class);
+    private static final MethodHandle SUBSTRING = findStatic(
+            "substring", Object.class, Object.class, Object.class, Object.class, Object.class);
+    private static final MethodHandle CALL = findStatic(
+            "call", Object.class, FunctionDefinition.class, Object[].class);
+
+    private final Map<Identifier, Integer> parameterSlots;
+    private final Object[] initialFrame;
+    private final MethodHandle root;
+
+    private CompiledEndpointResolver(EndpointDecisionDiagram diagram) {
+        parameterSlots = diagram.parameterSlots;
+        initialFrame = new Object[diagram.defaults.length + diagram.conditions.length];
+        for (int i = 0; i < diagram.defaults.length; i++) {
+            initialFrame[i] = unwrap(diagram.defaults[i]);
+        }
+        Arrays.fill(initialFrame, diagram.defaults.length, initialFrame.length, UNEVALUATED);
+        root = new DiagramCompiler(diagram).compileNode(diagram.root);
+    }
+
+    /**
+     * Compiles an endpoint rule-set into a resolver.
+     *
+     * @param ruleset The endpoint ruleset to compile.
+     * @return the compiled resolver.
+     */
+    public static CompiledEndpointResolver compile(EndpointRuleSet ruleset) {
+        return new CompiledEndpointResolver(EndpointDecisionDiagram.compile(ruleset));
+    }
+
+    /**
+     * Resolves an endpoint or error for the provided parameter arguments.
+     *
+     * @param parameterArguments The rule-set parameter identifiers and
+     *                           values to evaluate the rule-set against.
+     * @return The resulting value from the final matched rule.
+     */
+    public Value resolve(Map<Identifier, Value> parameterArguments) {
+        Object[] frame = initialFrame.clone();
+        for (Map.Entry<Identifier, Value> entry : parameterArguments.entrySet()) {
+            Integer slot = parameterSlots.get(entry.getKey());
+            if (slot != null) {
+                frame[slot] = unwrap(entry.getValue());
+            }
+        }
+        try {
+            return (Value) root.invokeExact(frame);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // Converts a value to the object stored in a frame, where null is empty and strings, booleans,
+    // and integers are unwrapped.
+    private static Object unwrap(Value value) {
+        if (value instanceof StringValue) {
+            return ((StringValue) value).getValue();
+        } else if (value instanceof BooleanValue) {
+            return ((BooleanValue) value).getValue() ? Boolean.TRUE : Boolean.FALSE;
+        } else if (value instanceof IntegerValue) {
+            return ((IntegerValue) value).getValue();
+        }
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static Value wrap(Object value) {
+        if (value == null) {
+            return Value.emptyValue();
+        } else if (value instanceof String) {
+            return Value.stringValue((String) value);
+        } else if (value instanceof Boolean) {
+            return Value.booleanValue((Boolean) value);
+        } else if (value instanceof Integer) {
+            return Value.integerValue((Integer) value);
+        }
+        return (Value) value;
+    }
+
+    private static Object invoke(MethodHandle handle, Object[] frame) {
+        try {
+            return (Object) handle.invokeExact(frame);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static boolean isTruthy(Object value) {
+        return value != null && !Boolean.FALSE.equals(value);
+    }
+
+    private static boolean isUnevaluated(Object value) {
+        return value == UNEVALUATED;
+    }
+
+    private static boolean store(Object value, Object[] frame, int slot) {
+        frame[slot] = value;
+        return isTruthy(value);
+    }
+
+    private static Value fail(EndpointDecisionDiagram.Result result) {
+        throw result.failure();
+    }
+
+    // Unwrapped values of the wrong type are wrapped again so that they fail the same way as in RuleEvaluator.
+    private static boolean expectBoolean(Object value) {
+        return value instanceof Boolean ? (Boolean) value : wrap(value).expectBooleanValue().getValue();
+    }
+
+    private static String expectString(Object value) {
+        return value instanceof String ? (String) value : wrap(value).expectStringValue().getValue();
+    }
+
+    private static int expectInteger(Object value) {
+        return value instanceof Integer ? (Integer) value : wrap(value).expectIntegerValue().getValue();
+    }
+
+    private static boolean not(boolean value) {
+        return !value;
+    }
+
+    private static boolean booleanEquals(boolean left, boolean right) {
+        return left == right;
+    }
+
+    private static boolean stringEquals(Object left, Object right) {
+        return expectString(left).equals(expectString(right));
+    }
+
+    private static Object getAttr(GetAttr getAttr, Object target) {
+        return unwrap(getAttr.evaluate(wrap(target)));
+    }
+
+    private static boolean isValidHostLabel(Object hostLabel, Object allowDots) {
+        return IsValidHostLabel.isValidHostLabel(expectString(hostLabel), expectBoolean(allowDots));
+    }
+
+    private static Object substring(Object value, Object startIndex, Object stopIndex, Object reverse) {
+        return Substring.getSubstring(expectString(value),
+                expectInteger(startIndex),
+                expectInteger(stopIndex),
+                expectBoolean(reverse));
+    }
+
+    private static Object call(FunctionDefinition fn, Object[] arguments) {
+        Value[] values = new Value[arguments.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = wrap(arguments[i]);
+        }
+        return unwrap(fn.evaluate(Arrays.asList(values)));
+    }
+
+    private static MethodHandle findStatic(String name, Class<?> returnType, Class<?>... parameterTypes) {
+        return findStatic(CompiledEndpointResolver.class, name, returnType, parameterTypes);
+    }
+
+    private static MethodHandle findStatic(
+            Class<?> owner,
+            String name,
+            Class<?> returnType,
+            Class<?>... parameterTypes
+    ) {
+        try {
+            return LOOKUP.findStatic(owner, name, MethodType.methodType(returnType, parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Applies a function to the results of handles that each take the frame, returning a handle that takes the frame.
+    private static MethodHandle applyToFrame(MethodHandle function, MethodHandle... arguments) {
+        MethodHandle filtered = MethodHandles.filterArguments(function, 0, arguments);
+        return MethodHandles.permuteArguments(filtered,
+                MethodType.methodType(function.type().returnType(), Object[].class),
+                new int[arguments.length]);
+    }
+
+    // Compiles the nodes, conditions, and results of a diagram, sharing the handles of shared nodes.
+    private static final class DiagramCompiler {
+        private final EndpointDecisionDiagram diagram;
+        private final Map<MethodHandle, Object> constants = new IdentityHashMap<>();
+        private final MethodHandle[] tests;
+        private final MethodHandle[] results;
+        private final Map<Integer, MethodHandle> nodes = new HashMap<>();
+
+        DiagramCompiler(EndpointDecisionDiagram diagram) {
+            this.diagram = diagram;
+            tests = new MethodHandle[diagram.conditions.length];
+            results = new MethodHandle[diagram.results.length];
+        }
+
+        MethodHandle compileNode(int ref) {
+            if (ref < 0) {
+                return compileResult(~ref);
+            }
+            MethodHandle node = nodes.get(ref);
+            if (node == null) {
+                node = MethodHandles.guardWithTest(compileTest(diagram.nodeConditions[ref]),
+                        compileNode(diagram.nodeHigh[ref]),
+                        compileNode(diagram.nodeLow[ref]));
+                nodes.put(ref, node);
+            }
+            return node;
+        }
+
+        // Tests if a condition is truthy, evaluating it and storing its result in the frame the first time
+        // it's tested.
+        private MethodHandle compileTest(int condition) {
+            if (tests[condition] == null) {
+                int slot = diagram.defaults.length + condition;
+                HandleCompiler compiler = new HandleCompiler(diagram.conditionBindings.get(condition), constants);
+                MethodHandle value = compiler.asObject(diagram.conditions[condition].accept(compiler));
+                MethodHandle read = MethodHandles.insertArguments(GET_SLOT, 1, slot);
+                MethodHandle store = MethodHandles.insertArguments(STORE, 2, slot);
+                MethodHandle evaluate = MethodHandles.foldArguments(store, value);
+                tests[condition] = MethodHandles.guardWithTest(MethodHandles.filterReturnValue(read, IS_UNEVALUATED),
+                        evaluate,
+                        MethodHandles.filterReturnValue(read, TRUTHY));
+            }
+            return tests[condition];
+        }
+
+        private MethodHandle compileResult(int index) {
+            if (results[index] == null) {
+                EndpointDecisionDiagram.Result result = diagram.results[index];
+                HandleCompiler compiler = new HandleCompiler(result.bindings, constants);
+                MethodHandle handle;
+                if (result.target instanceof Endpoint) {
+                    handle = compiler.compileEndpoint((Endpoint) result.target);
+                } else if (result.target instanceof Expression) {
+                    handle = compiler.asObject(((Expression) result.target).accept(compiler));
+                    handle = constants.containsKey(handle)
+                            ? compiler.constant(Value.class, wrap(constants.get(handle)))
+                            : MethodHandles.filterReturnValue(handle, WRAP);
+                } else {
+                    handle = MethodHandles.dropArguments(FAIL.bindTo(result), 0, Object[].class);
+                }
+                results[index] = handle;
+            }
+            return results[index];
+        }
+    }
+
+    // Compiles expressions into handles that take the frame and return either a boolean or an unwrapped value,
+    // reading references from the slots they're bound to.
+    private static final class HandleCompiler
+            implements ExpressionVisitor<MethodHandle>, LiteralVisitor<MethodHandle> {
+        private final Map<Identifier, Integer> bindings;
+        private final Map<MethodHandle, Object> constants;
+
+        HandleCompiler(Map<Identifier, Integer> bindings, Map<MethodHandle, Object> constants) {
+            this.bindings = bindings;
+            this.constants = constants;
+        }
+
+        MethodHandle constant(Class<?> type, Object value) {
+            MethodHandle handle = MethodHandles.dropArguments(MethodHandles.constant(type, value), 0, Object[].class);
+            constants.put(handle, value);
+            return handle;
+        }
+
+        private boolean isConstant(MethodHandle handle) {
+            return constants.containsKey(handle);
+        }
+
+        MethodHandle asObject(MethodHandle handle) {
+            if (handle.type().returnType() != boolean.class) {
+                return handle;
+            } else if (isConstant(handle)) {
+                return constant(Object.class, constants.get(handle));
+            }
+            return MethodHandles.filterReturnValue(handle, BOX);
+        }
+
+        private MethodHandle asBoolean(MethodHandle handle) {
+            if (handle.type().returnType() == boolean.class) {
+                return handle;
+            }
+            return MethodHandles.filterReturnValue(handle, EXPECT_BOOLEAN);
+        }
+
+        MethodHandle compileEndpoint(Endpoint endpoint) {
+            boolean constant = true;
+            MethodHandle url = asObject(endpoint.getUrl().accept(this));
+            constant &= isConstant(url);
+            Map<String, MethodHandle> properties = new LinkedHashMap<>();
+            for (Map.Entry<Identifier, Literal> entry : endpoint.getProperties().entrySet()) {
+                MethodHandle property = asObject(entry.getValue().accept((ExpressionVisitor<MethodHandle>) this));
+                properties.put(entry.getKey().toString(), property);
+                constant &= isConstant(property);
+            }
+            Map<String, MethodHandle[]> headers = new LinkedHashMap<>();
+            for (Map.Entry<String, List<Expression>> entry : endpoint.getHeaders().entrySet()) {
+                MethodHandle[] values = new MethodHandle[entry.getValue().size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = asObject(entry.getValue().get(i).accept(this));
+                    constant &= isConstant(values[i]);
+                }
+                headers.put(entry.getKey(), values);
+            }
+
+            EndpointBuilder builder = new EndpointBuilder(endpoint, url, properties, headers);
+            if (constant) {
+                return constant(Value.class, builder.build(null));
+            }
+            return EndpointBuilder.BUILD.bindTo(builder);
+        }
+
+        @Override
+        public MethodHandle visitLiteral(Literal literal) {
+            return literal.accept((LiteralVisitor<MethodHandle>) this);
+        }
+
+        @Override
+        public MethodHandle visitRef(Reference reference) {
+            Integer slot = bindings.get(reference.getName());
+            if (slot == null) {
+                return constant(Object.class, null);
+            }
+            return MethodHandles.insertArguments(GET_SLOT, 1, slot);
+        }
+
+        @Override
+        public MethodHandle visitGetAttr(GetAttr getAttr) {
+            MethodHandle target = asObject(getAttr.getTarget().accept(this));
+            return MethodHandles.filterReturnValue(target, GET_ATTR.bindTo(getAttr));
+        }
+
+        @Override
+        public MethodHandle visitIsSet(Expression fn) {
+            return MethodHandles.filterReturnValue(asObject(fn.accept(this)), NON_NULL);
+        }
+
+        @Override
+        public MethodHandle visitNot(Expression not) {
+            return MethodHandles.filterReturnValue(asBoolean(not.accept(this)), NOT);
+        }
+
+        @Override
+        public MethodHandle visitBoolEquals(Expression left, Expression right) {
+            MethodHandle leftHandle = left.accept(this);
+            MethodHandle rightHandle = right.accept(this);
+            // Most comparisons are against a literal, which only needs to be checked once.
+            if (constants.get(leftHandle) instanceof Boolean) {
+                return booleanEquals(rightHandle, (Boolean) constants.get(leftHandle));
+            } else if (constants.get(rightHandle) instanceof Boolean) {
+                return booleanEquals(leftHandle, (Boolean) constants.get(rightHandle));
+            }
+            return applyToFrame(BOOLEAN_EQUALS, asBoolean(leftHandle), asBoolean(rightHandle));
+        }
+
+        private MethodHandle booleanEquals(MethodHandle handle, boolean expected) {
+            MethodHandle value = asBoolean(handle);
+            return expected ? value : MethodHandles.filterReturnValue(value, NOT);
+        }
+
+        @Override
+        public MethodHandle visitStringEquals(Expression left, Expression right) {
+            MethodHandle leftHandle = asObject(left.accept(this));
+            MethodHandle rightHandle = asObject(right.accept(this));
+            if (constants.get(leftHandle) instanceof String) {
+                return MethodHandles.filterReturnValue(rightHandle,
+                        MethodHandles.insertArguments(STRING_EQUALS, 0, constants.get(leftHandle)));
+            } else if (constants.get(rightHandle) instanceof String) {
+                return MethodHandles.filterReturnValue(leftHandle,
+                        MethodHandles.insertArguments(STRING_EQUALS, 1, constants.get(rightHandle)));
+            }
+            return applyToFrame(STRING_EQUALS, leftHandle, rightHandle);
+        }
+
+        @Override
+        public MethodHandle visitLibraryFunction(FunctionDefinition fn, List<Expression> args) {
+            MethodHandle[] arguments = new MethodHandle[args.size()];
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = asObject(args.get(i).accept(this));
+            }
+
+            if (fn instanceof IsValidHostLabel.Definition && arguments.length == 2) {
+                return applyToFrame(IS_VALID_HOST_LABEL, arguments);
+            } else if (fn instanceof Substring.Definition && arguments.length == 4) {
+                return applyToFrame(SUBSTRING, arguments);
+            }
+
+            MethodHandle call = CALL.bindTo(fn).asCollector(Object[].class, arguments.length);
+            if (arguments.length == 0) {
+                return MethodHandles.dropArguments(call, 0, Object[].class);
+            }
+            return applyToFrame(call, arguments);
+        }
+
+        @Override
+        public MethodHandle visitBoolean(boolean b) {
+            return constant(boolean.class, b);
+        }
+
+        @Override
+        public MethodHandle visitString(Template value) {
+            if (value.isStatic()) {
+                return constant(Object.class, value.expectLiteral());
+            }
+
+            List<Template.Part> parts = value.getParts();
+            MethodHandle[] handles = new MethodHandle[parts.size()];
+            for (int i = 0; i < handles.length; i++) {
+                if (parts.get(i) instanceof Template.Dynamic) {
+                    handles[i] = asObject(((Template.Dynamic) parts.get(i)).toExpression().accept(this));
+                }
+            }
+            return TemplateRenderer.RENDER.bindTo(new TemplateRenderer(value, handles));
+        }
+
+        @Override
+        public MethodHandle visitRecord(Map<Identifier, Literal> members) {
+            Map<Identifier, MethodHandle> handles = new LinkedHashMap<>();
+            boolean constant = true;
+            for (Map.Entry<Identifier, Literal> entry : members.entrySet()) {
+                MethodHandle handle = asObject(entry.getValue().accept((ExpressionVisitor<MethodHandle>) this));
+                handles.put(entry.getKey(), handle);
+                constant &= isConstant(handle);
+            }
+
+            RecordBuilder builder = new RecordBuilder(handles);
+            return constant ? constant(Object.class, builder.build(null)) : RecordBuilder.BUILD.bindTo(builder);
+        }
+
+        @Override
+        public MethodHandle visitTuple(List<Literal> members) {
+            MethodHandle[] handles = new MethodHandle[members.size()];
+            boolean constant = true;
+            for (int i = 0; i < handles.length; i++) {
+                handles[i] = asObject(members.get(i).accept((ExpressionVisitor<MethodHandle>) this));
+                constant &= isConstant(handles[i]);
+            }
+
+            TupleBuilder builder = new TupleBuilder(handles);
+            return constant ? constant(Object.class, builder.build(null)) : TupleBuilder.BUILD.bindTo(builder);
+        }
+
+        @Override
+        public MethodHandle visitInteger(int value) {
+            return constant(Object.class, value);
+        }
+    }
+
+    // Renders a template, computing each dynamic part with the handle at the same index.
+    private static final class TemplateRenderer implements Template.PartEvaluator<Object[]> {
+        static final MethodHandle RENDER = findVirtual(TemplateRenderer.class, "render");
+
+        private final Template template;
+        private final MethodHandle[] parts;
+
+        TemplateRenderer(Template template, MethodHandle[] parts) {
+            this.template = template;
+            this.parts = parts;
+        }
+
+        Object render(Object[] frame) {
+            StringBuilder builder = new StringBuilder();
+            template.render(builder, frame, this);
+            return builder.toString();
+        }
+
+        @Override
+        public String evaluate(int index, Expression expression, Object[] frame) {
+            return expectString(invoke(parts[index], frame));
+        }
+    }
+
+    private static final class RecordBuilder {
+        static final MethodHandle BUILD = findVirtual(RecordBuilder.class, "build");
+
+        private final Map<Identifier, MethodHandle> members;
+
+        RecordBuilder(Map<Identifier, MethodHandle> members) {
+            this.members = members;
+        }
+
+        Object build(Object[] frame) {
+            Map<Identifier, Value> values = new HashMap<>();
+            for (Map.Entry<Identifier, MethodHandle> entry : members.entrySet()) {
+                values.put(entry.getKey(), wrap(invoke(entry.getValue(), frame)));
+            }
+            return Value.recordValue(values);
+        }
+    }
+
+    private static final class TupleBuilder {
+        static final MethodHandle BUILD = findVirtual(TupleBuilder.class, "build");
+
+        private final MethodHandle[] members;
+
+        TupleBuilder(MethodHandle[] members) {
+            this.members = members;
+        }
+
+        Object build(Object[] frame) {
+            List<Value> values = new ArrayList<>(members.length);
+            for (MethodHandle member : members) {
+                values.add(wrap(invoke(member, frame)));
+            }
+            return Value.arrayValue(values);
+        }
+    }
+
+    private static final class EndpointBuilder {
+        static final MethodHandle BUILD = findVirtual(EndpointBuilder.class, "build")
+                .asType(MethodType.methodType(Value.class, EndpointBuilder.class, Object[].class));
+
+        private final Endpoint endpoint;
+        private final MethodHandle url;
+        private final Map<String, MethodHandle> properties;
+        private final Map<String, MethodHandle[]> headers;
+
+        EndpointBuilder(
+                Endpoint endpoint,
+                MethodHandle url,
+                Map<String, MethodHandle> properties,
+                Map<String, MethodHandle[]> headers
+        ) {
+            this.endpoint = endpoint;
+            this.url = url;
+            this.properties = properties;
+            this.headers = headers;
+        }
+
+        Object build(Object[] frame) {
+            EndpointValue.Builder builder = EndpointValue.builder()
+                    .sourceLocation(endpoint)
+                    .url(expectString(invoke(url, frame)));
+            for (Map.Entry<String, MethodHandle> entry : properties.entrySet()) {
+                builder.putProperty(entry.getKey(), wrap(invoke(entry.getValue(), frame)));
+            }
+            for (Map.Entry<String, MethodHandle[]> entry : headers.entrySet()) {
+                List<String> values = new ArrayList<>(entry.getValue().length);
+                for (MethodHandle value : entry.getValue()) {
+                    values.add(expectString(invoke(value, frame)));
+                }
+                builder.putHeader(entry.getKey(), values);
+            }
+            return builder.build();
+        }
+    }
+
+    private static MethodHandle findVirtual(Class<?> owner, String name) {
+        try {
+            return LOOKUP.findVirtual(owner, name, MethodType.methodType(Object.class, Object[].class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.language.evaluation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import software.amazon.smithy.rulesengine.language.Endpoint;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.language.evaluation.value.BooleanValue;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Expression;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.ExpressionVisitor;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Reference;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Template;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.FunctionDefinition;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.GetAttr;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.literal.Literal;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.literal.LiteralVisitor;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameter;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameters;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Condition;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Rule;
+import software.amazon.smithy.rulesengine.language.syntax.rule.RuleValueVisitor;
+import software.amazon.smithy.utils.SmithyUnstableApi;
+
+/**
+ * An endpoint rule-set compiled into a reduced decision diagram over deduplicated conditions.
+ *
+ * <p>Each node of the diagram tests a single condition and continues to one node when the
+ * condition is truthy and another when it isn't, ending in an endpoint, an error, or a failure
+ * to match. Conditions that apply the same function to the same values are shared between
+ * rules, identical sub-graphs are shared between nodes, and nodes that continue to the same
+ * place either way are removed.
+ *
+ * <p>The result of each condition is remembered during a resolution, so every condition is
+ * evaluated at most once regardless of how many rules test it. Resolving parameters returns
+ * the same result as {@link RuleEvaluator#evaluate(EndpointRuleSet, Map)}.
+ */
+@SmithyUnstableApi
+public final class EndpointDecisionDiagram {
+    // The compiled diagram is package-private so that CompiledEndpointResolver can compile it further.
+    final Map<Identifier, Integer> parameterSlots;
+    final Value[] defaults;
+    final Expression[] conditions;
+    final List<Map<Identifier, Integer>> conditionBindings;
+    final int[] nodeConditions;
+    final int[] nodeHigh;
+    final int[] nodeLow;
+    final Result[] results;
+    final int root;
+
+    private EndpointDecisionDiagram(Compiler compiler, int root) {
+        this.parameterSlots = compiler.parameterSlots;
+        this.defaults = compiler.defaults;
+        this.conditions = compiler.conditions.toArray(new Expression[0]);
+        this.conditionBindings = compiler.conditionBindings;
+        this.nodeConditions = new int[compiler.nodes.size()];
+        this.nodeHigh = new int[nodeConditions.length];
+        this.nodeLow = new int[nodeConditions.length];
+        for (int i = 0; i < nodeConditions.length; i++) {
+            int[] node = compiler.nodes.get(i);
+            nodeConditions[i] = node[0];
+            nodeHigh[i] = node[1];
+            nodeLow[i] = node[2];
+        }
+        this.results = compiler.results.toArray(new Result[0]);
+        this.root = root;
+    }
+
+    /**
+     * Compiles an endpoint rule-set into a decision diagram.
+     *
+     * @param ruleset The endpoint ruleset to compile.
+     * @return the compiled decision diagram.
+     */
+    public static EndpointDecisionDiagram compile(EndpointRuleSet ruleset) {
+        Compiler compiler = new Compiler(ruleset.getParameters());
+        int root = compiler.compileRules(ruleset.getRules(), compiler.parameterSlots, compiler.noMatch());
+        return new EndpointDecisionDiagram(compiler, root);
+    }
+
+    /**
+     * Gets the number of distinct conditions tested by the diagram.
+     *
+     * @return the number of conditions.
+     */
+    public int getConditionCount() {
+        return conditions.length;
+    }
+
+    /**
+     * Gets the number of condition nodes in the diagram.
+     *
+     * @return the number of nodes.
+     */
+    public int getNodeCount() {
+        return nodeConditions.length;
+    }
+
+    /**
+     * Evaluates the diagram against the provided parameter arguments.
+     *
+     * @param parameterArguments The rule-set parameter identifiers and
+     *                           values to evaluate the rule-set against.
+     * @return The resulting value from the final matched rule.
+     */
+    public Value evaluate(Map<Identifier, Value> parameterArguments) {
+        Evaluator evaluator = new Evaluator(defaults, conditions.length);
+        for (Map.Entry<Identifier, Value> entry : parameterArguments.entrySet()) {
+            Integer slot = parameterSlots.get(entry.getKey());
+            if (slot != null) {
+                evaluator.values[slot] = entry.getValue();
+            }
+        }
+
+        int ref = root;
+        while (ref >= 0) {
+            int slot = defaults.length + nodeConditions[ref];
+            Value value = evaluator.values[slot];
+            if (value == null) {
+                evaluator.bindings = conditionBindings.get(nodeConditions[ref]);
+                value = conditions[nodeConditions[ref]].accept(evaluator);
+                evaluator.values[slot] = value;
+            }
+            ref = isTruthy(value) ? nodeHigh[ref] : nodeLow[ref];
+        }
+
+        return results[~ref].evaluate(evaluator);
+    }
+
+    static boolean isTruthy(Value value) {
+        return !value.isEmpty() && !(value instanceof BooleanValue && !((BooleanValue) value).getValue());
+    }
+
+    // Evaluates expressions with references resolved through the bindings of the current site.
+    private static final class Evaluator extends RuleEvaluator {
+        private final Value[] values;
+        private Map<Identifier, Integer> bindings = Collections.emptyMap();
+
+        Evaluator(Value[] defaults, int conditionCount) {
+            values = Arrays.copyOf(defaults, defaults.length + conditionCount);
+        }
+
+        @Override
+        public Value visitRef(Reference reference) {
+            Integer slot = bindings.get(reference.getName());
+            Value value = slot == null ? null : values[slot];
+            return value == null ? Value.emptyValue() : value;
+        }
+    }
+
+    // The endpoint, error, or failure a path through the diagram ends in.
+    static final class Result {
+        final Object target;
+        final Map<Identifier, Integer> bindings;
+
+        Result(Object target, Map<Identifier, Integer> bindings) {
+            this.target = target;
+            this.bindings = bindings;
+        }
+
+        Value evaluate(Evaluator evaluator) {
+            evaluator.bindings = bindings;
+            if (target instanceof Endpoint) {
+                return evaluator.evaluateEndpoint((Endpoint) target);
+            } else if (target instanceof Expression) {
+                return ((Expression) target).accept(evaluator);
+            }
+            throw failure();
+        }
+
+        RuntimeException failure() {
+            if (target instanceof Rule) {
+                return new RuntimeException(
+                        String.format("no rules inside of tree rule matched—invalid rules (%s)", target));
+            }
+            return new RuntimeException("No rules in ruleset matched");
+        }
+    }
+
+    // Builds the diagram, sharing equal conditions, nodes, and results as they're created.
+    private static final class Compiler {
+        private final Map<Identifier, Integer> parameterSlots = new HashMap<>();
+        private final Value[] defaults;
+        private final List<Expression> conditions = new ArrayList<>();
+        private final List<Map<Identifier, Integer>> conditionBindings = new ArrayList<>();
+        private final Map<List<Object>, Integer> conditionIndex = new HashMap<>();
+        private final List<int[]> nodes = new ArrayList<>();
+        private final Map<List<Integer>, Integer> nodeIndex = new HashMap<>();
+        private final List<Result> results = new ArrayList<>();
+        private final Map<List<Object>, Integer> resultIndex = new HashMap<>();
+
+        Compiler(Parameters parameters) {
+            List<Value> values = new ArrayList<>();
+            for (Parameter parameter : parameters) {
+                parameterSlots.put(parameter.getName(), values.size());
+                values.add(parameter.getDefault().orElse(null));
+            }
+            defaults = values.toArray(new Value[0]);
+        }
+
+        int compileRules(List<Rule> rules, Map<Identifier, Integer> scope, int fallthrough) {
+            int ref = fallthrough;
+            for (int i = rules.size() - 1; i >= 0; i--) {
+                ref = compileRule(rules.get(i), scope, ref);
+            }
+            return ref;
+        }
+
+        private int compileRule(Rule rule, Map<Identifier, Integer> scope, int next) {
+            List<Condition> ruleConditions = rule.getConditions();
+            int[] ids = new int[ruleConditions.size()];
+            Map<Identifier, Integer> ruleScope = scope;
+            for (int i = 0; i < ids.length; i++) {
+                Condition condition = ruleConditions.get(i);
+                ids[i] = condition(condition.getFunction(), ruleScope);
+                if (condition.getResult().isPresent()) {
+                    ruleScope = new HashMap<>(ruleScope);
+                    ruleScope.put(condition.getResult().get(), defaults.length + ids[i]);
+                }
+            }
+
+            Map<Identifier, Integer> bodyScope = ruleScope;
+            int ref = rule.accept(new RuleValueVisitor<Integer>() {
+                @Override
+                public Integer visitTreeRule(List<Rule> rules) {
+                    return compileRules(rules, bodyScope, result(rule, Collections.emptyMap()));
+                }
+
+                @Override
+                public Integer visitErrorRule(Expression error) {
+                    return result(error, bind(bodyScope, error));
+                }
+
+                @Override
+                public Integer visitEndpointRule(Endpoint endpoint) {
+                    List<Expression> expressions = new ArrayList<>();
+                    expressions.add(endpoint.getUrl());
+                    expressions.addAll(endpoint.getProperties().values());
+                    for (List<Expression> values : endpoint.getHeaders().values()) {
+                        expressions.addAll(values);
+                    }
+                    return result(endpoint, bind(bodyScope, expressions.toArray(new Expression[0])));
+                }
+            });
+
+            for (int i = ids.length - 1; i >= 0; i--) {
+                ref = node(ids[i], ref, next);
+            }
+            return ref;
+        }
+
+        int noMatch() {
+            return result(null, Collections.emptyMap());
+        }
+
+        private int condition(Expression function, Map<Identifier, Integer> scope) {
+            Map<Identifier, Integer> bindings = bind(scope, function);
+            return conditionIndex.computeIfAbsent(Arrays.asList(function, bindings), key -> {
+                conditions.add(function);
+                conditionBindings.add(bindings);
+                return conditions.size() - 1;
+            });
+        }
+
+        private int node(int condition, int high, int low) {
+            if (high == low) {
+                return high;
+            }
+            return nodeIndex.computeIfAbsent(Arrays.asList(condition, high, low), key -> {
+                nodes.add(new int[] {condition, high, low});
+                return nodes.size() - 1;
+            });
+        }
+
+        private int result(Object target, Map<Identifier, Integer> bindings) {
+            return ~resultIndex.computeIfAbsent(Arrays.asList(target, bindings), key -> {
+                results.add(new Result(target, bindings));
+                return results.size() - 1;
+            });
+        }
+
+        // Limits a scope to the names referenced by the given expressions.
+        private static Map<Identifier, Integer> bind(Map<Identifier, Integer> scope, Expression... expressions) {
+            ReferenceCollector collector = new ReferenceCollector();
+            for (Expression expression : expressions) {
+                expression.accept(collector);
+            }
+            Map<Identifier, Integer> bindings = new HashMap<>();
+            for (Identifier name : collector.names) {
+                Integer slot = scope.get(name);
+                if (slot != null) {
+                    bindings.put(name, slot);
+                }
+            }
+            return bindings;
+        }
+    }
+
+    // Collects the names referenced by an expression, including references inside of literals.
+    private static final class ReferenceCollector
+            implements ExpressionVisitor<Void>, LiteralVisitor<Void> {
+        private final Set<Identifier> names = new LinkedHashSet<>();
+
+        @Override
+        public Void visitLiteral(Literal literal) {
+            return literal.accept((LiteralVisitor<Void>) this);
+        }
+
+        @Override
+        public Void visitRef(Reference reference) {
+            names.add(reference.getName());
+            return null;
+        }
+
+        @Override
+        public Void visitGetAttr(GetAttr getAttr) {
+            return getAttr.getTarget().accept(this);
+        }
+
+        @Override
+        public Void visitIsSet(Expression fn) {
+            return fn.accept(this);
+        }
+
+        @Override
+        public Void visitNot(Expression not) {
+            return not.accept(this);
+        }
+
+        @Override
+        public Void visitBoolEquals(Expression left, Expression right) {
+            left.accept(this);
+            return right.accept(this);
+        }
+
+        @Override
+        public Void visitStringEquals(Expression left, Expression right) {
+            left.accept(this);
+            return right.accept(this);
+        }
+
+        @Override
+        public Void visitLibraryFunction(FunctionDefinition fn, List<Expression> args) {
+            for (Expression arg : args) {
+                arg.accept(this);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitBoolean(boolean b) {
+            return null;
+        }
+
+        @Override
+        public Void visitString(Template value) {
+            for (Template.Part part : value.getParts()) {
+                if (part instanceof Template.Dynamic) {
+                    ((Template.Dynamic) part).toExpression().accept(this);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitRecord(Map<Identifier, Literal> members) {
+            for (Literal member : members.values()) {
+                member.accept((ExpressionVisitor<Void>) this);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitTuple(List<Literal> members) {
+            for (Literal member : members) {
+                member.accept((ExpressionVisitor<Void>) this);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitInteger(int value) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.language.evaluation;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameter;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Condition;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Rule;
+import software.amazon.smithy.rulesengine.language.syntax.rule.TreeRule;
+
+/**
+ * A scope of values stored in a flat array with a slot for each name.
+ *
+ * <p>Binding a rule-set assigns a slot to every parameter and condition result of the
+ * rule-set up front. The slot of each {@link Identifier} instance is remembered by identity
+ * the first time it's resolved, so the identifiers of the rule-set are found without hashing
+ * or comparing their names again. Names outside of the bound rule-set are assigned a slot
+ * the first time they're inserted and are always found by name.
+ *
+ * <p>Rather than creating a layer for every rule, values replaced by an insert are recorded
+ * in an undo log, and a layer is closed by restoring every value replaced since the layer's
+ * mark. Once the arrays have grown to fit a rule-set, inserting, reading, and restoring
+ * values doesn't allocate.
+ */
+final class FlatScope {
+    private final Map<Identifier, Integer> slots = new HashMap<>();
+    private final Map<Identifier, Integer> resolvedSlots = new IdentityHashMap<>();
+    private EndpointRuleSet ruleSet;
+    private int ruleSetSlots;
+    private Value[] values = new Value[16];
+    private int[] undoSlots = new int[16];
+    private Value[] undoValues = new Value[16];
+    private int undoSize;
+
+    /**
+     * Assigns a slot to every parameter and condition result of a rule-set.
+     *
+     * <p>The rule-set stays bound until another rule-set is bound. Binding a different
+     * rule-set only takes effect if the scope is empty.
+     *
+     * @param ruleSet the rule-set to bind.
+     */
+    void bind(EndpointRuleSet ruleSet) {
+        if (ruleSet == this.ruleSet || undoSize > 0) {
+            return;
+        }
+
+        this.ruleSet = ruleSet;
+        slots.clear();
+        resolvedSlots.clear();
+        for (Parameter parameter : ruleSet.getParameters()) {
+            assignSlot(parameter.getName());
+        }
+        assignSlots(ruleSet.getRules());
+        ruleSetSlots = slots.size();
+        Arrays.fill(values, null);
+    }
+
+    private void assignSlots(List<Rule> rules) {
+        for (Rule rule : rules) {
+            for (Condition condition : rule.getConditions()) {
+                Optional<Identifier> result = condition.getResult();
+                if (result.isPresent()) {
+                    assignSlot(result.get());
+                }
+            }
+            if (rule instanceof TreeRule) {
+                assignSlots(((TreeRule) rule).getRules());
+            }
+        }
+    }
+
+    private int assignSlot(Identifier name) {
+        Integer slot = slots.get(name);
+        if (slot == null) {
+            slot = slots.size();
+            slots.put(name, slot);
+            if (slot == values.length) {
+                values = Arrays.copyOf(values, slot * 2);
+            }
+        }
+        return slot;
+    }
+
+    // Finds the slot of a name, or returns -1 if the name has no slot.
+    private int findSlot(Identifier name) {
+        Integer found = resolvedSlots.get(name);
+        if (found != null) {
+            return found;
+        }
+        found = slots.get(name);
+        if (found == null) {
+            return -1;
+        } else if (found < ruleSetSlots) {
+            // Only identifiers of the bound rule-set are remembered, so evaluating other
+            // names doesn't grow the map.
+            resolvedSlots.put(name, found);
+        }
+        return found;
+    }
+
+    /**
+     * Gets a mark that can be used to remove every value inserted after it.
+     *
+     * @return the current mark.
+     */
+    int mark() {
+        return undoSize;
+    }
+
+    /**
+     * Restores the values that were in scope when the given mark was created.
+     *
+     * @param mark the mark to restore.
+     */
+    void reset(int mark) {
+        while (undoSize > mark) {
+            undoSize--;
+            values[undoSlots[undoSize]] = undoValues[undoSize];
+            undoValues[undoSize] = null;
+        }
+    }
+
+    /**
+     * Inserts a named value into the scope.
+     *
+     * @param name the name of the value to insert.
+     * @param value the value to insert.
+     */
+    void insert(Identifier name, Value value) {
+        int slot = findSlot(name);
+        if (slot < 0) {
+            slot = assignSlot(name);
+        }
+
+        if (undoSize == undoSlots.length) {
+            undoSlots = Arrays.copyOf(undoSlots, undoSize * 2);
+            undoValues = Arrays.copyOf(undoValues, undoSize * 2);
+        }
+        undoSlots[undoSize] = slot;
+        undoValues[undoSize] = values[slot];
+        undoSize++;
+        values[slot] = value;
+    }
+
+    /**
+     * Gets the value in scope for the specified identifier.
+     *
+     * @param name the identifier to retrieve a value for.
+     * @return the value for the identifier, or null if it has no value.
+     */
+    Value get(Identifier name) {
+        int slot = findSlot(name);
+        return slot < 0 ? null : values[slot];
+    }
+}
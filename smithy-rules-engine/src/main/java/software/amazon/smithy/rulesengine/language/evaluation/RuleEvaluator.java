@@ -7,6 +7,7 @@ package software.amazon.smithy.rulesengine.language.evaluation;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import software.amazon.smithy.rulesengine.language.Endpoint;
 import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
 import software.amazon.smithy.rulesengine.language.evaluation.value.EndpointValue;
@@ -15,6 +16,7 @@ import software.amazon.smithy.rulesengine.language.syntax.Identifier;
 import software.amazon.smithy.rulesengine.language.syntax.expressions.Expression;
 import software.amazon.smithy.rulesengine.language.syntax.expressions.ExpressionVisitor;
 import software.amazon.smithy.rulesengine.language.syntax.expressions.Reference;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Template;
 import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.FunctionDefinition;
 import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.GetAttr;
 import software.amazon.smithy.rulesengine.language.syntax.expressions.literal.Literal;
@@ -29,7 +31,34 @@ import software.amazon.smithy.utils.SmithyUnstableApi;
  */
 @SmithyUnstableApi
 public class RuleEvaluator implements ExpressionVisitor<Value> {
-    private final Scope<Value> scope = new Scope<>();
+    private final FlatScope scope = new FlatScope();
+    private final StringBuilder templateBuilder = new StringBuilder(64);
+    // Argument lists reused by library functions, indexed by how deeply the function call is nested.
+    private final List<List<Value>> argumentBuffers = new ArrayList<>();
+    private int argumentDepth;
+    private final RuleValueVisitor<Value> ruleVisitor = new RuleValueVisitor<Value>() {
+        @Override
+        public Value visitTreeRule(List<Rule> rules) {
+            for (int i = 0; i < rules.size(); i++) {
+                Value result = handleRule(rules.get(i));
+                if (!result.isEmpty()) {
+                    return result;
+                }
+            }
+            // Let handleRule report the tree rule that failed to match.
+            return null;
+        }
+
+        @Override
+        public Value visitErrorRule(Expression error) {
+            return error.accept(RuleEvaluator.this);
+        }
+
+        @Override
+        public Value visitEndpointRule(Endpoint endpoint) {
+            return evaluateEndpoint(endpoint);
+        }
+    };
 
     /**
      * Initializes a new {@link RuleEvaluator} instances, and evaluates
@@ -53,21 +82,31 @@ public class RuleEvaluator implements ExpressionVisitor<Value> {
      * @return The resulting value from the final matched rule.
      */
     public Value evaluateRuleSet(EndpointRuleSet ruleset, Map<Identifier, Value> parameterArguments) {
-        return scope.inScope(() -> {
+        scope.bind(ruleset);
+        int mark = scope.mark();
+        try {
             for (Parameter parameter : ruleset.getParameters()) {
-                parameter.getDefault().ifPresent(value -> scope.insert(parameter.getName(), value));
+                Optional<Value> defaultValue = parameter.getDefault();
+                if (defaultValue.isPresent()) {
+                    scope.insert(parameter.getName(), defaultValue.get());
+                }
             }
 
-            parameterArguments.forEach(scope::insert);
+            for (Map.Entry<Identifier, Value> entry : parameterArguments.entrySet()) {
+                scope.insert(entry.getKey(), entry.getValue());
+            }
 
-            for (Rule rule : ruleset.getRules()) {
-                Value result = handleRule(rule);
+            List<Rule> rules = ruleset.getRules();
+            for (int i = 0; i < rules.size(); i++) {
+                Value result = handleRule(rules.get(i));
                 if (!result.isEmpty()) {
                     return result;
                 }
             }
             throw new RuntimeException("No rules in ruleset matched");
-        });
+        } finally {
+            scope.reset(mark);
+        }
     }
 
     /**
@@ -79,7 +118,10 @@ public class RuleEvaluator implements ExpressionVisitor<Value> {
     public Value evaluateCondition(Condition condition) {
         Value value = condition.getFunction().accept(this);
         if (!value.isEmpty()) {
-            condition.getResult().ifPresent(res -> scope.insert(res, value));
+            Optional<Identifier> result = condition.getResult();
+            if (result.isPresent()) {
+                scope.insert(result.get(), value);
+            }
         }
         return value;
     }
@@ -89,11 +131,33 @@ public class RuleEvaluator implements ExpressionVisitor<Value> {
         return literal.evaluate(this);
     }
 
+    /**
+     * Evaluates a template to a string value.
+     *
+     * <p>Templates are rendered into a builder that is reused across evaluations, so only the
+     * resulting string is allocated.
+     *
+     * @param template the template to evaluate.
+     * @return the resulting string value.
+     */
+    public Value evaluateTemplate(Template template) {
+        if (template.isStatic()) {
+            return Value.stringValue(template.expectLiteral());
+        }
+        // Dynamic parts can render nested templates, so render after anything already in the builder.
+        int start = templateBuilder.length();
+        try {
+            template.render(templateBuilder, this);
+            return Value.stringValue(templateBuilder.substring(start));
+        } finally {
+            templateBuilder.setLength(start);
+        }
+    }
+
     @Override
     public Value visitRef(Reference reference) {
-        return scope
-                .getValue(reference.getName())
-                .orElse(Value.emptyValue());
+        Value value = scope.get(reference.getName());
+        return value == null ? Value.emptyValue() : value;
     }
 
     @Override
@@ -127,64 +191,66 @@ public class RuleEvaluator implements ExpressionVisitor<Value> {
 
     @Override
     public Value visitLibraryFunction(FunctionDefinition definition, List<Expression> arguments) {
-        List<Value> values = new ArrayList<>();
-        for (Expression argument : arguments) {
-            values.add(argument.accept(this));
+        // Arguments can call other functions, so each level of nesting uses its own buffer.
+        if (argumentDepth == argumentBuffers.size()) {
+            argumentBuffers.add(new ArrayList<>(arguments.size()));
+        }
+        List<Value> values = argumentBuffers.get(argumentDepth++);
+        try {
+            for (int i = 0; i < arguments.size(); i++) {
+                values.add(arguments.get(i).accept(this));
+            }
+            return definition.evaluate(values);
+        } finally {
+            values.clear();
+            argumentDepth--;
+        }
+    }
+
+    /**
+     * Evaluates the URL, properties, and headers of an endpoint in the current scope.
+     *
+     * @param endpoint the endpoint to evaluate.
+     * @return the resulting endpoint value.
+     */
+    Value evaluateEndpoint(Endpoint endpoint) {
+        EndpointValue.Builder builder = EndpointValue.builder()
+                .sourceLocation(endpoint)
+                .url(endpoint.getUrl().accept(this).expectStringValue().getValue());
+
+        for (Map.Entry<Identifier, Literal> entry : endpoint.getProperties().entrySet()) {
+            builder.putProperty(entry.getKey().toString(), entry.getValue().accept(this));
         }
-        return definition.evaluate(values);
+
+        for (Map.Entry<String, List<Expression>> entry : endpoint.getHeaders().entrySet()) {
+            List<String> values = new ArrayList<>();
+            for (Expression expression : entry.getValue()) {
+                values.add(expression.accept(this).expectStringValue().getValue());
+            }
+            builder.putHeader(entry.getKey(), values);
+        }
+        return builder.build();
     }
 
     private Value handleRule(Rule rule) {
-        RuleEvaluator self = this;
-        return scope.inScope(() -> {
-            for (Condition condition : rule.getConditions()) {
-                Value value = evaluateCondition(condition);
+        int mark = scope.mark();
+        try {
+            List<Condition> conditions = rule.getConditions();
+            for (int i = 0; i < conditions.size(); i++) {
+                Value value = evaluateCondition(conditions.get(i));
                 if (value.isEmpty() || value.equals(Value.booleanValue(false))) {
                     return Value.emptyValue();
                 }
             }
 
-            return rule.accept(new RuleValueVisitor<Value>() {
-                @Override
-                public Value visitTreeRule(List<Rule> rules) {
-                    for (Rule subRule : rules) {
-                        Value result = handleRule(subRule);
-                        if (!result.isEmpty()) {
-                            return result;
-                        }
-                    }
-                    throw new RuntimeException(
-                            String.format("no rules inside of tree rule matched—invalid rules (%s)", rule));
-                }
-
-                @Override
-                public Value visitErrorRule(Expression error) {
-                    return error.accept(self);
-                }
-
-                @Override
-                public Value visitEndpointRule(Endpoint endpoint) {
-                    EndpointValue.Builder builder = EndpointValue.builder()
-                            .sourceLocation(endpoint)
-                            .url(endpoint.getUrl()
-                                    .accept(RuleEvaluator.this)
-                                    .expectStringValue()
-                                    .getValue());
-
-                    for (Map.Entry<Identifier, Literal> entry : endpoint.getProperties().entrySet()) {
-                        builder.putProperty(entry.getKey().toString(), entry.getValue().accept(RuleEvaluator.this));
-                    }
-
-                    for (Map.Entry<String, List<Expression>> entry : endpoint.getHeaders().entrySet()) {
-                        List<String> values = new ArrayList<>();
-                        for (Expression expression : entry.getValue()) {
-                            values.add(expression.accept(RuleEvaluator.this).expectStringValue().getValue());
-                        }
-                        builder.putHeader(entry.getKey(), values);
-                    }
-                    return builder.build();
-                }
-            });
-        });
+            Value result = rule.accept(ruleVisitor);
+            if (result == null) {
+                throw new RuntimeException(
+                        String.format("no rules inside of tree rule matched—invalid rules (%s)", rule));
+            }
+            return result;
+        } finally {
+            scope.reset(mark);
+        }
     }
 }
@@ -4,7 +4,6 @@
  */
 package software.amazon.smithy.rulesengine.language.evaluation.value;
 
-import java.util.Objects;
 import software.amazon.smithy.model.SourceLocation;
 import software.amazon.smithy.model.node.BooleanNode;
 import software.amazon.smithy.model.node.Node;
@@ -61,7 +60,7 @@ public final class BooleanValue extends Value {
 
     @Override
     public int hashCode() {
-        return Objects.hash(value);
+        return Boolean.hashCode(value);
     }
 
     @Override
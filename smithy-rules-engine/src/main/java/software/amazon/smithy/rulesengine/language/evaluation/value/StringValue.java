@@ -4,7 +4,6 @@
  */
 package software.amazon.smithy.rulesengine.language.evaluation.value;
 
-import java.util.Objects;
 import software.amazon.smithy.model.SourceLocation;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.StringNode;
@@ -59,7 +58,7 @@ public final class StringValue extends Value {
 
     @Override
     public int hashCode() {
-        return Objects.hash(value);
+        return value.hashCode();
     }
 
     @Override
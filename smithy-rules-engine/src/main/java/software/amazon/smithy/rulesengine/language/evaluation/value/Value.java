@@ -30,6 +30,10 @@ import software.amazon.smithy.utils.SmithyUnstableApi;
  */
 @SmithyUnstableApi
 public abstract class Value implements FromSourceLocation, ToNode {
+    private static final BooleanValue TRUE = new BooleanValue(true);
+    private static final BooleanValue FALSE = new BooleanValue(false);
+    private static final EmptyValue EMPTY = new EmptyValue();
+
     private SourceLocation sourceLocation;
 
     Value(SourceLocation sourceLocation) {
@@ -53,12 +57,13 @@ public abstract class Value implements FromSourceLocation, ToNode {
 
             @Override
             public Value booleanNode(BooleanNode node) {
-                return booleanValue(node.getValue());
+                // Values created from nodes have a source location, so they can't be shared.
+                return new BooleanValue(node.getValue());
             }
 
             @Override
             public Value nullNode(NullNode node) {
-                return emptyValue();
+                return new EmptyValue();
             }
 
             @Override
@@ -106,22 +111,22 @@ public abstract class Value implements FromSourceLocation, ToNode {
     }
 
     /**
-     * Creates a {@link BooleanValue} from a boolean.
+     * Gets the shared {@link BooleanValue} for a boolean.
      *
      * @param value the value for the boolean.
-     * @return returns the created BooleanValue.
+     * @return returns the BooleanValue.
      */
     public static BooleanValue booleanValue(boolean value) {
-        return new BooleanValue(value);
+        return value ? TRUE : FALSE;
     }
 
     /**
-     * Creates an {@link EmptyValue}.
+     * Gets the shared {@link EmptyValue}.
      *
-     * @return returns the created EmptyValue.
+     * @return returns the EmptyValue.
      */
     public static EmptyValue emptyValue() {
-        return new EmptyValue();
+        return EMPTY;
     }
 
     /**
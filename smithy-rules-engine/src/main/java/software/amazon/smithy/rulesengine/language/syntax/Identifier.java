@@ -80,7 +80,8 @@ public final class Identifier implements FromSourceLocation, ToNode {
 
     @Override
     public int hashCode() {
-        return Objects.hash(name);
+        // Equivalent to Objects.hash(name) without allocating an array for every lookup.
+        return 31 + Objects.hashCode(name);
     }
 
     @Override
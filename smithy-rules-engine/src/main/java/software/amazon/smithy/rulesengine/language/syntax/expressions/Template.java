@@ -21,6 +21,7 @@ import software.amazon.smithy.rulesengine.language.error.InnerParseError;
 import software.amazon.smithy.rulesengine.language.evaluation.Scope;
 import software.amazon.smithy.rulesengine.language.evaluation.TypeCheck;
 import software.amazon.smithy.rulesengine.language.evaluation.type.Type;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
 import software.amazon.smithy.rulesengine.language.syntax.ToExpression;
 import software.amazon.smithy.utils.SmithyBuilder;
 import software.amazon.smithy.utils.SmithyUnstableApi;
@@ -36,14 +37,40 @@ import software.amazon.smithy.utils.SmithyUnstableApi;
  */
 @SmithyUnstableApi
 public final class Template implements FromSourceLocation, ToNode {
+    private static final PartEvaluator<ExpressionVisitor<Value>> VISIT_PART =
+            (index, expression, visitor) -> expression.accept(visitor).expectStringValue().getValue();
+
     private final SourceLocation sourceLocation;
     private final List<Part> parts;
     private final String value;
 
+    // Parts flattened for rendering: a static chunk, or null where the expression at the same index is evaluated.
+    private final String[] chunks;
+    private final Expression[] expressions;
+    private final int dynamicCount;
+    private final int capacity;
+
     public Template(StringNode template) {
         sourceLocation = SmithyBuilder.requiredState("source", template.getSourceLocation());
         value = template.getValue();
         parts = context("when parsing template", template, () -> parseTemplate(template.getValue(), template));
+
+        chunks = new String[parts.size()];
+        expressions = new Expression[parts.size()];
+        int dynamic = 0;
+        int length = 0;
+        for (int i = 0; i < chunks.length; i++) {
+            Part part = parts.get(i);
+            if (part instanceof Literal) {
+                chunks[i] = ((Literal) part).value;
+                length += chunks[i].length();
+            } else {
+                expressions[i] = ((Dynamic) part).expression;
+                dynamic++;
+            }
+        }
+        dynamicCount = dynamic;
+        capacity = length + 16 * dynamic;
     }
 
     public static Template fromString(String s) {
@@ -119,18 +146,51 @@ public final class Template implements FromSourceLocation, ToNode {
         return parts;
     }
 
+    /**
+     * Renders the template into the given builder, appending each static part as-is and the
+     * string value of each dynamic part.
+     *
+     * <p>The parts are flattened when the template is created, so rendering doesn't allocate
+     * beyond growing the builder, which is pre-sized to fit the static parts and an estimate
+     * of each dynamic part.
+     *
+     * @param builder the builder to append to.
+     * @param evaluator the visitor used to evaluate dynamic parts.
+     */
+    public void render(StringBuilder builder, ExpressionVisitor<Value> evaluator) {
+        render(builder, evaluator, VISIT_PART);
+    }
+
+    /**
+     * Renders the template into the given builder, appending each static part as-is and the
+     * string computed for each dynamic part by the given evaluator.
+     *
+     * <p>This allows dynamic parts to be computed by something other than an {@link ExpressionVisitor},
+     * such as expressions compiled ahead of time for each index of {@link #getParts()}.
+     *
+     * @param builder the builder to append to.
+     * @param context the context passed to the evaluator.
+     * @param evaluator computes the string value of each dynamic part.
+     * @param <C> the type of context.
+     */
+    public <C> void render(StringBuilder builder, C context, PartEvaluator<C> evaluator) {
+        builder.ensureCapacity(builder.length() + capacity);
+        for (int i = 0; i < chunks.length; i++) {
+            if (chunks[i] != null) {
+                builder.append(chunks[i]);
+            } else {
+                builder.append(evaluator.evaluate(i, expressions[i], context));
+            }
+        }
+    }
+
     /**
      * Gets if the template is static or not.
      *
      * @return true if all template parts are literals, false otherwise.
      */
     public boolean isStatic() {
-        for (Part part : parts) {
-            if (!(part instanceof Template.Literal)) {
-                return false;
-            }
-        }
-        return true;
+        return dynamicCount == 0;
     }
 
     /**
@@ -196,6 +256,24 @@ public final class Template implements FromSourceLocation, ToNode {
         return String.format("\"%s\"", value);
     }
 
+    /**
+     * Computes the string value of a dynamic part of a template.
+     *
+     * @param <C> the type of context the value is computed in.
+     */
+    @FunctionalInterface
+    public interface PartEvaluator<C> {
+        /**
+         * Computes the string value of a dynamic part.
+         *
+         * @param index the index of the part in {@link #getParts()}.
+         * @param expression the expression of the part.
+         * @param context the context to compute the value in.
+         * @return the string value of the part.
+         */
+        String evaluate(int index, Expression expression, C context);
+    }
+
     /**
      * An interface for parts of a template that can be visited.
      */
@@ -12,7 +12,6 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import software.amazon.smithy.model.FromSourceLocation;
 import software.amazon.smithy.model.node.ArrayNode;
 import software.amazon.smithy.model.node.BooleanNode;
@@ -30,7 +29,6 @@ import software.amazon.smithy.rulesengine.language.syntax.Identifier;
 import software.amazon.smithy.rulesengine.language.syntax.expressions.Expression;
 import software.amazon.smithy.rulesengine.language.syntax.expressions.ExpressionVisitor;
 import software.amazon.smithy.rulesengine.language.syntax.expressions.Template;
-import software.amazon.smithy.rulesengine.language.syntax.expressions.TemplateVisitor;
 import software.amazon.smithy.utils.SmithyUnstableApi;
 
 /**
@@ -218,37 +216,7 @@ public abstract class Literal extends Expression {
 
             @Override
             public Value visitString(Template value) {
-                return Value.stringValue(value.accept(new TemplateVisitor<String>() {
-                    @Override
-                    public String visitStaticTemplate(String value) {
-                        return value;
-                    }
-
-                    @Override
-                    public String visitSingleDynamicTemplate(Expression value) {
-                        return value.accept(evaluator).expectStringValue().getValue();
-                    }
-
-                    @Override
-                    public String visitStaticElement(String value) {
-                        return value;
-                    }
-
-                    @Override
-                    public String visitDynamicElement(Expression value) {
-                        return value.accept(evaluator).expectStringValue().getValue();
-                    }
-
-                    @Override
-                    public String startMultipartTemplate() {
-                        return "";
-                    }
-
-                    @Override
-                    public String finishMultipartTemplate() {
-                        return "";
-                    }
-                }).collect(Collectors.joining()));
+                return evaluator.evaluateTemplate(value);
             }
 
             @Override
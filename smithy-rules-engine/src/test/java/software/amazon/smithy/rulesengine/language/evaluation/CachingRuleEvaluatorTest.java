@@ -0,0 +1,85 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.language.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.language.TestRunnerTest;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.traits.EndpointRuleSetTrait;
+import software.amazon.smithy.rulesengine.traits.EndpointTestCase;
+import software.amazon.smithy.rulesengine.traits.EndpointTestsTrait;
+import software.amazon.smithy.utils.MapUtils;
+
+public class CachingRuleEvaluatorTest {
+    @Test
+    public void matchesRuleEvaluatorForEveryEndpointTestCase() throws Exception {
+        for (Model model : EndpointDecisionDiagramTest.validModels()) {
+            for (ServiceShape service : model.getServiceShapesWithTrait(EndpointTestsTrait.class)) {
+                EndpointRuleSet ruleSet = service.expectTrait(EndpointRuleSetTrait.class).getEndpointRuleSet();
+                CachingRuleEvaluator evaluator = new CachingRuleEvaluator(ruleSet, 100);
+                // Evaluate every case twice so that the second pass can use cached results.
+                for (int i = 0; i < 2; i++) {
+                    for (EndpointTestCase testCase : service.expectTrait(EndpointTestsTrait.class).getTestCases()) {
+                        Map<Identifier, Value> parameters = EndpointDecisionDiagramTest.parameters(testCase);
+                        assertEquals(RuleEvaluator.evaluate(ruleSet, parameters), evaluator.evaluate(parameters),
+                                service.getId() + ": " + testCase.getDocumentation().orElse(""));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void keysResultsByTheParametersThatWereRead() {
+        EndpointRuleSet ruleSet = TestRunnerTest.getMinimalEndpointRuleSet();
+        CachingRuleEvaluator evaluator = new CachingRuleEvaluator(ruleSet, 10);
+
+        Value first = evaluator.evaluate(MapUtils.of(Identifier.of("Region"), Value.stringValue("us-east-1")));
+        Value second = evaluator.evaluate(MapUtils.of(
+                Identifier.of("Region"), Value.stringValue("us-east-1"),
+                Identifier.of("Unused"), Value.stringValue("foo")));
+        Value third = evaluator.evaluate(MapUtils.of(Identifier.of("Region"), Value.stringValue("us-west-2")));
+
+        assertSame(first, second);
+        assertEquals("https://us-west-2.amazonaws.com", third.expectEndpointValue().getUrl());
+        assertEquals(1, evaluator.getHitCount());
+        assertEquals(2, evaluator.getMissCount());
+        assertEquals(1.0 / 3, evaluator.getHitRate(), 0.0001);
+        assertEquals(2, evaluator.size());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedResults() {
+        EndpointRuleSet ruleSet = TestRunnerTest.getMinimalEndpointRuleSet();
+        CachingRuleEvaluator evaluator = new CachingRuleEvaluator(ruleSet, 2);
+
+        for (String region : new String[] {"a", "b", "a", "c", "a", "b"}) {
+            evaluator.evaluate(MapUtils.of(Identifier.of("Region"), Value.stringValue(region)));
+        }
+
+        assertEquals(2, evaluator.size());
+        assertEquals(2, evaluator.getEvictionCount());
+        assertEquals(2, evaluator.getHitCount());
+    }
+
+    @Test
+    public void doesNotCacheFailures() {
+        EndpointRuleSet ruleSet = TestRunnerTest.getMinimalEndpointRuleSet();
+        CachingRuleEvaluator evaluator = new CachingRuleEvaluator(ruleSet, 2);
+
+        assertThrows(RuntimeException.class, () -> evaluator.evaluate(MapUtils.of()));
+        assertEquals(0, evaluator.size());
+        assertThrows(IllegalArgumentException.class, () -> new CachingRuleEvaluator(ruleSet, 0));
+    }
+}
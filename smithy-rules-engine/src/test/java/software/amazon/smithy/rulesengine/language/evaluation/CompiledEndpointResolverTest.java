@@ -0,0 +1,75 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.language.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.traits.EndpointRuleSetTrait;
+import software.amazon.smithy.rulesengine.traits.EndpointTestCase;
+import software.amazon.smithy.rulesengine.traits.EndpointTestsTrait;
+import software.amazon.smithy.utils.MapUtils;
+
+public class CompiledEndpointResolverTest {
+    private static Object resolve(EndpointRuleSet ruleSet, Map<Identifier, Value> parameters) {
+        try {
+            return RuleEvaluator.evaluate(ruleSet, parameters);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static Object resolve(CompiledEndpointResolver resolver, Map<Identifier, Value> parameters) {
+        try {
+            return resolver.resolve(parameters);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Test
+    public void matchesRuleEvaluatorForEveryEndpointTestCase() throws Exception {
+        int cases = 0;
+        for (Model model : EndpointDecisionDiagramTest.validModels()) {
+            for (ServiceShape service : model.getServiceShapesWithTrait(EndpointTestsTrait.class)) {
+                EndpointRuleSet ruleSet = service.expectTrait(EndpointRuleSetTrait.class).getEndpointRuleSet();
+                CompiledEndpointResolver resolver = CompiledEndpointResolver.compile(ruleSet);
+                for (EndpointTestCase testCase : service.expectTrait(EndpointTestsTrait.class).getTestCases()) {
+                    Map<Identifier, Value> parameters = EndpointDecisionDiagramTest.parameters(testCase);
+                    assertEquals(resolve(ruleSet, parameters), resolve(resolver, parameters),
+                            service.getId() + ": " + testCase.getDocumentation().orElse(""));
+                    cases++;
+                }
+            }
+        }
+
+        assertTrue(cases > 0);
+    }
+
+    @Test
+    public void reusesEndpointsWithoutReferences() {
+        EndpointRuleSet ruleSet = EndpointRuleSet.fromNode(Node.parse("{\"version\": \"1.3\","
+                + "\"parameters\": {\"Region\": {\"type\": \"String\"}},"
+                + "\"rules\": [{\"type\": \"endpoint\","
+                + "\"conditions\": [{\"fn\": \"isSet\", \"argv\": [{\"ref\": \"Region\"}]}],"
+                + "\"endpoint\": {\"url\": \"https://example.com\"}},"
+                + "{\"type\": \"error\", \"conditions\": [], \"error\": \"Region is not set\"}]}"));
+        CompiledEndpointResolver resolver = CompiledEndpointResolver.compile(ruleSet);
+        Map<Identifier, Value> parameters = MapUtils.of(Identifier.of("Region"), Value.stringValue("us-east-1"));
+
+        assertEquals(resolve(ruleSet, parameters), resolve(resolver, parameters));
+        assertSame(resolver.resolve(parameters), resolver.resolve(parameters));
+        assertEquals(RuleEvaluator.evaluate(ruleSet, MapUtils.of()), resolver.resolve(MapUtils.of()));
+    }
+}
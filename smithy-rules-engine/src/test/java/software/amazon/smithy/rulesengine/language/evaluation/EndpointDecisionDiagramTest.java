@@ -0,0 +1,131 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.language.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.language.TestRunnerTest;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Rule;
+import software.amazon.smithy.rulesengine.language.syntax.rule.TreeRule;
+import software.amazon.smithy.rulesengine.traits.EndpointRuleSetTrait;
+import software.amazon.smithy.rulesengine.traits.EndpointTestCase;
+import software.amazon.smithy.rulesengine.traits.EndpointTestsTrait;
+import software.amazon.smithy.utils.MapUtils;
+
+public class EndpointDecisionDiagramTest {
+    static List<Model> validModels() throws Exception {
+        try (Stream<Path> paths = Files.list(
+                Paths.get(EndpointDecisionDiagramTest.class.getResource("../errorfiles/valid/").toURI()))) {
+            return paths.filter(path -> path.toString().endsWith(".smithy"))
+                    .map(path -> Model.assembler().discoverModels().addImport(path).assemble().unwrap())
+                    .collect(Collectors.toList());
+        }
+    }
+
+    static Map<Identifier, Value> parameters(EndpointTestCase testCase) {
+        Map<Identifier, Value> parameters = new LinkedHashMap<>();
+        for (Map.Entry<StringNode, Node> entry : testCase.getParams().getMembers().entrySet()) {
+            parameters.put(Identifier.of(entry.getKey()), Value.fromNode(entry.getValue()));
+        }
+        return parameters;
+    }
+
+    private static Object resolve(EndpointRuleSet ruleSet, Map<Identifier, Value> parameters) {
+        try {
+            return RuleEvaluator.evaluate(ruleSet, parameters);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static Object resolve(EndpointDecisionDiagram diagram, Map<Identifier, Value> parameters) {
+        try {
+            return diagram.evaluate(parameters);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Test
+    public void matchesRuleEvaluatorForEveryEndpointTestCase() throws Exception {
+        int cases = 0;
+        for (Model model : validModels()) {
+            for (ServiceShape service : model.getServiceShapesWithTrait(EndpointRuleSetTrait.class)) {
+                EndpointRuleSet ruleSet = service.expectTrait(EndpointRuleSetTrait.class).getEndpointRuleSet();
+                EndpointDecisionDiagram diagram = EndpointDecisionDiagram.compile(ruleSet);
+                if (!service.hasTrait(EndpointTestsTrait.class)) {
+                    continue;
+                }
+                for (EndpointTestCase testCase : service.expectTrait(EndpointTestsTrait.class).getTestCases()) {
+                    Map<Identifier, Value> parameters = parameters(testCase);
+                    assertEquals(resolve(ruleSet, parameters), resolve(diagram, parameters),
+                            service.getId() + ": " + testCase.getDocumentation().orElse(""));
+                    TestEvaluator.evaluate(ruleSet, testCase);
+                    cases++;
+                }
+            }
+        }
+
+        assertTrue(cases > 0);
+    }
+
+    @Test
+    public void deduplicatesConditions() {
+        EndpointRuleSet ruleSet = TestRunnerTest.getEndpointRuleSet(
+                EndpointDecisionDiagramTest.class, "../example-complex-ruleset.json");
+        EndpointDecisionDiagram diagram = EndpointDecisionDiagram.compile(ruleSet);
+        int conditions = countConditions(ruleSet.getRules());
+
+        assertTrue(diagram.getConditionCount() < conditions);
+        for (String region : new String[] {"us-east-1", "1.2.3.4", "a b"}) {
+            Map<Identifier, Value> parameters = MapUtils.of(Identifier.of("Region"), Value.stringValue(region));
+            assertEquals(resolve(ruleSet, parameters), resolve(diagram, parameters));
+        }
+    }
+
+    @Test
+    public void failsWhenNoRulesMatch() {
+        EndpointRuleSet ruleSet = EndpointRuleSet.fromNode(Node.parse("{\"version\": \"1.3\","
+                + "\"parameters\": {\"Region\": {\"type\": \"String\"}},"
+                + "\"rules\": [{\"type\": \"endpoint\","
+                + "\"conditions\": [{\"fn\": \"isSet\", \"argv\": [{\"ref\": \"Region\"}]}],"
+                + "\"endpoint\": {\"url\": \"https://{Region}.example.com\"}}]}"));
+        EndpointDecisionDiagram diagram = EndpointDecisionDiagram.compile(ruleSet);
+
+        assertFalse(resolve(diagram, MapUtils.of()) instanceof Value);
+        assertEquals(resolve(ruleSet, MapUtils.of()), resolve(diagram, MapUtils.of()));
+        assertEquals(RuleEvaluator.evaluate(ruleSet, MapUtils.of(Identifier.of("Region"), Value.stringValue("a"))),
+                diagram.evaluate(MapUtils.of(Identifier.of("Region"), Value.stringValue("a"))));
+    }
+
+    private static int countConditions(List<Rule> rules) {
+        int count = 0;
+        for (Rule rule : rules) {
+            count += rule.getConditions().size();
+            if (rule instanceof TreeRule) {
+                count += countConditions(((TreeRule) rule).getRules());
+            }
+        }
+        return count;
+    }
+}
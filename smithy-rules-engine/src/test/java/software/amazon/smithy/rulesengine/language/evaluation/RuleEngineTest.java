@@ -14,6 +14,7 @@ import software.amazon.smithy.rulesengine.language.TestRunnerTest;
 import software.amazon.smithy.rulesengine.language.evaluation.value.EndpointValue;
 import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
 import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Expression;
 import software.amazon.smithy.utils.MapUtils;
 
 public class RuleEngineTest {
@@ -37,4 +38,18 @@ public class RuleEngineTest {
                 .build();
         assertEquals(expected, result.expectEndpointValue());
     }
+
+    @Test
+    public void reusesEvaluatorAcrossRuleSets() {
+        EndpointRuleSet actual = TestRunnerTest.getMinimalEndpointRuleSet();
+        RuleEvaluator evaluator = new RuleEvaluator();
+
+        for (String region : new String[] {"us-east-1", "us-west-2"}) {
+            Value result = evaluator.evaluateRuleSet(actual,
+                    MapUtils.of(Identifier.of("Region"), Value.stringValue(region)));
+            assertEquals("https://" + region + ".amazonaws.com", result.expectEndpointValue().getUrl());
+        }
+        assertEquals(Value.emptyValue(), evaluator.visitRef(Expression.getReference(Identifier.of("Region"),
+                SourceLocation.none())));
+    }
 }
@@ -11,8 +11,11 @@ import java.util.Arrays;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.rulesengine.language.evaluation.RuleEvaluator;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
 import software.amazon.smithy.rulesengine.language.syntax.Identifier;
 import software.amazon.smithy.rulesengine.language.syntax.expressions.Expression;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Reference;
 import software.amazon.smithy.rulesengine.language.syntax.expressions.Template;
 import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.GetAttr;
 
@@ -60,4 +63,46 @@ public class TemplateTest {
     public void invalidTemplates() {
         Expression.parseShortform("a#", SourceLocation.none());
     }
+
+    @Test
+    public void evaluatesTemplates() {
+        RuleEvaluator evaluator = new RuleEvaluator() {
+            @Override
+            public Value visitRef(Reference reference) {
+                return Value.stringValue(reference.getName().toString().toLowerCase());
+            }
+        };
+
+        assertEquals(Value.stringValue("https://example.com"),
+                evaluator.evaluateTemplate(Template.fromString("https://example.com")));
+        assertEquals(Value.stringValue("region"), evaluator.evaluateTemplate(Template.fromString("{Region}")));
+        assertEquals(Value.stringValue("https://bucket.region.amazonaws.com/{key}"),
+                evaluator.evaluateTemplate(Template.fromString("https://{Bucket}.{Region}.amazonaws.com/{{key}}")));
+        // The reused builder is reset between evaluations.
+        assertEquals(Value.stringValue("a-b"), evaluator.evaluateTemplate(Template.fromString("{A}-{B}")));
+    }
+
+    @Test
+    public void rendersIntoExistingBuilder() {
+        StringBuilder builder = new StringBuilder("prefix:");
+        Template.fromString("{A}.{B}").render(builder, new RuleEvaluator() {
+            @Override
+            public Value visitRef(Reference reference) {
+                return Value.stringValue(reference.getName().toString());
+            }
+        });
+
+        assertEquals("prefix:A.B", builder.toString());
+    }
+
+    @Test
+    public void rendersPartsWithEvaluator() {
+        StringBuilder builder = new StringBuilder();
+        List<String> values = Arrays.asList("zero", "one", "two");
+        Template.fromString("{A}.{B}").render(builder, values, (index, expression, context) -> {
+            return context.get(index) + "=" + expression;
+        });
+
+        assertEquals("zero=A.two=B", builder.toString());
+    }
 }